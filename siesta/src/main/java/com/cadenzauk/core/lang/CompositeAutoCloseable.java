@@ -69,6 +69,20 @@ public class CompositeAutoCloseable implements UncheckedAutoCloseable {
         return closeable;
     }
 
+    public boolean isEmpty() {
+        synchronized (lock) {
+            return closeables == null || closeables.isEmpty();
+        }
+    }
+
+    public void remove(AutoCloseable closeable) {
+        synchronized (lock) {
+            if (closeables != null) {
+                closeables.remove(closeable);
+            }
+        }
+    }
+
     private void closeAll(List<AutoCloseable> autoCloseables) {
         Exception[] exceptions = IntStream.range(0, autoCloseables.size())
             .mapToObj(i -> tryClose(autoCloseables.get(autoCloseables.size() - i - 1)))
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.core.sql;
+
+import com.cadenzauk.core.lang.CompositeAutoCloseable;
+import com.cadenzauk.core.util.UtilityClass;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+public final class LobUtil extends UtilityClass {
+    private static final ThreadLocal<CompositeAutoCloseable> SCOPE = new ThreadLocal<>();
+
+    public static <T> RowMapper<T> scoped(RowMapper<T> rowMapper, CompositeAutoCloseable scope) {
+        return rs -> {
+            CompositeAutoCloseable previous = SCOPE.get();
+            SCOPE.set(scope);
+            try {
+                return rowMapper.mapRow(rs);
+            } finally {
+                if (previous == null) {
+                    SCOPE.remove();
+                } else {
+                    SCOPE.set(previous);
+                }
+            }
+        };
+    }
+
+    public static Blob register(Blob blob) {
+        return blob == null ? null : scope().add(blob, LobUtil::free);
+    }
+
+    public static Clob register(Clob clob) {
+        return clob == null ? null : scope().add(clob, LobUtil::free);
+    }
+
+    public static InputStream register(InputStream inputStream) {
+        return inputStream == null ? null : scope().add(inputStream);
+    }
+
+    public static Reader register(Reader reader) {
+        return reader == null ? null : scope().add(reader);
+    }
+
+    public static InputStream binaryStream(Blob blob) throws SQLException {
+        Blob registered = register(blob);
+        return registered == null ? null : register(registered.getBinaryStream());
+    }
+
+    public static Reader characterStream(Clob clob) throws SQLException {
+        Clob registered = register(clob);
+        return registered == null ? null : register(registered.getCharacterStream());
+    }
+
+    private static CompositeAutoCloseable scope() {
+        CompositeAutoCloseable scope = SCOPE.get();
+        if (scope == null) {
+            throw new IllegalStateException("LOB values can only be read with stream() or within a transaction, which keep them valid until closed.");
+        }
+        return scope;
+    }
+
+    private static void free(Blob blob) throws SQLException {
+        try {
+            blob.free();
+        } catch (SQLFeatureNotSupportedException e) {
+            // The driver releases the locator when the transaction ends
+        }
+    }
+
+    private static void free(Clob clob) throws SQLException {
+        try {
+            clob.free();
+        } catch (SQLFeatureNotSupportedException e) {
+            // The driver releases the locator when the transaction ends
+        }
+    }
+}
@@ -37,6 +37,14 @@ public class PreparedStatementUtil extends UtilityClass {
         }
     }
 
+    public static void setQueryTimeout(PreparedStatement preparedStatement, int seconds) {
+        try {
+            preparedStatement.setQueryTimeout(seconds);
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
     public static int executeUpdate(PreparedStatement preparedStatement) {
         try {
             return preparedStatement.executeUpdate();
@@ -45,6 +53,22 @@ public class PreparedStatementUtil extends UtilityClass {
         }
     }
 
+    public static void addBatch(PreparedStatement preparedStatement) {
+        try {
+            preparedStatement.addBatch();
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    public static int[] executeBatch(PreparedStatement preparedStatement) {
+        try {
+            return preparedStatement.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
     public static boolean execute(PreparedStatement preparedStatement) {
         try {
             return preparedStatement.execute();
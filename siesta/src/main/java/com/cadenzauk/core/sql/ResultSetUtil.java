@@ -40,6 +40,14 @@ public final class ResultSetUtil extends UtilityClass  {
         }
     }
 
+    public static String getString(ResultSet rs, int columnIndex) {
+        try {
+            return rs.getString(columnIndex);
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
     public static void close(ResultSet rs) {
         try {
             rs.close();
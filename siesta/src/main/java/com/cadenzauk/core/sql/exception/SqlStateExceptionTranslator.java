@@ -23,73 +23,120 @@
 package com.cadenzauk.core.sql.exception;
 
 import com.cadenzauk.core.sql.RuntimeSqlException;
-import com.cadenzauk.core.stream.StreamUtil;
+import com.cadenzauk.core.tuple.Tuple;
+import com.cadenzauk.core.tuple.Tuple2;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.Optional;
-import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
-import static java.util.Comparator.comparing;
-
 public class SqlStateExceptionTranslator implements SqlExceptionTranslator {
-    private final PriorityQueue<ExceptionMapping> mappings = new PriorityQueue<>(100, comparing(ExceptionMapping::priority));
+    private static final Pattern REGEX_CHARACTERS = Pattern.compile("[\\\\.\\[\\](){}*+?|^$]");
+    private static final long MAX_CACHED_CONSTRUCTORS = 1000;
+
+    private final Map<Tuple2<String,Integer>,SqlExceptionConstructor> bySqlStateAndErrorCode = new ConcurrentHashMap<>();
+    private final Map<Integer,SqlExceptionConstructor> byErrorCode = new ConcurrentHashMap<>();
+    private final Map<String,SqlExceptionConstructor> bySqlState = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<PatternMapping> patterns = new CopyOnWriteArrayList<>();
+    private final Cache<Tuple2<String,Integer>,Optional<SqlExceptionConstructor>> constructors = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_CONSTRUCTORS)
+        .build();
 
     @Override
     public RuntimeSqlException translate(String statement, SQLException cause) {
-        return mappings
-            .stream()
-            .flatMap(m -> StreamUtil.of(m.map(statement, cause)))
-            .findFirst()
+        if (cause == null) {
+            return new RuntimeSqlException(statement, null);
+        }
+        Tuple2<String,Integer> key = Tuple.of(cause.getSQLState() == null ? "" : cause.getSQLState(), cause.getErrorCode());
+        Optional<SqlExceptionConstructor> constructor = constructors.getIfPresent(key);
+        if (constructor == null) {
+            constructor = lookup(key.item1(), key.item2());
+            constructors.put(key, constructor);
+        }
+        return constructor
+            .map(c -> c.construct(statement, cause))
             .orElseGet(() -> new RuntimeSqlException(statement, cause));
     }
 
     @SuppressWarnings("UnusedReturnValue")
     public SqlStateExceptionTranslator register(String sqlState, SqlExceptionConstructor constructor) {
-        mappings.add(new ExceptionMapping(sqlState, constructor));
+        if (isPattern(sqlState)) {
+            patterns.add(0, new PatternMapping(sqlState, Optional.empty(), constructor));
+        } else {
+            bySqlState.put(sqlState, constructor);
+        }
+        constructors.invalidateAll();
         return this;
     }
 
     @SuppressWarnings("UnusedReturnValue")
     public SqlStateExceptionTranslator register(int errorCode, SqlExceptionConstructor constructor) {
-        mappings.add(new ExceptionMapping(".*", errorCode, constructor));
+        byErrorCode.put(errorCode, constructor);
+        constructors.invalidateAll();
         return this;
     }
 
     @SuppressWarnings("UnusedReturnValue")
     public SqlStateExceptionTranslator register(String sqlState, int errorCode, SqlExceptionConstructor constructor) {
-        mappings.add(new ExceptionMapping(sqlState, errorCode, constructor));
+        if (isPattern(sqlState)) {
+            patterns.add(0, new PatternMapping(sqlState, Optional.of(errorCode), constructor));
+        } else {
+            bySqlStateAndErrorCode.put(Tuple.of(sqlState, errorCode), constructor);
+        }
+        constructors.invalidateAll();
         return this;
     }
 
-    private static class ExceptionMapping {
-        private final Predicate<SQLException> applies;
-        private final SqlExceptionConstructor constructor;
-        private final int priority;
-
-        private ExceptionMapping(String sqlState, SqlExceptionConstructor constructor) {
-            Predicate<String> sqlStateMatches = Pattern.compile("^" + sqlState + "$").asPredicate();
-            this.applies = e -> sqlStateMatches.test(e.getSQLState());
-            this.constructor = constructor;
-            priority = 1;
+    private Optional<SqlExceptionConstructor> lookup(String sqlState, int errorCode) {
+        SqlExceptionConstructor exact = bySqlStateAndErrorCode.get(Tuple.of(sqlState, errorCode));
+        if (exact != null) {
+            return Optional.of(exact);
         }
-
-        private ExceptionMapping(String sqlState, int errorCode, SqlExceptionConstructor constructor) {
-            Predicate<String> sqlStateMatches = Pattern.compile("^" + sqlState + "$").asPredicate();
-            this.applies = e -> sqlStateMatches.test(e.getSQLState()) && e.getErrorCode() == errorCode;
-            this.constructor = constructor;
-            priority = 1;
+        Optional<SqlExceptionConstructor> patternWithErrorCode = firstPattern(p -> p.errorCode.isPresent() && p.matches(sqlState, errorCode));
+        if (patternWithErrorCode.isPresent()) {
+            return patternWithErrorCode;
         }
+        SqlExceptionConstructor forErrorCode = byErrorCode.get(errorCode);
+        if (forErrorCode != null) {
+            return Optional.of(forErrorCode);
+        }
+        SqlExceptionConstructor forSqlState = bySqlState.get(sqlState);
+        if (forSqlState != null) {
+            return Optional.of(forSqlState);
+        }
+        return firstPattern(p -> !p.errorCode.isPresent() && p.matches(sqlState, errorCode));
+    }
+
+    private Optional<SqlExceptionConstructor> firstPattern(Predicate<PatternMapping> predicate) {
+        return patterns.stream()
+            .filter(predicate)
+            .map(p -> p.constructor)
+            .findFirst();
+    }
 
-        private int priority() {
-            return priority;
+    private static boolean isPattern(String sqlState) {
+        return REGEX_CHARACTERS.matcher(sqlState).find();
+    }
+
+    private static class PatternMapping {
+        private final Pattern sqlState;
+        private final Optional<Integer> errorCode;
+        private final SqlExceptionConstructor constructor;
+
+        private PatternMapping(String sqlState, Optional<Integer> errorCode, SqlExceptionConstructor constructor) {
+            this.sqlState = Pattern.compile(sqlState);
+            this.errorCode = errorCode;
+            this.constructor = constructor;
         }
 
-        private Optional<RuntimeSqlException> map(String statement, SQLException cause) {
-            return applies.test(cause)
-                ? Optional.of(constructor.construct(statement, cause))
-                : Optional.empty();
+        private boolean matches(String state, int code) {
+            return errorCode.map(c -> c == code).orElse(true) && sqlState.matcher(state).matches();
         }
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.core.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public final class FutureUtil extends UtilityClass {
+    public static <T> CompletableFuture<T> cancelling(CompletableFuture<T> dependent, CompletableFuture<?> source) {
+        CompletableFuture<T> result = cancellableFrom(source);
+        dependent.whenComplete((value, exception) -> {
+            if (exception == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(exception);
+            }
+        });
+        return result;
+    }
+
+    public static <T> CompletableFuture<T> exceptionally(CompletableFuture<T> source, Function<Throwable,? extends T> function) {
+        CompletableFuture<T> result = cancellableFrom(source);
+        source.whenComplete((value, exception) -> {
+            if (exception == null) {
+                result.complete(value);
+                return;
+            }
+            try {
+                result.complete(function.apply(exception));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> cancellableFrom(CompletableFuture<?> source) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.whenComplete((value, exception) -> {
+            if (result.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return result;
+    }
+}
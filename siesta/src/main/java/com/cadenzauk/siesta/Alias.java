@@ -28,6 +28,7 @@ import com.cadenzauk.core.reflect.MethodInfo;
 import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.siesta.catalog.Column;
 import com.cadenzauk.siesta.catalog.Table;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.cadenzauk.siesta.grammar.expression.BooleanExpression;
 import com.cadenzauk.siesta.grammar.expression.ExpressionBuilder;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
@@ -88,13 +89,25 @@ public class Alias<R> {
     }
 
     public String inSelectClauseSql(String columnName) {
-        return String.format("%s.%s", aliasName.orElseGet(table::qualifiedName), columnName);
+        return String.format("%s.%s", columnQualifier(), columnName);
+    }
+
+    public void inSelectClauseSql(String columnName, SqlWriter writer) {
+        writer.append(columnQualifier()).append('.').append(columnName);
     }
 
     public String inSelectClauseLabel(String columnName) {
         return String.format("%s_%s", columnLabelPrefix(), columnName);
     }
 
+    public void inSelectClauseLabel(String columnName, SqlWriter writer) {
+        writer.append(columnLabelPrefix()).append('_').append(columnName);
+    }
+
+    protected String columnQualifier() {
+        return aliasName.orElseGet(table::qualifiedName);
+    }
+
     protected String columnLabelPrefix() {
         return aliasName.orElseGet(table::tableName);
     }
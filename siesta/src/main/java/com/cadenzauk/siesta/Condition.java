@@ -22,6 +22,8 @@
 
 package com.cadenzauk.siesta;
 
+import com.cadenzauk.siesta.grammar.SqlWriter;
+
 import java.util.stream.Stream;
 
 @SuppressWarnings("unused")
@@ -29,4 +31,8 @@ public interface Condition<T> {
     String sql(Scope scope);
 
     Stream<Object> args(Scope scope);
+
+    default void render(Scope scope, SqlWriter writer) {
+        writer.append(sql(scope)).args(args(scope));
+    }
 }
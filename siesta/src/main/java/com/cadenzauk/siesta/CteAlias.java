@@ -25,6 +25,7 @@ package com.cadenzauk.siesta;
 import com.cadenzauk.siesta.grammar.select.CommonTableExpression;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class CteAlias<RT> extends Alias<RT> {
     private final CommonTableExpression<RT> commonTableExpression;
@@ -34,10 +35,9 @@ public class CteAlias<RT> extends Alias<RT> {
         this.commonTableExpression = commonTableExpression;
     }
 
-
     @Override
-    public String inSelectClauseSql(String columnName) {
-        return String.format("%s.%s", aliasName().orElseGet(commonTableExpression::name), columnName);
+    protected String columnQualifier() {
+        return aliasName().orElseGet(commonTableExpression::name);
     }
 
     @Override
@@ -51,4 +51,8 @@ public class CteAlias<RT> extends Alias<RT> {
             .map(a -> String.format("%s %s", commonTableExpression.name(), a))
             .orElseGet(commonTableExpression::name);
     }
+
+    public Stream<CommonTableExpression<?>> commonTableExpressions() {
+        return commonTableExpression.commonTableExpressions();
+    }
 }
@@ -27,7 +27,11 @@ import com.cadenzauk.core.sql.RuntimeSqlException;
 import com.cadenzauk.siesta.type.DbType;
 import com.cadenzauk.siesta.type.DbTypeId;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -39,15 +43,19 @@ import java.util.UUID;
 
 public class DataType<T> {
     public static final DataType<BigDecimal> BIG_DECIMAL = new DataType<>(BigDecimal.class, DbTypeId.DECIMAL);
+    public static final DataType<Blob> BLOB = new DataType<>(Blob.class, DbTypeId.BLOB);
     public static final DataType<Byte> BYTE = new DataType<>(Byte.class, DbTypeId.TINYINT);
     public static final DataType<byte[]> BYTE_ARRAY = new DataType<>(byte[].class, DbTypeId.VARBINARY);
+    public static final DataType<Clob> CLOB = new DataType<>(Clob.class, DbTypeId.CLOB);
     public static final DataType<Double> DOUBLE = new DataType<>(Double.class, DbTypeId.DOUBLE);
     public static final DataType<Float> FLOAT = new DataType<>(Float.class, DbTypeId.REAL);
+    public static final DataType<InputStream> INPUT_STREAM = new DataType<>(InputStream.class, DbTypeId.BINARY_STREAM);
     public static final DataType<Integer> INTEGER = new DataType<>(Integer.class, DbTypeId.INTEGER);
     public static final DataType<LocalDate> LOCAL_DATE = new DataType<>(LocalDate.class, DbTypeId.DATE);
     public static final DataType<LocalDateTime> LOCAL_DATE_TIME = new DataType<>(LocalDateTime.class, DbTypeId.TIMESTAMP);
     public static final DataType<LocalTime> LOCAL_TIME = new DataType<>(LocalTime.class, DbTypeId.TIME);
     public static final DataType<Long> LONG = new DataType<>(Long.class, DbTypeId.BIGINT);
+    public static final DataType<Reader> READER = new DataType<>(Reader.class, DbTypeId.CHARACTER_STREAM);
     public static final DataType<Short> SHORT = new DataType<>(Short.class, DbTypeId.SMALLINT);
     public static final DataType<String> STRING = new DataType<>(String.class, DbTypeId.VARCHAR);
     public static final DataType<UUID> UUID = new DataType<>(UUID.class, DbTypeId.UUID);
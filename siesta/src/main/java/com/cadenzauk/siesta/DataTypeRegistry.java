@@ -37,15 +37,19 @@ public class DataTypeRegistry {
 
     public DataTypeRegistry() {
         register(DataType.BIG_DECIMAL);
+        register(DataType.BLOB);
         register(DataType.BYTE);
         register(DataType.BYTE_ARRAY);
+        register(DataType.CLOB);
         register(DataType.DOUBLE);
         register(DataType.FLOAT);
+        register(DataType.INPUT_STREAM);
         register(DataType.INTEGER);
         register(DataType.LOCAL_DATE);
         register(DataType.LOCAL_DATE_TIME);
         register(DataType.LOCAL_TIME);
         register(DataType.LONG);
+        register(DataType.READER);
         register(DataType.SHORT);
         register(DataType.STRING);
         register(DataType.UUID);
@@ -29,6 +29,25 @@ import com.cadenzauk.core.reflect.FieldInfo;
 import com.cadenzauk.core.reflect.MethodInfo;
 import com.cadenzauk.core.sql.RuntimeSqlException;
 import com.cadenzauk.core.sql.exception.SqlExceptionConstructor;
+import com.cadenzauk.core.tuple.Tuple10;
+import com.cadenzauk.core.tuple.Tuple11;
+import com.cadenzauk.core.tuple.Tuple12;
+import com.cadenzauk.core.tuple.Tuple13;
+import com.cadenzauk.core.tuple.Tuple14;
+import com.cadenzauk.core.tuple.Tuple15;
+import com.cadenzauk.core.tuple.Tuple16;
+import com.cadenzauk.core.tuple.Tuple17;
+import com.cadenzauk.core.tuple.Tuple18;
+import com.cadenzauk.core.tuple.Tuple19;
+import com.cadenzauk.core.tuple.Tuple2;
+import com.cadenzauk.core.tuple.Tuple20;
+import com.cadenzauk.core.tuple.Tuple3;
+import com.cadenzauk.core.tuple.Tuple4;
+import com.cadenzauk.core.tuple.Tuple5;
+import com.cadenzauk.core.tuple.Tuple6;
+import com.cadenzauk.core.tuple.Tuple7;
+import com.cadenzauk.core.tuple.Tuple8;
+import com.cadenzauk.core.tuple.Tuple9;
 import com.cadenzauk.core.util.OptionalUtil;
 import com.cadenzauk.siesta.catalog.Column;
 import com.cadenzauk.siesta.catalog.Table;
@@ -44,6 +63,8 @@ import com.cadenzauk.siesta.grammar.select.CommonTableExpression;
 import com.cadenzauk.siesta.grammar.select.CommonTableExpressionBuilder;
 import com.cadenzauk.siesta.grammar.select.ExpectingJoin1;
 import com.cadenzauk.siesta.grammar.select.InProjectionExpectingComma1;
+import com.cadenzauk.siesta.grammar.select.QueryBatch;
+import com.cadenzauk.siesta.grammar.select.RecursiveCommonTableExpressionBuilder;
 import com.cadenzauk.siesta.grammar.select.Select;
 import com.cadenzauk.siesta.name.UppercaseUnderscores;
 import com.cadenzauk.siesta.type.DbType;
@@ -55,29 +76,38 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class Database {
     private static final Logger LOG = LoggerFactory.getLogger(Database.class);
 
     private final Map<TypeToken<?>,Table<?>> metadataCache = new ConcurrentHashMap<>();
+    private final QueryResultCache queryResultCache = new QueryResultCache();
     private final DataTypeRegistry dataTypeRegistry;
     private final String defaultCatalog;
     private final String defaultSchema;
     private final NamingStrategy namingStrategy;
     private final Dialect dialect;
     private final Optional<SqlExecutor> defaultSqlExecutor;
+    private final Optional<ReplicaPool> replicas;
     private final ZoneId databaseTimeZone;
+    private final Optional<SlowQueryLog> slowQueryLog;
+    private final Optional<Duration> defaultTimeout;
 
     private Database(Builder builder) {
         dataTypeRegistry = new DataTypeRegistry();
@@ -86,7 +116,12 @@ public class Database {
         namingStrategy = builder.namingStrategy;
         dialect = builder.dialect();
         defaultSqlExecutor = builder.defaultSqlExecutor;
+        replicas = builder.readReplicas.isEmpty()
+            ? Optional.empty()
+            : Optional.of(new ReplicaPool(builder.readReplicas, builder.replicaBalancing));
         databaseTimeZone = builder.databaseTimeZone;
+        slowQueryLog = builder.slowQueryLog;
+        defaultTimeout = builder.defaultTimeout;
 
         builder.customizations.forEach(c -> c.accept(dialect));
         builder.dataTypes.forEach(d -> d.accept(dataTypeRegistry));
@@ -109,6 +144,18 @@ public class Database {
         return dialect;
     }
 
+    public QueryResultCache queryResultCache() {
+        return queryResultCache;
+    }
+
+    public Optional<SlowQueryLog> slowQueryLog() {
+        return slowQueryLog;
+    }
+
+    public Optional<Duration> defaultTimeout() {
+        return defaultTimeout;
+    }
+
     public Sequence<Integer> sequence(String name) {
         return sequence(Integer.class, defaultCatalog, defaultSchema, name);
     }
@@ -169,14 +216,26 @@ public class Database {
     }
 
     public <T> T execute(String sql, Supplier<T> statement) {
+        return execute(sql, new Object[0], statement);
+    }
+
+    public <T> T execute(String sql, Object[] args, Supplier<T> statement) {
         try {
-            return statement.get();
+            return slowQueryLog.isPresent()
+                ? slowQueryLog.get().time(sql, args, statement)
+                : statement.get();
         } catch (RuntimeSqlException exception) {
             translateException(sql, exception);
             throw exception;
         }
     }
 
+    public <T> CompletableFuture<T> executeAsync(String sql, Object[] args, Supplier<CompletableFuture<T>> statement) {
+        return slowQueryLog.isPresent()
+            ? slowQueryLog.get().timeAsync(sql, args, statement)
+            : statement.get();
+    }
+
     public <T> T translateException(String sql, Throwable throwable) {
         OptionalUtil.as(RuntimeSqlException.class, throwable)
             .ifPresent(e -> {
@@ -270,18 +329,52 @@ public class Database {
         return table(methodInfo.referringClass()).column(methodInfo);
     }
 
+    public Optional<ReplicaPool> replicas() {
+        return replicas;
+    }
+
     public SqlExecutor getDefaultSqlExecutor() {
         return defaultSqlExecutor.orElseThrow(() -> new IllegalStateException("Default SQL executor has not been set."));
     }
 
+    public <T> T withSession(Function<SqlExecutor,T> work) {
+        return getDefaultSqlExecutor().withSession(work);
+    }
+
     public Transaction beginTransaction() {
         return getDefaultSqlExecutor().beginTransaction();
     }
 
+    public <T> T inTransaction(Function<Transaction,T> work, RetryPolicy retryPolicy) {
+        return inTransaction(getDefaultSqlExecutor(), work, retryPolicy);
+    }
+
+    public <T> T inTransaction(SqlExecutor sqlExecutor, Function<Transaction,T> work, RetryPolicy retryPolicy) {
+        return retryPolicy.execute(() -> {
+            try (Transaction transaction = sqlExecutor.beginTransaction()) {
+                T result = work.apply(transaction);
+                transaction.commit();
+                return result;
+            } catch (RuntimeSqlException e) {
+                throw translated(e);
+            }
+        });
+    }
+
+    private RuntimeSqlException translated(RuntimeSqlException exception) {
+        return exception.getClass() == RuntimeSqlException.class && exception.getCause() != null
+            ? dialect.exceptionTranslator().translate("transaction", exception.getCause())
+            : exception;
+    }
+
     public CommonTableExpressionBuilder with(String name) {
         return new CommonTableExpressionBuilder(this, name);
     }
 
+    public RecursiveCommonTableExpressionBuilder withRecursive(String name) {
+        return new RecursiveCommonTableExpressionBuilder(this, name);
+    }
+
     public <T> InProjectionExpectingComma1<T> select(TypedExpression<T> what) {
         return from(Dual.class).select(what);
     }
@@ -391,6 +484,396 @@ public class Database {
         return table(rowClass).delete(transaction, row);
     }
 
+    public <R> int deleteAll(Class<R> rowClass, Collection<R> rows) {
+        return deleteAll(getDefaultSqlExecutor(), rowClass, rows);
+    }
+
+    public <R> int deleteAll(SqlExecutor sqlExecutor, Class<R> rowClass, Collection<R> rows) {
+        return table(rowClass).deleteAll(sqlExecutor, rows);
+    }
+
+    public <R> int deleteAll(Transaction transaction, Class<R> rowClass, Collection<R> rows) {
+        return table(rowClass).deleteAll(transaction, rows);
+    }
+
+    public <R, T> int deleteByIds(Class<R> rowClass, Collection<T> ids) {
+        return deleteByIds(getDefaultSqlExecutor(), rowClass, ids);
+    }
+
+    public <R, T> int deleteByIds(SqlExecutor sqlExecutor, Class<R> rowClass, Collection<T> ids) {
+        return table(rowClass).deleteByIds(sqlExecutor, ids);
+    }
+
+    public <R, T> int deleteByIds(Transaction transaction, Class<R> rowClass, Collection<T> ids) {
+        return table(rowClass).deleteByIds(transaction, ids);
+    }
+
+    public <R, T> Optional<R> findById(Class<R> rowClass, T id) {
+        return findById(getDefaultSqlExecutor(), rowClass, id);
+    }
+
+    public <R, T> Optional<R> findById(SqlExecutor sqlExecutor, Class<R> rowClass, T id) {
+        return table(rowClass).findById(sqlExecutor, id);
+    }
+
+    public <R, T> Optional<R> findById(Transaction transaction, Class<R> rowClass, T id) {
+        return table(rowClass).findById(transaction, id);
+    }
+
+    public <R, T> List<R> findByIds(Class<R> rowClass, Collection<T> ids) {
+        return findByIds(getDefaultSqlExecutor(), rowClass, ids);
+    }
+
+    public <R, T> List<R> findByIds(SqlExecutor sqlExecutor, Class<R> rowClass, Collection<T> ids) {
+        return table(rowClass).findByIds(sqlExecutor, ids);
+    }
+
+    public <R, T> List<R> findByIds(Transaction transaction, Class<R> rowClass, Collection<T> ids) {
+        return table(rowClass).findByIds(transaction, ids);
+    }
+
+    public <T1, T2> Tuple2<List<T1>,List<T2>> batchQueries(Select<T1> select1, Select<T2> select2) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2).list();
+        return new Tuple2<>(result(results, 0), result(results, 1));
+    }
+
+    public <T1, T2> Tuple2<List<T1>,List<T2>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2).list(sqlExecutor);
+        return new Tuple2<>(result(results, 0), result(results, 1));
+    }
+
+    public <T1, T2> Tuple2<List<T1>,List<T2>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2).list(transaction);
+        return new Tuple2<>(result(results, 0), result(results, 1));
+    }
+
+    public <T1, T2, T3> Tuple3<List<T1>,List<T2>,List<T3>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3).list();
+        return new Tuple3<>(result(results, 0), result(results, 1), result(results, 2));
+    }
+
+    public <T1, T2, T3> Tuple3<List<T1>,List<T2>,List<T3>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3).list(sqlExecutor);
+        return new Tuple3<>(result(results, 0), result(results, 1), result(results, 2));
+    }
+
+    public <T1, T2, T3> Tuple3<List<T1>,List<T2>,List<T3>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3).list(transaction);
+        return new Tuple3<>(result(results, 0), result(results, 1), result(results, 2));
+    }
+
+    public <T1, T2, T3, T4> Tuple4<List<T1>,List<T2>,List<T3>,List<T4>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4).list();
+        return new Tuple4<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3));
+    }
+
+    public <T1, T2, T3, T4> Tuple4<List<T1>,List<T2>,List<T3>,List<T4>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4).list(sqlExecutor);
+        return new Tuple4<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3));
+    }
+
+    public <T1, T2, T3, T4> Tuple4<List<T1>,List<T2>,List<T3>,List<T4>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4).list(transaction);
+        return new Tuple4<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3));
+    }
+
+    public <T1, T2, T3, T4, T5> Tuple5<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5).list();
+        return new Tuple5<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4));
+    }
+
+    public <T1, T2, T3, T4, T5> Tuple5<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5).list(sqlExecutor);
+        return new Tuple5<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4));
+    }
+
+    public <T1, T2, T3, T4, T5> Tuple5<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5).list(transaction);
+        return new Tuple5<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4));
+    }
+
+    public <T1, T2, T3, T4, T5, T6> Tuple6<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6).list();
+        return new Tuple6<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5));
+    }
+
+    public <T1, T2, T3, T4, T5, T6> Tuple6<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6).list(sqlExecutor);
+        return new Tuple6<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5));
+    }
+
+    public <T1, T2, T3, T4, T5, T6> Tuple6<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6).list(transaction);
+        return new Tuple6<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7> Tuple7<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7).list();
+        return new Tuple7<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7> Tuple7<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7).list(sqlExecutor);
+        return new Tuple7<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7> Tuple7<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7).list(transaction);
+        return new Tuple7<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8> Tuple8<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8).list();
+        return new Tuple8<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8> Tuple8<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8).list(sqlExecutor);
+        return new Tuple8<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8> Tuple8<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8).list(transaction);
+        return new Tuple8<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9> Tuple9<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9).list();
+        return new Tuple9<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9> Tuple9<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9).list(sqlExecutor);
+        return new Tuple9<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9> Tuple9<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9).list(transaction);
+        return new Tuple9<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10> Tuple10<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10).list();
+        return new Tuple10<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10> Tuple10<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10).list(sqlExecutor);
+        return new Tuple10<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10> Tuple10<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10).list(transaction);
+        return new Tuple10<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11> Tuple11<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11).list();
+        return new Tuple11<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11> Tuple11<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11).list(sqlExecutor);
+        return new Tuple11<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11> Tuple11<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11).list(transaction);
+        return new Tuple11<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12> Tuple12<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12).list();
+        return new Tuple12<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12> Tuple12<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12).list(sqlExecutor);
+        return new Tuple12<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12> Tuple12<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12).list(transaction);
+        return new Tuple12<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13> Tuple13<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13).list();
+        return new Tuple13<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13> Tuple13<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13).list(sqlExecutor);
+        return new Tuple13<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13> Tuple13<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13).list(transaction);
+        return new Tuple13<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14> Tuple14<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14).list();
+        return new Tuple14<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14> Tuple14<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14).list(sqlExecutor);
+        return new Tuple14<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14> Tuple14<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14).list(transaction);
+        return new Tuple14<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15> Tuple15<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15).list();
+        return new Tuple15<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15> Tuple15<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15).list(sqlExecutor);
+        return new Tuple15<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15> Tuple15<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15).list(transaction);
+        return new Tuple15<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16> Tuple16<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16).list();
+        return new Tuple16<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16> Tuple16<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16).list(sqlExecutor);
+        return new Tuple16<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16> Tuple16<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16).list(transaction);
+        return new Tuple16<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17> Tuple17<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17).list();
+        return new Tuple17<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17> Tuple17<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17).list(sqlExecutor);
+        return new Tuple17<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17> Tuple17<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17).list(transaction);
+        return new Tuple17<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18> Tuple18<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18).list();
+        return new Tuple18<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18> Tuple18<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18).list(sqlExecutor);
+        return new Tuple18<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18> Tuple18<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18).list(transaction);
+        return new Tuple18<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18, T19> Tuple19<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>,List<T19>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18, Select<T19> select19) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18, select19).list();
+        return new Tuple19<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17), result(results, 18));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18, T19> Tuple19<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>,List<T19>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18, Select<T19> select19) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18, select19).list(sqlExecutor);
+        return new Tuple19<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17), result(results, 18));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18, T19> Tuple19<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>,List<T19>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18, Select<T19> select19) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18, select19).list(transaction);
+        return new Tuple19<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17), result(results, 18));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18, T19, T20> Tuple20<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>,List<T19>,List<T20>> batchQueries(Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18, Select<T19> select19, Select<T20> select20) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18, select19, select20).list();
+        return new Tuple20<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17), result(results, 18), result(results, 19));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18, T19, T20> Tuple20<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>,List<T19>,List<T20>> batchQueries(SqlExecutor sqlExecutor, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18, Select<T19> select19, Select<T20> select20) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18, select19, select20).list(sqlExecutor);
+        return new Tuple20<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17), result(results, 18), result(results, 19));
+    }
+
+    public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, T17, T18, T19, T20> Tuple20<List<T1>,List<T2>,List<T3>,List<T4>,List<T5>,List<T6>,List<T7>,List<T8>,List<T9>,List<T10>,List<T11>,List<T12>,List<T13>,List<T14>,List<T15>,List<T16>,List<T17>,List<T18>,List<T19>,List<T20>> batchQueries(Transaction transaction, Select<T1> select1, Select<T2> select2, Select<T3> select3, Select<T4> select4, Select<T5> select5, Select<T6> select6, Select<T7> select7, Select<T8> select8, Select<T9> select9, Select<T10> select10, Select<T11> select11, Select<T12> select12, Select<T13> select13, Select<T14> select14, Select<T15> select15, Select<T16> select16, Select<T17> select17, Select<T18> select18, Select<T19> select19, Select<T20> select20) {
+        List<List<?>> results = QueryBatch.of(this, select1, select2, select3, select4, select5, select6, select7, select8, select9, select10, select11, select12, select13, select14, select15, select16, select17, select18, select19, select20).list(transaction);
+        return new Tuple20<>(result(results, 0), result(results, 1), result(results, 2), result(results, 3), result(results, 4), result(results, 5), result(results, 6), result(results, 7), result(results, 8), result(results, 9), result(results, 10), result(results, 11), result(results, 12), result(results, 13), result(results, 14), result(results, 15), result(results, 16), result(results, 17), result(results, 18), result(results, 19));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> result(List<List<?>> results, int index) {
+        return (List<T>) results.get(index);
+    }
+
+    public <R> long bulkLoad(Class<R> rowClass, Stream<R> rows) {
+        return bulkLoad(getDefaultSqlExecutor(), rowClass, rows);
+    }
+
+    public <R> long bulkLoad(SqlExecutor sqlExecutor, Class<R> rowClass, Stream<R> rows) {
+        return table(rowClass).bulkLoad(sqlExecutor, rows);
+    }
+
+    public <R> long bulkLoad(Transaction transaction, Class<R> rowClass, Stream<R> rows) {
+        return table(rowClass).bulkLoad(transaction, rows);
+    }
+
+    public <P, C> Map<P,List<C>> fetchChildren(Collection<P> parents, Class<C> childClass) {
+        return fetchChildren(getDefaultSqlExecutor(), parents, childClass);
+    }
+
+    public <P, C> Map<P,List<C>> fetchChildren(SqlExecutor sqlExecutor, Collection<P> parents, Class<C> childClass) {
+        return rowClassOf(parents)
+            .map(parentClass -> table(parentClass).fetchChildren(sqlExecutor, parents, childClass))
+            .orElseGet(HashMap::new);
+    }
+
+    public <P, C> Map<P,List<C>> fetchChildren(Transaction transaction, Collection<P> parents, Class<C> childClass) {
+        return rowClassOf(parents)
+            .map(parentClass -> table(parentClass).fetchChildren(transaction, parents, childClass))
+            .orElseGet(HashMap::new);
+    }
+
+    public <C, P> Map<C,P> fetchParents(Collection<C> children, Class<P> parentClass) {
+        return fetchParents(getDefaultSqlExecutor(), children, parentClass);
+    }
+
+    public <C, P> Map<C,P> fetchParents(SqlExecutor sqlExecutor, Collection<C> children, Class<P> parentClass) {
+        return rowClassOf(children)
+            .map(childClass -> table(childClass).fetchParents(sqlExecutor, children, parentClass))
+            .orElseGet(HashMap::new);
+    }
+
+    public <C, P> Map<C,P> fetchParents(Transaction transaction, Collection<C> children, Class<P> parentClass) {
+        return rowClassOf(children)
+            .map(childClass -> table(childClass).fetchParents(transaction, children, parentClass))
+            .orElseGet(HashMap::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> Optional<Class<R>> rowClassOf(Collection<R> rows) {
+        return rows.stream()
+            .filter(Objects::nonNull)
+            .findFirst()
+            .map(r -> (Class<R>) r.getClass());
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -401,7 +884,11 @@ public class Database {
         private NamingStrategy namingStrategy = new UppercaseUnderscores();
         private Optional<Dialect> dialect = Optional.empty();
         private Optional<SqlExecutor> defaultSqlExecutor = Optional.empty();
+        private final List<SqlExecutor> readReplicas = new ArrayList<>();
+        private ReplicaBalancing replicaBalancing = ReplicaBalancing.ROUND_ROBIN;
         private ZoneId databaseTimeZone = ZoneId.systemDefault();
+        private Optional<SlowQueryLog> slowQueryLog = Optional.empty();
+        private Optional<Duration> defaultTimeout = Optional.empty();
         private final List<Consumer<Dialect>> customizations = new ArrayList<>();
         private final List<Consumer<DataTypeRegistry>> dataTypes = new ArrayList<>();
         private final Map<TypeToken<?>,TableInitializer<?,?>> tables = new HashMap<>();
@@ -424,6 +911,21 @@ public class Database {
             return this;
         }
 
+        public Builder readReplica(SqlExecutor val) {
+            readReplicas.add(val);
+            return this;
+        }
+
+        public Builder readReplicas(Collection<SqlExecutor> val) {
+            readReplicas.addAll(val);
+            return this;
+        }
+
+        public Builder replicaBalancing(ReplicaBalancing val) {
+            replicaBalancing = val;
+            return this;
+        }
+
         public Builder namingStrategy(NamingStrategy val) {
             namingStrategy = val;
             return this;
@@ -439,6 +941,19 @@ public class Database {
             return this;
         }
 
+        public Builder slowQueryLog(SlowQueryLog val) {
+            slowQueryLog = Optional.ofNullable(val);
+            return this;
+        }
+
+        public Builder defaultTimeout(Duration val) {
+            if (val.isNegative() || val.isZero()) {
+                throw new IllegalArgumentException("Timeout must be positive but was " + val);
+            }
+            defaultTimeout = Optional.of(val);
+            return this;
+        }
+
         public <T> Builder function(FunctionName functionName, FunctionSpec functionSpec) {
             customizations.add(dialect -> dialect.registerFunction(functionName, functionSpec));
             return this;
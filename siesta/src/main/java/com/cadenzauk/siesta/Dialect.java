@@ -29,6 +29,7 @@ import com.cadenzauk.siesta.dialect.function.FunctionSpec;
 import com.cadenzauk.siesta.type.DbType;
 import com.cadenzauk.siesta.type.DbTypeId;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
@@ -52,6 +53,12 @@ public interface Dialect {
 
     String selectivity(double s);
 
+    String selectHints(List<Hint> hints);
+
+    String tableHints(List<Hint> hints, boolean skipLocked);
+
+    String queryHints(String sql, List<Hint> hints);
+
     boolean supportsMultiInsert();
 
     boolean requiresFromDual();
@@ -62,6 +69,12 @@ public interface Dialect {
 
     String isolationLevelSql(String sql, IsolationLevel level, Optional<LockLevel> keepLocks);
 
+    boolean supportsSkipLocked();
+
+    String skipLockedSql(String sql);
+
+    boolean supportsFetchFirstWithLocks();
+
     boolean supportsLockTimeout();
 
     String setLockTimeout(long time, TimeUnit unit);
@@ -74,8 +87,28 @@ public interface Dialect {
 
     boolean supportsMultipleValueIn();
 
+    int maxInListSize();
+
+    boolean supportsArrayInList();
+
+    boolean supportsNullsInArrayInList();
+
+    boolean supportsMultipleResultSets();
+
+    Optional<BulkLoader> bulkLoader();
+
+    Optional<PlanExplainer> planExplainer();
+
+    String arrayInList(String operator);
+
+    Object arrayInListParameter(Object[] values);
+
     boolean requiresOrderByInRowNumber();
 
+    boolean requiresRecursiveInWith();
+
+    boolean supportsUnionInRecursiveWith();
+
     String qualifiedSequenceName(String catalog, String schema, String name);
 
     String qualifiedIndexName(String catalog, String schema, String name);
@@ -88,5 +121,7 @@ public interface Dialect {
 
     String nextFromSequence(String catalog, String schema, String sequenceName);
 
+    String nextValuesFromSequence(String catalog, String schema, String sequenceName);
+
     SequenceInfo sequenceInfo();
 }
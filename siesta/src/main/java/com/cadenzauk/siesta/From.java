@@ -23,10 +23,13 @@
 package com.cadenzauk.siesta;
 
 import com.cadenzauk.siesta.grammar.InvalidJoinException;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.cadenzauk.siesta.grammar.expression.BooleanExpression;
 import com.cadenzauk.siesta.grammar.expression.BooleanExpressionChain;
 import com.cadenzauk.siesta.grammar.expression.ForeignKeyExpression;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
@@ -36,6 +39,10 @@ public abstract class From {
 
     public abstract Stream<Object> args(Scope scope);
 
+    public void render(Scope scope, SqlWriter writer) {
+        writer.append(sql(scope)).args(args(scope));
+    }
+
     public abstract void on(BooleanExpression expression, boolean validate);
 
     public abstract <L> void onForeignKey(Optional<String> name, Alias<L> lhs, ForeignKeyExpression.Direction direction);
@@ -46,10 +53,20 @@ public abstract class From {
 
     public abstract void appendOr(BooleanExpression expression);
 
+    public abstract void addHint(Hint hint);
+
+    public abstract void skipLocked();
+
+    public abstract From copy();
+
     protected abstract Alias<?> alias();
 
+    public abstract Stream<Alias<?>> aliases();
+
     private static class FromAlias extends From {
         private final Alias<?> alias;
+        private final List<Hint> hints = new ArrayList<>();
+        private boolean skipLocked;
 
         private FromAlias(Alias<?> alias) {
             this.alias = alias;
@@ -58,7 +75,7 @@ public abstract class From {
         @Override
         public String sql(Scope scope) {
             return scope.dialect().requiresFromDual() || !alias.isDual()
-                ? " from " + alias.inWhereClause()
+                ? " from " + alias.inWhereClause() + scope.dialect().tableHints(hints, skipLocked)
                 : "";
         }
 
@@ -67,6 +84,13 @@ public abstract class From {
             return Stream.empty();
         }
 
+        @Override
+        public void render(Scope scope, SqlWriter writer) {
+            if (scope.dialect().requiresFromDual() || !alias.isDual()) {
+                writer.append(" from ").append(alias.inWhereClause()).append(scope.dialect().tableHints(hints, skipLocked));
+            }
+        }
+
         @Override
         public void on(BooleanExpression expression, boolean validate) {
         }
@@ -87,32 +111,66 @@ public abstract class From {
         public void appendOr(BooleanExpression expression) {
         }
 
+        @Override
+        public void addHint(Hint hint) {
+            if (!hint.alias().filter(alias::equals).isPresent()) {
+                throw new IllegalArgumentException("Hint " + hint + " does not refer to a table in the from clause.");
+            }
+            hints.add(hint);
+        }
+
+        @Override
+        public void skipLocked() {
+            skipLocked = true;
+        }
+
+        @Override
+        public From copy() {
+            FromAlias copy = new FromAlias(alias);
+            copy.hints.addAll(hints);
+            copy.skipLocked = skipLocked;
+            return copy;
+        }
+
         @Override
         protected Alias<?> alias() {
             return alias;
         }
+
+        @Override
+        public Stream<Alias<?>> aliases() {
+            return Stream.of(alias);
+        }
     }
 
     private static class FromJoin extends From {
         private final From lhs;
         private final JoinType join;
         private final Alias<?> next;
-        private final BooleanExpressionChain onClause = new BooleanExpressionChain();
+        private final BooleanExpressionChain onClause;
+        private final List<Hint> hints = new ArrayList<>();
+        private boolean skipLocked;
         private boolean validate;
 
         FromJoin(From lhs, JoinType join, Alias<?> next) {
+            this(lhs, join, next, new BooleanExpressionChain());
+        }
+
+        private FromJoin(From lhs, JoinType join, Alias<?> next, BooleanExpressionChain onClause) {
             this.lhs = lhs;
             this.join = join;
             this.next = next;
+            this.onClause = onClause;
         }
 
         @Override
         public String sql(Scope scope) {
             AtomicBoolean used = new AtomicBoolean(false);
-            String sql = String.format("%s %s %s on %s",
+            String sql = String.format("%s %s %s%s on %s",
                 lhs.sql(scope),
                 join.sql(),
                 next.inWhereClause(),
+                scope.dialect().tableHints(hints, skipLocked),
                 onClause.sql(scope.tracker(next, used)));
             if (validate && !used.get()) {
                 throw new InvalidJoinException(next);
@@ -125,6 +183,17 @@ public abstract class From {
             return Stream.concat(lhs.args(scope), onClause.args(scope));
         }
 
+        @Override
+        public void render(Scope scope, SqlWriter writer) {
+            AtomicBoolean used = new AtomicBoolean(false);
+            lhs.render(scope, writer);
+            writer.append(' ').append(join.sql()).append(' ').append(next.inWhereClause()).append(scope.dialect().tableHints(hints, skipLocked)).append(" on ");
+            onClause.render(scope.tracker(next, used), writer);
+            if (validate && !used.get()) {
+                throw new InvalidJoinException(next);
+            }
+        }
+
         @Override
         public void on(BooleanExpression expression, boolean validate) {
             this.validate = validate;
@@ -151,10 +220,39 @@ public abstract class From {
             onClause.appendOr(expression);
         }
 
+        @Override
+        public void addHint(Hint hint) {
+            if (hint.alias().filter(next::equals).isPresent()) {
+                hints.add(hint);
+            } else {
+                lhs.addHint(hint);
+            }
+        }
+
+        @Override
+        public void skipLocked() {
+            skipLocked = true;
+            lhs.skipLocked();
+        }
+
+        @Override
+        public From copy() {
+            FromJoin copy = new FromJoin(lhs.copy(), join, next, new BooleanExpressionChain(onClause));
+            copy.hints.addAll(hints);
+            copy.skipLocked = skipLocked;
+            copy.validate = validate;
+            return copy;
+        }
+
         @Override
         protected Alias<?> alias() {
             return next;
         }
+
+        @Override
+        public Stream<Alias<?>> aliases() {
+            return Stream.concat(lhs.aliases(), Stream.of(next));
+        }
     }
 
     public From join(JoinType join, Alias<?> next) {
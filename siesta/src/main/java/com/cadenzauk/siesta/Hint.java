@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Optional;
+
+public final class Hint {
+    public enum Type {
+        INDEX,
+        RECOMPILE,
+        MAX_RECURSION,
+        OPTIMIZER
+    }
+
+    private final Type type;
+    private final Optional<Alias<?>> alias;
+    private final String text;
+
+    private Hint(Type type, Optional<Alias<?>> alias, String text) {
+        this.type = type;
+        this.alias = alias;
+        this.text = text;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public Optional<Alias<?>> alias() {
+        return alias;
+    }
+
+    public String qualifier() {
+        return alias
+            .map(a -> a.aliasName().orElseGet(() -> a.table().tableName()))
+            .orElse("");
+    }
+
+    public String text() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return alias.isPresent()
+            ? String.format("%s(%s %s)", type, qualifier(), text)
+            : String.format("%s(%s)", type, text);
+    }
+
+    public static Hint index(Alias<?> alias, String indexName) {
+        if (StringUtils.isBlank(indexName)) {
+            throw new IllegalArgumentException("Index name must not be blank");
+        }
+        return new Hint(Type.INDEX, Optional.of(alias), indexName);
+    }
+
+    public static Hint recompile() {
+        return new Hint(Type.RECOMPILE, Optional.empty(), "");
+    }
+
+    public static Hint maxRecursion(int levels) {
+        if (levels < 0) {
+            throw new IllegalArgumentException("Maximum recursion must not be negative");
+        }
+        return new Hint(Type.MAX_RECURSION, Optional.empty(), Integer.toString(levels));
+    }
+
+    public static Hint optimizer(String text) {
+        if (StringUtils.isBlank(text)) {
+            throw new IllegalArgumentException("Optimizer hint must not be blank");
+        }
+        return new Hint(Type.OPTIMIZER, Optional.empty(), text);
+    }
+}
@@ -22,6 +22,7 @@
 
 package com.cadenzauk.siesta;
 
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 import com.cadenzauk.siesta.projection.AliasColumns;
 import com.cadenzauk.siesta.projection.ExpressionProjection;
@@ -35,6 +36,10 @@ public interface Projection {
 
     Stream<Object> args(Scope scope);
 
+    default void render(Scope scope, SqlWriter writer) {
+        writer.append(sql(scope)).args(args(scope));
+    }
+
     String labelList(Scope scope);
 
     Projection distinct();
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toCollection;
+
+public final class QueryPlan {
+    private final String text;
+    private final Set<String> indexes;
+    private final Set<String> scannedTables;
+
+    private QueryPlan(String text, Collection<String> indexes, Collection<String> scannedTables) {
+        this.text = text;
+        this.indexes = normalized(indexes);
+        this.scannedTables = normalized(scannedTables);
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public Set<String> indexes() {
+        return indexes;
+    }
+
+    public Set<String> scannedTables() {
+        return scannedTables;
+    }
+
+    public boolean usesIndex(String indexName) {
+        return indexes.contains(normalize(indexName));
+    }
+
+    public boolean scansTable(String tableName) {
+        return scannedTables.contains(normalize(tableName));
+    }
+
+    public boolean hasTableScan() {
+        return !scannedTables.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    public static QueryPlan of(String text, Collection<String> indexes, Collection<String> scannedTables) {
+        return new QueryPlan(text, indexes, scannedTables);
+    }
+
+    private static Set<String> normalized(Collection<String> names) {
+        Set<String> result = names.stream()
+            .filter(StringUtils::isNotBlank)
+            .map(QueryPlan::normalize)
+            .collect(toCollection(TreeSet::new));
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static String normalize(String name) {
+        String unqualified = StringUtils.substringAfterLast("." + name.trim(), ".");
+        return StringUtils.strip(unqualified, "\"[]`").toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import com.cadenzauk.core.tuple.Tuple;
+import com.cadenzauk.core.tuple.Tuple3;
+import com.cadenzauk.siesta.catalog.Table;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.math.LongMath;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class QueryResultCache {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 4;
+    private static final int MIN_ENTRIES_PER_SEGMENT = 20;
+
+    private final ConcurrentMap<Tuple3<Duration,Long,Long>,Cache<Key,List<?>>> regions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String,AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public <T> List<T> get(Duration timeToLive, long maxEntries, TypeToken<T> rowType, String sql, Object[] args, Stream<Table<?>> tables, Supplier<List<T>> loader) {
+        return get(timeToLive, maxEntries, Long.MAX_VALUE, rowType, sql, args, tables, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Duration timeToLive, long maxEntries, long maxRows, TypeToken<T> rowType, String sql, Object[] args, Stream<Table<?>> tables, Supplier<List<T>> loader) {
+        List<Long> tableGenerations = tables
+            .map(Table::qualifiedName)
+            .distinct()
+            .sorted()
+            .map(name -> generation(name).get())
+            .collect(toList());
+        Key key = new Key(rowType, sql, args, tableGenerations);
+        try {
+            return (List<T>) region(timeToLive, maxEntries, maxRows).get(key, () -> Collections.unmodifiableList(new ArrayList<>(loader.get())));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public void invalidate(Table<?> table) {
+        generation(table.qualifiedName()).incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        regions.values().forEach(Cache::invalidateAll);
+    }
+
+    public CacheStats stats() {
+        return regions.values()
+            .stream()
+            .map(Cache::stats)
+            .reduce(new CacheStats(0, 0, 0, 0, 0, 0), CacheStats::plus);
+    }
+
+    private AtomicLong generation(String tableName) {
+        return generations.computeIfAbsent(tableName, k -> new AtomicLong());
+    }
+
+    private Cache<Key,List<?>> region(Duration timeToLive, long maxEntries, long maxRows) {
+        return regions.computeIfAbsent(Tuple.of(timeToLive, maxEntries, maxRows), k -> {
+            CacheBuilder<Object,Object> builder = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats();
+            // Each entry weighs at least its share of the row budget, so the weight bound also caps the entry count.
+            // The budget is split across segments, so keep as many segments as maximumSize(maxEntries) would use.
+            long minimumWeight = LongMath.divide(maxRows, maxEntries, RoundingMode.CEILING);
+            if (minimumWeight > Integer.MAX_VALUE) {
+                return builder.maximumSize(maxEntries).build();
+            }
+            Weigher<Key,List<?>> weigher = (key, rows) -> Math.max(rows.size(), (int) minimumWeight);
+            return builder
+                .concurrencyLevel((int) Math.max(1, Math.min(DEFAULT_CONCURRENCY_LEVEL, maxEntries / MIN_ENTRIES_PER_SEGMENT)))
+                .maximumWeight(maxRows)
+                .weigher(weigher)
+                .build();
+        });
+    }
+
+    private static class Key {
+        private final TypeToken<?> rowType;
+        private final String sql;
+        private final Object[] args;
+        private final List<Long> tableGenerations;
+
+        private Key(TypeToken<?> rowType, String sql, Object[] args, List<Long> tableGenerations) {
+            this.rowType = rowType;
+            this.sql = sql;
+            this.args = args;
+            this.tableGenerations = tableGenerations;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(rowType, key.rowType) &&
+                Objects.equals(sql, key.sql) &&
+                Arrays.deepEquals(args, key.args) &&
+                Objects.equals(tableGenerations, key.tableGenerations);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rowType, sql, Arrays.deepHashCode(args), tableGenerations);
+        }
+    }
+}
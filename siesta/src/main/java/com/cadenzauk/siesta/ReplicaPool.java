@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import com.cadenzauk.core.util.FutureUtil;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class ReplicaPool {
+    private final List<Replica> replicas;
+    private final ReplicaBalancing balancing;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<SqlExecutor> replicas, ReplicaBalancing balancing) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("A replica pool requires at least one SQL executor.");
+        }
+        this.replicas = replicas.stream().map(Replica::new).collect(toList());
+        this.balancing = balancing;
+    }
+
+    public List<SqlExecutor> sqlExecutors() {
+        return replicas.stream().map(r -> r.sqlExecutor).collect(ImmutableList.toImmutableList());
+    }
+
+    public int outstanding(SqlExecutor sqlExecutor) {
+        return replicas.stream()
+            .filter(r -> r.sqlExecutor == sqlExecutor)
+            .mapToInt(r -> r.outstanding.get())
+            .sum();
+    }
+
+    public <T> T query(Function<SqlExecutor,T> query) {
+        Replica replica = acquire();
+        try {
+            return query.apply(replica.sqlExecutor);
+        } finally {
+            replica.release();
+        }
+    }
+
+    public <T> Stream<T> stream(Function<SqlExecutor,Stream<T>> query) {
+        Replica replica = acquire();
+        try {
+            return query.apply(replica.sqlExecutor).onClose(replica::release);
+        } catch (RuntimeException e) {
+            replica.release();
+            throw e;
+        }
+    }
+
+    public <T> CompletableFuture<T> queryAsync(Function<SqlExecutor,CompletableFuture<T>> query) {
+        Replica replica = acquire();
+        try {
+            CompletableFuture<T> result = query.apply(replica.sqlExecutor);
+            return FutureUtil.cancelling(result.whenComplete((r, e) -> replica.release()), result);
+        } catch (RuntimeException e) {
+            replica.release();
+            throw e;
+        }
+    }
+
+    private Replica acquire() {
+        Replica replica = choose();
+        replica.outstanding.incrementAndGet();
+        return replica;
+    }
+
+    private Replica choose() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (balancing == ReplicaBalancing.ROUND_ROBIN) {
+            return replicas.get(start);
+        }
+        return IntStream.range(0, replicas.size())
+            .mapToObj(i -> replicas.get((start + i) % replicas.size()))
+            .min(Comparator.comparingInt(r -> r.outstanding.get()))
+            .orElseThrow(IllegalStateException::new);
+    }
+
+    private static class Replica {
+        private final SqlExecutor sqlExecutor;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private Replica(SqlExecutor sqlExecutor) {
+            this.sqlExecutor = sqlExecutor;
+        }
+
+        private void release() {
+            outstanding.decrementAndGet();
+        }
+    }
+}
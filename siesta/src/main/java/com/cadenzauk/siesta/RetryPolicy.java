@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import com.cadenzauk.core.sql.exception.LockingException;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class RetryPolicy {
+    private static final Logger LOG = LoggerFactory.getLogger(RetryPolicy.class);
+    private static final long MILLI_TOKENS = 1000;
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+    private final long maxBudget;
+    private final long budgetRefill;
+    private final List<Class<? extends RuntimeException>> retryOn;
+    private final AtomicLong budget;
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+    private final AtomicLong wastedNanos = new AtomicLong();
+
+    private RetryPolicy(Builder builder) {
+        maxAttempts = builder.maxAttempts;
+        initialBackoff = builder.initialBackoff;
+        maxBackoff = builder.maxBackoff;
+        multiplier = builder.multiplier;
+        maxBudget = Math.round(builder.retryBudget * MILLI_TOKENS);
+        budgetRefill = Math.round(builder.budgetRefill * MILLI_TOKENS);
+        retryOn = ImmutableList.copyOf(builder.retryOn);
+        budget = new AtomicLong(maxBudget);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            attempts.incrementAndGet();
+            try {
+                T result = work.get();
+                refill();
+                return result;
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    exhausted.incrementAndGet();
+                    wastedNanos.addAndGet(System.nanoTime() - start);
+                    throw e;
+                }
+                if (!withdraw()) {
+                    budgetExhausted.incrementAndGet();
+                    wastedNanos.addAndGet(System.nanoTime() - start);
+                    throw e;
+                }
+                retries.incrementAndGet();
+                long backoff = backoffMillis(attempt);
+                LOG.debug("Retrying after {}ms following attempt {}: {}", backoff, attempt, e.getMessage());
+                sleep(backoff);
+                wastedNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    public RetryStats stats() {
+        return new RetryStats(attempts.get(), retries.get(), exhausted.get(), budgetExhausted.get(), Duration.ofNanos(wastedNanos.get()));
+    }
+
+    boolean isRetryable(Throwable throwable) {
+        return retryOn.stream().anyMatch(c -> c.isInstance(throwable));
+    }
+
+    long backoffMillis(int attempt) {
+        double ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1));
+        return ThreadLocalRandom.current().nextLong(Math.max(1, Math.round(ceiling)) + 1);
+    }
+
+    private boolean withdraw() {
+        return budget.getAndUpdate(b -> b >= MILLI_TOKENS ? b - MILLI_TOKENS : b) >= MILLI_TOKENS;
+    }
+
+    private void refill() {
+        budget.updateAndGet(b -> Math.min(maxBudget, b + budgetRefill));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry.", e);
+        }
+    }
+
+    public static RetryPolicy defaults() {
+        return newBuilder().build();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double multiplier = 2.0;
+        private double retryBudget = 10;
+        private double budgetRefill = 0.1;
+        private final List<Class<? extends RuntimeException>> retryOn = new ArrayList<>(ImmutableList.of(LockingException.class));
+
+        private Builder() {
+        }
+
+        public Builder maxAttempts(int val) {
+            if (val < 1) {
+                throw new IllegalArgumentException("At least one attempt is required.");
+            }
+            maxAttempts = val;
+            return this;
+        }
+
+        public Builder initialBackoff(Duration val) {
+            initialBackoff = val;
+            return this;
+        }
+
+        public Builder maxBackoff(Duration val) {
+            maxBackoff = val;
+            return this;
+        }
+
+        public Builder multiplier(double val) {
+            multiplier = val;
+            return this;
+        }
+
+        public Builder retryBudget(double val) {
+            retryBudget = val;
+            return this;
+        }
+
+        public Builder budgetRefill(double val) {
+            budgetRefill = val;
+            return this;
+        }
+
+        public Builder retryOn(Class<? extends RuntimeException> val) {
+            retryOn.add(val);
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
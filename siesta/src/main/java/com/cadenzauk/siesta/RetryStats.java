@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import java.time.Duration;
+
+public class RetryStats {
+    private final long attempts;
+    private final long retries;
+    private final long exhausted;
+    private final long budgetExhausted;
+    private final Duration wastedTime;
+
+    RetryStats(long attempts, long retries, long exhausted, long budgetExhausted, Duration wastedTime) {
+        this.attempts = attempts;
+        this.retries = retries;
+        this.exhausted = exhausted;
+        this.budgetExhausted = budgetExhausted;
+        this.wastedTime = wastedTime;
+    }
+
+    public long attempts() {
+        return attempts;
+    }
+
+    public long retries() {
+        return retries;
+    }
+
+    public long exhausted() {
+        return exhausted;
+    }
+
+    public long budgetExhausted() {
+        return budgetExhausted;
+    }
+
+    public Duration wastedTime() {
+        return wastedTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RetryStats[attempts=%d, retries=%d, exhausted=%d, budgetExhausted=%d, wastedTime=%s]",
+            attempts, retries, exhausted, budgetExhausted, wastedTime);
+    }
+}
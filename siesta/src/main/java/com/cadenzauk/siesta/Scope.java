@@ -23,15 +23,19 @@
 package com.cadenzauk.siesta;
 
 import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.siesta.catalog.Table;
 import com.google.common.collect.ImmutableList;
 import com.google.common.reflect.TypeToken;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
@@ -40,6 +44,7 @@ public class Scope {
     private final List<Alias<?>> aliases;
     private final Database database;
     private final AtomicLong labelCounter = new AtomicLong();
+    private final Set<Table<?>> referencedTables = new LinkedHashSet<>();
 
     public Scope(Database database, Alias<?>... aliases) {
         this.database = database;
@@ -104,6 +109,20 @@ public class Scope {
             .orElseGet(labelCounter::incrementAndGet);
     }
 
+    public void reference(Table<?> table) {
+        if (outer.isPresent()) {
+            outer.get().reference(table);
+        } else {
+            referencedTables.add(table);
+        }
+    }
+
+    public Stream<Table<?>> referencedTables() {
+        return outer
+            .map(Scope::referencedTables)
+            .orElseGet(referencedTables::stream);
+    }
+
     public Scope tracker(Alias<?> lookingFor, AtomicBoolean result) {
         return new Scope(this, ImmutableList.of()) {
 
@@ -23,17 +23,24 @@
 package com.cadenzauk.siesta;
 
 import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.core.util.Lazy;
 import com.cadenzauk.siesta.grammar.expression.SequenceExpression;
 import com.google.common.reflect.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.function.BiFunction;
+
 public class Sequence<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(Sequence.class);
+
     private final Database database;
     private final String catalog;
     private final String schema;
     private final String sequenceName;
     private final DataType<T> dataType;
+    private final Lazy<String> nextValuesSql;
 
     private Sequence(Builder<T> builder) {
         database = builder.database;
@@ -41,6 +48,7 @@ public class Sequence<T> {
         schema = builder.schema;
         sequenceName = builder.sequenceName;
         dataType = builder.dataType;
+        nextValuesSql = new Lazy<>(() -> database.dialect().nextValuesFromSequence(catalog, schema, sequenceName));
     }
 
     public SequenceExpression<T> nextVal() {
@@ -51,6 +59,18 @@ public class Sequence<T> {
         return single(database.getDefaultSqlExecutor());
     }
 
+    public List<T> next(int n) {
+        return next(database.getDefaultSqlExecutor(), n);
+    }
+
+    public List<T> next(SqlExecutor sqlExecutor, int n) {
+        return next(n, (sql, args) -> sqlExecutor.query(sql, args, rowMapper("NEXT_VAL")));
+    }
+
+    public List<T> next(Transaction transaction, int n) {
+        return next(n, (sql, args) -> transaction.query(sql, args, rowMapper("NEXT_VAL")));
+    }
+
     public TypeToken<T> type() {
         return TypeToken.of(dataType.javaClass());
     }
@@ -67,6 +87,16 @@ public class Sequence<T> {
         return database.select(nextVal(), sequenceName).single(sqlExecutor);
     }
 
+    private List<T> next(int n, BiFunction<String,Object[],List<T>> query) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Number of values must be positive but was " + n);
+        }
+        String sql = nextValuesSql.get();
+        Object[] args = {n};
+        LOG.debug(sql);
+        return database.execute(sql, args, () -> query.apply(sql, args));
+    }
+
     public String sql() {
         return database.dialect().nextFromSequence(catalog, schema, sequenceName);
     }
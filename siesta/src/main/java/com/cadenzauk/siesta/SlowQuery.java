@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import java.time.Duration;
+
+public class SlowQuery {
+    private final String fingerprint;
+    private final StatementType statementType;
+    private final long count;
+    private final Duration totalTime;
+    private final Duration maxTime;
+
+    SlowQuery(String fingerprint, StatementType statementType, long count, Duration totalTime, Duration maxTime) {
+        this.fingerprint = fingerprint;
+        this.statementType = statementType;
+        this.count = count;
+        this.totalTime = totalTime;
+        this.maxTime = maxTime;
+    }
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    public StatementType statementType() {
+        return statementType;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public Duration totalTime() {
+        return totalTime;
+    }
+
+    public Duration maxTime() {
+        return maxTime;
+    }
+
+    public Duration meanTime() {
+        return count == 0 ? Duration.ZERO : totalTime.dividedBy(count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SlowQuery[count=%d, totalTime=%s, maxTime=%s, fingerprint=%s]",
+            count, totalTime, maxTime, fingerprint);
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+public class SlowQueryLog {
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Duration defaultThreshold;
+    private final Map<StatementType,Duration> thresholds;
+    private final double samplingRate;
+    private final int maxLogsPerSecond;
+    private final int maxBindLength;
+    private final Predicate<String> redactBindValues;
+    private final int topN;
+    private final int maxFingerprints;
+    private final Map<String,Accumulator> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicLong logged = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private long windowStart = Long.MIN_VALUE;
+    private int windowCount;
+
+    private SlowQueryLog(Builder builder) {
+        defaultThreshold = builder.defaultThreshold;
+        thresholds = new EnumMap<>(builder.thresholds);
+        samplingRate = builder.samplingRate;
+        maxLogsPerSecond = builder.maxLogsPerSecond;
+        maxBindLength = builder.maxBindLength;
+        redactBindValues = builder.redactBindValues;
+        topN = builder.topN;
+        maxFingerprints = builder.maxFingerprints;
+    }
+
+    public <T> T time(String sql, Object[] args, Supplier<T> statement) {
+        long start = System.nanoTime();
+        try {
+            return statement.get();
+        } finally {
+            record(sql, args, System.nanoTime() - start);
+        }
+    }
+
+    public <T> CompletableFuture<T> timeAsync(String sql, Object[] args, Supplier<CompletableFuture<T>> statement) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = statement.get();
+        } catch (RuntimeException e) {
+            record(sql, args, System.nanoTime() - start);
+            throw e;
+        }
+        future.whenComplete((result, exception) -> record(sql, args, System.nanoTime() - start));
+        return future;
+    }
+
+    public Duration threshold(StatementType statementType) {
+        return thresholds.getOrDefault(statementType, defaultThreshold);
+    }
+
+    public List<SlowQuery> slowest() {
+        return slowest(topN);
+    }
+
+    public List<SlowQuery> slowest(int n) {
+        return fingerprints.values().stream()
+            .map(Accumulator::snapshot)
+            .sorted(Comparator.comparing(SlowQuery::maxTime).reversed())
+            .limit(n)
+            .collect(toList());
+    }
+
+    public long logged() {
+        return logged.get();
+    }
+
+    public long suppressed() {
+        return suppressed.get();
+    }
+
+    void record(String sql, Object[] args, long elapsedNanos) {
+        StatementType statementType = StatementType.of(sql);
+        Duration threshold = threshold(statementType);
+        if (elapsedNanos < threshold.toNanos()) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        fingerprints.computeIfAbsent(fingerprint, f -> new Accumulator(f, statementType)).add(elapsedNanos);
+        if (fingerprints.size() > maxFingerprints) {
+            evictFastest();
+        }
+        if (isSampled() && isWithinRateLimit()) {
+            logged.incrementAndGet();
+            LOG.warn(message(sql, args, elapsedNanos, threshold));
+        } else {
+            suppressed.incrementAndGet();
+        }
+    }
+
+    String message(String sql, Object[] args, long elapsedNanos, Duration threshold) {
+        return String.format("Slow %s took %d ms (threshold %d ms): %s %s",
+            StatementType.of(sql),
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            threshold.toMillis(),
+            sql,
+            bindValues(sql, args));
+    }
+
+    private String bindValues(String sql, Object[] args) {
+        boolean redact = redactBindValues.test(sql);
+        return Arrays.stream(args)
+            .map(a -> redact ? "?" : bindValue(a))
+            .collect(joining(", ", "[", "]"));
+    }
+
+    private String bindValue(Object arg) {
+        if (arg == null) {
+            return "null";
+        }
+        if (arg instanceof byte[]) {
+            return String.format("<%d bytes>", ((byte[]) arg).length);
+        }
+        String value = StringUtils.abbreviate(arg.toString(), maxBindLength);
+        return arg instanceof CharSequence
+            ? "'" + value + "'"
+            : value;
+    }
+
+    private boolean isSampled() {
+        return samplingRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < samplingRate;
+    }
+
+    private synchronized boolean isWithinRateLimit() {
+        long now = System.nanoTime();
+        if (windowStart == Long.MIN_VALUE || now - windowStart >= ONE_SECOND) {
+            windowStart = now;
+            windowCount = 0;
+        }
+        if (windowCount >= maxLogsPerSecond) {
+            return false;
+        }
+        windowCount++;
+        return true;
+    }
+
+    private void evictFastest() {
+        fingerprints.values().stream()
+            .min(Comparator.comparingLong(Accumulator::maxNanos))
+            .ifPresent(a -> fingerprints.remove(a.fingerprint));
+    }
+
+    static String fingerprint(String sql) {
+        String withoutStrings = STRING_LITERAL.matcher(sql).replaceAll("?");
+        String withoutNumbers = NUMERIC_LITERAL.matcher(withoutStrings).replaceAll("?");
+        String withoutLists = PARAMETER_LIST.matcher(withoutNumbers).replaceAll("?, ...");
+        return WHITESPACE.matcher(withoutLists).replaceAll(" ").trim();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private static class Accumulator {
+        private final String fingerprint;
+        private final StatementType statementType;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private Accumulator(String fingerprint, StatementType statementType) {
+            this.fingerprint = fingerprint;
+            this.statementType = statementType;
+        }
+
+        private synchronized void add(long elapsedNanos) {
+            count++;
+            totalNanos += elapsedNanos;
+            maxNanos = Math.max(maxNanos, elapsedNanos);
+        }
+
+        private synchronized long maxNanos() {
+            return maxNanos;
+        }
+
+        private synchronized SlowQuery snapshot() {
+            return new SlowQuery(fingerprint, statementType, count, Duration.ofNanos(totalNanos), Duration.ofNanos(maxNanos));
+        }
+    }
+
+    public static final class Builder {
+        private Duration defaultThreshold = Duration.ofSeconds(1);
+        private final Map<StatementType,Duration> thresholds = new EnumMap<>(StatementType.class);
+        private double samplingRate = 1.0;
+        private int maxLogsPerSecond = Integer.MAX_VALUE;
+        private int maxBindLength = 100;
+        private Predicate<String> redactBindValues = sql -> false;
+        private int topN = 10;
+        private int maxFingerprints = 1000;
+
+        private Builder() {
+        }
+
+        public Builder threshold(Duration val) {
+            defaultThreshold = val;
+            return this;
+        }
+
+        public Builder threshold(StatementType statementType, Duration val) {
+            thresholds.put(statementType, val);
+            return this;
+        }
+
+        public Builder samplingRate(double val) {
+            if (val < 0.0 || val > 1.0) {
+                throw new IllegalArgumentException("Sampling rate must be between 0 and 1 but was " + val);
+            }
+            samplingRate = val;
+            return this;
+        }
+
+        public Builder maxLogsPerSecond(int val) {
+            if (val < 0) {
+                throw new IllegalArgumentException("Maximum logs per second must not be negative but was " + val);
+            }
+            maxLogsPerSecond = val;
+            return this;
+        }
+
+        public Builder maxBindLength(int val) {
+            if (val < 4) {
+                throw new IllegalArgumentException("Maximum bind length must be at least 4 but was " + val);
+            }
+            maxBindLength = val;
+            return this;
+        }
+
+        public Builder redactBindValues() {
+            redactBindValues = sql -> true;
+            return this;
+        }
+
+        public Builder redactBindValues(Predicate<String> sql) {
+            redactBindValues = redactBindValues.or(sql);
+            return this;
+        }
+
+        public Builder topN(int val) {
+            if (val < 1) {
+                throw new IllegalArgumentException("Top N must be positive but was " + val);
+            }
+            topN = val;
+            return this;
+        }
+
+        public Builder maxFingerprints(int val) {
+            if (val < 1) {
+                throw new IllegalArgumentException("Maximum fingerprints must be positive but was " + val);
+            }
+            maxFingerprints = val;
+            return this;
+        }
+
+        public SlowQueryLog build() {
+            return new SlowQueryLog(this);
+        }
+    }
+}
@@ -25,8 +25,12 @@ package com.cadenzauk.siesta;
 import com.cadenzauk.core.lang.CompositeAutoCloseable;
 import com.cadenzauk.core.sql.RowMapper;
 
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public interface SqlExecutor {
@@ -40,8 +44,34 @@ public interface SqlExecutor {
 
     <T> Stream<T> stream(String sql, Object[] args, RowMapper<T> rowMapper);
 
+    default <T> CompletableFuture<List<T>> queryAsync(String sql, Object[] args, RowMapper<T> rowMapper) {
+        return CompletableFuture.supplyAsync(() -> query(sql, args, rowMapper));
+    }
+
+    default List<List<?>> queryMultiple(String sql, Object[] args, List<RowMapper<?>> rowMappers) {
+        throw new UnsupportedOperationException(String.format("%s does not support multiple result sets.", getClass().getName()));
+    }
+
     int update(String sql, Object[] args);
 
+    default <T> T withConnection(Function<Connection,T> work) {
+        throw new UnsupportedOperationException(String.format("%s does not provide direct connection access.", getClass().getName()));
+    }
+
+    default <T> T withSession(Function<SqlExecutor,T> work) {
+        return work.apply(this);
+    }
+
+    default SqlExecutor withTimeout(Duration timeout) {
+        throw new UnsupportedOperationException(String.format("%s does not support statement timeouts.", getClass().getName()));
+    }
+
+    default int[] batchUpdate(String sql, List<Object[]> args) {
+        return args.stream()
+            .mapToInt(a -> update(sql, a))
+            .toArray();
+    }
+
     default int update(String sql) {
         return update(sql, new Object[0]);
     }
@@ -24,8 +24,11 @@ package com.cadenzauk.siesta;
 
 import com.cadenzauk.core.sql.RowMapper;
 
+import java.sql.Connection;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public interface Transaction extends AutoCloseable {
@@ -36,14 +39,36 @@ public interface Transaction extends AutoCloseable {
 
     void rollback();
 
+    default void onCommit(Runnable action) {
+        action.run();
+    }
+
     <T> List<T> query(String sql, Object[] args, RowMapper<T> rowMapper);
 
     <T> CompletableFuture<List<T>> queryAsync(String sql, Object[] args, RowMapper<T> rowMapper);
 
     <T> Stream<T> stream(String sql, Object[] args, RowMapper<T> rowMapper);
 
+    default List<List<?>> queryMultiple(String sql, Object[] args, List<RowMapper<?>> rowMappers) {
+        throw new UnsupportedOperationException(String.format("%s does not support multiple result sets.", getClass().getName()));
+    }
+
+    default <T> T withConnection(Function<Connection,T> work) {
+        throw new UnsupportedOperationException(String.format("%s does not provide direct connection access.", getClass().getName()));
+    }
+
+    default Transaction withTimeout(Duration timeout) {
+        throw new UnsupportedOperationException(String.format("%s does not support statement timeouts.", getClass().getName()));
+    }
+
     int update(String sql, Object[] args);
 
+    default int[] batchUpdate(String sql, List<Object[]> args) {
+        return args.stream()
+            .mapToInt(a -> update(sql, a))
+            .toArray();
+    }
+
     boolean execute(String sql, Object[] args);
 
     CompletableFuture<Integer> updateAsync(String sql, Object[] args);
@@ -25,6 +25,7 @@ package com.cadenzauk.siesta.catalog;
 import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.google.common.reflect.TypeToken;
 
 import java.util.Optional;
@@ -50,6 +51,10 @@ public interface Column<T, R> {
 
     String sqlWithLabel(Alias<?> alias, Optional<String> label);
 
+    default void renderWithLabel(Alias<?> alias, Optional<String> label, SqlWriter writer) {
+        writer.append(sqlWithLabel(alias, label));
+    }
+
     Stream<String> idSql(Alias<?> alias);
 
     Stream<Object> idArgs(Database database, R row);
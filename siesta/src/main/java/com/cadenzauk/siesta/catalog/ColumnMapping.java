@@ -142,6 +142,12 @@ public class ColumnMapping<R, B> implements ColumnCollection<R> {
         };
     }
 
+    Object[] insertArgs(R row) {
+        return columns()
+            .flatMap(c -> c.insertArgs(database, Optional.ofNullable(row)))
+            .toArray();
+    }
+
     Object[] insertArgs(R[] rows) {
         return Arrays.stream(rows)
             .map(Optional::ofNullable)
@@ -72,7 +72,7 @@ public class EmbeddedColumn<T, TB, R, RB> implements TableColumn<T,R,RB>, Column
 
     @Override
     public boolean identifier() {
-        return false;
+        return identifier;
     }
 
     @Override
@@ -27,17 +27,27 @@ import com.cadenzauk.core.function.FunctionOptional1;
 import com.cadenzauk.core.util.Lazy;
 import com.cadenzauk.core.util.OptionalUtil;
 import com.cadenzauk.siesta.Alias;
+import com.cadenzauk.siesta.grammar.expression.InListExpression;
+import com.cadenzauk.siesta.grammar.expression.KeyInListExpression;
+import com.cadenzauk.siesta.grammar.select.InWhereExpectingAnd;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 public class ForeignKeyReference<C, P> {
     private final Optional<String> name;
@@ -92,6 +102,62 @@ public class ForeignKeyReference<C, P> {
             .collect(joining(" and "));
     }
 
+    public Map<P,List<C>> fetchChildren(Collection<P> parents, Function<InWhereExpectingAnd<C>,List<C>> list) {
+        List<String> columnNames = columnReferences.stream().map(c -> c.childColumn().columnName()).collect(toList());
+        Map<List<Object>,List<C>> childrenByKey = fetch(childTable, columnNames, keys(parents, this::parentKey), list)
+            .stream()
+            .collect(groupingBy(this::childKey));
+        Map<P,List<C>> result = new LinkedHashMap<>();
+        parents.stream()
+            .filter(Objects::nonNull)
+            .forEach(p -> result.put(p, childrenByKey.getOrDefault(parentKey(p), ImmutableList.of())));
+        return result;
+    }
+
+    public Map<C,P> fetchParents(Collection<C> children, Function<InWhereExpectingAnd<P>,List<P>> list) {
+        List<String> columnNames = columnReferences.stream().map(c -> c.parentColumn().columnName()).collect(toList());
+        Map<List<Object>,P> parentsByKey = fetch(parentTable(), columnNames, keys(children, this::childKey), list)
+            .stream()
+            .collect(toMap(this::parentKey, Function.identity(), (a, b) -> a));
+        Map<C,P> result = new LinkedHashMap<>();
+        children.stream()
+            .filter(Objects::nonNull)
+            .forEach(c -> Optional.ofNullable(parentsByKey.get(childKey(c))).ifPresent(p -> result.put(c, p)));
+        return result;
+    }
+
+    private List<Object> childKey(C child) {
+        return columnReferences
+            .stream()
+            .flatMap(c -> c.childColumn().rowToDatabase(childTable.database(), Optional.of(child)))
+            .collect(toList());
+    }
+
+    private List<Object> parentKey(P parent) {
+        return columnReferences
+            .stream()
+            .flatMap(c -> c.parentColumn().rowToDatabase(childTable.database(), Optional.of(parent)))
+            .collect(toList());
+    }
+
+    private <R> List<List<Object>> keys(Collection<R> rows, Function<R,List<Object>> key) {
+        return rows.stream()
+            .filter(Objects::nonNull)
+            .map(key)
+            .filter(k -> k.stream().allMatch(Objects::nonNull))
+            .collect(Collectors.toCollection(LinkedHashSet::new))
+            .stream()
+            .collect(toList());
+    }
+
+    private <R> List<R> fetch(Table<R> table, List<String> columnNames, List<List<Object>> keys, Function<InWhereExpectingAnd<R>,List<R>> list) {
+        int maxKeysPerQuery = Math.max(1, table.database().dialect().maxInListSize() / columnNames.size());
+        Alias<R> alias = table.as(table.tableName());
+        return InListExpression.paddedChunks(keys, maxKeysPerQuery)
+            .flatMap(chunk -> list.apply(table.database().from(alias).where(new KeyInListExpression(alias, columnNames, chunk))).stream())
+            .collect(toList());
+    }
+
     private Table<P> computeParent() {
         return childTable.database().table(parentClass);
     }
@@ -27,6 +27,7 @@ import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.DataType;
 import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.google.common.reflect.TypeToken;
 
 import java.sql.ResultSet;
@@ -117,6 +118,17 @@ public class PrimitiveColumn<T, R, B> implements TableColumn<T,R,B> {
         return String.format("%s as %s", alias.inSelectClauseSql(columnName), label.orElseGet(() -> alias.inSelectClauseLabel(columnName)));
     }
 
+    @Override
+    public void renderWithLabel(Alias<?> alias, Optional<String> label, SqlWriter writer) {
+        alias.inSelectClauseSql(columnName, writer);
+        writer.append(" as ");
+        if (label.isPresent()) {
+            writer.append(label.get());
+        } else {
+            alias.inSelectClauseLabel(columnName, writer);
+        }
+    }
+
     @Override
     public Stream<String> idSql(Alias<?> alias) {
         return identifier
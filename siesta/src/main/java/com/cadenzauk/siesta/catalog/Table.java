@@ -29,6 +29,7 @@ import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.core.stream.StreamUtil;
 import com.cadenzauk.core.tuple.Tuple;
 import com.cadenzauk.siesta.Alias;
+import com.cadenzauk.siesta.BulkLoader;
 import com.cadenzauk.siesta.Database;
 import com.cadenzauk.siesta.DynamicRowMapper;
 import com.cadenzauk.siesta.ForeignKey;
@@ -37,17 +38,33 @@ import com.cadenzauk.siesta.Reference;
 import com.cadenzauk.siesta.SqlExecutor;
 import com.cadenzauk.siesta.Transaction;
 import com.cadenzauk.siesta.grammar.InvalidForeignKeyException;
+import com.cadenzauk.siesta.grammar.expression.InListExpression;
+import com.cadenzauk.siesta.grammar.expression.ResolvedColumn;
+import com.cadenzauk.siesta.grammar.select.InWhereExpectingAnd;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import com.google.common.reflect.TypeToken;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -57,6 +74,7 @@ import static java.util.stream.Collectors.toList;
 
 public class Table<R> implements ColumnCollection<R> {
     private static final Logger LOG = LoggerFactory.getLogger(Table.class);
+    private static final int BULK_LOAD_BATCH_SIZE = 1000;
     private final Database database;
     private final TypeToken<R> rowType;
     private final String catalog;
@@ -64,6 +82,7 @@ public class Table<R> implements ColumnCollection<R> {
     private final String tableName;
     private final ColumnMapping<R,?> columnMapping;
     private final List<ForeignKeyReference<R,?>> foreignKeys;
+    private final Optional<TableCache<R>> cache;
 
     private <B> Table(Builder<R,B> builder) {
         database = builder.database;
@@ -72,6 +91,7 @@ public class Table<R> implements ColumnCollection<R> {
         schema = builder.schema;
         tableName = builder.tableName;
         columnMapping = new ColumnMapping<>(builder);
+        cache = builder.cache.map(TableCache.Builder::build);
         foreignKeys = builder.foreignKeys
             .stream()
             .map(fk -> fk.childTable(this))
@@ -128,6 +148,35 @@ public class Table<R> implements ColumnCollection<R> {
         return Alias.of(this, alias);
     }
 
+    public Optional<TableCache<R>> cache() {
+        return cache;
+    }
+
+    public void invalidateCache() {
+        cache.ifPresent(TableCache::invalidateAll);
+        database.queryResultCache().invalidate(this);
+    }
+
+    public <T> Optional<R> findById(SqlExecutor sqlExecutor, T id) {
+        return findByIds(sqlExecutor, Collections.singletonList(id)).stream().findFirst();
+    }
+
+    public <T> Optional<R> findById(Transaction transaction, T id) {
+        return findByIds(transaction, Collections.singletonList(id)).stream().findFirst();
+    }
+
+    public <T> List<R> findByIds(SqlExecutor sqlExecutor, Collection<T> ids) {
+        return findByIds(ids, (idColumn, misses) -> selectByIds(idColumn, misses).list(sqlExecutor));
+    }
+
+    public <T> List<R> findByIds(Transaction transaction, Collection<T> ids) {
+        List<T> distinctIds = distinct(ids);
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return selectByIds(singleIdColumn(), distinctIds).list(transaction);
+    }
+
     public int insert(SqlExecutor sqlExecutor, R[] rows) {
         if (database().dialect().supportsMultiInsert()) {
             return performInsert(sqlExecutor, rows);
@@ -154,7 +203,7 @@ public class Table<R> implements ColumnCollection<R> {
         }
         String sql = updateSql();
         Object[] args = columnMapping.updateArgs(row);
-        return database.execute(sql, () -> sqlExecutor.update(sql, args));
+        return write(Collections.singletonList(row), () -> database.execute(sql, args, () -> sqlExecutor.update(sql, args)));
     }
 
     public int update(Transaction transaction, R row) {
@@ -163,7 +212,7 @@ public class Table<R> implements ColumnCollection<R> {
         }
         String sql = updateSql();
         Object[] args = columnMapping.updateArgs(row);
-        return database.execute(sql, () -> transaction.update(sql, args));
+        return write(transaction, Collections.singletonList(row), () -> database.execute(sql, args, () -> transaction.update(sql, args)));
     }
 
     public int delete(SqlExecutor sqlExecutor, R row) {
@@ -172,7 +221,7 @@ public class Table<R> implements ColumnCollection<R> {
         }
         String sql = deleteSql();
         Object[] args = columnMapping.deleteArgs(row);
-        return database.execute(sql, () -> sqlExecutor.update(sql, args));
+        return write(Collections.singletonList(row), () -> database.execute(sql, args, () -> sqlExecutor.update(sql, args)));
     }
 
     public int delete(Transaction transaction, R row) {
@@ -181,7 +230,52 @@ public class Table<R> implements ColumnCollection<R> {
         }
         String sql = deleteSql();
         Object[] args = columnMapping.deleteArgs(row);
-        return database.execute(sql, () -> transaction.update(sql, args));
+        return write(transaction, Collections.singletonList(row), () -> database.execute(sql, args, () -> transaction.update(sql, args)));
+    }
+
+    public int deleteAll(SqlExecutor sqlExecutor, Collection<R> rows) {
+        return write(rows, () -> deleteByIdArgs(idArgsOfRows(rows), sqlExecutor::batchUpdate));
+    }
+
+    public int deleteAll(Transaction transaction, Collection<R> rows) {
+        return write(transaction, rows, () -> deleteByIdArgs(idArgsOfRows(rows), transaction::batchUpdate));
+    }
+
+    public <T> int deleteByIds(SqlExecutor sqlExecutor, Collection<T> ids) {
+        List<Object[]> idArgs = idArgsOfIds(ids);
+        return writeKeys(keysOfIdArgs(idArgs), () -> deleteByIdArgs(idArgs, sqlExecutor::batchUpdate));
+    }
+
+    public <T> int deleteByIds(Transaction transaction, Collection<T> ids) {
+        List<Object[]> idArgs = idArgsOfIds(ids);
+        List<List<Object>> keys = keysOfIdArgs(idArgs);
+        transaction.onCommit(() -> invalidate(keys));
+        return writeKeys(keys, () -> deleteByIdArgs(idArgs, transaction::batchUpdate));
+    }
+
+    public long bulkLoad(SqlExecutor sqlExecutor, Stream<R> rows) {
+        return bulkLoad(rows, loader -> sqlExecutor.withConnection(loader::supports), sqlExecutor::withConnection, sqlExecutor::batchUpdate);
+    }
+
+    public long bulkLoad(Transaction transaction, Stream<R> rows) {
+        transaction.onCommit(this::invalidateCache);
+        return bulkLoad(rows, loader -> transaction.withConnection(loader::supports), transaction::withConnection, transaction::batchUpdate);
+    }
+
+    public <C> Map<R,List<C>> fetchChildren(SqlExecutor sqlExecutor, Collection<R> parents, Class<C> childClass) {
+        return foreignKeyFrom(childClass).fetchChildren(parents, select -> select.list(sqlExecutor));
+    }
+
+    public <C> Map<R,List<C>> fetchChildren(Transaction transaction, Collection<R> parents, Class<C> childClass) {
+        return foreignKeyFrom(childClass).fetchChildren(parents, select -> select.list(transaction));
+    }
+
+    public <P> Map<R,P> fetchParents(SqlExecutor sqlExecutor, Collection<R> children, Class<P> parentClass) {
+        return foreignKeyTo(parentClass).fetchParents(children, select -> select.list(sqlExecutor));
+    }
+
+    public <P> Map<R,P> fetchParents(Transaction transaction, Collection<R> children, Class<P> parentClass) {
+        return foreignKeyTo(parentClass).fetchParents(children, select -> select.list(transaction));
     }
 
     public <P> Optional<ForeignKeyReference<R,P>> foreignKey(Table<P> parent, Optional<String> name) {
@@ -214,9 +308,9 @@ public class Table<R> implements ColumnCollection<R> {
         if (rows.length == 0) {
             return 0;
         }
-        String sql = insertSql(rows);
+        String sql = insertSql(rows.length);
         Object[] args = columnMapping.insertArgs(rows);
-        return database.execute(sql, () -> sqlExecutor.update(sql, args));
+        return write(Arrays.asList(rows), () -> database.execute(sql, args, () -> sqlExecutor.update(sql, args)));
     }
 
     @SuppressWarnings("unchecked")
@@ -225,16 +319,199 @@ public class Table<R> implements ColumnCollection<R> {
         if (rows.length == 0) {
             return 0;
         }
-        String sql = insertSql(rows);
+        String sql = insertSql(rows.length);
         Object[] args = columnMapping.insertArgs(rows);
-        return database.execute(sql, () -> transaction.update(sql, args));
+        return write(transaction, Arrays.asList(rows), () -> database.execute(sql, args, () -> transaction.update(sql, args)));
+    }
+
+    private long bulkLoad(Stream<R> rows, Predicate<BulkLoader> supported, Function<Function<Connection,Long>,Long> withConnection, BiFunction<String,List<Object[]>,int[]> batchUpdate) {
+        try (Stream<Object[]> args = rows.filter(Objects::nonNull).map(columnMapping::insertArgs)) {
+            Optional<BulkLoader> bulkLoader = database.dialect().bulkLoader().filter(supported);
+            if (bulkLoader.isPresent()) {
+                List<String> columnNames = columns().flatMap(Column::insertColumnSql).collect(toList());
+                String description = "bulk load into " + qualifiedName();
+                LOG.debug(description);
+                return database.execute(description, () -> withConnection.apply(c -> bulkLoader.get().load(c, qualifiedName(), columnNames, args)));
+            }
+            String sql = insertSql(1);
+            long count = 0;
+            Iterator<List<Object[]>> batches = Iterators.partition(args.iterator(), BULK_LOAD_BATCH_SIZE);
+            while (batches.hasNext()) {
+                List<Object[]> batch = batches.next();
+                database.execute(sql, () -> batchUpdate.apply(sql, batch));
+                count += batch.size();
+            }
+            return count;
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    private <T> List<R> findByIds(Collection<T> ids, BiFunction<Column<T,R>,List<T>,List<R>> select) {
+        Column<T,R> idColumn = singleIdColumn();
+        List<T> distinctIds = distinct(ids);
+        Map<List<Object>,R> found = new HashMap<>();
+        List<T> misses = new ArrayList<>();
+        distinctIds.forEach(id -> {
+            List<Object> key = idKey(idColumn, id);
+            Optional<R> cached = cache.flatMap(c -> c.get(key));
+            if (cached.isPresent()) {
+                found.put(key, cached.get());
+            } else {
+                misses.add(id);
+            }
+        });
+        if (!misses.isEmpty()) {
+            select.apply(idColumn, misses).forEach(row -> {
+                List<Object> key = rowKey(row);
+                found.put(key, row);
+                cache.ifPresent(c -> c.put(key, row));
+            });
+        }
+        return distinctIds.stream()
+            .map(id -> found.get(idKey(idColumn, id)))
+            .filter(Objects::nonNull)
+            .collect(toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> InWhereExpectingAnd<R> selectByIds(Column<T,R> idColumn, List<T> ids) {
+        Alias<R> alias = as(tableName);
+        TypeToken<T> idType = TypeToken.of((Class<T>) ids.get(0).getClass());
+        return database.from(alias)
+            .where(ResolvedColumn.of(alias, idColumn, idType)).isIn(ids);
+    }
+
+    private <T> List<Object> idKey(Column<T,R> idColumn, T id) {
+        return idColumn.toDatabase(database, Optional.of(id)).collect(toList());
+    }
+
+    private List<Object> rowKey(R row) {
+        return Arrays.asList(columnMapping.deleteArgs(row));
+    }
+
+    private <T> List<T> distinct(Collection<T> ids) {
+        return ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(toList());
+    }
+
+    private int write(Collection<R> rows, Supplier<Integer> statement) {
+        return writeKeys(keysOfRows(rows), statement);
+    }
+
+    private int write(Transaction transaction, Collection<R> rows, Supplier<Integer> statement) {
+        List<List<Object>> keys = keysOfRows(rows);
+        transaction.onCommit(() -> invalidate(keys));
+        return writeKeys(keys, statement);
+    }
+
+    private int writeKeys(List<List<Object>> keys, Supplier<Integer> statement) {
+        try {
+            return statement.get();
+        } finally {
+            invalidate(keys);
+        }
+    }
+
+    private List<List<Object>> keysOfRows(Collection<R> rows) {
+        return rows.stream()
+            .filter(Objects::nonNull)
+            .map(this::rowKey)
+            .collect(toList());
+    }
+
+    private List<List<Object>> keysOfIdArgs(List<Object[]> idArgs) {
+        return idArgs.stream()
+            .map(Arrays::asList)
+            .collect(toList());
+    }
+
+    private void invalidate(List<List<Object>> keys) {
+        cache.ifPresent(c -> keys.forEach(c::invalidate));
+        database.queryResultCache().invalidate(this);
+    }
+
+    private List<Object[]> idArgsOfRows(Collection<R> rows) {
+        return rows.stream()
+            .filter(Objects::nonNull)
+            .map(columnMapping::deleteArgs)
+            .collect(toList());
+    }
+
+    private <T> List<Object[]> idArgsOfIds(Collection<T> ids) {
+        Column<T,R> idColumn = singleIdColumn();
+        return ids.stream()
+            .filter(Objects::nonNull)
+            .map(id -> idColumn.toDatabase(database, Optional.of(id)).toArray())
+            .collect(toList());
+    }
+
+    private <C> ForeignKeyReference<C,R> foreignKeyFrom(Class<C> childClass) {
+        Table<C> child = database.table(childClass);
+        return child.foreignKey(this, Optional.empty())
+            .orElseThrow(() -> new InvalidForeignKeyException(child, this, Optional.empty()));
+    }
+
+    private <P> ForeignKeyReference<R,P> foreignKeyTo(Class<P> parentClass) {
+        Table<P> parent = database.table(parentClass);
+        return foreignKey(parent, Optional.empty())
+            .orElseThrow(() -> new InvalidForeignKeyException(this, parent, Optional.empty()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Column<T,R> singleIdColumn() {
+        List<Column<?,R>> idColumns = idColumns();
+        if (idColumns.size() != 1 || idColumns.get(0).count() != 1) {
+            throw new IllegalStateException(String.format("%s does not have a single column identifier.", qualifiedName()));
+        }
+        return (Column<T,R>) idColumns.get(0);
+    }
+
+    private List<Column<?,R>> idColumns() {
+        return columns()
+            .filter(Column::identifier)
+            .collect(toList());
+    }
+
+    private int deleteByIdArgs(List<Object[]> idArgs, BiFunction<String,List<Object[]>,int[]> batchUpdate) {
+        if (idArgs.isEmpty()) {
+            return 0;
+        }
+        int columnsPerId = idArgs.get(0).length;
+        if (columnsPerId == 0) {
+            throw new IllegalStateException(String.format("%s has no identifier columns.", qualifiedName()));
+        }
+        int maxIdsPerStatement = Math.max(1, database.dialect().maxInListSize() / columnsPerId);
+        Map<Integer,List<List<Object[]>>> batches = InListExpression.paddedChunks(idArgs, maxIdsPerStatement)
+            .collect(Collectors.groupingBy(List::size, TreeMap::new, toList()));
+        return batches.entrySet()
+            .stream()
+            .flatMapToInt(batch -> {
+                String sql = deleteInSql(batch.getKey());
+                List<Object[]> args = batch.getValue()
+                    .stream()
+                    .map(chunk -> chunk.stream().flatMap(Arrays::stream).toArray())
+                    .collect(toList());
+                int[] counts = database.execute(sql, () -> batchUpdate.apply(sql, args));
+                return IntStream.of(counts);
+            })
+            .reduce(0, Table::deletedCount);
+    }
+
+    private static int deletedCount(int total, int updateCount) {
+        if (total == Statement.SUCCESS_NO_INFO || updateCount == Statement.SUCCESS_NO_INFO) {
+            return Statement.SUCCESS_NO_INFO;
+        }
+        return total + Math.max(0, updateCount);
     }
 
-    private String insertSql(R[] rows) {
+    private String insertSql(int numberOfRows) {
         String sql = String.format("insert into %s (%s) values %s",
             qualifiedName(),
             columns().flatMap(Column::insertColumnSql).collect(joining(", ")),
-            IntStream.range(0, rows.length)
+            IntStream.range(0, numberOfRows)
                 .mapToObj(i -> "(" + columns().flatMap(Column::insertArgsSql).collect(joining(", ")) + ")")
                 .collect(joining(", ")));
         LOG.debug(sql);
@@ -251,6 +528,32 @@ public class Table<R> implements ColumnCollection<R> {
         return sql;
     }
 
+    private String deleteInSql(int numberOfIds) {
+        Alias<R> alias = Alias.of(this);
+        List<Column<?,R>> idColumns = idColumns();
+        int columnsPerId = idColumns.stream().mapToInt(Column::count).sum();
+        String sql;
+        if (columnsPerId == 1) {
+            sql = String.format("delete from %s where %s in (%s)",
+                qualifiedName(),
+                idColumns.get(0).sql(alias),
+                String.join(", ", Collections.nCopies(numberOfIds, "?")));
+        } else if (database.dialect().supportsMultipleValueIn()) {
+            String row = "(" + String.join(", ", Collections.nCopies(columnsPerId, "?")) + ")";
+            sql = String.format("delete from %s where (%s) in (%s)",
+                qualifiedName(),
+                idColumns.stream().map(c -> c.sql(alias)).collect(joining(", ")),
+                String.join(", ", Collections.nCopies(numberOfIds, row)));
+        } else {
+            String row = "(" + idColumns.stream().flatMap(c -> c.idSql(alias)).collect(joining(" and ")) + ")";
+            sql = String.format("delete from %s where %s",
+                qualifiedName(),
+                String.join(" or ", Collections.nCopies(numberOfIds, row)));
+        }
+        LOG.debug(sql);
+        return sql;
+    }
+
     private String deleteSql() {
         Alias<R> alias = Alias.of(this);
         String sql = String.format("delete from %s where %s",
@@ -267,6 +570,7 @@ public class Table<R> implements ColumnCollection<R> {
         private String schema;
         private String tableName;
         private final List<ForeignKeyReference.Builder<R,?>> foreignKeys = new ArrayList<>();
+        private Optional<TableCache.Builder> cache = Optional.empty();
 
         public Builder(Database database, TypeToken<R> rowType, TypeToken<B> builderType, Function<B,R> buildRow) {
             super(database, rowType, builderType, buildRow);
@@ -317,13 +621,20 @@ public class Table<R> implements ColumnCollection<R> {
             return this;
         }
 
+        public Builder<R,B> cache(Function<TableCache.Builder,TableCache.Builder> init) {
+            cache = Optional.of(init.apply(TableCache.newBuilder()));
+            return this;
+        }
+
         @SuppressWarnings("UnusedReturnValue")
         public <BB> Builder<R,BB> builder(Function1<BB,R> buildRow) {
             MethodInfo<BB,R> buildMethod = MethodInfo.of(buildRow);
-            return new Builder<>(database, rowType, buildMethod.referringType(), buildRow)
+            Builder<R,BB> builder = new Builder<>(database, rowType, buildMethod.referringType(), buildRow)
                 .catalog(catalog)
                 .schema(schema)
                 .tableName(tableName);
+            builder.cache = cache;
+            return builder;
         }
 
         @Override
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.catalog;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+public class TableCache<R> {
+    private final Cache<List<Object>,R> cache;
+
+    private TableCache(Builder builder) {
+        CacheBuilder<Object,Object> cacheBuilder = CacheBuilder.newBuilder()
+            .recordStats();
+        builder.maximumSize.ifPresent(cacheBuilder::maximumSize);
+        builder.expireAfterWrite.ifPresent(d -> cacheBuilder.expireAfterWrite(d.toNanos(), TimeUnit.NANOSECONDS));
+        cache = cacheBuilder.build();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    Optional<R> get(List<Object> key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    void put(List<Object> key, R row) {
+        cache.put(key, row);
+    }
+
+    void invalidate(List<Object> key) {
+        cache.invalidate(key);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Optional<Long> maximumSize = Optional.empty();
+        private Optional<Duration> expireAfterWrite = Optional.empty();
+
+        private Builder() {
+        }
+
+        public <R> TableCache<R> build() {
+            return new TableCache<>(this);
+        }
+
+        public Builder maximumSize(long val) {
+            maximumSize = Optional.of(val);
+            return this;
+        }
+
+        public Builder expireAfterWrite(Duration val) {
+            expireAfterWrite = Optional.of(val);
+            return this;
+        }
+    }
+}
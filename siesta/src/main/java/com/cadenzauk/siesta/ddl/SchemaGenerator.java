@@ -52,19 +52,32 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.DatabaseMetaData;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static com.cadenzauk.core.sql.QualifiedName.matchesCatalogAndSchema;
+import static java.util.stream.Collectors.toList;
 
 public class SchemaGenerator {
     private static final Logger LOG = LoggerFactory.getLogger(SchemaGenerator.class);
     private final ActionPipeline pipeline;
     private final boolean dropFirst;
+    private final int parallelism;
 
     public SchemaGenerator(boolean dropFirst) {
+        this(dropFirst, 1);
+    }
+
+    public SchemaGenerator(boolean dropFirst, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
         this.dropFirst = dropFirst;
+        this.parallelism = parallelism;
         pipeline = new ActionPipeline();
         pipeline.addInterceptor(new ActionLogTableCreator());
         pipeline.addInterceptor(new ActionFilter());
@@ -84,12 +97,10 @@ public class SchemaGenerator {
             long dropped = dropAll(database);
             LOG.debug("Dropped {} objects", dropped);
         }
-        Stream<Action> actions = Stream.concat(
-            Stream.of(new CreateActionLogTable(database.defaultCatalog(), database.defaultSchema())),
-            schemaDefinition.actions());
         long count = pipeline
-            .process(database, actions)
+            .process(database, Stream.of(new CreateActionLogTable(database.defaultCatalog(), database.defaultSchema())))
             .count();
+        count += process(database, schemaDefinition.actions());
         LOG.debug("Processed {} actions", count);
     }
 
@@ -100,7 +111,20 @@ public class SchemaGenerator {
             Stream<Action> dropForeignKeys = dropForeignKeyActions(database, closer, metadata);
             Stream<Action> dropTables = dropTableActions(database, closer, metadata);
             Stream<Action> actionStream = Stream.of(dropSequences, dropForeignKeys, dropTables).flatMap(Function.identity());
-            return pipeline.process(database, actionStream).count();
+            return process(database, actionStream);
+        }
+    }
+
+    private long process(Database database, Stream<Action> actions) {
+        if (parallelism == 1) {
+            return pipeline.process(database, actions).count();
+        }
+        List<Action> actionList = actions.collect(toList());
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            return pipeline.process(database, actionList, executor).count();
+        } finally {
+            executor.shutdown();
         }
     }
 
@@ -22,5 +22,20 @@
 
 package com.cadenzauk.siesta.ddl.action;
 
+import com.cadenzauk.siesta.Database;
+
+import java.util.stream.Stream;
+
 public abstract class Action {
+    public Stream<String> provides(Database database) {
+        return Stream.empty();
+    }
+
+    public Stream<String> requires(Database database) {
+        return Stream.empty();
+    }
+
+    protected static String tableKey(String qualifiedTableName) {
+        return "table " + qualifiedTableName;
+    }
 }
@@ -24,14 +24,25 @@ package com.cadenzauk.siesta.ddl.action;
 
 import com.cadenzauk.core.util.OptionalUtil;
 import com.cadenzauk.siesta.Database;
+import com.google.common.collect.ImmutableList;
 import com.google.common.reflect.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
 
 public class ActionPipeline {
     private static final Logger LOG = LoggerFactory.getLogger(ActionPipeline.class);
@@ -46,6 +57,42 @@ public class ActionPipeline {
             .flatMap(action -> processAction(database, action));
     }
 
+    public Stream<Action> process(Database database, List<Action> actions, Executor executor) {
+        List<CompletableFuture<List<Action>>> futures = new ArrayList<>(actions.size());
+        Map<String,List<CompletableFuture<List<Action>>>> providers = new HashMap<>();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        for (Action action : actions) {
+            CompletableFuture<?>[] dependencies = action.requires(database)
+                .flatMap(key -> providers.getOrDefault(key, ImmutableList.of()).stream())
+                .distinct()
+                .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture<List<Action>> future = CompletableFuture.allOf(dependencies)
+                .thenApplyAsync(v -> {
+                    if (failure.get() != null) {
+                        throw new CancellationException();
+                    }
+                    try {
+                        return processAction(database, action).collect(toList());
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    }
+                }, executor);
+            action.provides(database)
+                .forEach(key -> providers.computeIfAbsent(key, k -> new ArrayList<>()).add(future));
+            futures.add(future);
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            throw e;
+        }
+        return futures.stream().flatMap(f -> f.join().stream());
+    }
+
     private Stream<Action> processAction(Database database, Action action) {
         LOG.debug("Action {}", action);
         Stream<Action> stream = Stream.of(action);
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class AddForeignKeyAction extends LoggableAction {
     private final String constraintName;
@@ -70,6 +71,11 @@ public class AddForeignKeyAction extends LoggableAction {
         return database.dialect().qualifiedTableName(catalog.orElse(""), schemaName.orElse(""), tableName);
     }
 
+    @Override
+    public Stream<String> requires(Database database) {
+        return Stream.of(tableKey(qualifiedTableName(database)), tableKey(qualifiedReferencedTableName(database)));
+    }
+
     public String constraintName() {
         return constraintName;
     }
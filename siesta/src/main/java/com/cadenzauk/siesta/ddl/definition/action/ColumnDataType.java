@@ -27,6 +27,8 @@ import com.cadenzauk.siesta.type.DbType;
 import com.cadenzauk.siesta.type.DbTypeId;
 
 import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
@@ -80,6 +82,14 @@ public class ColumnDataType<T> {
         return new ColumnDataType<>(DbTypeId.BINARY, length);
     }
 
+    public static ColumnDataType<Blob> blob() {
+        return new ColumnDataType<>(DbTypeId.BLOB);
+    }
+
+    public static ColumnDataType<Clob> clob() {
+        return new ColumnDataType<>(DbTypeId.CLOB);
+    }
+
     public static ColumnDataType<String> varchar(int length) {
         return new ColumnDataType<>(DbTypeId.VARCHAR, length);
     }
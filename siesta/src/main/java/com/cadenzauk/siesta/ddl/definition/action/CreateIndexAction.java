@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class CreateIndexAction extends LoggableAction {
     private final boolean unique;
@@ -67,6 +68,11 @@ public class CreateIndexAction extends LoggableAction {
         return database.dialect().qualifiedTableName(catalog.orElse(""), schemaName.orElse(""), tableName);
     }
 
+    @Override
+    public Stream<String> requires(Database database) {
+        return Stream.of(tableKey(qualifiedTableName(database)));
+    }
+
     public List<String> columnNames() {
         return columnNames;
     }
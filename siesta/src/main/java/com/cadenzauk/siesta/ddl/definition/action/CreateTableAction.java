@@ -22,6 +22,7 @@
 
 package com.cadenzauk.siesta.ddl.definition.action;
 
+import com.cadenzauk.core.stream.StreamUtil;
 import com.cadenzauk.core.util.OptionalUtil;
 import com.cadenzauk.siesta.Database;
 import com.cadenzauk.siesta.ddl.action.LoggableAction;
@@ -61,6 +62,21 @@ public class CreateTableAction extends LoggableAction {
         return database.dialect().qualifiedTableName(catalog.orElse(""), schemaName.orElse(""), tableName);
     }
 
+    @Override
+    public Stream<String> provides(Database database) {
+        return Stream.of(tableKey(qualifiedName(database)));
+    }
+
+    @Override
+    public Stream<String> requires(Database database) {
+        String qualifiedName = qualifiedName(database);
+        return columns()
+            .flatMap(c -> StreamUtil.of(c.foreignKey()))
+            .map(fk -> fk.qualifiedReferencedTableName(database))
+            .filter(t -> !t.equals(qualifiedName))
+            .map(CreateTableAction::tableKey);
+    }
+
     public Stream<Column> columns() {
         return columns.stream();
     }
@@ -28,8 +28,11 @@ import com.cadenzauk.siesta.ddl.action.LoggableAction;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class DropForeignKeyAction extends LoggableAction {
+    static final String DROPPED_FOREIGN_KEYS = "dropped foreign keys";
+
     private final Optional<String> catalog;
     private final Optional<String> schemaName;
     private final String tableName;
@@ -55,6 +58,11 @@ public class DropForeignKeyAction extends LoggableAction {
         return database.dialect().qualifiedTableName(catalog.orElse(""), schemaName.orElse(""), tableName);
     }
 
+    @Override
+    public Stream<String> provides(Database database) {
+        return Stream.of(DROPPED_FOREIGN_KEYS);
+    }
+
     public String constraintName() {
         return constraintName;
     }
@@ -28,6 +28,7 @@ import com.cadenzauk.siesta.ddl.action.LoggableAction;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class DropTableAction extends LoggableAction {
     private final Optional<String> catalog;
@@ -49,6 +50,11 @@ public class DropTableAction extends LoggableAction {
         return database.dialect().qualifiedTableName(catalog.orElse(""), schemaName.orElse(""), tableName.orElse(""));
     }
 
+    @Override
+    public Stream<String> requires(Database database) {
+        return Stream.of(DropForeignKeyAction.DROPPED_FOREIGN_KEYS);
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
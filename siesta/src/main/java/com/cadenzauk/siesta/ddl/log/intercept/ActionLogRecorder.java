@@ -43,7 +43,7 @@ public class ActionLogRecorder extends ActionInterceptor<ActionLogEntry> {
     }
 
     @Override
-    public Stream<Action> intercept(Database database, ActionLogEntry action) {
+    public synchronized Stream<Action> intercept(Database database, ActionLogEntry action) {
         database.insert(action);
         return Stream.of(action);
     }
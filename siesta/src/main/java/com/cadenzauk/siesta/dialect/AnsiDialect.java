@@ -25,9 +25,12 @@ package com.cadenzauk.siesta.dialect;
 import com.cadenzauk.core.sql.exception.SqlExceptionConstructor;
 import com.cadenzauk.core.sql.exception.SqlExceptionTranslator;
 import com.cadenzauk.core.sql.exception.SqlStateExceptionTranslator;
+import com.cadenzauk.siesta.BulkLoader;
 import com.cadenzauk.siesta.Dialect;
+import com.cadenzauk.siesta.Hint;
 import com.cadenzauk.siesta.IsolationLevel;
 import com.cadenzauk.siesta.LockLevel;
+import com.cadenzauk.siesta.PlanExplainer;
 import com.cadenzauk.siesta.SequenceInfo;
 import com.cadenzauk.siesta.dialect.function.FunctionName;
 import com.cadenzauk.siesta.dialect.function.FunctionRegistry;
@@ -40,6 +43,7 @@ import com.cadenzauk.siesta.type.DbTypeId;
 import com.cadenzauk.siesta.type.DbTypeRegistry;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
@@ -64,6 +68,21 @@ public class AnsiDialect implements Dialect {
         return "";
     }
 
+    @Override
+    public String selectHints(List<Hint> hints) {
+        return "";
+    }
+
+    @Override
+    public String tableHints(List<Hint> hints, boolean skipLocked) {
+        return "";
+    }
+
+    @Override
+    public String queryHints(String sql, List<Hint> hints) {
+        return sql;
+    }
+
     @Override
     public boolean requiresFromDual() {
         return true;
@@ -162,6 +181,21 @@ public class AnsiDialect implements Dialect {
         return sql;
     }
 
+    @Override
+    public boolean supportsSkipLocked() {
+        return false;
+    }
+
+    @Override
+    public String skipLockedSql(String sql) {
+        throw new UnsupportedOperationException(String.format("%s does not support skipping locked rows.", getClass().getName()));
+    }
+
+    @Override
+    public boolean supportsFetchFirstWithLocks() {
+        return true;
+    }
+
     @Override
     public boolean supportsLockTimeout() {
         return false;
@@ -192,16 +226,74 @@ public class AnsiDialect implements Dialect {
         return true;
     }
 
+    @Override
+    public int maxInListSize() {
+        return 1000;
+    }
+
+    @Override
+    public boolean supportsArrayInList() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsNullsInArrayInList() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsMultipleResultSets() {
+        return false;
+    }
+
+    @Override
+    public Optional<BulkLoader> bulkLoader() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<PlanExplainer> planExplainer() {
+        return Optional.empty();
+    }
+
+    @Override
+    public String arrayInList(String operator) {
+        throw new UnsupportedOperationException(String.format("%s does not support array parameters in IN lists.", getClass().getName()));
+    }
+
+    @Override
+    public Object arrayInListParameter(Object[] values) {
+        return values;
+    }
+
     @Override
     public boolean requiresOrderByInRowNumber() {
         return false;
     }
 
+    @Override
+    public boolean requiresRecursiveInWith() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsUnionInRecursiveWith() {
+        return true;
+    }
+
     @Override
     public String nextFromSequence(String catalog, String schema, String sequenceName) {
         return String.format("%s.NEXTVAL", qualifiedSequenceName(catalog, schema, sequenceName));
     }
 
+    @Override
+    public String nextValuesFromSequence(String catalog, String schema, String sequenceName) {
+        return String.format("%s x_seq(i) as (select 1%s union all select i + 1 from x_seq where i < ?) select %s as NEXT_VAL from x_seq",
+            requiresRecursiveInWith() ? "with recursive" : "with",
+            requiresFromDual() ? " from " + dual() : "",
+            nextFromSequence(catalog, schema, sequenceName));
+    }
+
     @Override
     public SequenceInfo sequenceInfo() {
         return sequenceInfo;
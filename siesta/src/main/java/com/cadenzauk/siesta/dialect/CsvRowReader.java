@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.core.sql.RuntimeSqlException;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.joining;
+
+class CsvRowReader extends Reader {
+    private final Iterator<Object[]> rows;
+    private final Function<byte[],String> binaryFormat;
+    private String line = "";
+    private int position;
+
+    CsvRowReader(Iterator<Object[]> rows, Function<byte[],String> binaryFormat) {
+        this.rows = rows;
+        this.binaryFormat = binaryFormat;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int read = 0;
+        while (read < length) {
+            if (position == line.length()) {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                line = line(rows.next());
+                position = 0;
+            }
+            int count = Math.min(length - read, line.length() - position);
+            line.getChars(position, position + count, buffer, offset + read);
+            position += count;
+            read += count;
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private String line(Object[] row) {
+        return Arrays.stream(row)
+            .map(this::value)
+            .collect(joining(",", "", "\n"));
+    }
+
+    private String value(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof byte[]) {
+            return binaryFormat.apply((byte[]) value);
+        }
+        if (value instanceof InputStream) {
+            return binaryFormat.apply(bytes((InputStream) value));
+        }
+        if (value instanceof Blob) {
+            return binaryFormat.apply(bytes((Blob) value));
+        }
+        if (value instanceof CharSequence || value instanceof Character || value instanceof Enum || value instanceof UUID) {
+            return quoted(value.toString());
+        }
+        if (value instanceof Reader) {
+            return quoted(text((Reader) value));
+        }
+        if (value instanceof Clob) {
+            return quoted(text((Clob) value));
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof LocalDateTime) {
+            return value.toString().replace('T', ' ');
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof java.util.Date || value instanceof LocalDate || value instanceof LocalTime) {
+            return value.toString();
+        }
+        throw new IllegalArgumentException(String.format("Values of type %s cannot be written to a CSV bulk load.", value.getClass().getName()));
+    }
+
+    private static byte[] bytes(InputStream value) {
+        try (InputStream input = value) {
+            return ByteStreams.toByteArray(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] bytes(Blob value) {
+        try {
+            return value.getBytes(1, Math.toIntExact(value.length()));
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    private static String text(Reader value) {
+        try (Reader reader = value) {
+            return CharStreams.toString(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String text(Clob value) {
+        try {
+            return value.getSubString(1, Math.toIntExact(value.length()));
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    private static String quoted(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -137,6 +137,16 @@ public class Db2Dialect extends AnsiDialect {
             .orElseGet(() -> isolationLevelWithNoLocks(sql, level));
     }
 
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String skipLockedSql(String sql) {
+        return sql + " skip locked data";
+    }
+
     @Override
     public boolean supportsLockTimeout() {
         return true;
@@ -175,4 +185,14 @@ public class Db2Dialect extends AnsiDialect {
         }
         return sql;
     }
+
+    @Override
+    public boolean requiresRecursiveInWith() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsUnionInRecursiveWith() {
+        return false;
+    }
 }
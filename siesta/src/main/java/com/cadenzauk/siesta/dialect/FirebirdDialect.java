@@ -37,6 +37,10 @@ import com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs;
 import com.cadenzauk.siesta.dialect.function.string.StringFunctionSpecs;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 import com.cadenzauk.siesta.type.DbTypeId;
+import com.cadenzauk.siesta.type.DefaultBinaryStream;
+import com.cadenzauk.siesta.type.DefaultBlob;
+import com.cadenzauk.siesta.type.DefaultCharacterStream;
+import com.cadenzauk.siesta.type.DefaultClob;
 import com.cadenzauk.siesta.type.DefaultInteger;
 import com.cadenzauk.siesta.type.DefaultTimestamp;
 import com.cadenzauk.siesta.type.DefaultTinyint;
@@ -76,6 +80,10 @@ public class FirebirdDialect extends AnsiDialect {
                     return super.sqlType(database, arg1) + " character set octets";
                 }
             })
+            .register(DbTypeId.BLOB, new DefaultBlob("blob sub_type binary"))
+            .register(DbTypeId.BINARY_STREAM, new DefaultBinaryStream("blob sub_type binary"))
+            .register(DbTypeId.CLOB, new DefaultClob("blob sub_type text"))
+            .register(DbTypeId.CHARACTER_STREAM, new DefaultCharacterStream("blob sub_type text"))
             .register(DbTypeId.TINYINT, new DefaultTinyint("smallint"))
             .register(DbTypeId.INTEGER, new DefaultInteger() {
                 @Override
@@ -170,4 +178,9 @@ public class FirebirdDialect extends AnsiDialect {
     public boolean supportsMultipleValueIn() {
         return false;
     }
+
+    @Override
+    public int maxInListSize() {
+        return 1500;
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.core.sql.RuntimeSqlException;
+import com.cadenzauk.siesta.BulkLoader;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.CharStreams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class H2CsvBulkLoader implements BulkLoader {
+    private static final Logger LOG = LoggerFactory.getLogger(H2CsvBulkLoader.class);
+
+    @Override
+    public boolean supports(Connection connection) {
+        try {
+            return isEmbedded(connection.getMetaData().getURL());
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    @Override
+    public long load(Connection connection, String qualifiedTableName, List<String> columnNames, Stream<Object[]> rows) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("siesta-bulk-load", ".csv");
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                CharStreams.copy(new CsvRowReader(rows.iterator(), v -> BaseEncoding.base16().encode(v)), writer);
+            }
+            String sql = String.format("insert into %s (%s) direct select * from csvread('%s', '%s', 'charset=UTF-8 nullString=')",
+                qualifiedTableName,
+                String.join(", ", columnNames),
+                file.toAbsolutePath().toString().replace("'", "''"),
+                IntStream.rangeClosed(1, columnNames.size()).mapToObj(i -> "C" + i).collect(Collectors.joining(",")));
+            try (Statement statement = connection.createStatement()) {
+                return statement.executeUpdate(sql);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            delete(file);
+        }
+    }
+
+    static boolean isEmbedded(String url) {
+        String lower = url.toLowerCase(Locale.ROOT);
+        return lower.startsWith("jdbc:h2:") && !lower.startsWith("jdbc:h2:tcp:") && !lower.startsWith("jdbc:h2:ssl:");
+    }
+
+    private static void delete(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn("Unable to delete bulk load file {}", file, e);
+            }
+        }
+    }
+}
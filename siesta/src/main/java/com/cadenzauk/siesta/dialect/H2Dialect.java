@@ -28,16 +28,23 @@ import com.cadenzauk.core.sql.exception.LockingException;
 import com.cadenzauk.core.sql.exception.IllegalNullException;
 import com.cadenzauk.core.sql.exception.SqlSyntaxException;
 import com.cadenzauk.core.sql.exception.DuplicateKeyException;
+import com.cadenzauk.siesta.BulkLoader;
+import com.cadenzauk.siesta.Hint;
 import com.cadenzauk.siesta.IsolationLevel;
 import com.cadenzauk.siesta.LockLevel;
+import com.cadenzauk.siesta.PlanExplainer;
 import com.cadenzauk.siesta.dialect.function.SimpleFunctionSpec;
 import com.cadenzauk.siesta.dialect.function.aggregate.AggregateFunctionSpecs;
 import com.cadenzauk.siesta.dialect.function.aggregate.CountDistinctFunctionSpec;
 import com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs;
+import org.apache.commons.lang3.StringUtils;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static java.util.stream.Collectors.joining;
+
 public class H2Dialect extends AnsiDialect {
     private static final int DEFAULT_LOCK_TIMEOUT = 1000;
     private static final VersionNo CURRENT_VERSION = new VersionNo("1.4.199");
@@ -113,6 +120,15 @@ public class H2Dialect extends AnsiDialect {
         return String.format("%s limit %d", sql, n);
     }
 
+    @Override
+    public String tableHints(List<Hint> hints, boolean skipLocked) {
+        String indexes = hints.stream()
+            .filter(h -> h.type() == Hint.Type.INDEX)
+            .map(Hint::text)
+            .collect(joining(", "));
+        return StringUtils.isEmpty(indexes) ? "" : " use index (" + indexes + ")";
+    }
+
     @Override
     public String isolationLevelSql(String sql, IsolationLevel level, Optional<LockLevel> keepLocks) {
         return keepLocks
@@ -150,4 +166,29 @@ public class H2Dialect extends AnsiDialect {
     public boolean supportsMultipleValueIn() {
         return versionNo.isAtLeast(TUPLES_IN);
     }
+
+    @Override
+    public Optional<BulkLoader> bulkLoader() {
+        return Optional.of(new H2CsvBulkLoader());
+    }
+
+    @Override
+    public Optional<PlanExplainer> planExplainer() {
+        return Optional.of(new H2PlanExplainer());
+    }
+
+    @Override
+    public boolean supportsArrayInList() {
+        return true;
+    }
+
+    @Override
+    public String arrayInList(String operator) {
+        return operator + " (unnest(?))";
+    }
+
+    @Override
+    public String nextValuesFromSequence(String catalog, String schema, String sequenceName) {
+        return String.format("select %s as NEXT_VAL from system_range(1, ?)", nextFromSequence(catalog, schema, sequenceName));
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.core.sql.ResultSetUtil;
+import com.cadenzauk.siesta.PlanExplainer;
+import com.cadenzauk.siesta.QueryPlan;
+import com.cadenzauk.siesta.SqlExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class H2PlanExplainer implements PlanExplainer {
+    private static final Pattern ACCESS = Pattern.compile("/\\*\\s*([\\w$\"]+(?:\\.[\\w$\"]+)*?)(\\.tableScan\\b[^*]*|:[^*]*|)\\s*\\*/");
+
+    @Override
+    public QueryPlan explain(SqlExecutor sqlExecutor, String sql, Object[] args) {
+        List<String> plan = sqlExecutor.query("explain " + sql, args, rs -> ResultSetUtil.getString(rs, 1));
+        return parse(String.join("\n", plan));
+    }
+
+    static QueryPlan parse(String text) {
+        List<String> indexes = new ArrayList<>();
+        List<String> scannedTables = new ArrayList<>();
+        Matcher matcher = ACCESS.matcher(text);
+        while (matcher.find()) {
+            if (matcher.group(2).startsWith(".tableScan")) {
+                scannedTables.add(matcher.group(1));
+            } else if (matcher.group(1).contains(".")) {
+                indexes.add(matcher.group(1));
+            }
+        }
+        return QueryPlan.of(text, indexes, scannedTables);
+    }
+}
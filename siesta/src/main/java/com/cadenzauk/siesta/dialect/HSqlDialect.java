@@ -31,6 +31,7 @@ import com.cadenzauk.core.sql.exception.SqlSyntaxException;
 import com.cadenzauk.siesta.Database;
 import com.cadenzauk.siesta.IsolationLevel;
 import com.cadenzauk.siesta.LockLevel;
+import com.cadenzauk.siesta.PlanExplainer;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.dialect.function.SimpleFunctionSpec;
 import com.cadenzauk.siesta.dialect.function.aggregate.AggregateFunctionSpecs;
@@ -132,6 +133,26 @@ public class HSqlDialect extends AnsiDialect {
         return String.format("next value for %s.%s", schema, sequenceName);
     }
 
+    @Override
+    public String nextValuesFromSequence(String catalog, String schema, String sequenceName) {
+        return String.format("select %s as NEXT_VAL from unnest(sequence_array(1, ?, 1))", nextFromSequence(catalog, schema, sequenceName));
+    }
+
+    @Override
+    public boolean supportsArrayInList() {
+        return true;
+    }
+
+    @Override
+    public String arrayInList(String operator) {
+        return operator + " (unnest(?))";
+    }
+
+    @Override
+    public Optional<PlanExplainer> planExplainer() {
+        return Optional.of(new HSqlPlanExplainer());
+    }
+
     private static String currentTimestamp(Scope scope) {
         String offset = ZonedDateTime.now(scope.database().databaseTimeZone()).format(OFFSET_FORMATTER);
         return String.format("current_timestamp at time zone interval '%s' hour to minute", offset);
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.core.sql.ResultSetUtil;
+import com.cadenzauk.siesta.PlanExplainer;
+import com.cadenzauk.siesta.QueryPlan;
+import com.cadenzauk.siesta.SqlExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class HSqlPlanExplainer implements PlanExplainer {
+    private static final Pattern RANGE_VARIABLE = Pattern.compile("\\[range variable \\d+");
+    private static final Pattern TABLE = Pattern.compile("^\\s*table=(\\S+)", Pattern.MULTILINE);
+    private static final Pattern ACCESS = Pattern.compile("^\\s*access=(.*)$", Pattern.MULTILINE);
+    private static final Pattern INDEX = Pattern.compile("index=(\\w+)");
+
+    @Override
+    public QueryPlan explain(SqlExecutor sqlExecutor, String sql, Object[] args) {
+        List<String> plan = sqlExecutor.query("explain plan for " + sql, new Object[0], rs -> ResultSetUtil.getString(rs, 1));
+        return parse(String.join("\n", plan));
+    }
+
+    static QueryPlan parse(String text) {
+        List<String> indexes = new ArrayList<>();
+        List<String> scannedTables = new ArrayList<>();
+        String[] rangeVariables = RANGE_VARIABLE.split(text);
+        for (int i = 1; i < rangeVariables.length; i++) {
+            String rangeVariable = rangeVariables[i];
+            Optional<String> table = group(TABLE, rangeVariable);
+            Optional<String> access = group(ACCESS, rangeVariable);
+            if (access.filter(a -> a.startsWith("FULL SCAN")).isPresent()) {
+                table.ifPresent(scannedTables::add);
+            } else {
+                group(INDEX, rangeVariable).ifPresent(indexes::add);
+            }
+        }
+        return QueryPlan.of(text, indexes, scannedTables);
+    }
+
+    private static Optional<String> group(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find()
+            ? Optional.of(matcher.group(1).trim())
+            : Optional.empty();
+    }
+}
@@ -29,6 +29,10 @@ import com.cadenzauk.core.sql.exception.SqlSyntaxException;
 import com.cadenzauk.core.sql.exception.DuplicateKeyException;
 import com.cadenzauk.core.sql.exception.InvalidValueException;
 import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.Hint;
+import com.cadenzauk.siesta.IsolationLevel;
+import com.cadenzauk.siesta.LockLevel;
+import com.cadenzauk.siesta.PlanExplainer;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.dialect.function.ArgumentlessFunctionSpec;
 import com.cadenzauk.siesta.dialect.function.FunctionSpec;
@@ -45,6 +49,7 @@ import com.cadenzauk.siesta.type.DefaultTime;
 import com.cadenzauk.siesta.type.DefaultTinyint;
 import com.cadenzauk.siesta.type.DefaultVarbinary;
 import com.cadenzauk.siesta.type.DefaultVarchar;
+import org.apache.commons.lang3.StringUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -52,6 +57,8 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -60,6 +67,7 @@ import static com.cadenzauk.core.lang.StringUtil.hex;
 import static com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs.HOUR_DIFF;
 import static com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs.MINUTE_DIFF;
 import static com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs.SECOND_DIFF;
+import static java.util.stream.Collectors.joining;
 
 public class OracleDialect extends AnsiDialect {
     public OracleDialect() {
@@ -171,6 +179,7 @@ public class OracleDialect extends AnsiDialect {
             .register("42.+", SqlSyntaxException::new)
             .register("61000", 60, LockingException::new)
             .register("72000", 1407, IllegalNullException::new)
+            .register("72000", 8177, LockingException::new)
             .register("72000", 12899, InvalidValueException::new);
 
         setSequenceInfo(new OracleSequenceInfo());
@@ -181,9 +190,69 @@ public class OracleDialect extends AnsiDialect {
         return String.format("select * from (%s) where rownum <= %d", sql, n);
     }
 
+    @Override
+    public String isolationLevelSql(String sql, IsolationLevel level, Optional<LockLevel> keepLocks) {
+        return keepLocks
+            .filter(ll -> ll.ordinal() >= LockLevel.UPDATE.ordinal())
+            .map(ll -> sql + " for update")
+            .orElse(sql);
+    }
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String skipLockedSql(String sql) {
+        return sql + " skip locked";
+    }
+
+    @Override
+    public boolean supportsFetchFirstWithLocks() {
+        return false;
+    }
+
+    @Override
+    public String selectHints(List<Hint> hints) {
+        String text = hints.stream()
+            .flatMap(h -> {
+                switch (h.type()) {
+                    case INDEX:
+                        return Stream.of(String.format("index(%s %s)", h.qualifier(), h.text()));
+                    case OPTIMIZER:
+                        return Stream.of(h.text());
+                    default:
+                        return Stream.empty();
+                }
+            })
+            .collect(joining(" "));
+        return StringUtils.isEmpty(text) ? "" : "/*+ " + text + " */ ";
+    }
+
     @Override
     public boolean requiresOrderByInRowNumber() {
         return true;
     }
 
+    @Override
+    public boolean requiresRecursiveInWith() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsUnionInRecursiveWith() {
+        return false;
+    }
+
+    @Override
+    public Optional<PlanExplainer> planExplainer() {
+        return Optional.of(new OraclePlanExplainer());
+    }
+
+    @Override
+    public String nextValuesFromSequence(String catalog, String schema, String sequenceName) {
+        return String.format("select %s as NEXT_VAL from dual connect by level <= ?", nextFromSequence(catalog, schema, sequenceName));
+    }
+
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.core.sql.ResultSetUtil;
+import com.cadenzauk.siesta.PlanExplainer;
+import com.cadenzauk.siesta.QueryPlan;
+import com.cadenzauk.siesta.SqlExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class OraclePlanExplainer implements PlanExplainer {
+    private static final AtomicLong statementIds = new AtomicLong();
+    private static final Pattern OPERATION = Pattern.compile("^\\|\\*?\\s*\\d+\\s*\\|\\s*(.*?)\\s*\\|\\s*(\\S*)\\s*\\|", Pattern.MULTILINE);
+
+    @Override
+    public QueryPlan explain(SqlExecutor sqlExecutor, String sql, Object[] args) {
+        String statementId = String.format("SIESTA_%d_%d", System.currentTimeMillis() % 1_000_000_000L, statementIds.incrementAndGet());
+        sqlExecutor.update(String.format("explain plan set statement_id = '%s' for %s", statementId, sql), new Object[0]);
+        try {
+            List<String> plan = sqlExecutor.query("select plan_table_output from table(dbms_xplan.display('PLAN_TABLE', ?, 'TYPICAL'))",
+                new Object[]{statementId},
+                rs -> ResultSetUtil.getString(rs, 1));
+            return parse(String.join("\n", plan));
+        } finally {
+            sqlExecutor.update("delete from plan_table where statement_id = ?", new Object[]{statementId});
+        }
+    }
+
+    static QueryPlan parse(String text) {
+        List<String> indexes = new ArrayList<>();
+        List<String> scannedTables = new ArrayList<>();
+        Matcher matcher = OPERATION.matcher(text);
+        while (matcher.find()) {
+            String operation = matcher.group(1);
+            String name = matcher.group(2);
+            if (operation.startsWith("TABLE ACCESS") && operation.endsWith("FULL")) {
+                scannedTables.add(name);
+            } else if (operation.startsWith("INDEX")) {
+                indexes.add(name);
+            }
+        }
+        return QueryPlan.of(text, indexes, scannedTables);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.core.reflect.util.ClassUtil;
+import com.cadenzauk.core.sql.RuntimeSqlException;
+import com.cadenzauk.siesta.BulkLoader;
+import com.google.common.io.BaseEncoding;
+
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class PostgresCopyBulkLoader implements BulkLoader {
+    @Override
+    public long load(Connection connection, String qualifiedTableName, List<String> columnNames, Stream<Object[]> rows) {
+        String sql = String.format("copy %s (%s) from stdin with (format csv)", qualifiedTableName, String.join(", ", columnNames));
+        Class<?> pgConnectionClass = ClassUtil.forName("org.postgresql.PGConnection")
+            .orElseThrow(() -> new IllegalStateException("The PostgreSQL JDBC driver is required for bulk loading with COPY."));
+        try {
+            Object pgConnection = connection.unwrap(pgConnectionClass);
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+            Object rowCount = copyManager.getClass().getMethod("copyIn", String.class, Reader.class)
+                .invoke(copyManager, sql, new CsvRowReader(rows.iterator(), v -> "\\x" + BaseEncoding.base16().lowerCase().encode(v)));
+            return (Long) rowCount;
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw new RuntimeSqlException((SQLException) e.getCause());
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to use the PostgreSQL COPY API for bulk loading.", e);
+        }
+    }
+}
@@ -28,7 +28,12 @@ import com.cadenzauk.core.sql.exception.IllegalNullException;
 import com.cadenzauk.core.sql.exception.SqlSyntaxException;
 import com.cadenzauk.core.sql.exception.DuplicateKeyException;
 import com.cadenzauk.core.sql.exception.InvalidValueException;
+import com.cadenzauk.siesta.BulkLoader;
 import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.Hint;
+import com.cadenzauk.siesta.IsolationLevel;
+import com.cadenzauk.siesta.LockLevel;
+import com.cadenzauk.siesta.PlanExplainer;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.dialect.function.ArgumentlessFunctionSpec;
 import com.cadenzauk.siesta.dialect.function.FunctionSpec;
@@ -38,10 +43,17 @@ import com.cadenzauk.siesta.dialect.function.aggregate.CountDistinctFunctionSpec
 import com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 import com.cadenzauk.siesta.type.DbTypeId;
+import com.cadenzauk.siesta.type.DefaultBinaryStream;
+import com.cadenzauk.siesta.type.DefaultBlob;
+import com.cadenzauk.siesta.type.DefaultCharacterStream;
+import com.cadenzauk.siesta.type.DefaultClob;
 import com.cadenzauk.siesta.type.DefaultTinyint;
 import com.cadenzauk.siesta.type.DefaultVarbinary;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -50,6 +62,7 @@ import static com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs.HOUR_
 import static com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs.MINUTE_DIFF;
 import static com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs.SECOND_DIFF;
 import static com.cadenzauk.siesta.dialect.function.string.StringFunctionSpecs.INSTR;
+import static java.util.stream.Collectors.joining;
 
 public class PostgresDialect extends AnsiDialect {
     public PostgresDialect() {
@@ -95,6 +108,10 @@ public class PostgresDialect extends AnsiDialect {
                     return builder.toString();
                 }
             })
+            .register(DbTypeId.BLOB, new DefaultBlob("oid"))
+            .register(DbTypeId.BINARY_STREAM, DefaultBinaryStream.fromResultSet("bytea"))
+            .register(DbTypeId.CLOB, new DefaultClob("oid"))
+            .register(DbTypeId.CHARACTER_STREAM, DefaultCharacterStream.fromResultSet("text"))
             .register(DbTypeId.TINYINT, new DefaultTinyint("smallint"))
             .register(DbTypeId.VARBINARY, new DefaultVarbinary() {
                 @Override
@@ -115,6 +132,7 @@ public class PostgresDialect extends AnsiDialect {
             .register("23502", IllegalNullException::new)
             .register("23503", ReferentialIntegrityException::new)
             .register("23505", DuplicateKeyException::new)
+            .register("40001", LockingException::new)
             .register("40P01", LockingException::new)
             .register("42.+", SqlSyntaxException::new)
             .register("55P03", LockingException::new);
@@ -140,6 +158,40 @@ public class PostgresDialect extends AnsiDialect {
         return String.format("%s offset 0 rows fetch next %d rows only", sql, n);
     }
 
+    @Override
+    public String queryHints(String sql, List<Hint> hints) {
+        String text = hints.stream()
+            .flatMap(h -> {
+                switch (h.type()) {
+                    case INDEX:
+                        return Stream.of(String.format("IndexScan(%s %s)", h.qualifier(), h.text()));
+                    case OPTIMIZER:
+                        return Stream.of(h.text());
+                    default:
+                        return Stream.empty();
+                }
+            })
+            .collect(joining(" "));
+        return StringUtils.isEmpty(text) ? sql : "/*+ " + text + " */ " + sql;
+    }
+
+    @Override
+    public String isolationLevelSql(String sql, IsolationLevel level, Optional<LockLevel> keepLocks) {
+        return keepLocks
+            .map(ll -> ll == LockLevel.SHARE ? sql + " for share" : sql + " for update")
+            .orElse(sql);
+    }
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String skipLockedSql(String sql) {
+        return sql + " skip locked";
+    }
+
     @Override
     public boolean supportsLockTimeout() {
         return true;
@@ -163,4 +215,34 @@ public class PostgresDialect extends AnsiDialect {
     public String nextFromSequence(String catalog, String schema, String sequenceName) {
         return "nextval('" + sequenceName + "')";
     }
+
+    @Override
+    public String nextValuesFromSequence(String catalog, String schema, String sequenceName) {
+        return String.format("select %s as NEXT_VAL from generate_series(1, ?)", nextFromSequence(catalog, schema, sequenceName));
+    }
+
+    @Override
+    public boolean supportsArrayInList() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsMultipleResultSets() {
+        return true;
+    }
+
+    @Override
+    public Optional<BulkLoader> bulkLoader() {
+        return Optional.of(new PostgresCopyBulkLoader());
+    }
+
+    @Override
+    public Optional<PlanExplainer> planExplainer() {
+        return Optional.of(new PostgresPlanExplainer());
+    }
+
+    @Override
+    public String arrayInList(String operator) {
+        return "not in".equals(operator) ? "<> all(?)" : "= any(?)";
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.core.sql.ResultSetUtil;
+import com.cadenzauk.siesta.PlanExplainer;
+import com.cadenzauk.siesta.QueryPlan;
+import com.cadenzauk.siesta.SqlExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class PostgresPlanExplainer implements PlanExplainer {
+    private static final Pattern INDEX = Pattern.compile("\"Index Name\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern SEQ_SCAN = Pattern.compile("\"Node Type\"\\s*:\\s*\"Seq Scan\"[^{}\\[\\]]*?\"Relation Name\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Override
+    public QueryPlan explain(SqlExecutor sqlExecutor, String sql, Object[] args) {
+        List<String> plan = sqlExecutor.query("explain (format json) " + sql, args, rs -> ResultSetUtil.getString(rs, 1));
+        return parse(String.join("\n", plan));
+    }
+
+    static QueryPlan parse(String text) {
+        return QueryPlan.of(text, matches(INDEX, text), matches(SEQ_SCAN, text));
+    }
+
+    private static List<String> matches(Pattern pattern, String text) {
+        List<String> result = new ArrayList<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            result.add(matcher.group(1));
+        }
+        return result;
+    }
+}
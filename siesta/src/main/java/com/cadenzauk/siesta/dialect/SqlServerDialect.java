@@ -29,25 +29,37 @@ import com.cadenzauk.core.sql.exception.SqlSyntaxException;
 import com.cadenzauk.core.sql.exception.DuplicateKeyException;
 import com.cadenzauk.core.sql.exception.InvalidValueException;
 import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.Hint;
+import com.cadenzauk.siesta.PlanExplainer;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.dialect.function.SimpleFunctionSpec;
 import com.cadenzauk.siesta.dialect.function.date.DateFunctionSpecs;
 import com.cadenzauk.siesta.dialect.function.string.StringFunctionSpecs;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 import com.cadenzauk.siesta.type.DbTypeId;
+import com.cadenzauk.siesta.type.DefaultBinaryStream;
+import com.cadenzauk.siesta.type.DefaultBlob;
+import com.cadenzauk.siesta.type.DefaultCharacterStream;
+import com.cadenzauk.siesta.type.DefaultClob;
 import com.cadenzauk.siesta.type.DefaultDate;
 import com.cadenzauk.siesta.type.DefaultTime;
 import com.cadenzauk.siesta.type.DefaultTimestamp;
 import com.cadenzauk.siesta.type.DefaultTinyint;
 import com.cadenzauk.siesta.type.DefaultUtcTimestamp;
 import com.cadenzauk.siesta.type.DefaultVarbinary;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -77,6 +89,10 @@ public class SqlServerDialect extends AnsiDialect {
             });
 
         types()
+            .register(DbTypeId.BLOB, new DefaultBlob("varbinary(max)"))
+            .register(DbTypeId.BINARY_STREAM, new DefaultBinaryStream("varbinary(max)"))
+            .register(DbTypeId.CLOB, new DefaultClob("nvarchar(max)"))
+            .register(DbTypeId.CHARACTER_STREAM, new DefaultCharacterStream("nvarchar(max)"))
             .register(DbTypeId.TINYINT, new DefaultTinyint() {
                 @Override
                 public String literal(Database database, Byte value) {
@@ -171,6 +187,49 @@ public class SqlServerDialect extends AnsiDialect {
         return SELECT_PATTERN.matcher(sql).replaceFirst("$1top " + n + " ");
     }
 
+    @Override
+    public String tableHints(List<Hint> hints, boolean skipLocked) {
+        String indexes = hints.stream()
+            .filter(h -> h.type() == Hint.Type.INDEX)
+            .map(Hint::text)
+            .collect(joining(", "));
+        String tableHints = Stream.of(
+            StringUtils.isEmpty(indexes) ? Stream.<String>empty() : Stream.of("index(" + indexes + ")"),
+            skipLocked ? Stream.of("updlock", "readpast") : Stream.<String>empty())
+            .flatMap(Function.identity())
+            .collect(joining(", "));
+        return StringUtils.isEmpty(tableHints) ? "" : " with (" + tableHints + ")";
+    }
+
+    @Override
+    public String queryHints(String sql, List<Hint> hints) {
+        String options = hints.stream()
+            .flatMap(h -> {
+                switch (h.type()) {
+                    case RECOMPILE:
+                        return Stream.of("recompile");
+                    case MAX_RECURSION:
+                        return Stream.of("maxrecursion " + h.text());
+                    case OPTIMIZER:
+                        return Stream.of(h.text());
+                    default:
+                        return Stream.empty();
+                }
+            })
+            .collect(joining(", "));
+        return StringUtils.isEmpty(options) ? sql : sql + " option (" + options + ")";
+    }
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String skipLockedSql(String sql) {
+        return sql;
+    }
+
     @Override
     public boolean supportsLockTimeout() {
         return true;
@@ -181,6 +240,43 @@ public class SqlServerDialect extends AnsiDialect {
         return false;
     }
 
+    @Override
+    public int maxInListSize() {
+        return 2000;
+    }
+
+    @Override
+    public boolean supportsArrayInList() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsNullsInArrayInList() {
+        return true;
+    }
+
+    @Override
+    public String arrayInList(String operator) {
+        return operator + " (select value from openjson(?))";
+    }
+
+    @Override
+    public Object arrayInListParameter(Object[] values) {
+        return Stream.of(values)
+            .map(SqlServerDialect::jsonValue)
+            .collect(joining(",", "[", "]"));
+    }
+
+    @Override
+    public boolean supportsMultipleResultSets() {
+        return true;
+    }
+
+    @Override
+    public Optional<PlanExplainer> planExplainer() {
+        return Optional.of(new SqlServerPlanExplainer());
+    }
+
     @Override
     public String setLockTimeout(long time, TimeUnit unit) {
         return String.format("set lock_timeout %d", unit.toMillis(time));
@@ -196,8 +292,47 @@ public class SqlServerDialect extends AnsiDialect {
         return true;
     }
 
+    @Override
+    public boolean requiresRecursiveInWith() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsUnionInRecursiveWith() {
+        return false;
+    }
+
     @Override
     public String nextFromSequence(String catalog, String schema, String sequenceName) {
         return "next value for " + qualifiedSequenceName(catalog, schema, sequenceName);
     }
+
+    @Override
+    public String nextValuesFromSequence(String catalog, String schema, String sequenceName) {
+        return String.format("set nocount on; " +
+                "declare @n bigint = ?, @first sql_variant, @increment sql_variant; " +
+                "exec sys.sp_sequence_get_range @sequence_name = N'%s', @range_size = @n, @range_first_value = @first output, @sequence_increment = @increment output; " +
+                "select cast(@first as bigint) + (r.i - 1) * cast(@increment as bigint) as NEXT_VAL " +
+                "from (select top (@n) row_number() over (order by (select null)) as i from sys.all_objects a cross join sys.all_objects b) r",
+            qualifiedSequenceName(catalog, schema, sequenceName));
+    }
+
+    private static String jsonValue(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "1" : "0";
+        }
+        if (value instanceof byte[]) {
+            throw new IllegalArgumentException("Binary values cannot be passed in a JSON IN list.");
+        }
+        return '"' + StringEscapeUtils.escapeJson(value.toString()) + '"';
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.core.sql.ResultSetUtil;
+import com.cadenzauk.siesta.PlanExplainer;
+import com.cadenzauk.siesta.QueryPlan;
+import com.cadenzauk.siesta.SqlExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class SqlServerPlanExplainer implements PlanExplainer {
+    private static final Pattern RELATIONAL_OPERATOR = Pattern.compile("<RelOp\\s[^>]*PhysicalOp=\"([^\"]+)\"");
+    private static final Pattern OBJECT = Pattern.compile("<Object\\s[^>]*>");
+    private static final Pattern TABLE = Pattern.compile("\\sTable=\"([^\"]+)\"");
+    private static final Pattern INDEX = Pattern.compile("\\sIndex=\"([^\"]+)\"");
+
+    @Override
+    public QueryPlan explain(SqlExecutor sqlExecutor, String sql, Object[] args) {
+        sqlExecutor.update("set showplan_xml on", new Object[0]);
+        try {
+            List<String> plan = sqlExecutor.query(sql, args, rs -> ResultSetUtil.getString(rs, 1));
+            return parse(String.join("\n", plan));
+        } finally {
+            sqlExecutor.update("set showplan_xml off", new Object[0]);
+        }
+    }
+
+    static QueryPlan parse(String text) {
+        List<String> indexes = new ArrayList<>();
+        List<String> scannedTables = new ArrayList<>();
+        Matcher operators = RELATIONAL_OPERATOR.matcher(text);
+        Matcher objects = OBJECT.matcher(text);
+        while (operators.find()) {
+            String operator = operators.group(1);
+            boolean tableScan = operator.equals("Table Scan") || operator.equals("Clustered Index Scan");
+            boolean indexAccess = operator.contains("Index");
+            if ((tableScan || indexAccess) && objects.find(operators.end())) {
+                String object = objects.group();
+                if (tableScan) {
+                    attribute(TABLE, object).ifPresent(scannedTables::add);
+                } else {
+                    attribute(INDEX, object).ifPresent(indexes::add);
+                }
+            }
+        }
+        return QueryPlan.of(text, indexes, scannedTables);
+    }
+
+    private static Optional<String> attribute(Pattern pattern, String element) {
+        Matcher matcher = pattern.matcher(element);
+        return matcher.find()
+            ? Optional.of(matcher.group(1))
+            : Optional.empty();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.export;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Optional;
+
+class ColumnarRowEncoder implements RowEncoder {
+    static final byte[] MAGIC = {'S', 'C', 'O', 'L'};
+    static final byte VERSION = 1;
+    static final int ROW_GROUP_SIZE = 4096;
+
+    private static final byte PRESENT = 0;
+    private static final byte NULL = 1;
+
+    private final ExportBuffer buffer;
+    private final ColumnKind[] kinds;
+    private final ByteBuffer[] columns;
+    private int rowsInGroup;
+
+    ColumnarRowEncoder(ResultSetMetaData metaData, ExportBuffer buffer) throws SQLException {
+        this.buffer = buffer;
+        this.kinds = ColumnKind.of(metaData);
+        this.columns = new ByteBuffer[kinds.length];
+        String[] labels = ColumnKind.labels(metaData);
+        buffer.put(MAGIC).put(VERSION).putInt(kinds.length);
+        for (int i = 0; i < kinds.length; i++) {
+            byte[] label = labels[i].getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(label.length).put(label).put(kinds[i].code());
+            columns[i] = ByteBuffer.allocate(1024);
+        }
+    }
+
+    @Override
+    public void row(ResultSet rs) throws SQLException {
+        for (int i = 0; i < kinds.length; i++) {
+            value(i, rs);
+        }
+        if (++rowsInGroup == ROW_GROUP_SIZE) {
+            writeGroup();
+        }
+    }
+
+    @Override
+    public void finish() {
+        if (rowsInGroup > 0) {
+            writeGroup();
+        }
+        buffer.putInt(0);
+    }
+
+    private void value(int index, ResultSet rs) throws SQLException {
+        int col = index + 1;
+        switch (kinds[index]) {
+            case INTEGRAL:
+                long longValue = rs.getLong(col);
+                if (present(index, rs.wasNull(), Long.BYTES)) {
+                    columns[index].putLong(longValue);
+                }
+                break;
+            case FLOATING:
+                double doubleValue = rs.getDouble(col);
+                if (present(index, rs.wasNull(), Double.BYTES)) {
+                    columns[index].putDouble(doubleValue);
+                }
+                break;
+            case BOOLEAN:
+                boolean booleanValue = rs.getBoolean(col);
+                if (present(index, rs.wasNull(), 1)) {
+                    columns[index].put(booleanValue ? (byte) 1 : (byte) 0);
+                }
+                break;
+            case BINARY:
+                bytes(index, rs.getBytes(col));
+                break;
+            default:
+                Optional<String> text = kinds[index].text(rs, col);
+                bytes(index, text.map(t -> t.getBytes(StandardCharsets.UTF_8)).orElse(null));
+        }
+    }
+
+    private void bytes(int index, byte[] bytes) {
+        if (present(index, bytes == null, Integer.BYTES + (bytes == null ? 0 : bytes.length))) {
+            columns[index].putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private boolean present(int index, boolean isNull, int size) {
+        ensureRemaining(index, 1 + size);
+        columns[index].put(isNull ? NULL : PRESENT);
+        return !isNull;
+    }
+
+    private void ensureRemaining(int index, int bytes) {
+        ByteBuffer column = columns[index];
+        if (column.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(column.capacity() * 2, column.position() + bytes));
+            column.flip();
+            columns[index] = grown.put(column);
+        }
+    }
+
+    private void writeGroup() {
+        buffer.putInt(rowsInGroup);
+        for (ByteBuffer column : columns) {
+            column.flip();
+            buffer.putInt(column.remaining()).put(column);
+            column.clear();
+        }
+        rowsInGroup = 0;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.export;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Optional;
+
+class CsvRowEncoder implements RowEncoder {
+    private static final byte SEPARATOR = ',';
+    private static final byte QUOTE = '"';
+    private static final byte NEW_LINE = '\n';
+
+    private final ExportBuffer buffer;
+    private final ColumnKind[] kinds;
+
+    CsvRowEncoder(ResultSetMetaData metaData, ExportBuffer buffer) throws SQLException {
+        this.buffer = buffer;
+        this.kinds = ColumnKind.of(metaData);
+        String[] labels = ColumnKind.labels(metaData);
+        for (int i = 0; i < labels.length; i++) {
+            separator(i);
+            quoted(labels[i]);
+        }
+        buffer.put(NEW_LINE);
+    }
+
+    @Override
+    public void row(ResultSet rs) throws SQLException {
+        for (int i = 0; i < kinds.length; i++) {
+            separator(i);
+            value(kinds[i], rs, i + 1);
+        }
+        buffer.put(NEW_LINE);
+    }
+
+    @Override
+    public void finish() {
+    }
+
+    private void value(ColumnKind kind, ResultSet rs, int col) throws SQLException {
+        switch (kind) {
+            case INTEGRAL:
+                long longValue = rs.getLong(col);
+                if (!rs.wasNull()) {
+                    buffer.putAscii(Long.toString(longValue));
+                }
+                break;
+            case FLOATING:
+                double doubleValue = rs.getDouble(col);
+                if (!rs.wasNull()) {
+                    buffer.putAscii(Double.toString(doubleValue));
+                }
+                break;
+            case BOOLEAN:
+                boolean booleanValue = rs.getBoolean(col);
+                if (!rs.wasNull()) {
+                    buffer.putAscii(booleanValue ? "true" : "false");
+                }
+                break;
+            case BINARY:
+                byte[] bytes = rs.getBytes(col);
+                if (bytes != null) {
+                    buffer.putHex(bytes);
+                }
+                break;
+            case TEXT:
+                String text = rs.getString(col);
+                if (text != null) {
+                    quoted(text);
+                }
+                break;
+            default:
+                Optional<String> value = kind.text(rs, col);
+                if (value.isPresent()) {
+                    buffer.putAscii(value.get());
+                }
+        }
+    }
+
+    private void separator(int index) {
+        if (index > 0) {
+            buffer.put(SEPARATOR);
+        }
+    }
+
+    private void quoted(String value) {
+        buffer.put(QUOTE);
+        int start = 0;
+        int quote;
+        while ((quote = value.indexOf('"', start)) >= 0) {
+            buffer.put(value.substring(start, quote + 1).getBytes(StandardCharsets.UTF_8)).put(QUOTE);
+            start = quote + 1;
+        }
+        buffer.put(value.substring(start).getBytes(StandardCharsets.UTF_8)).put(QUOTE);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.export;
+
+import java.nio.channels.WritableByteChannel;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+public enum ExportFormat {
+    CSV {
+        @Override
+        RowEncoder encoder(ResultSetMetaData metaData, ExportBuffer buffer) throws SQLException {
+            return new CsvRowEncoder(metaData, buffer);
+        }
+    },
+    COLUMNAR {
+        @Override
+        RowEncoder encoder(ResultSetMetaData metaData, ExportBuffer buffer) throws SQLException {
+            return new ColumnarRowEncoder(metaData, buffer);
+        }
+    };
+
+    abstract RowEncoder encoder(ResultSetMetaData metaData, ExportBuffer buffer) throws SQLException;
+
+    public ResultSetExporter exporter(WritableByteChannel channel) {
+        return new ResultSetExporter(this, new ExportBuffer(channel));
+    }
+}
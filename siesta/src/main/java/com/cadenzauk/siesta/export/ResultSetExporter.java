@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.export;
+
+import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.core.sql.RuntimeSqlException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class ResultSetExporter implements RowMapper<Boolean> {
+    private final ExportFormat format;
+    private final ExportBuffer buffer;
+    private RowEncoder encoder;
+
+    ResultSetExporter(ExportFormat format, ExportBuffer buffer) {
+        this.format = format;
+        this.buffer = buffer;
+    }
+
+    @Override
+    public Boolean mapRow(ResultSet rs) {
+        try {
+            if (encoder == null) {
+                encoder = format.encoder(rs.getMetaData(), buffer);
+            }
+            encoder.row(rs);
+            return Boolean.TRUE;
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    public void finish() {
+        if (encoder != null) {
+            encoder.finish();
+        }
+        buffer.flush();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class SqlWriter {
+    private final StringBuilder sql;
+    private Object[] args;
+    private int argCount;
+
+    public SqlWriter() {
+        this(256);
+    }
+
+    public SqlWriter(int capacity) {
+        sql = new StringBuilder(capacity);
+        args = new Object[16];
+    }
+
+    public SqlWriter append(String value) {
+        sql.append(value);
+        return this;
+    }
+
+    public SqlWriter append(char value) {
+        sql.append(value);
+        return this;
+    }
+
+    public SqlWriter append(long value) {
+        sql.append(value);
+        return this;
+    }
+
+    public SqlWriter arg(Object value) {
+        if (argCount == args.length) {
+            args = Arrays.copyOf(args, args.length * 2);
+        }
+        args[argCount++] = value;
+        return this;
+    }
+
+    public SqlWriter args(Stream<Object> values) {
+        values.forEachOrdered(this::arg);
+        return this;
+    }
+
+    public <T> SqlWriter join(Stream<T> items, String separator, Consumer<T> render) {
+        Iterator<T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            render.accept(iterator.next());
+            if (iterator.hasNext()) {
+                sql.append(separator);
+            }
+        }
+        return this;
+    }
+
+    public int length() {
+        return sql.length();
+    }
+
+    public String substring(int start) {
+        return sql.substring(start);
+    }
+
+    public SqlWriter replaceFrom(int start, String value) {
+        sql.replace(start, sql.length(), value);
+        return this;
+    }
+
+    public String sql() {
+        return sql.toString();
+    }
+
+    public Object[] args() {
+        return Arrays.copyOf(args, argCount);
+    }
+
+    @Override
+    public String toString() {
+        return sql();
+    }
+}
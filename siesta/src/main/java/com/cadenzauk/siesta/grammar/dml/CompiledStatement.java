@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.dml;
+
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.SqlExecutor;
+import com.cadenzauk.siesta.Transaction;
+import com.cadenzauk.siesta.catalog.Table;
+import com.cadenzauk.siesta.grammar.expression.ParameterExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public final class CompiledStatement {
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledStatement.class);
+
+    private final Database database;
+    private final Table<?> table;
+    private final String sql;
+    private final Object[] args;
+    private final Optional<Duration> timeout;
+    private final boolean parameterised;
+
+    CompiledStatement(Database database, Table<?> table, String sql, Object[] args, Optional<Duration> timeout) {
+        this.database = database;
+        this.table = table;
+        this.sql = sql;
+        this.args = args;
+        this.timeout = timeout;
+        this.parameterised = ParameterExpression.hasParameters(args);
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public Object[] args() {
+        return args.clone();
+    }
+
+    public CompiledStatement bind(Object... values) {
+        return new CompiledStatement(database, table, sql, ParameterExpression.bind(database, args, values), timeout);
+    }
+
+    public int execute() {
+        return execute(database.getDefaultSqlExecutor());
+    }
+
+    public int execute(SqlExecutor sqlExecutor) {
+        LOG.debug(sql);
+        Object[] executionArgs = executionArgs();
+        int result = database.execute(sql, executionArgs, () -> timeout.map(sqlExecutor::withTimeout).orElse(sqlExecutor).update(sql, executionArgs));
+        table.invalidateCache();
+        return result;
+    }
+
+    public int execute(Transaction transaction) {
+        LOG.debug(sql);
+        Object[] executionArgs = executionArgs();
+        int result = database.execute(sql, executionArgs, () -> timeout.map(transaction::withTimeout).orElse(transaction).update(sql, executionArgs));
+        table.invalidateCache();
+        transaction.onCommit(table::invalidateCache);
+        return result;
+    }
+
+    private Object[] executionArgs() {
+        if (parameterised) {
+            throw new IllegalStateException("Values must be bound to the parameters of " + sql + " before it is executed.");
+        }
+        return args;
+    }
+}
@@ -37,6 +37,11 @@ public class Delete<D> extends ExecutableStatement {
         this.alias = alias;
     }
 
+    @Override
+    protected Table<?> table() {
+        return alias.table();
+    }
+
     @Override
     protected String sql(Scope scope) {
         return String.format("delete from %s%s%s",
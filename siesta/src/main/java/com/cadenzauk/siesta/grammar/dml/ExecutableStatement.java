@@ -22,38 +22,45 @@
 
 package com.cadenzauk.siesta.grammar.dml;
 
+import com.cadenzauk.core.util.OptionalUtil;
 import com.cadenzauk.siesta.Database;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.SqlExecutor;
 import com.cadenzauk.siesta.Transaction;
+import com.cadenzauk.siesta.catalog.Table;
 import com.cadenzauk.siesta.grammar.expression.BooleanExpression;
 import com.cadenzauk.siesta.grammar.expression.BooleanExpressionChain;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 public abstract class ExecutableStatement {
-    private final static Logger LOG = LoggerFactory.getLogger(ExecutableStatement.class);
     private final Scope scope;
     private final BooleanExpressionChain whereClause = new BooleanExpressionChain();
+    private Optional<Duration> timeout = Optional.empty();
 
     protected ExecutableStatement(Scope scope) {
         this.scope = scope;
     }
 
+    CompiledStatement compile() {
+        return new CompiledStatement(scope.database(), table(), sql(scope), args(scope).toArray(), OptionalUtil.or(timeout, scope.database().defaultTimeout()));
+    }
+
     int execute(SqlExecutor sqlExecutor) {
-        Object[] args = args(scope).toArray();
-        String sql = sql(scope);
-        LOG.debug(sql);
-        return scope.database().execute(sql, () -> sqlExecutor.update(sql, args));
+        return compile().execute(sqlExecutor);
     }
 
     int execute(Transaction transaction) {
-        Object[] args = args(scope).toArray();
-        String sql = sql(scope);
-        LOG.debug(sql);
-        return scope.database().execute(sql, () -> transaction.update(sql, args));
+        return compile().execute(transaction);
+    }
+
+    void timeout(Duration val) {
+        if (val.isNegative() || val.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive but was " + val);
+        }
+        timeout = Optional.of(val);
     }
 
     Database database() {
@@ -85,6 +92,8 @@ public abstract class ExecutableStatement {
         whereClause.appendOr(newClause);
     }
 
+    protected abstract Table<?> table();
+
     protected abstract String sql(Scope scope);
 
     protected abstract Stream<Object> args(Scope scope);
@@ -26,6 +26,8 @@ import com.cadenzauk.siesta.Database;
 import com.cadenzauk.siesta.SqlExecutor;
 import com.cadenzauk.siesta.Transaction;
 
+import java.time.Duration;
+
 public class ExecutableStatementClause {
     protected final ExecutableStatement statement;
 
@@ -46,6 +48,15 @@ public class ExecutableStatementClause {
         return statement.execute(transaction);
     }
 
+    public ExecutableStatementClause timeout(Duration timeout) {
+        statement.timeout(timeout);
+        return this;
+    }
+
+    public CompiledStatement compile() {
+        return statement.compile();
+    }
+
     public String sql() {
         return statement.sql();
     }
@@ -49,6 +49,11 @@ public class Update<U> extends ExecutableStatement {
         this.alias = alias;
     }
 
+    @Override
+    protected Table<?> table() {
+        return alias.table();
+    }
+
     protected String sql(Scope scope) {
         return String.format("update %s%s set %s%s",
             alias.table().qualifiedName(),
@@ -24,6 +24,7 @@ package com.cadenzauk.siesta.grammar.expression;
 
 import com.cadenzauk.core.stream.StreamUtil;
 import com.cadenzauk.siesta.Scope;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +45,11 @@ public class BooleanExpressionChain extends BooleanExpression {
         this.first = Optional.of(ParenthesisedBooleanExpression.wrapIfNecessary(first));
     }
 
+    public BooleanExpressionChain(BooleanExpressionChain other) {
+        this.first = other.first;
+        this.terms.addAll(other.terms);
+    }
+
     public void start(BooleanExpression expression) {
         first.ifPresent(booleanExpression -> {
             throw new IllegalStateException("Expression chain has already been started");
@@ -51,6 +57,10 @@ public class BooleanExpressionChain extends BooleanExpression {
         first = Optional.of(ParenthesisedBooleanExpression.wrapIfNecessary(expression));
     }
 
+    public boolean isEmpty() {
+        return !first.isPresent();
+    }
+
     @Override
     public String sql(Scope scope) {
         return sql(scope, "");
@@ -62,6 +72,19 @@ public class BooleanExpressionChain extends BooleanExpression {
             .orElse("");
     }
 
+    @Override
+    public void render(Scope scope, SqlWriter writer) {
+        render(scope, writer, "");
+    }
+
+    public void render(Scope scope, SqlWriter writer, String prefix) {
+        first.ifPresent(f -> {
+            writer.append(prefix);
+            f.render(scope, writer);
+            terms.forEach(t -> t.render(scope, writer));
+        });
+    }
+
     @Override
     public Stream<Object> args(Scope scope) {
         return expressions().flatMap(e -> e.args(scope));
@@ -118,6 +141,11 @@ public class BooleanExpressionChain extends BooleanExpression {
             return " " + operator + " " + operand.sql(scope);
         }
 
+        private void render(Scope scope, SqlWriter writer) {
+            writer.append(' ').append(operator).append(' ');
+            operand.render(scope, writer);
+        }
+
         private static Term or(BooleanExpression expression) {
             return new Term(Precedence.OR, "or", expression);
         }
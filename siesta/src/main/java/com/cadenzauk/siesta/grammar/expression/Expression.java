@@ -23,6 +23,7 @@
 package com.cadenzauk.siesta.grammar.expression;
 
 import com.cadenzauk.siesta.Scope;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 
 import java.util.stream.Stream;
 
@@ -33,6 +34,10 @@ public interface Expression {
 
     Precedence precedence();
 
+    default void render(Scope scope, SqlWriter writer) {
+        writer.append(sql(scope)).args(args(scope));
+    }
+
     default String sql(Expression e, Scope scope) {
         return e.precedence().compareTo(precedence()) < 0
             ? "(" + e.sql(scope) + ")"
@@ -38,6 +38,7 @@ import com.cadenzauk.siesta.grammar.select.Select;
 import com.google.common.reflect.TypeToken;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -308,6 +309,14 @@ public class ExpressionBuilder<T, N> implements TypedExpression<T> {
         return isOpIn("not in", values);
     }
 
+    public N isIn(Collection<T> values) {
+        return onComplete.apply(new InListExpression<>(lhs, "in", values));
+    }
+
+    public N isNotIn(Collection<T> values) {
+        return onComplete.apply(new InListExpression<>(lhs, "not in", values));
+    }
+
     public N isIn(Select<T> select) {
         return isOpIn("in", select);
     }
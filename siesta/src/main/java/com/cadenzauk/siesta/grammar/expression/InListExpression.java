@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.expression;
+
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.Dialect;
+import com.cadenzauk.siesta.Scope;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.ObjectArrays;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+public class InListExpression<T> extends BooleanExpression {
+    private final TypedExpression<T> lhs;
+    private final String operator;
+    private final List<T> values;
+
+    public InListExpression(TypedExpression<T> lhs, String operator, Collection<T> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("At least one value is required for an IN expression.");
+        }
+        this.lhs = lhs;
+        this.operator = operator;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    @Override
+    public String sql(Scope scope) {
+        Dialect dialect = scope.dialect();
+        if (values.size() > dialect.maxInListSize() && usesArray(dialect)) {
+            return sql(lhs, scope) + " " + dialect.arrayInList(operator);
+        }
+        List<String> chunks = chunks(dialect)
+            .map(chunk -> chunkSql(scope, chunk))
+            .collect(toList());
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+        String connective = "not in".equals(operator) ? " and " : " or ";
+        return "(" + String.join(connective, chunks) + ")";
+    }
+
+    @Override
+    public Stream<Object> args(Scope scope) {
+        Dialect dialect = scope.dialect();
+        if (values.size() > dialect.maxInListSize() && usesArray(dialect)) {
+            return Stream.concat(lhs.args(scope), Stream.of(arrayArg(scope)));
+        }
+        return chunks(dialect).flatMap(chunk -> chunkArgs(scope, chunk));
+    }
+
+    @Override
+    public Precedence precedence() {
+        return Precedence.COMPARISON;
+    }
+
+    private boolean usesArray(Dialect dialect) {
+        return dialect.supportsArrayInList() && (dialect.supportsNullsInArrayInList() || values.stream().noneMatch(Objects::isNull));
+    }
+
+    private Stream<List<T>> chunks(Dialect dialect) {
+        return paddedChunks(values, dialect.maxInListSize());
+    }
+
+    private String chunkSql(Scope scope, List<T> chunk) {
+        return sql(lhs, scope) + " " + operator + " (" + chunk.stream()
+            .map(v -> v == null ? "null" : ValueExpression.of(v).sql(scope))
+            .collect(joining(", ")) + ")";
+    }
+
+    private Stream<Object> chunkArgs(Scope scope, List<T> chunk) {
+        return Stream.concat(lhs.args(scope), chunk.stream().flatMap(v -> v == null ? Stream.empty() : ValueExpression.of(v).args(scope)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object arrayArg(Scope scope) {
+        Database database = scope.database();
+        Object[] converted = values.stream()
+            .map(v -> v == null ? null : database.getDataTypeOf(v).toDatabase(database, v))
+            .toArray();
+        Object[] typed = Stream.of(converted)
+            .filter(Objects::nonNull)
+            .findFirst()
+            .<Class<?>>map(Object::getClass)
+            .filter(elementClass -> Stream.of(converted).allMatch(v -> v == null || elementClass.isInstance(v)))
+            .map(elementClass -> Stream.of(converted).toArray(n -> ObjectArrays.newArray((Class<Object>) elementClass, n)))
+            .orElse(converted);
+        return scope.dialect().arrayInListParameter(typed);
+    }
+
+    public static <T> Stream<List<T>> paddedChunks(List<T> values, int maxSize) {
+        return Lists.partition(values, maxSize)
+            .stream()
+            .map(chunk -> {
+                int bucketSize = bucketSize(chunk.size(), maxSize);
+                T last = Iterables.getLast(chunk);
+                return IntStream.range(0, bucketSize)
+                    .mapToObj(i -> i < chunk.size() ? chunk.get(i) : last)
+                    .collect(toList());
+            });
+    }
+
+    public static int bucketSize(int size, int maxSize) {
+        int bucket = Integer.highestOneBit(size);
+        if (bucket < size) {
+            bucket <<= 1;
+        }
+        return Math.min(bucket, maxSize);
+    }
+}
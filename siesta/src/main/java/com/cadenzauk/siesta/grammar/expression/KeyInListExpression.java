@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.expression;
+
+import com.cadenzauk.siesta.Alias;
+import com.cadenzauk.siesta.Scope;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+
+public class KeyInListExpression extends BooleanExpression {
+    private final Alias<?> alias;
+    private final List<String> columnNames;
+    private final List<List<Object>> keys;
+
+    public KeyInListExpression(Alias<?> alias, List<String> columnNames, Collection<List<Object>> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one key is required for a key list expression.");
+        }
+        if (keys.stream().anyMatch(k -> k.size() != columnNames.size())) {
+            throw new IllegalArgumentException(String.format("Every key must have exactly %d values.", columnNames.size()));
+        }
+        this.alias = alias;
+        this.columnNames = ImmutableList.copyOf(columnNames);
+        this.keys = ImmutableList.copyOf(keys);
+    }
+
+    @Override
+    public String sql(Scope scope) {
+        if (columnNames.size() == 1) {
+            return alias.inSelectClauseSql(columnNames.get(0)) + " in (" + keys.stream()
+                .map(k -> "?")
+                .collect(joining(", ")) + ")";
+        }
+        if (scope.dialect().supportsMultipleValueIn()) {
+            String row = "(" + String.join(", ", Collections.nCopies(columnNames.size(), "?")) + ")";
+            return columnNames.stream()
+                .map(alias::inSelectClauseSql)
+                .collect(joining(", ", "(", ") in (")) + keys.stream()
+                .map(k -> row)
+                .collect(joining(", ")) + ")";
+        }
+        String keySql = columnNames.stream()
+            .map(c -> alias.inSelectClauseSql(c) + " = ?")
+            .collect(joining(" and ", "(", ")"));
+        return keys.stream()
+            .map(k -> keySql)
+            .collect(joining(" or "));
+    }
+
+    @Override
+    public Stream<Object> args(Scope scope) {
+        return keys.stream().flatMap(List::stream);
+    }
+
+    @Override
+    public Precedence precedence() {
+        return columnNames.size() == 1 || keys.size() == 1
+            ? Precedence.COMPARISON
+            : Precedence.OR;
+    }
+}
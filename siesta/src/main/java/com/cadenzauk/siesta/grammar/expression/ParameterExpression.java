@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.expression;
+
+import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.siesta.DataType;
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.Scope;
+import com.cadenzauk.siesta.grammar.LabelGenerator;
+import com.google.common.reflect.TypeToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class ParameterExpression<T> implements TypedExpression<T> {
+    private final LabelGenerator labelGenerator = new LabelGenerator("param_");
+    private final Class<T> valueClass;
+
+    private ParameterExpression(Class<T> valueClass) {
+        this.valueClass = valueClass;
+    }
+
+    @Override
+    public String toString() {
+        return "?" + valueClass.getSimpleName();
+    }
+
+    @Override
+    public String sql(Scope scope) {
+        return "?";
+    }
+
+    @Override
+    public Stream<Object> args(Scope scope) {
+        return Stream.of(this);
+    }
+
+    @Override
+    public Precedence precedence() {
+        return Precedence.COLUMN;
+    }
+
+    @Override
+    public String label(Scope scope) {
+        return labelGenerator.label(scope);
+    }
+
+    @Override
+    public RowMapper<T> rowMapper(Scope scope, Optional<String> label) {
+        DataType<T> dataType = scope.database().getDataTypeOf(valueClass);
+        return rs -> dataType.get(rs, label.orElseGet(() -> label(scope)), scope.database()).orElse(null);
+    }
+
+    @Override
+    public TypeToken<T> type() {
+        return TypeToken.of(valueClass);
+    }
+
+    private Object toDatabase(Database database, Object value) {
+        if (value != null && !valueClass.isInstance(value)) {
+            throw new IllegalArgumentException(String.format("Parameter of type %s cannot be bound to %s.", valueClass.getName(), value));
+        }
+        return database.getDataTypeOf(valueClass).toDatabase(database, valueClass.cast(value));
+    }
+
+    public static <T> ParameterExpression<T> parameter(Class<T> valueClass) {
+        return new ParameterExpression<>(valueClass);
+    }
+
+    public static boolean hasParameters(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof ParameterExpression) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Object[] bind(Database database, Object[] args, Object[] values) {
+        List<ParameterExpression<?>> parameters = new ArrayList<>();
+        Object[] bound = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof ParameterExpression) {
+                ParameterExpression<?> parameter = (ParameterExpression<?>) args[i];
+                int index = parameters.indexOf(parameter);
+                if (index < 0) {
+                    index = parameters.size();
+                    parameters.add(parameter);
+                }
+                if (index >= values.length) {
+                    throw new IllegalArgumentException(String.format("Expected a value for parameter %d but only %d were supplied.", index + 1, values.length));
+                }
+                bound[i] = parameter.toDatabase(database, values[index]);
+            } else {
+                bound[i] = args[i];
+            }
+        }
+        if (parameters.size() != values.length) {
+            throw new IllegalArgumentException(String.format("Expected %d parameter values but %d were supplied.", parameters.size(), values.length));
+        }
+        return bound;
+    }
+}
@@ -29,6 +29,7 @@ import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.catalog.Column;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.google.common.reflect.TypeToken;
 
 import java.util.Optional;
@@ -46,6 +47,12 @@ public class ResolvedColumn<T,R> implements ColumnExpression<T,R> {
         this.type = TypeToken.of(method.effectiveClass());
     }
 
+    private ResolvedColumn(Alias<R> alias, Column<T,R> column, TypeToken<T> type) {
+        this.alias = alias;
+        this.column = column;
+        this.type = type;
+    }
+
     @Override
     public String sql(Scope scope) {
         scope.findAlias(alias.type().getRawType(), alias.aliasName().orElse(""));
@@ -82,6 +89,11 @@ public class ResolvedColumn<T,R> implements ColumnExpression<T,R> {
         return column.sqlWithLabel(alias, label);
     }
 
+    @Override
+    public void renderWithLabel(Scope scope, Optional<String> label, SqlWriter writer) {
+        column.renderWithLabel(alias, label, writer);
+    }
+
     @Override
     public String columnName(Scope scope) {
         return column.columnName();
@@ -106,4 +118,8 @@ public class ResolvedColumn<T,R> implements ColumnExpression<T,R> {
         MethodInfo<R,T> method = MethodInfo.of(getterReference);
         return new ResolvedColumn<>(alias, method);
     }
+
+    public static <T, R> ResolvedColumn<T,R> of(Alias<R> alias, Column<T,R> column, TypeToken<T> type) {
+        return new ResolvedColumn<>(alias, column, type);
+    }
 }
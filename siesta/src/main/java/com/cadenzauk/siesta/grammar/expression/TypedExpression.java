@@ -27,6 +27,7 @@ import com.cadenzauk.core.function.FunctionOptional1;
 import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.Scope;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.google.common.reflect.TypeToken;
 
 import java.util.Optional;
@@ -43,6 +44,10 @@ public interface TypedExpression<T> extends Expression {
         return sql(scope) + " as " + label.orElseGet(() -> label(scope));
     }
 
+    default void renderWithLabel(Scope scope, Optional<String> label, SqlWriter writer) {
+        writer.append(sqlWithLabel(scope, label)).args(args(scope));
+    }
+
     default TypedExpression<T> plus(T value) {
         return plus(value(value));
     }
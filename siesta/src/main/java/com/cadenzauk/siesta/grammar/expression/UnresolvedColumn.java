@@ -29,6 +29,7 @@ import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.catalog.Column;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.google.common.reflect.TypeToken;
 
 import java.util.Optional;
@@ -62,6 +63,13 @@ public class UnresolvedColumn<T,R> implements ColumnExpression<T,R> {
         return column.sqlWithLabel(resolvedAlias, label);
     }
 
+    @Override
+    public void renderWithLabel(Scope scope, Optional<String> label, SqlWriter writer) {
+        Column<T,R> column = scope.database().column(getterMethod);
+        Alias<R> resolvedAlias = resolve(scope);
+        column.renderWithLabel(resolvedAlias, label, writer);
+    }
+
     @Override
     public String columnName(Scope scope) {
         Column<T,R> column = scope.database().column(getterMethod);
@@ -106,4 +106,23 @@ public class InOlapOrderBy<T> extends InOlapFunction<T> {
         return this;
     }
 
+    public InOlapFrame<T> rows(FrameBound start) {
+        function.setFrame("rows", start);
+        return new InOlapFrame<>(function);
+    }
+
+    public InOlapFrame<T> rowsBetween(FrameBound start, FrameBound end) {
+        function.setFrame("rows", start, end);
+        return new InOlapFrame<>(function);
+    }
+
+    public InOlapFrame<T> range(FrameBound start) {
+        function.setFrame("range", start);
+        return new InOlapFrame<>(function);
+    }
+
+    public InOlapFrame<T> rangeBetween(FrameBound start, FrameBound end) {
+        function.setFrame("range", start, end);
+        return new InOlapFrame<>(function);
+    }
 }
@@ -26,6 +26,7 @@ import com.cadenzauk.core.function.Function1;
 import com.cadenzauk.core.function.FunctionOptional1;
 import com.cadenzauk.core.util.UtilityClass;
 import com.cadenzauk.siesta.Alias;
+import com.cadenzauk.siesta.grammar.expression.LiteralExpression;
 import com.cadenzauk.siesta.grammar.expression.ResolvedColumn;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 import com.cadenzauk.siesta.grammar.expression.UnresolvedColumn;
@@ -70,6 +71,372 @@ public final class Olap extends UtilityClass {
         return function("sum", argument.type(), argument);
     }
 
+    public static InOlapExpectingPartitionBy<Integer> rank() {
+        return function("rank", TypeToken.of(Integer.class));
+    }
+
+    public static InOlapExpectingPartitionBy<Integer> denseRank() {
+        return function("dense_rank", TypeToken.of(Integer.class));
+    }
+
+    public static InOlapExpectingPartitionBy<Integer> ntile(int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("Number of buckets must be positive but was " + buckets);
+        }
+        return function("ntile", TypeToken.of(Integer.class), LiteralExpression.of(buckets));
+    }
+
+    public static InOlapExpectingPartitionBy<Integer> count() {
+        return new InOlapExpectingPartitionBy<>(OlapFunction.ofAllRows("count", TypeToken.of(Integer.class)));
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> avg(TypedExpression<T> argument) {
+        return function("avg", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> avg(Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("avg", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> avg(FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("avg", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> avg(String alias, Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("avg", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> avg(String alias, FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("avg", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> avg(Alias<R> alias, Function1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("avg", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> avg(Alias<R> alias, FunctionOptional1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("avg", argument.type(), argument);
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> min(TypedExpression<T> argument) {
+        return function("min", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> min(Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("min", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> min(FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("min", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> min(String alias, Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("min", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> min(String alias, FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("min", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> min(Alias<R> alias, Function1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("min", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> min(Alias<R> alias, FunctionOptional1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("min", argument.type(), argument);
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> max(TypedExpression<T> argument) {
+        return function("max", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> max(Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("max", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> max(FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("max", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> max(String alias, Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("max", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> max(String alias, FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("max", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> max(Alias<R> alias, Function1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("max", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> max(Alias<R> alias, FunctionOptional1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("max", argument.type(), argument);
+    }
+
+    public static <T> InOlapExpectingPartitionBy<Integer> count(TypedExpression<T> argument) {
+        return function("count", TypeToken.of(Integer.class), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<Integer> count(Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("count", TypeToken.of(Integer.class), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<Integer> count(FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("count", TypeToken.of(Integer.class), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<Integer> count(String alias, Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("count", TypeToken.of(Integer.class), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<Integer> count(String alias, FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("count", TypeToken.of(Integer.class), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<Integer> count(Alias<R> alias, Function1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("count", TypeToken.of(Integer.class), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<Integer> count(Alias<R> alias, FunctionOptional1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("count", TypeToken.of(Integer.class), argument);
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> firstValue(TypedExpression<T> argument) {
+        return function("first_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> firstValue(Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("first_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> firstValue(FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("first_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> firstValue(String alias, Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("first_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> firstValue(String alias, FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("first_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> firstValue(Alias<R> alias, Function1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("first_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> firstValue(Alias<R> alias, FunctionOptional1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("first_value", argument.type(), argument);
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> lastValue(TypedExpression<T> argument) {
+        return function("last_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lastValue(Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("last_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lastValue(FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("last_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lastValue(String alias, Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("last_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lastValue(String alias, FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("last_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lastValue(Alias<R> alias, Function1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("last_value", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lastValue(Alias<R> alias, FunctionOptional1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("last_value", argument.type(), argument);
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> lag(TypedExpression<T> argument) {
+        return function("lag", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("lag", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("lag", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(String alias, Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("lag", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(String alias, FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("lag", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(Alias<R> alias, Function1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("lag", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(Alias<R> alias, FunctionOptional1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("lag", argument.type(), argument);
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> lag(TypedExpression<T> argument, int offset) {
+        return function("lag", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(Function1<R,T> method, int offset) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("lag", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(FunctionOptional1<R,T> method, int offset) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("lag", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(String alias, Function1<R,T> method, int offset) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("lag", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(String alias, FunctionOptional1<R,T> method, int offset) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("lag", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(Alias<R> alias, Function1<R,T> method, int offset) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("lag", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lag(Alias<R> alias, FunctionOptional1<R,T> method, int offset) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("lag", argument.type(), argument, offset(offset));
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> lead(TypedExpression<T> argument) {
+        return function("lead", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("lead", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("lead", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(String alias, Function1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("lead", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(String alias, FunctionOptional1<R,T> method) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("lead", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(Alias<R> alias, Function1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("lead", argument.type(), argument);
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(Alias<R> alias, FunctionOptional1<R,T> method) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("lead", argument.type(), argument);
+    }
+
+    public static <T> InOlapExpectingPartitionBy<T> lead(TypedExpression<T> argument, int offset) {
+        return function("lead", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(Function1<R,T> method, int offset) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("lead", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(FunctionOptional1<R,T> method, int offset) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(method);
+        return function("lead", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(String alias, Function1<R,T> method, int offset) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("lead", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(String alias, FunctionOptional1<R,T> method, int offset) {
+        UnresolvedColumn<T,R> argument = UnresolvedColumn.of(alias, method);
+        return function("lead", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(Alias<R> alias, Function1<R,T> method, int offset) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("lead", argument.type(), argument, offset(offset));
+    }
+
+    public static <R,T> InOlapExpectingPartitionBy<T> lead(Alias<R> alias, FunctionOptional1<R,T> method, int offset) {
+        ResolvedColumn<T,R> argument = ResolvedColumn.of(alias, method);
+        return function("lead", argument.type(), argument, offset(offset));
+    }
+
+    private static TypedExpression<Integer> offset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative but was " + offset);
+        }
+        return LiteralExpression.of(offset);
+    }
+
     private static <T> InOlapExpectingPartitionBy<T> function(String function, TypeToken<T> type, TypedExpression<?>... arguments) {
         return new InOlapExpectingPartitionBy<>(new OlapFunction<>(function, type, arguments));
     }
@@ -37,6 +37,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.joining;
@@ -45,17 +46,28 @@ class OlapFunction<T> {
     private final LabelGenerator labelGenerator;
     private final String functionName;
     private final TypeToken<T> type;
+    private final boolean allRows;
     private final TypedExpression<?>[] arguments;
     private final Lazy<List<TypedExpression<?>>> partitionBy = new Lazy<>(ArrayList::new);
     private final Lazy<List<Ordering<?>>> orderBy = new Lazy<>(ArrayList::new);
+    private Optional<String> frame = Optional.empty();
 
     OlapFunction(String functionName, TypeToken<T> type, TypedExpression<?>... arguments) {
+        this(functionName, type, false, arguments);
+    }
+
+    private OlapFunction(String functionName, TypeToken<T> type, boolean allRows, TypedExpression<?>... arguments) {
         this.functionName = functionName;
+        this.allRows = allRows;
         this.type = type;
         this.arguments = arguments;
         labelGenerator = new LabelGenerator(functionName + "_");
     }
 
+    static <T> OlapFunction<T> ofAllRows(String functionName, TypeToken<T> type) {
+        return new OlapFunction<>(functionName, type, true);
+    }
+
     String label(Scope scope) {
         return labelGenerator.label(scope);
     }
@@ -100,7 +112,18 @@ class OlapFunction<T> {
         orderBy.get().add(ordering);
     }
 
+    void setFrame(String units, FrameBound start) {
+        frame = Optional.of(String.format("%s %s", units, start.sql()));
+    }
+
+    void setFrame(String units, FrameBound start, FrameBound end) {
+        frame = Optional.of(String.format("%s between %s and %s", units, start.sql(), end.sql()));
+    }
+
     private String argumentsSql(Scope scope) {
+        if (allRows) {
+            return "*";
+        }
         return Arrays.stream(arguments)
             .map(a -> a.sql(scope))
             .collect(joining(", "));
@@ -118,7 +141,9 @@ class OlapFunction<T> {
         return orderBy
             .optional()
             .filter(p -> scope.dialect().supportsOrderByInOlap())
-            .map(p -> String.format("order by %s", p.stream().map(e -> e.sql(scope)).collect(joining(", "))))
+            .map(p -> String.format("order by %s%s",
+                p.stream().map(e -> e.sql(scope)).collect(joining(", ")),
+                frame.map(f -> " " + f).orElse("")))
             .orElse("");
     }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.select;
+
+import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.core.sql.RuntimeSqlException;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+
+public final class ColumnBatch {
+    private final int rowCount;
+    private final String[] labels;
+    private final long[][] longs;
+    private final double[][] doubles;
+    private final BitSet[] nulls;
+
+    private ColumnBatch(int rowCount, String[] labels, long[][] longs, double[][] doubles, BitSet[] nulls) {
+        this.rowCount = rowCount;
+        this.labels = labels;
+        this.longs = longs;
+        this.doubles = doubles;
+        this.nulls = nulls;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return labels.length;
+    }
+
+    public String label(int column) {
+        return labels[checkColumn(column)];
+    }
+
+    public boolean isIntegral(int column) {
+        return longs[checkColumn(column)] != null;
+    }
+
+    public long[] longs(int column) {
+        if (!isIntegral(column)) {
+            throw new IllegalArgumentException(String.format("Column %d (%s) is not an integral column.", column, labels[column]));
+        }
+        return longs[column];
+    }
+
+    public double[] doubles(int column) {
+        if (isIntegral(column)) {
+            throw new IllegalArgumentException(String.format("Column %d (%s) is not a floating point column.", column, labels[column]));
+        }
+        return doubles[column];
+    }
+
+    public boolean hasNulls(int column) {
+        return nulls[checkColumn(column)] != null;
+    }
+
+    public boolean isNull(int column, int row) {
+        return hasNulls(column) && nulls[column].get(row);
+    }
+
+    private int checkColumn(int column) {
+        if (column < 0 || column >= labels.length) {
+            throw new IndexOutOfBoundsException(String.format("Column %d is out of range for a batch of %d columns.", column, labels.length));
+        }
+        return column;
+    }
+
+    static class Builder implements RowMapper<Boolean> {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private int rowCount;
+        private String[] labels = new String[0];
+        private long[][] longs;
+        private double[][] doubles;
+        private BitSet[] nulls;
+        private boolean[] exact;
+
+        @Override
+        public Boolean mapRow(ResultSet rs) {
+            try {
+                if (rowCount == 0) {
+                    columns(rs.getMetaData());
+                }
+                ensureCapacity();
+                for (int i = 0; i < labels.length; i++) {
+                    if (exact[i]) {
+                        exact(i, rs.getBigDecimal(i + 1));
+                    } else if (longs[i] != null) {
+                        longs[i][rowCount] = rs.getLong(i + 1);
+                    } else {
+                        doubles[i][rowCount] = rs.getDouble(i + 1);
+                    }
+                    if (rs.wasNull()) {
+                        if (nulls[i] == null) {
+                            nulls[i] = new BitSet();
+                        }
+                        nulls[i].set(rowCount);
+                    }
+                }
+                rowCount++;
+                return Boolean.TRUE;
+            } catch (SQLException e) {
+                throw new RuntimeSqlException(e);
+            }
+        }
+
+        ColumnBatch build() {
+            for (int i = 0; i < labels.length; i++) {
+                if (longs[i] != null) {
+                    longs[i] = Arrays.copyOf(longs[i], rowCount);
+                } else {
+                    doubles[i] = Arrays.copyOf(doubles[i], rowCount);
+                }
+            }
+            return new ColumnBatch(rowCount, labels, longs, doubles, nulls);
+        }
+
+        private void columns(ResultSetMetaData metaData) throws SQLException {
+            int columnCount = metaData.getColumnCount();
+            labels = new String[columnCount];
+            longs = new long[columnCount][];
+            doubles = new double[columnCount][];
+            nulls = new BitSet[columnCount];
+            exact = new boolean[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                labels[i] = metaData.getColumnLabel(i + 1);
+                int jdbcType = metaData.getColumnType(i + 1);
+                if (isIntegral(jdbcType)) {
+                    longs[i] = new long[INITIAL_CAPACITY];
+                } else if (isFloatingPoint(jdbcType)) {
+                    doubles[i] = new double[INITIAL_CAPACITY];
+                } else if (isDecimal(jdbcType)) {
+                    int scale = metaData.getScale(i + 1);
+                    if (scale > 0 && scale < metaData.getPrecision(i + 1)) {
+                        doubles[i] = new double[INITIAL_CAPACITY];
+                    } else {
+                        // H2 SUM and unconstrained Oracle NUMBER columns report no usable scale
+                        longs[i] = new long[INITIAL_CAPACITY];
+                        exact[i] = scale != 0;
+                    }
+                } else {
+                    throw new IllegalArgumentException(String.format("Column %d (%s) of type %s is not numeric.", i, labels[i], metaData.getColumnTypeName(i + 1)));
+                }
+            }
+        }
+
+        private void exact(int column, BigDecimal value) {
+            if (longs[column] != null) {
+                if (value == null || isLong(value)) {
+                    longs[column][rowCount] = value == null ? 0L : value.longValueExact();
+                    return;
+                }
+                doubles[column] = new double[longs[column].length];
+                for (int row = 0; row < rowCount; row++) {
+                    doubles[column][row] = longs[column][row];
+                }
+                longs[column] = null;
+            }
+            doubles[column][rowCount] = value == null ? 0.0 : value.doubleValue();
+        }
+
+        private void ensureCapacity() {
+            for (int i = 0; i < labels.length; i++) {
+                if (longs[i] != null && longs[i].length == rowCount) {
+                    longs[i] = Arrays.copyOf(longs[i], rowCount * 2);
+                } else if (doubles[i] != null && doubles[i].length == rowCount) {
+                    doubles[i] = Arrays.copyOf(doubles[i], rowCount * 2);
+                }
+            }
+        }
+
+        private static boolean isIntegral(int jdbcType) {
+            return jdbcType == Types.TINYINT || jdbcType == Types.SMALLINT || jdbcType == Types.INTEGER || jdbcType == Types.BIGINT;
+        }
+
+        private static boolean isFloatingPoint(int jdbcType) {
+            return jdbcType == Types.REAL || jdbcType == Types.FLOAT || jdbcType == Types.DOUBLE;
+        }
+
+        private static boolean isLong(BigDecimal value) {
+            try {
+                value.longValueExact();
+                return true;
+            } catch (ArithmeticException e) {
+                return false;
+            }
+        }
+
+        private static boolean isDecimal(int jdbcType) {
+            return jdbcType == Types.DECIMAL || jdbcType == Types.NUMERIC;
+        }
+    }
+}
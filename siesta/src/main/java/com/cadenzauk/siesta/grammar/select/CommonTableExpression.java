@@ -24,10 +24,14 @@ package com.cadenzauk.siesta.grammar.select;
 
 import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.CteAlias;
+import com.cadenzauk.siesta.Hint;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.catalog.Column;
 import com.cadenzauk.siesta.catalog.Table;
+import com.cadenzauk.siesta.grammar.SqlWriter;
+import com.google.common.collect.ImmutableList;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -37,11 +41,19 @@ public class CommonTableExpression<RT> {
     private final Table<RT> table;
     private final String name;
     private final SelectStatement<RT> select;
+    private final boolean recursive;
+    private final List<Hint> queryHints;
 
     CommonTableExpression(Table<RT> table, String name, SelectStatement<RT> select) {
+        this(table, name, select, false, ImmutableList.of());
+    }
+
+    CommonTableExpression(Table<RT> table, String name, SelectStatement<RT> select, boolean recursive, List<Hint> queryHints) {
         this.table = table;
         this.name = name;
         this.select = select;
+        this.recursive = recursive;
+        this.queryHints = ImmutableList.copyOf(queryHints);
     }
 
     public String sql(Scope scope) {
@@ -52,6 +64,15 @@ public class CommonTableExpression<RT> {
             select.sql(actualScope));
     }
 
+    public void render(Scope scope, SqlWriter writer) {
+        Scope actualScope = scope.plus(select.scope());
+        writer.append(name).append('(');
+        writer.join(table.columns(), ", ", c -> writer.append(c.columnName()));
+        writer.append(") as (");
+        select.render(actualScope, writer);
+        writer.append(") ");
+    }
+
     public Stream<Object> args(Scope scope) {
         Scope actualScope = scope.plus(select.scope());
         return select.args(actualScope);
@@ -73,6 +94,14 @@ public class CommonTableExpression<RT> {
         return table;
     }
 
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    public Stream<Hint> queryHints() {
+        return queryHints.stream();
+    }
+
     public Stream<CommonTableExpression<?>> commonTableExpressions() {
         return Stream.concat(select.commonTableExpressions(), Stream.of(this));
     }
@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.select;
+
+import com.cadenzauk.core.lang.CompositeAutoCloseable;
+import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.core.sql.RuntimeSqlException;
+import com.cadenzauk.core.tuple.Tuple3;
+import com.cadenzauk.core.util.FutureUtil;
+import com.cadenzauk.core.util.IterableUtil;
+import com.cadenzauk.core.util.OptionalUtil;
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.PlanExplainer;
+import com.cadenzauk.siesta.QueryPlan;
+import com.cadenzauk.siesta.ReplicaPool;
+import com.cadenzauk.siesta.SqlExecutor;
+import com.cadenzauk.siesta.Transaction;
+import com.cadenzauk.siesta.catalog.Table;
+import com.cadenzauk.siesta.export.ExportFormat;
+import com.cadenzauk.siesta.export.ResultSetExporter;
+import com.cadenzauk.siesta.grammar.expression.ParameterExpression;
+import com.google.common.reflect.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.channels.WritableByteChannel;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+public final class CompiledSelect<RT> {
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledSelect.class);
+
+    private final Database database;
+    private final TypeToken<RT> rowType;
+    private final String sql;
+    private final Object[] args;
+    private final RowMapper<RT> rowMapper;
+    private final boolean readsFromReplica;
+    private final Optional<Tuple3<Duration,Long,Long>> cached;
+    private final List<Table<?>> referencedTables;
+    private final Optional<Duration> timeout;
+    private final boolean parameterised;
+
+    CompiledSelect(Database database, TypeToken<RT> rowType, String sql, Object[] args, RowMapper<RT> rowMapper, boolean readsFromReplica, Optional<Tuple3<Duration,Long,Long>> cached, List<Table<?>> referencedTables, Optional<Duration> timeout) {
+        this.database = database;
+        this.rowType = rowType;
+        this.sql = sql;
+        this.args = args;
+        this.rowMapper = rowMapper;
+        this.readsFromReplica = readsFromReplica;
+        this.cached = cached;
+        this.referencedTables = referencedTables;
+        this.timeout = timeout;
+        this.parameterised = ParameterExpression.hasParameters(args);
+    }
+
+    public TypeToken<RT> rowType() {
+        return rowType;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public Object[] args() {
+        return args.clone();
+    }
+
+    public CompiledSelect<RT> bind(Object... values) {
+        return new CompiledSelect<>(database, rowType, sql, ParameterExpression.bind(database, args, values), rowMapper, readsFromReplica, cached, referencedTables, timeout);
+    }
+
+    RowMapper<RT> rowMapper() {
+        return rowMapper;
+    }
+
+    boolean isCached() {
+        return cached.isPresent();
+    }
+
+    boolean readsFromReplica() {
+        return readsFromReplica;
+    }
+
+    CompletableFuture<List<RT>> queryAsync(SqlExecutor sqlExecutor) {
+        LOG.debug(sql);
+        Object[] executionArgs = executionArgs();
+        return database.executeAsync(sql, executionArgs, () -> timed(sqlExecutor).queryAsync(sql, executionArgs, rowMapper));
+    }
+
+    public List<RT> list() {
+        return onDefaultSqlExecutor(this::list);
+    }
+
+    public List<RT> list(SqlExecutor sqlExecutor) {
+        LOG.debug(sql);
+        if (cached.isPresent()) {
+            return cached.get().map((timeToLive, maxEntries, maxRows) -> database.queryResultCache()
+                .get(timeToLive, maxEntries, maxRows, rowType, sql, executionArgs(), referencedTables.stream(),
+                    () -> database.execute(sql, executionArgs(), () -> timed(sqlExecutor).query(sql, executionArgs(), rowMapper))));
+        }
+        return database.execute(sql, executionArgs(), () -> timed(sqlExecutor).query(sql, executionArgs(), rowMapper));
+    }
+
+    public List<RT> list(Transaction transaction) {
+        LOG.debug(sql);
+        return database.execute(sql, executionArgs(), () -> timed(transaction).query(sql, executionArgs(), rowMapper));
+    }
+
+    public CompletableFuture<List<RT>> listAsync() {
+        return onDefaultSqlExecutorAsync(this::listAsync);
+    }
+
+    public CompletableFuture<List<RT>> listAsync(SqlExecutor sqlExecutor) {
+        Transaction transaction = sqlExecutor.beginTransaction();
+        CompletableFuture<List<RT>> query;
+        try {
+            query = listAsync(transaction);
+        } catch (RuntimeException e) {
+            transaction.close();
+            throw e;
+        }
+        CompletableFuture<List<RT>> result = new CompletableFuture<>();
+        query.whenComplete((value, exception) -> {
+            if (exception != null) {
+                result.completeExceptionally(exception);
+                return;
+            }
+            try {
+                transaction.commit();
+                result.complete(value);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, exception) -> {
+            if (result.isCancelled()) {
+                query.cancel(true);
+            }
+            transaction.close();
+        });
+        return result;
+    }
+
+    public CompletableFuture<List<RT>> listAsync(Transaction transaction) {
+        LOG.debug(sql);
+        Object[] executionArgs = executionArgs();
+        CompletableFuture<List<RT>> query = database.executeAsync(sql, executionArgs, () -> timed(transaction).queryAsync(sql, executionArgs, rowMapper));
+        return FutureUtil.exceptionally(query, e -> database.translateException(sql, e));
+    }
+
+    public Optional<RT> optional() {
+        return onDefaultSqlExecutor(this::optional);
+    }
+
+    public Optional<RT> optional(SqlExecutor sqlExecutor) {
+        return OptionalUtil.ofOnly(list(sqlExecutor));
+    }
+
+    public Optional<RT> optional(Transaction transaction) {
+        return OptionalUtil.ofOnly(list(transaction));
+    }
+
+    public CompletableFuture<Optional<RT>> optionalAsync() {
+        return onDefaultSqlExecutorAsync(this::optionalAsync);
+    }
+
+    public CompletableFuture<Optional<RT>> optionalAsync(SqlExecutor sqlExecutor) {
+        CompletableFuture<List<RT>> list = listAsync(sqlExecutor);
+        return FutureUtil.cancelling(list.thenApply(OptionalUtil::ofOnly), list);
+    }
+
+    public CompletableFuture<Optional<RT>> optionalAsync(Transaction transaction) {
+        CompletableFuture<List<RT>> list = listAsync(transaction);
+        return FutureUtil.cancelling(list.thenApply(OptionalUtil::ofOnly), list);
+    }
+
+    public Stream<RT> stream() {
+        return readsFromReplica
+            ? replicas().stream(this::stream)
+            : stream(database.getDefaultSqlExecutor());
+    }
+
+    public Stream<RT> stream(CompositeAutoCloseable autoCloseable) {
+        return autoCloseable.add(stream());
+    }
+
+    public Stream<RT> stream(SqlExecutor sqlExecutor) {
+        if (cached.isPresent()) {
+            return list(sqlExecutor).stream();
+        }
+        LOG.debug(sql);
+        return database.execute(sql, executionArgs(), () -> timed(sqlExecutor).stream(sql, executionArgs(), rowMapper));
+    }
+
+    public Stream<RT> stream(SqlExecutor sqlExecutor, CompositeAutoCloseable autoCloseable) {
+        return autoCloseable.add(stream(sqlExecutor));
+    }
+
+    public Stream<RT> stream(Transaction transaction) {
+        LOG.debug(sql);
+        return database.execute(sql, executionArgs(), () -> timed(transaction).stream(sql, executionArgs(), rowMapper));
+    }
+
+    public Stream<RT> stream(Transaction transaction, CompositeAutoCloseable autoCloseable) {
+        return autoCloseable.add(stream(transaction));
+    }
+
+    public RT single() {
+        return onDefaultSqlExecutor(this::single);
+    }
+
+    public RT single(SqlExecutor sqlExecutor) {
+        return IterableUtil.single(list(sqlExecutor));
+    }
+
+    public RT single(Transaction transaction) {
+        return IterableUtil.single(list(transaction));
+    }
+
+    public CompletableFuture<RT> singleAsync() {
+        return onDefaultSqlExecutorAsync(this::singleAsync);
+    }
+
+    public CompletableFuture<RT> singleAsync(SqlExecutor sqlExecutor) {
+        CompletableFuture<List<RT>> list = listAsync(sqlExecutor);
+        return FutureUtil.cancelling(list.thenApply(IterableUtil::single), list);
+    }
+
+    public CompletableFuture<RT> singleAsync(Transaction transaction) {
+        CompletableFuture<List<RT>> list = listAsync(transaction);
+        return FutureUtil.cancelling(list.thenApply(IterableUtil::single), list);
+    }
+
+    public long exportTo(WritableByteChannel channel, ExportFormat format) {
+        return onDefaultSqlExecutor(e -> exportTo(e, channel, format));
+    }
+
+    public long exportTo(SqlExecutor sqlExecutor, WritableByteChannel channel, ExportFormat format) {
+        return exportTo(channel, format, m -> timed(sqlExecutor).stream(sql, executionArgs(), m));
+    }
+
+    public long exportTo(Transaction transaction, WritableByteChannel channel, ExportFormat format) {
+        return exportTo(channel, format, m -> timed(transaction).stream(sql, executionArgs(), m));
+    }
+
+    public QueryPlan explain() {
+        return onDefaultSqlExecutor(this::explain);
+    }
+
+    public QueryPlan explain(SqlExecutor sqlExecutor) {
+        PlanExplainer planExplainer = database.dialect().planExplainer()
+            .orElseThrow(() -> new UnsupportedOperationException(String.format("%s does not support explaining query plans.", database.dialect().getClass().getName())));
+        String description = "explain " + sql;
+        LOG.debug(description);
+        return database.execute(description, () -> sqlExecutor.withSession(s -> planExplainer.explain(s, sql, executionArgs())));
+    }
+
+    private long exportTo(WritableByteChannel channel, ExportFormat format, Function<RowMapper<Boolean>,Stream<Boolean>> query) {
+        ResultSetExporter exporter = format.exporter(channel);
+        long count = forEachRow(exporter, query);
+        exporter.finish();
+        return count;
+    }
+
+    public long[] toLongArray() {
+        return onDefaultSqlExecutor(this::toLongArray);
+    }
+
+    public long[] toLongArray(SqlExecutor sqlExecutor) {
+        LongStream.Builder builder = LongStream.builder();
+        forEachLong(sqlExecutor, builder);
+        return builder.build().toArray();
+    }
+
+    public long[] toLongArray(Transaction transaction) {
+        LongStream.Builder builder = LongStream.builder();
+        forEachLong(transaction, builder);
+        return builder.build().toArray();
+    }
+
+    public double[] toDoubleArray() {
+        return onDefaultSqlExecutor(this::toDoubleArray);
+    }
+
+    public double[] toDoubleArray(SqlExecutor sqlExecutor) {
+        DoubleStream.Builder builder = DoubleStream.builder();
+        forEachDouble(sqlExecutor, builder);
+        return builder.build().toArray();
+    }
+
+    public double[] toDoubleArray(Transaction transaction) {
+        DoubleStream.Builder builder = DoubleStream.builder();
+        forEachDouble(transaction, builder);
+        return builder.build().toArray();
+    }
+
+    public void forEachLong(LongConsumer consumer) {
+        onDefaultSqlExecutor(e -> forEachRow(longMapper(consumer), m -> timed(e).stream(sql, executionArgs(), m)));
+    }
+
+    public void forEachLong(SqlExecutor sqlExecutor, LongConsumer consumer) {
+        forEachRow(longMapper(consumer), m -> timed(sqlExecutor).stream(sql, executionArgs(), m));
+    }
+
+    public void forEachLong(Transaction transaction, LongConsumer consumer) {
+        forEachRow(longMapper(consumer), m -> timed(transaction).stream(sql, executionArgs(), m));
+    }
+
+    public void forEachDouble(DoubleConsumer consumer) {
+        onDefaultSqlExecutor(e -> forEachRow(doubleMapper(consumer), m -> timed(e).stream(sql, executionArgs(), m)));
+    }
+
+    public void forEachDouble(SqlExecutor sqlExecutor, DoubleConsumer consumer) {
+        forEachRow(doubleMapper(consumer), m -> timed(sqlExecutor).stream(sql, executionArgs(), m));
+    }
+
+    public void forEachDouble(Transaction transaction, DoubleConsumer consumer) {
+        forEachRow(doubleMapper(consumer), m -> timed(transaction).stream(sql, executionArgs(), m));
+    }
+
+    public ColumnBatch toColumnBatch() {
+        return onDefaultSqlExecutor(this::toColumnBatch);
+    }
+
+    public ColumnBatch toColumnBatch(SqlExecutor sqlExecutor) {
+        ColumnBatch.Builder builder = new ColumnBatch.Builder();
+        forEachRow(builder, m -> timed(sqlExecutor).stream(sql, executionArgs(), m));
+        return builder.build();
+    }
+
+    public ColumnBatch toColumnBatch(Transaction transaction) {
+        ColumnBatch.Builder builder = new ColumnBatch.Builder();
+        forEachRow(builder, m -> timed(transaction).stream(sql, executionArgs(), m));
+        return builder.build();
+    }
+
+    Object[] executionArgs() {
+        if (parameterised) {
+            throw new IllegalStateException("Values must be bound to the parameters of " + sql + " before it is executed.");
+        }
+        return args;
+    }
+
+    private long forEachRow(RowMapper<Boolean> rowMapper, Function<RowMapper<Boolean>,Stream<Boolean>> query) {
+        LOG.debug(sql);
+        return database.execute(sql, executionArgs(), () -> {
+            try (Stream<Boolean> rows = query.apply(rowMapper)) {
+                return rows.count();
+            }
+        });
+    }
+
+    private static RowMapper<Boolean> longMapper(LongConsumer consumer) {
+        return rs -> {
+            try {
+                long value = rs.getLong(1);
+                checkNotNull(rs);
+                consumer.accept(value);
+                return Boolean.TRUE;
+            } catch (SQLException e) {
+                throw new RuntimeSqlException(e);
+            }
+        };
+    }
+
+    private static RowMapper<Boolean> doubleMapper(DoubleConsumer consumer) {
+        return rs -> {
+            try {
+                double value = rs.getDouble(1);
+                checkNotNull(rs);
+                consumer.accept(value);
+                return Boolean.TRUE;
+            } catch (SQLException e) {
+                throw new RuntimeSqlException(e);
+            }
+        };
+    }
+
+    private static void checkNotNull(ResultSet rs) throws SQLException {
+        if (rs.wasNull()) {
+            throw new IllegalStateException("Null values cannot be read into a primitive, use toColumnBatch to read nullable columns.");
+        }
+    }
+
+    private SqlExecutor timed(SqlExecutor sqlExecutor) {
+        return timeout.map(sqlExecutor::withTimeout).orElse(sqlExecutor);
+    }
+
+    private Transaction timed(Transaction transaction) {
+        return timeout.map(transaction::withTimeout).orElse(transaction);
+    }
+
+    private ReplicaPool replicas() {
+        return database.replicas().orElseThrow(IllegalStateException::new);
+    }
+
+    private <T> T onDefaultSqlExecutor(Function<SqlExecutor,T> query) {
+        return readsFromReplica
+            ? replicas().query(query)
+            : query.apply(database.getDefaultSqlExecutor());
+    }
+
+    private <T> CompletableFuture<T> onDefaultSqlExecutorAsync(Function<SqlExecutor,CompletableFuture<T>> query) {
+        return readsFromReplica
+            ? replicas().queryAsync(query)
+            : query.apply(database.getDefaultSqlExecutor());
+    }
+}
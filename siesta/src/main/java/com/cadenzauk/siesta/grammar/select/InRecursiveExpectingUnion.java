@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.select;
+
+import com.cadenzauk.core.function.Function1;
+import com.cadenzauk.siesta.Alias;
+import com.cadenzauk.siesta.Dialect;
+import com.cadenzauk.siesta.Hint;
+import com.cadenzauk.siesta.catalog.Table;
+import com.cadenzauk.siesta.grammar.expression.BooleanExpression;
+import com.cadenzauk.siesta.grammar.expression.ExpressionBuilder;
+import com.cadenzauk.siesta.grammar.expression.ResolvedColumn;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+public class InRecursiveExpectingUnion<RT> {
+    private final Table<RT> table;
+    private final String name;
+    private final SelectStatement<RT> anchor;
+    private Optional<Function<Alias<RT>,BooleanExpression>> depthLimit = Optional.empty();
+    private List<Hint> queryHints = ImmutableList.of();
+
+    InRecursiveExpectingUnion(Table<RT> table, String name, SelectStatement<RT> anchor) {
+        this.table = table;
+        this.name = name;
+        this.anchor = anchor;
+    }
+
+    public InRecursiveExpectingUnion<RT> maxDepth(Function1<RT,Integer> depth, int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Maximum depth must be positive but was " + maxDepth);
+        }
+        depthLimit = Optional.of(self -> ExpressionBuilder.of(ResolvedColumn.of(self, depth), Function.<BooleanExpression>identity()).isLessThan(maxDepth));
+        queryHints = ImmutableList.of(Hint.maxRecursion(maxDepth));
+        return this;
+    }
+
+    public CommonTableExpression<RT> union(Function<Alias<RT>,? extends Select<RT>> recursive) {
+        Dialect dialect = table.database().dialect();
+        if (!dialect.supportsUnionInRecursiveWith()) {
+            throw new UnsupportedOperationException(String.format("%s does not support union in recursive common table expressions, use unionAll with maxDepth instead.", dialect.getClass().getName()));
+        }
+        return build(UnionType.UNION, recursive);
+    }
+
+    public CommonTableExpression<RT> unionAll(Function<Alias<RT>,? extends Select<RT>> recursive) {
+        return build(UnionType.UNION_ALL, recursive);
+    }
+
+    private CommonTableExpression<RT> build(UnionType unionType, Function<Alias<RT>,? extends Select<RT>> recursive) {
+        SelectStatement<RT> statement = anchor.copy();
+        CommonTableExpression<RT> cte = new CommonTableExpression<>(table, name, statement, true, queryHints);
+        Alias<RT> self = cte.as(name);
+        SelectStatement<RT> recursiveStatement = recursive.apply(self).statement.copy();
+        depthLimit.ifPresent(limit -> recursiveStatement.addWhereCondition(limit.apply(self)));
+        statement.addUnion(recursiveStatement, unionType);
+        return cte;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.select;
+
+import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.ReplicaPool;
+import com.cadenzauk.siesta.SqlExecutor;
+import com.cadenzauk.siesta.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+public final class QueryBatch {
+    private static final Logger LOG = LoggerFactory.getLogger(QueryBatch.class);
+
+    private final Database database;
+    private final List<CompiledSelect<?>> selects;
+
+    private QueryBatch(Database database, List<CompiledSelect<?>> selects) {
+        if (selects.isEmpty()) {
+            throw new IllegalArgumentException("A query batch requires at least one select.");
+        }
+        this.database = database;
+        this.selects = selects;
+    }
+
+    public List<List<?>> list() {
+        List<List<?>> results = new ArrayList<>(Collections.nCopies(selects.size(), null));
+        List<Integer> primary = indices(s -> !s.isCached() && !s.readsFromReplica());
+        List<Integer> replica = indices(s -> !s.isCached() && s.readsFromReplica());
+        if (!primary.isEmpty()) {
+            put(results, primary, list(database.getDefaultSqlExecutor(), primary));
+        }
+        if (!replica.isEmpty()) {
+            put(results, replica, replicas().query(e -> list(e, replica)));
+        }
+        indices(CompiledSelect::isCached).forEach(i -> results.set(i, selects.get(i).list()));
+        return results;
+    }
+
+    public List<List<?>> list(SqlExecutor sqlExecutor) {
+        List<List<?>> results = new ArrayList<>(Collections.nCopies(selects.size(), null));
+        List<Integer> uncached = indices(s -> !s.isCached());
+        if (!uncached.isEmpty()) {
+            put(results, uncached, list(sqlExecutor, uncached));
+        }
+        indices(CompiledSelect::isCached).forEach(i -> results.set(i, selects.get(i).list(sqlExecutor)));
+        return results;
+    }
+
+    public List<List<?>> list(Transaction transaction) {
+        if (isMultiStatement(selects)) {
+            String sql = sql(selects);
+            Object[] args = args(selects);
+            return database.execute(sql, args, () -> transaction.queryMultiple(sql, args, rowMappers(selects)));
+        }
+        return selects.stream()
+            .<List<?>>map(s -> s.list(transaction))
+            .collect(toList());
+    }
+
+    private List<List<?>> list(SqlExecutor sqlExecutor, List<Integer> indices) {
+        List<CompiledSelect<?>> batch = indices.stream().map(selects::get).collect(toList());
+        if (isMultiStatement(batch)) {
+            String sql = sql(batch);
+            Object[] args = args(batch);
+            return database.execute(sql, args, () -> sqlExecutor.queryMultiple(sql, args, rowMappers(batch)));
+        }
+        List<CompletableFuture<? extends List<?>>> futures = batch.stream()
+            .map(s -> s.queryAsync(sqlExecutor))
+            .collect(toList());
+        return futures.stream()
+            .<List<?>>map(QueryBatch::join)
+            .collect(toList());
+    }
+
+    private List<Integer> indices(Predicate<CompiledSelect<?>> predicate) {
+        return IntStream.range(0, selects.size())
+            .filter(i -> predicate.test(selects.get(i)))
+            .boxed()
+            .collect(toList());
+    }
+
+    private ReplicaPool replicas() {
+        return database.replicas().orElseThrow(IllegalStateException::new);
+    }
+
+    private boolean isMultiStatement(List<CompiledSelect<?>> batch) {
+        return batch.size() > 1 && database.dialect().supportsMultipleResultSets();
+    }
+
+    private static void put(List<List<?>> results, List<Integer> indices, List<List<?>> values) {
+        IntStream.range(0, indices.size()).forEach(i -> results.set(indices.get(i), values.get(i)));
+    }
+
+    private static String sql(List<CompiledSelect<?>> batch) {
+        String sql = batch.stream()
+            .map(CompiledSelect::sql)
+            .collect(joining(";\n"));
+        LOG.debug(sql);
+        return sql;
+    }
+
+    private static Object[] args(List<CompiledSelect<?>> batch) {
+        return batch.stream()
+            .flatMap(s -> Arrays.stream(s.executionArgs()))
+            .toArray();
+    }
+
+    private static List<RowMapper<?>> rowMappers(List<CompiledSelect<?>> batch) {
+        return batch.stream()
+            .<RowMapper<?>>map(CompiledSelect::rowMapper)
+            .collect(toList());
+    }
+
+    private static List<?> join(CompletableFuture<? extends List<?>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public static QueryBatch of(Database database, Select<?>... selects) {
+        return new QueryBatch(database, Arrays.stream(selects)
+            .<CompiledSelect<?>>map(Select::compile)
+            .collect(toList()));
+    }
+}
@@ -28,20 +28,28 @@ import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.DataType;
 import com.cadenzauk.siesta.Database;
 import com.cadenzauk.siesta.From;
+import com.cadenzauk.siesta.Hint;
 import com.cadenzauk.siesta.IsolationLevel;
 import com.cadenzauk.siesta.LockLevel;
 import com.cadenzauk.siesta.Projection;
+import com.cadenzauk.siesta.QueryPlan;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.SqlExecutor;
 import com.cadenzauk.siesta.Transaction;
 import com.cadenzauk.siesta.catalog.Table;
+import com.cadenzauk.siesta.export.ExportFormat;
 import com.cadenzauk.siesta.grammar.expression.Precedence;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 import com.google.common.reflect.TypeToken;
 
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 import java.util.stream.Stream;
 
 public abstract class Select<RT> implements TypedExpression<RT> {
@@ -52,7 +60,7 @@ public abstract class Select<RT> implements TypedExpression<RT> {
     }
 
     public List<RT> list() {
-        return statement.list(defaultSqlExecutor());
+        return compile().list();
     }
 
     public List<RT> list(SqlExecutor sqlExecutor) {
@@ -64,7 +72,7 @@ public abstract class Select<RT> implements TypedExpression<RT> {
     }
 
     public CompletableFuture<List<RT>> listAsync() {
-        return statement.listAsync(defaultSqlExecutor());
+        return compile().listAsync();
     }
 
     public CompletableFuture<List<RT>> listAsync(SqlExecutor sqlExecutor) {
@@ -76,7 +84,7 @@ public abstract class Select<RT> implements TypedExpression<RT> {
     }
 
     public Optional<RT> optional() {
-        return optional(defaultSqlExecutor());
+        return compile().optional();
     }
 
     public Optional<RT> optional(SqlExecutor sqlExecutor) {
@@ -88,7 +96,7 @@ public abstract class Select<RT> implements TypedExpression<RT> {
     }
 
     public CompletableFuture<Optional<RT>> optionalAsync() {
-        return statement.optionalAsync(defaultSqlExecutor());
+        return compile().optionalAsync();
     }
 
     public CompletableFuture<Optional<RT>> optionalAsync(SqlExecutor sqlExecutor) {
@@ -100,11 +108,11 @@ public abstract class Select<RT> implements TypedExpression<RT> {
     }
 
     public Stream<RT> stream() {
-        return statement.stream(defaultSqlExecutor());
+        return compile().stream();
     }
 
     public Stream<RT> stream(CompositeAutoCloseable compositeAutoCloseable) {
-        return statement.stream(defaultSqlExecutor(), compositeAutoCloseable);
+        return compile().stream(compositeAutoCloseable);
     }
 
     public Stream<RT> stream(SqlExecutor sqlExecutor) {
@@ -124,7 +132,7 @@ public abstract class Select<RT> implements TypedExpression<RT> {
     }
 
     public RT single() {
-        return single(defaultSqlExecutor());
+        return compile().single();
     }
 
     public RT single(SqlExecutor sqlExecutor) {
@@ -136,7 +144,7 @@ public abstract class Select<RT> implements TypedExpression<RT> {
     }
 
     public CompletableFuture<RT> singleAsync() {
-        return statement.singleAsync(defaultSqlExecutor());
+        return compile().singleAsync();
     }
 
     public CompletableFuture<RT> singleAsync(SqlExecutor sqlExecutor) {
@@ -147,11 +155,96 @@ public abstract class Select<RT> implements TypedExpression<RT> {
         return statement.singleAsync(transaction);
     }
 
+    public long exportTo(WritableByteChannel channel, ExportFormat format) {
+        return compile().exportTo(channel, format);
+    }
+
+    public long exportTo(SqlExecutor sqlExecutor, WritableByteChannel channel, ExportFormat format) {
+        return compile().exportTo(sqlExecutor, channel, format);
+    }
+
+    public long exportTo(Transaction transaction, WritableByteChannel channel, ExportFormat format) {
+        return compile().exportTo(transaction, channel, format);
+    }
+
+    public long[] toLongArray() {
+        return compile().toLongArray();
+    }
+
+    public long[] toLongArray(SqlExecutor sqlExecutor) {
+        return compile().toLongArray(sqlExecutor);
+    }
+
+    public long[] toLongArray(Transaction transaction) {
+        return compile().toLongArray(transaction);
+    }
+
+    public double[] toDoubleArray() {
+        return compile().toDoubleArray();
+    }
+
+    public double[] toDoubleArray(SqlExecutor sqlExecutor) {
+        return compile().toDoubleArray(sqlExecutor);
+    }
+
+    public double[] toDoubleArray(Transaction transaction) {
+        return compile().toDoubleArray(transaction);
+    }
+
+    public void forEachLong(LongConsumer consumer) {
+        compile().forEachLong(consumer);
+    }
+
+    public void forEachLong(SqlExecutor sqlExecutor, LongConsumer consumer) {
+        compile().forEachLong(sqlExecutor, consumer);
+    }
+
+    public void forEachLong(Transaction transaction, LongConsumer consumer) {
+        compile().forEachLong(transaction, consumer);
+    }
+
+    public void forEachDouble(DoubleConsumer consumer) {
+        compile().forEachDouble(consumer);
+    }
+
+    public void forEachDouble(SqlExecutor sqlExecutor, DoubleConsumer consumer) {
+        compile().forEachDouble(sqlExecutor, consumer);
+    }
+
+    public void forEachDouble(Transaction transaction, DoubleConsumer consumer) {
+        compile().forEachDouble(transaction, consumer);
+    }
+
+    public QueryPlan explain() {
+        return compile().explain();
+    }
+
+    public QueryPlan explain(SqlExecutor sqlExecutor) {
+        return compile().explain(sqlExecutor);
+    }
+
+    public ColumnBatch toColumnBatch() {
+        return compile().toColumnBatch();
+    }
+
+    public ColumnBatch toColumnBatch(SqlExecutor sqlExecutor) {
+        return compile().toColumnBatch(sqlExecutor);
+    }
+
+    public ColumnBatch toColumnBatch(Transaction transaction) {
+        return compile().toColumnBatch(transaction);
+    }
+
     public Select<RT> fetchFirst(long i) {
         statement.fetchFirst(i);
         return this;
     }
 
+    public Select<RT> hint(Hint hint) {
+        statement.hint(hint);
+        return this;
+    }
+
     public Select<RT> withIsolation(IsolationLevel level) {
         statement.withIsolation(level);
         return this;
@@ -162,6 +255,51 @@ public abstract class Select<RT> implements TypedExpression<RT> {
         return this;
     }
 
+    public Select<RT> forUpdate() {
+        statement.keepLocks(LockLevel.UPDATE);
+        return this;
+    }
+
+    public Select<RT> skipLocked() {
+        statement.skipLocked();
+        return this;
+    }
+
+    public List<RT> claimBatch(Transaction transaction, long n) {
+        return statement.claimBatch(transaction, n);
+    }
+
+    public int claimBatch(long n, BiConsumer<Transaction,List<RT>> work) {
+        return claimBatch(database().getDefaultSqlExecutor(), n, work);
+    }
+
+    public int claimBatch(SqlExecutor sqlExecutor, long n, BiConsumer<Transaction,List<RT>> work) {
+        return statement.claimBatch(sqlExecutor, n, work);
+    }
+
+    public CompiledSelect<RT> compile() {
+        return statement.compile();
+    }
+
+    public Select<RT> readOnly() {
+        statement.readOnly();
+        return this;
+    }
+
+    public Select<RT> cached(Duration timeToLive, long maxEntries) {
+        return cached(timeToLive, maxEntries, Long.MAX_VALUE);
+    }
+
+    public Select<RT> cached(Duration timeToLive, long maxEntries, long maxRows) {
+        statement.cached(timeToLive, maxEntries, maxRows);
+        return this;
+    }
+
+    public Select<RT> timeout(Duration timeout) {
+        statement.timeout(timeout);
+        return this;
+    }
+
     @Override
     public TypeToken<RT> type() {
         return statement.rowType();
@@ -205,10 +343,6 @@ public abstract class Select<RT> implements TypedExpression<RT> {
         return statement.scope.database();
     }
 
-    private SqlExecutor defaultSqlExecutor() {
-        return database().getDefaultSqlExecutor();
-    }
-
     public static <R> ExpectingJoin1<R> from(Database database, Alias<R> alias) {
         SelectStatement<R> select = new SelectStatement<>(new Scope(database, alias), alias.type(), From.from(alias), alias.rowMapper(), Projection.of(alias));
         return new ExpectingJoin1<>(select);
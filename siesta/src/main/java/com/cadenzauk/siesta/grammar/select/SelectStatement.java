@@ -24,11 +24,15 @@ package com.cadenzauk.siesta.grammar.select;
 
 import com.cadenzauk.core.lang.CompositeAutoCloseable;
 import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.core.stream.StreamUtil;
 import com.cadenzauk.core.tuple.Tuple;
 import com.cadenzauk.core.tuple.Tuple2;
-import com.cadenzauk.core.util.IterableUtil;
+import com.cadenzauk.core.tuple.Tuple3;
 import com.cadenzauk.core.util.OptionalUtil;
+import com.cadenzauk.siesta.Alias;
+import com.cadenzauk.siesta.CteAlias;
 import com.cadenzauk.siesta.From;
+import com.cadenzauk.siesta.Hint;
 import com.cadenzauk.siesta.IsolationLevel;
 import com.cadenzauk.siesta.LockLevel;
 import com.cadenzauk.siesta.Order;
@@ -37,26 +41,26 @@ import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.SqlExecutor;
 import com.cadenzauk.siesta.Transaction;
 import com.cadenzauk.siesta.grammar.LabelGenerator;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.cadenzauk.siesta.grammar.expression.BooleanExpression;
 import com.cadenzauk.siesta.grammar.expression.BooleanExpressionChain;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 import com.google.common.reflect.TypeToken;
 import org.jetbrains.annotations.NotNull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
 class SelectStatement<RT> {
-    private static final Logger LOG = LoggerFactory.getLogger(SelectStatement.class);
-
     protected final Scope scope;
     private final LabelGenerator labelGenerator = new LabelGenerator("select_");
     private final List<CommonTableExpression<?>> commonTableExpressions = new ArrayList<>();
@@ -64,14 +68,19 @@ class SelectStatement<RT> {
     private final From from;
     private final RowMapper<RT> rowMapper;
     private final Projection projection;
-    private final BooleanExpressionChain whereClause = new BooleanExpressionChain();
+    private final BooleanExpressionChain whereClause;
     private final List<TypedExpression<?>> groupByClauses = new ArrayList<>();
-    private final BooleanExpressionChain havingClause = new BooleanExpressionChain();
+    private final BooleanExpressionChain havingClause;
     private final List<Tuple2<UnionType,SelectStatement<RT>>> unions = new ArrayList<>();
     private final List<OrderingClause> orderByClauses = new ArrayList<>();
     private Optional<Long> fetchFirst = Optional.empty();
+    private final List<Hint> hints = new ArrayList<>();
     private IsolationLevel isolationLevel = IsolationLevel.UNSPECIFIED;
     private Optional<LockLevel> keepLocks = Optional.empty();
+    private boolean skipLocked = false;
+    private Optional<Tuple3<Duration,Long,Long>> cached = Optional.empty();
+    private Optional<Duration> timeout = Optional.empty();
+    private boolean readOnly = false;
 
     SelectStatement(Scope scope, TypeToken<RT> rowType, From from, RowMapper<RT> rowMapper, Projection projection) {
         this.scope = scope;
@@ -79,6 +88,34 @@ class SelectStatement<RT> {
         this.from = from;
         this.rowMapper = rowMapper;
         this.projection = projection;
+        this.whereClause = new BooleanExpressionChain();
+        this.havingClause = new BooleanExpressionChain();
+    }
+
+    private SelectStatement(SelectStatement<RT> other) {
+        scope = other.scope;
+        rowType = other.rowType;
+        from = other.from.copy();
+        rowMapper = other.rowMapper;
+        projection = other.projection;
+        whereClause = new BooleanExpressionChain(other.whereClause);
+        havingClause = new BooleanExpressionChain(other.havingClause);
+        commonTableExpressions.addAll(other.commonTableExpressions);
+        groupByClauses.addAll(other.groupByClauses);
+        unions.addAll(other.unions);
+        orderByClauses.addAll(other.orderByClauses);
+        hints.addAll(other.hints);
+        fetchFirst = other.fetchFirst;
+        isolationLevel = other.isolationLevel;
+        keepLocks = other.keepLocks;
+        skipLocked = other.skipLocked;
+        cached = other.cached;
+        timeout = other.timeout;
+        readOnly = other.readOnly;
+    }
+
+    SelectStatement<RT> copy() {
+        return new SelectStatement<>(this);
     }
 
     public TypeToken<RT> rowType() {
@@ -86,7 +123,12 @@ class SelectStatement<RT> {
     }
 
     public Stream<CommonTableExpression<?>> commonTableExpressions() {
-        return commonTableExpressions.stream();
+        return Stream.concat(
+            commonTableExpressions.stream(),
+            from.aliases()
+                .flatMap(a -> StreamUtil.of(OptionalUtil.as(new TypeToken<CteAlias<?>>() {}, a)))
+                .flatMap(CteAlias::commonTableExpressions))
+            .distinct();
     }
 
     void addCommonTableExpression(CommonTableExpression<?> cte) {
@@ -128,6 +170,13 @@ class SelectStatement<RT> {
         fetchFirst = Optional.of(i);
     }
 
+    void hint(Hint hint) {
+        if (hint.alias().isPresent()) {
+            from.addHint(hint);
+        }
+        hints.add(hint);
+    }
+
     void withIsolation(IsolationLevel level) {
         isolationLevel = level;
     }
@@ -136,90 +185,138 @@ class SelectStatement<RT> {
         keepLocks = Optional.of(level);
     }
 
+    void skipLocked() {
+        if (!keepLocks.isPresent()) {
+            keepLocks = Optional.of(LockLevel.UPDATE);
+        }
+        skipLocked = true;
+        from.skipLocked();
+    }
+
+    void readOnly() {
+        readOnly = true;
+    }
+
+    private boolean readsFromReplica() {
+        return scope.database().replicas().isPresent()
+            && !keepLocks.isPresent()
+            && (readOnly || isolationLevel == IsolationLevel.UNSPECIFIED);
+    }
+
+    void cached(Duration timeToLive, long maxEntries, long maxRows) {
+        if (maxEntries <= 0 || maxRows <= 0) {
+            throw new IllegalArgumentException("Cache limits must be positive but were " + maxEntries + " entries and " + maxRows + " rows");
+        }
+        cached = Optional.of(Tuple.of(timeToLive, maxEntries, maxRows));
+    }
+
+    void timeout(Duration val) {
+        if (val.isNegative() || val.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive but was " + val);
+        }
+        timeout = Optional.of(val);
+    }
+
+    CompiledSelect<RT> compile() {
+        SqlWriter writer = new SqlWriter();
+        Scope renderScope = scope.empty();
+        render(renderScope, writer);
+        return new CompiledSelect<>(scope.database(), rowType, writer.sql(), writer.args(), rowMapper, readsFromReplica(), cached.filter(c -> !keepLocks.isPresent()), Collections.unmodifiableList(renderScope.referencedTables().collect(toList())),
+            OptionalUtil.or(timeout, scope.database().defaultTimeout()));
+    }
+
     List<RT> list(SqlExecutor sqlExecutor) {
-        Object[] args = args(scope).toArray();
-        String sql = sql();
-        LOG.debug(sql);
-        return scope.database().execute(sql, () -> sqlExecutor.query(sql, args, rowMapper()));
+        return compile().list(sqlExecutor);
     }
 
     List<RT> list(Transaction transaction) {
-        Object[] args = args(scope).toArray();
-        String sql = sql();
-        LOG.debug(sql);
-        return scope.database().execute(sql, () -> transaction.query(sql, args, rowMapper()));
+        return compile().list(transaction);
     }
 
     CompletableFuture<List<RT>> listAsync(SqlExecutor sqlExecutor) {
-        try (Transaction transaction = sqlExecutor.beginTransaction()) {
-            try {
-                return listAsync(transaction);
-            } finally {
-                transaction.commit();
-            }
-        }
+        return compile().listAsync(sqlExecutor);
     }
 
     CompletableFuture<List<RT>> listAsync(Transaction transaction) {
-        Object[] args = args(scope).toArray();
-        String sql = sql();
-        LOG.debug(sql);
-        return transaction.queryAsync(sql, args, rowMapper())
-            .exceptionally(e -> scope.database().translateException(sql, e));
+        return compile().listAsync(transaction);
     }
 
     Optional<RT> optional(SqlExecutor sqlExecutor) {
-        return OptionalUtil.ofOnly(list(sqlExecutor));
+        return compile().optional(sqlExecutor);
     }
 
     Optional<RT> optional(Transaction transaction) {
-        return OptionalUtil.ofOnly(list(transaction));
+        return compile().optional(transaction);
     }
 
     CompletableFuture<Optional<RT>> optionalAsync(SqlExecutor sqlExecutor) {
-        return listAsync(sqlExecutor).thenApply(OptionalUtil::ofOnly);
+        return compile().optionalAsync(sqlExecutor);
     }
 
     CompletableFuture<Optional<RT>> optionalAsync(Transaction transaction) {
-        return listAsync(transaction).thenApply(OptionalUtil::ofOnly);
+        return compile().optionalAsync(transaction);
     }
 
     Stream<RT> stream(SqlExecutor sqlExecutor) {
-        Object[] args = args(scope).toArray();
-        String sql = sql();
-        LOG.debug(sql);
-        return scope.database().execute(sql, () -> sqlExecutor.stream(sql, args, rowMapper()));
+        return compile().stream(sqlExecutor);
     }
 
     Stream<RT> stream(Transaction transaction) {
-        Object[] args = args(scope).toArray();
-        String sql = sql();
-        LOG.debug(sql);
-        return scope.database().execute(sql, () -> transaction.stream(sql, args, rowMapper()));
+        return compile().stream(transaction);
     }
 
     Stream<RT> stream(SqlExecutor sqlExecutor, CompositeAutoCloseable autoCloseable) {
-        return autoCloseable.add(stream(sqlExecutor));
+        return compile().stream(sqlExecutor, autoCloseable);
     }
 
     Stream<RT> stream(Transaction transaction, CompositeAutoCloseable autoCloseable) {
-        return autoCloseable.add(stream(transaction));
+        return compile().stream(transaction, autoCloseable);
+    }
+
+    List<RT> claimBatch(Transaction transaction, long n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive but was " + n);
+        }
+        SelectStatement<RT> claim = copy();
+        if (!claim.keepLocks.isPresent()) {
+            claim.keepLocks(LockLevel.UPDATE);
+        }
+        if (scope.dialect().supportsSkipLocked()) {
+            claim.skipLocked();
+        }
+        if (scope.dialect().supportsFetchFirstWithLocks()) {
+            claim.fetchFirst(n);
+        }
+        try (Stream<RT> rows = claim.stream(transaction)) {
+            return rows.limit(n).collect(toList());
+        }
+    }
+
+    int claimBatch(SqlExecutor sqlExecutor, long n, BiConsumer<Transaction,List<RT>> work) {
+        try (Transaction transaction = sqlExecutor.beginTransaction()) {
+            List<RT> batch = claimBatch(transaction, n);
+            if (!batch.isEmpty()) {
+                work.accept(transaction, batch);
+            }
+            transaction.commit();
+            return batch.size();
+        }
     }
 
     RT single(SqlExecutor sqlExecutor) {
-        return IterableUtil.single(list(sqlExecutor));
+        return compile().single(sqlExecutor);
     }
 
     RT single(Transaction transaction) {
-        return IterableUtil.single(list(transaction));
+        return compile().single(transaction);
     }
 
     CompletableFuture<RT> singleAsync(SqlExecutor sqlExecutor) {
-        return listAsync(sqlExecutor).thenApply(IterableUtil::single);
+        return compile().singleAsync(sqlExecutor);
     }
 
     CompletableFuture<RT> singleAsync(Transaction transaction) {
-        return listAsync(transaction).thenApply(IterableUtil::single);
+        return compile().singleAsync(transaction);
     }
 
     From from() {
@@ -263,17 +360,19 @@ class SelectStatement<RT> {
         whereClause.appendOr(e);
     }
 
+    void addWhereCondition(BooleanExpression e) {
+        if (whereClause.isEmpty()) {
+            whereClause.start(e);
+        } else {
+            whereClause.appendAnd(e);
+        }
+    }
+
     InHavingExpectingAnd<RT> setHavingClause(BooleanExpression e) {
         havingClause.start(e);
         return new InHavingExpectingAnd<>(this);
     }
 
-    private String commonTableExpressionSql(Scope actualScope) {
-        return commonTableExpressions.isEmpty() || !actualScope.isOutermost()
-            ? ""
-            : "with " + commonTableExpressions().map(cte -> cte.sql(actualScope)).collect(joining(", "));
-    }
-
     void andHaving(BooleanExpression e) {
         havingClause.appendAnd(e);
     }
@@ -294,11 +393,6 @@ class SelectStatement<RT> {
         return whereClause.args(actualScope);
     }
 
-    @NotNull
-    private String whereClauseSql(Scope actualScope) {
-        return whereClause.sql(actualScope, " where ");
-    }
-
     @NotNull
     private Stream<Object> groupByClauseArgs(Scope actualScope) {
         return groupByClauses
@@ -306,56 +400,59 @@ class SelectStatement<RT> {
             .flatMap(g -> g.args(actualScope));
     }
 
-    @NotNull
-    private String groupByClauseSql(Scope actualScope) {
-        return groupByClauses.isEmpty()
-            ? ""
-            : " group by " + groupByClauses.stream().map(ordering -> ordering.sql(actualScope)).collect(joining(", "));
-    }
-
     @NotNull
     private Stream<Object> havingClauseArgs(Scope actualScope) {
         return havingClause.args(actualScope);
     }
 
-    @NotNull
-    private String havingClauseSql(Scope actualScope) {
-        return havingClause.sql(actualScope, " having ");
-    }
-
     @NotNull
     private Stream<Object> unionsArgs(Scope actualScope) {
         return unions.stream().flatMap(u -> u.item2().args(actualScope));
     }
 
-    @NotNull
-    private String unionsSql(Scope actualScope) {
-        return unions.isEmpty()
-            ? ""
-            : " " + unions.stream().map(t -> t.map((u, s) -> u.format(s.sqlImpl(actualScope)))).collect(joining(" "));
-    }
-
-    @NotNull
-    private String orderByClauseSql(Scope actualScope) {
-        return orderByClauses.isEmpty()
-            ? ""
-            : " order by " + orderByClauses.stream().map(ordering -> ordering.sql(actualScope)).collect(joining(", "));
+    String sqlImpl(Scope outerScope) {
+        SqlWriter writer = new SqlWriter();
+        render(outerScope, writer);
+        return writer.sql();
     }
 
-    String sqlImpl(Scope outerScope) {
+    void render(Scope outerScope, SqlWriter writer) {
         Scope innerScope = outerScope.plus(scope);
-        String sql = String.format("%sselect %s%s%s%s%s%s%s",
-            commonTableExpressionSql(outerScope),
-            projection().sql(innerScope),
-            from.sql(innerScope),
-            whereClauseSql(innerScope),
-            groupByClauseSql(innerScope),
-            havingClauseSql(innerScope),
-            unionsSql(innerScope),
-            orderByClauseSql(innerScope));
-        sql = fetchFirstSql(sql);
-        sql = isolationLevelSql(sql);
-        return sql;
+        int start = writer.length();
+        List<CommonTableExpression<?>> ctes = commonTableExpressions().collect(toList());
+        if (!ctes.isEmpty() && outerScope.isOutermost()) {
+            writer.append(ctes.stream().anyMatch(CommonTableExpression::isRecursive) && outerScope.dialect().requiresRecursiveInWith()
+                ? "with recursive "
+                : "with ");
+            writer.join(ctes.stream(), ", ", cte -> cte.render(outerScope, writer));
+        }
+        writer.append("select ").append(scope.dialect().selectHints(hints));
+        projection.render(innerScope, writer);
+        from.aliases().map(Alias::table).forEach(innerScope::reference);
+        from.render(innerScope, writer);
+        whereClause.render(innerScope, writer, " where ");
+        if (!groupByClauses.isEmpty()) {
+            writer.append(" group by ");
+            writer.join(groupByClauses.stream(), ", ", g -> g.render(innerScope, writer));
+        }
+        havingClause.render(innerScope, writer, " having ");
+        unions.forEach(u -> {
+            writer.append(' ').append(u.item1().sql()).append(' ');
+            u.item2().render(innerScope, writer);
+        });
+        if (!orderByClauses.isEmpty()) {
+            writer.append(" order by ");
+            writer.join(orderByClauses.stream(), ", ", o -> writer.append(o.sql(innerScope)));
+        }
+        if (fetchFirst.isPresent() || keepLocks.isPresent() || isolationLevel != IsolationLevel.UNSPECIFIED) {
+            writer.replaceFrom(start, skipLockedSql(isolationLevelSql(fetchFirstSql(writer.substring(start)))));
+        }
+        if (outerScope.isOutermost()) {
+            List<Hint> queryHints = Stream.concat(ctes.stream().flatMap(CommonTableExpression::queryHints), hints.stream()).collect(toList());
+            if (!queryHints.isEmpty()) {
+                writer.replaceFrom(start, scope.dialect().queryHints(writer.substring(start), queryHints));
+            }
+        }
     }
 
     private String fetchFirstSql(String sql) {
@@ -365,4 +462,8 @@ class SelectStatement<RT> {
     private String isolationLevelSql(String sql) {
         return scope.dialect().isolationLevelSql(sql, isolationLevel, keepLocks);
     }
+
+    private String skipLockedSql(String sql) {
+        return skipLocked ? scope.dialect().skipLockedSql(sql) : sql;
+    }
 }
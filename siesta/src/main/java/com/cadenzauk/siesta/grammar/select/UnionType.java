@@ -23,18 +23,20 @@
 package com.cadenzauk.siesta.grammar.select;
 
 public enum UnionType {
-    UNION {
-        @Override
-        public String format(String sql) {
-            return "union " + sql;
-        }
-    },
-    UNION_ALL {
-        @Override
-        public String format(String sql) {
-            return "union all " + sql;
-        }
-    };
+    UNION("union"),
+    UNION_ALL("union all");
 
-    public abstract String format(String sql);
+    private final String sql;
+
+    UnionType(String sql) {
+        this.sql = sql;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public String format(String sql) {
+        return this.sql + " " + sql;
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+class InFlightStatement {
+    private static final Logger LOG = LoggerFactory.getLogger(InFlightStatement.class);
+
+    private final AtomicReference<Statement> statement = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    void start(Statement val) {
+        statement.set(val);
+        if (cancelled) {
+            statement.set(null);
+            throw new CancellationException("The statement was cancelled before it was executed.");
+        }
+    }
+
+    void finish() {
+        statement.set(null);
+    }
+
+    void cancel() {
+        cancelled = true;
+        Statement current = statement.get();
+        if (current != null) {
+            try {
+                current.cancel();
+            } catch (SQLException e) {
+                LOG.warn("Unable to cancel statement", e);
+            }
+        }
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+}
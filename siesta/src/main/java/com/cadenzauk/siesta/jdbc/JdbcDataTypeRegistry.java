@@ -23,21 +23,28 @@
 package com.cadenzauk.siesta.jdbc;
 
 import com.cadenzauk.core.sql.RuntimeSqlException;
+import com.cadenzauk.core.util.OptionalUtil;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TimeZone;
 
 public class JdbcDataTypeRegistry {
     private final Map<Class<?>,JdbcParameterSetter<Object>> parameterSetters = parameterSetters();
+    private final List<Map.Entry<Class<?>,JdbcParameterSetter<Object>>> streamSetters = streamSetters();
 
     public void setParameter(PreparedStatement ps, int parameterIndex, Object o) {
         try {
@@ -49,8 +56,9 @@ public class JdbcDataTypeRegistry {
 
     private JdbcParameterSetter<Object> getSetter(Object value) {
         return Optional.ofNullable(value)
-            .map(Object::getClass)
-            .map(parameterSetters::get)
+            .flatMap(v -> OptionalUtil.orGet(
+                Optional.ofNullable(parameterSetters.get(v.getClass())),
+                () -> streamSetters.stream().filter(e -> e.getKey().isInstance(v)).map(Map.Entry::getValue).findFirst()))
             .orElse(PreparedStatement::setObject);
     }
 
@@ -63,6 +71,15 @@ public class JdbcDataTypeRegistry {
         );
     }
 
+    private static List<Map.Entry<Class<?>,JdbcParameterSetter<Object>>> streamSetters() {
+        return ImmutableList.of(
+            entry(InputStream.class, PreparedStatement::setBinaryStream),
+            entry(Reader.class, PreparedStatement::setCharacterStream),
+            entry(Blob.class, PreparedStatement::setBlob),
+            entry(Clob.class, PreparedStatement::setClob)
+        );
+    }
+
     private static <D> Map.Entry<Class<?>,JdbcParameterSetter<Object>> entry(Class<D> klass, JdbcParameterSetter<D> setter) {
         return Pair.of(klass, (ps, i, o) -> setter.setParameter(ps, i, klass.cast(o)));
     }
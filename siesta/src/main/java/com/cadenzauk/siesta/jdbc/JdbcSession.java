@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.jdbc;
+
+import com.cadenzauk.core.lang.CompositeAutoCloseable;
+import com.cadenzauk.core.sql.ConnectionUtil;
+import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.core.sql.RuntimeSqlException;
+import com.cadenzauk.siesta.Dialect;
+import com.cadenzauk.siesta.SqlExecutor;
+import com.cadenzauk.siesta.Transaction;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class JdbcSession implements SqlExecutor, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcSession.class);
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+        .setNameFormat("siesta-session-%d")
+        .setDaemon(true)
+        .build();
+
+    private final CompositeAutoCloseable autoCloseable;
+    private final Connection connection;
+    private final JdbcSqlExecutor sqlExecutor;
+
+    public JdbcSession(JdbcSqlExecutor sqlExecutor) {
+        autoCloseable = new CompositeAutoCloseable();
+        connection = autoCloseable.add(sqlExecutor.connect());
+        ExecutorService executor = autoCloseable.add(Executors.newSingleThreadExecutor(THREAD_FACTORY), JdbcSession::shutdown);
+        this.sqlExecutor = sqlExecutor.withExecutor(executor);
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            autoCloseable.close();
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    private JdbcSession(JdbcSession session, JdbcSqlExecutor sqlExecutor) {
+        this.sqlExecutor = sqlExecutor;
+        autoCloseable = session.autoCloseable;
+        connection = session.connection;
+    }
+
+    @Override
+    public Dialect dialect() {
+        return sqlExecutor.dialect();
+    }
+
+    @Override
+    public Transaction beginTransaction() {
+        return new JdbcTransaction(sqlExecutor, connection);
+    }
+
+    @Override
+    public DatabaseMetaData metadata(CompositeAutoCloseable closeable) {
+        return ConnectionUtil.getMetaData(connection);
+    }
+
+    @Override
+    public <T> List<T> query(String sql, Object[] args, RowMapper<T> rowMapper) {
+        return sqlExecutor.query(connection, sql, args, rowMapper);
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> queryAsync(String sql, Object[] args, RowMapper<T> rowMapper) {
+        return sqlExecutor.queryAsync(connection, sql, args, rowMapper);
+    }
+
+    @Override
+    public List<List<?>> queryMultiple(String sql, Object[] args, List<RowMapper<?>> rowMappers) {
+        return sqlExecutor.queryMultiple(connection, sql, args, rowMappers);
+    }
+
+    @Override
+    public <T> Stream<T> stream(String sql, Object[] args, RowMapper<T> rowMapper) {
+        CompositeAutoCloseable closeable = autoCloseable.add(new CompositeAutoCloseable());
+        AutoCloseable release = () -> autoCloseable.remove(closeable);
+        closeable.add(release);
+        return sqlExecutor.stream(connection, sql, args, rowMapper, closeable);
+    }
+
+    @Override
+    public int update(String sql, Object[] args) {
+        return sqlExecutor.update(connection, sql, args);
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> args) {
+        return sqlExecutor.batchUpdate(connection, sql, args);
+    }
+
+    @Override
+    public <T> T withConnection(Function<Connection,T> work) {
+        return work.apply(connection);
+    }
+
+    @Override
+    public <T> T withSession(Function<SqlExecutor,T> work) {
+        return work.apply(this);
+    }
+
+    @Override
+    public JdbcSession withTimeout(Duration timeout) {
+        return new JdbcSession(this, sqlExecutor.withTimeout(timeout));
+    }
+
+    @Override
+    public void close() {
+        autoCloseable.close();
+    }
+
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+            LOG.warn("Waiting for asynchronous statements to finish before closing the session.");
+        }
+    }
+}
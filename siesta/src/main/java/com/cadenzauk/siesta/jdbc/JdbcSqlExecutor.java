@@ -26,6 +26,7 @@ import com.cadenzauk.core.lang.CompositeAutoCloseable;
 import com.cadenzauk.core.sql.ConnectionUtil;
 import com.cadenzauk.core.sql.DataSourceUtil;
 import com.cadenzauk.core.sql.PreparedStatementUtil;
+import com.cadenzauk.core.sql.LobUtil;
 import com.cadenzauk.core.sql.ResultSetSpliterator;
 import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.core.sql.RuntimeSqlException;
@@ -39,10 +40,14 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -53,12 +58,15 @@ public class JdbcSqlExecutor implements SqlExecutor {
     private final DataSource dataSource;
     private final int fetchSize;
     private final Executor executor;
-    private final JdbcDataTypeRegistry registry = new JdbcDataTypeRegistry();
+    private final Optional<Duration> timeout;
+    private final JdbcDataTypeRegistry registry;
 
-    private JdbcSqlExecutor(DataSource dataSource, int fetchSize, Executor executor) {
+    private JdbcSqlExecutor(DataSource dataSource, int fetchSize, Executor executor, Optional<Duration> timeout, JdbcDataTypeRegistry registry) {
         this.dataSource = dataSource;
         this.fetchSize = fetchSize;
         this.executor = executor;
+        this.timeout = timeout;
+        this.registry = registry;
     }
 
     Connection connect() {
@@ -70,6 +78,15 @@ public class JdbcSqlExecutor implements SqlExecutor {
         return AutoDetectDialect.from(dataSource);
     }
 
+    @Override
+    public JdbcSqlExecutor withTimeout(Duration val) {
+        return new JdbcSqlExecutor(dataSource, fetchSize, executor, Optional.of(val), registry);
+    }
+
+    JdbcSqlExecutor withExecutor(Executor val) {
+        return new JdbcSqlExecutor(dataSource, fetchSize, val, timeout, registry);
+    }
+
     @Override
     public JdbcTransaction beginTransaction() {
         return new JdbcTransaction(this);
@@ -96,6 +113,24 @@ public class JdbcSqlExecutor implements SqlExecutor {
         return stream(connection, sql, args, rowMapper, closeable);
     }
 
+    @Override
+    public <T> CompletableFuture<List<T>> queryAsync(String sql, Object[] args, RowMapper<T> rowMapper) {
+        return cancellable(inFlight -> {
+            try (CompositeAutoCloseable autoCloseable = new CompositeAutoCloseable()) {
+                Connection connection = autoCloseable.add(connect());
+                return query(connection, sql, args, rowMapper, inFlight);
+            }
+        });
+    }
+
+    @Override
+    public List<List<?>> queryMultiple(String sql, Object[] args, List<RowMapper<?>> rowMappers) {
+        try (CompositeAutoCloseable autoCloseable = new CompositeAutoCloseable()) {
+            Connection connection = autoCloseable.add(connect());
+            return queryMultiple(connection, sql, args, rowMappers);
+        }
+    }
+
     @Override
     public int update(String sql, Object[] args) {
         try (CompositeAutoCloseable autoCloseable = new CompositeAutoCloseable()) {
@@ -104,23 +139,73 @@ public class JdbcSqlExecutor implements SqlExecutor {
         }
     }
 
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> args) {
+        try (CompositeAutoCloseable autoCloseable = new CompositeAutoCloseable()) {
+            Connection connection = autoCloseable.add(connect());
+            return batchUpdate(connection, sql, args);
+        }
+    }
+
+    @Override
+    public <T> T withConnection(Function<Connection,T> work) {
+        try (CompositeAutoCloseable autoCloseable = new CompositeAutoCloseable()) {
+            Connection connection = autoCloseable.add(connect());
+            return work.apply(connection);
+        }
+    }
+
+    @Override
+    public <T> T withSession(Function<SqlExecutor,T> work) {
+        try (JdbcSession session = new JdbcSession(this)) {
+            return work.apply(session);
+        }
+    }
+
     <T> List<T> query(Connection connection, String sql, Object[] args, RowMapper<T> rowMapper) {
+        return query(connection, sql, args, rowMapper, new InFlightStatement());
+    }
+
+    List<List<?>> queryMultiple(Connection connection, String sql, Object[] args, List<RowMapper<?>> rowMappers) {
         try (CompositeAutoCloseable closeable = new CompositeAutoCloseable()) {
-            return closeable.add(stream(connection, sql, args, rowMapper, closeable)).collect(toList());
+            PreparedStatement preparedStatement = prepare(connection, sql, args, closeable);
+            boolean isResultSet = preparedStatement.execute();
+            List<List<?>> results = new ArrayList<>();
+            for (RowMapper<?> rowMapper : rowMappers) {
+                while (!isResultSet && preparedStatement.getUpdateCount() != -1) {
+                    isResultSet = preparedStatement.getMoreResults();
+                }
+                if (!isResultSet) {
+                    throw new IllegalStateException(String.format("Expected %d result sets but only received %d.", rowMappers.size(), results.size()));
+                }
+                try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                    results.add(StreamSupport.stream(new ResultSetSpliterator<>(resultSet, rowMapper), false).collect(toList()));
+                }
+                isResultSet = preparedStatement.getMoreResults();
+            }
+            return results;
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
         }
     }
 
     <T> CompletableFuture<List<T>> queryAsync(Connection connection, String sql, Object[] args, RowMapper<T> rowMapper) {
-        return CompletableFuture.supplyAsync(() -> query(connection, sql, args, rowMapper), executor);
+        return cancellable(inFlight -> query(connection, sql, args, rowMapper, inFlight));
     }
 
     <T> Stream<T> stream(Connection connection, String sql, Object[] args, RowMapper<T> rowMapper, CompositeAutoCloseable closeable) {
+        CompositeAutoCloseable lobs = closeable.add(new CompositeAutoCloseable());
+        return stream(connection, sql, args, LobUtil.scoped(rowMapper, lobs), closeable, new InFlightStatement(), Optional.of(lobs));
+    }
+
+    private <T> Stream<T> stream(Connection connection, String sql, Object[] args, RowMapper<T> rowMapper, CompositeAutoCloseable closeable, InFlightStatement inFlight, Optional<CompositeAutoCloseable> lobs) {
         try {
             PreparedStatement preparedStatement = prepare(connection, sql, args, closeable);
             preparedStatement.setFetchSize(fetchSize);
+            inFlight.start(preparedStatement);
             ResultSet resultSet = closeable.add(preparedStatement.executeQuery());
             return StreamSupport
-                .stream(new ResultSetSpliterator<>(resultSet, rowMapper, closeable::close), false)
+                .stream(new ResultSetSpliterator<>(resultSet, rowMapper, () -> closeUnlessHoldingLobs(closeable, lobs)), false)
                 .onClose(closeable::close);
         } catch (RuntimeException e) {
             closeable.close();
@@ -135,9 +220,17 @@ public class JdbcSqlExecutor implements SqlExecutor {
     }
 
     int update(Connection connection, String sql, Object[] args) {
+        return update(connection, sql, args, new InFlightStatement());
+    }
+
+    int[] batchUpdate(Connection connection, String sql, List<Object[]> args) {
         try (CompositeAutoCloseable closeable = new CompositeAutoCloseable()) {
-            PreparedStatement preparedStatement = prepare(connection, sql, args, closeable);
-            return PreparedStatementUtil.executeUpdate(preparedStatement);
+            PreparedStatement preparedStatement = prepare(connection, sql, closeable);
+            args.forEach(a -> {
+                IntStream.range(0, a.length).forEach(i -> registry.setParameter(preparedStatement, i + 1, a[i]));
+                PreparedStatementUtil.addBatch(preparedStatement);
+            });
+            return PreparedStatementUtil.executeBatch(preparedStatement);
         }
     }
 
@@ -152,28 +245,74 @@ public class JdbcSqlExecutor implements SqlExecutor {
     }
 
     public CompletableFuture<Integer> updateAsync(Connection connection, String sql, Object[] args) {
-        return CompletableFuture.supplyAsync(() -> update(connection, sql, args), executor);
+        return cancellable(inFlight -> update(connection, sql, args, inFlight));
+    }
+
+    private <T> List<T> query(Connection connection, String sql, Object[] args, RowMapper<T> rowMapper, InFlightStatement inFlight) {
+        try (CompositeAutoCloseable closeable = new CompositeAutoCloseable()) {
+            return closeable.add(stream(connection, sql, args, rowMapper, closeable, inFlight, Optional.empty())).collect(toList());
+        } finally {
+            inFlight.finish();
+        }
+    }
+
+    private int update(Connection connection, String sql, Object[] args, InFlightStatement inFlight) {
+        try (CompositeAutoCloseable closeable = new CompositeAutoCloseable()) {
+            PreparedStatement preparedStatement = prepare(connection, sql, args, closeable);
+            inFlight.start(preparedStatement);
+            return PreparedStatementUtil.executeUpdate(preparedStatement);
+        } finally {
+            inFlight.finish();
+        }
+    }
+
+    private <T> CompletableFuture<T> cancellable(Function<InFlightStatement,T> work) {
+        InFlightStatement inFlight = new InFlightStatement();
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> work.apply(inFlight), executor);
+        future.whenComplete((result, exception) -> {
+            if (future.isCancelled()) {
+                inFlight.cancel();
+            }
+        });
+        return future;
     }
 
     private PreparedStatement prepare(Connection connection, String sql, Object[] args, CompositeAutoCloseable closeable) {
-        PreparedStatement preparedStatement = closeable.add(ConnectionUtil.prepare(connection, sql));
+        PreparedStatement preparedStatement = prepare(connection, sql, closeable);
         IntStream.range(0, args.length).forEach(i -> registry.setParameter(preparedStatement, i + 1, args[i]));
         return preparedStatement;
     }
 
+    private PreparedStatement prepare(Connection connection, String sql, CompositeAutoCloseable closeable) {
+        PreparedStatement preparedStatement = closeable.add(ConnectionUtil.prepare(connection, sql));
+        timeout.ifPresent(t -> PreparedStatementUtil.setQueryTimeout(preparedStatement, timeoutSeconds(t)));
+        return preparedStatement;
+    }
+
+    // LOBs read from a stream stay valid until the stream is closed, not just until the last row is read
+    private static void closeUnlessHoldingLobs(CompositeAutoCloseable closeable, Optional<CompositeAutoCloseable> lobs) {
+        if (lobs.map(CompositeAutoCloseable::isEmpty).orElse(true)) {
+            closeable.close();
+        }
+    }
+
+    private static int timeoutSeconds(Duration timeout) {
+        return (int) Math.max(1, (timeout.toMillis() + 999) / 1000);
+    }
+
     public static JdbcSqlExecutor of(DataSource dataSource) {
-        return new JdbcSqlExecutor(dataSource, 0, ForkJoinPool.commonPool());
+        return new JdbcSqlExecutor(dataSource, 0, ForkJoinPool.commonPool(), Optional.empty(), new JdbcDataTypeRegistry());
     }
 
     public static JdbcSqlExecutor of(DataSource dataSource, int fetchSize) {
-        return new JdbcSqlExecutor(dataSource, fetchSize, ForkJoinPool.commonPool());
+        return new JdbcSqlExecutor(dataSource, fetchSize, ForkJoinPool.commonPool(), Optional.empty(), new JdbcDataTypeRegistry());
     }
 
     public static JdbcSqlExecutor of(DataSource dataSource, Executor executor) {
-        return new JdbcSqlExecutor(dataSource, 0, executor);
+        return new JdbcSqlExecutor(dataSource, 0, executor, Optional.empty(), new JdbcDataTypeRegistry());
     }
 
     public static JdbcSqlExecutor of(DataSource dataSource, int fetchSize, Executor executor) {
-        return new JdbcSqlExecutor(dataSource, fetchSize, executor);
+        return new JdbcSqlExecutor(dataSource, fetchSize, executor, Optional.empty(), new JdbcDataTypeRegistry());
     }
 }
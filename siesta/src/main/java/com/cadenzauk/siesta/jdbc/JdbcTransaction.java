@@ -24,23 +24,32 @@ package com.cadenzauk.siesta.jdbc;
 
 import com.cadenzauk.core.lang.CompositeAutoCloseable;
 import com.cadenzauk.core.sql.ConnectionUtil;
+import com.cadenzauk.core.sql.LobUtil;
 import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.core.sql.RuntimeSqlException;
 import com.cadenzauk.siesta.Transaction;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
+
 public class JdbcTransaction implements Transaction {
-    private final CompositeAutoCloseable autoCloseable = new CompositeAutoCloseable();
+    private final CompositeAutoCloseable autoCloseable;
     private final Connection connection;
     private final JdbcSqlExecutor sqlExecutor;
+    private final List<Runnable> commitActions;
 
     public JdbcTransaction(JdbcSqlExecutor sqlExecutor) {
         this.sqlExecutor = sqlExecutor;
+        commitActions = new ArrayList<>();
+        autoCloseable = new CompositeAutoCloseable();
         connection = autoCloseable.add(sqlExecutor.connect());
         try {
             connection.setAutoCommit(false);
@@ -49,29 +58,75 @@ public class JdbcTransaction implements Transaction {
         }
     }
 
+    JdbcTransaction(JdbcSqlExecutor sqlExecutor, Connection connection) {
+        this.sqlExecutor = sqlExecutor;
+        this.connection = connection;
+        commitActions = new ArrayList<>();
+        autoCloseable = new CompositeAutoCloseable();
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+        autoCloseable.add(connection, c -> c.setAutoCommit(true));
+    }
+
+    private JdbcTransaction(JdbcTransaction transaction, JdbcSqlExecutor sqlExecutor) {
+        this.sqlExecutor = sqlExecutor;
+        commitActions = transaction.commitActions;
+        autoCloseable = transaction.autoCloseable;
+        connection = transaction.connection;
+    }
+
     @Override
     public void commit() {
         ConnectionUtil.commit(connection);
+        List<Runnable> actions = new ArrayList<>(commitActions);
+        commitActions.clear();
+        actions.forEach(Runnable::run);
     }
 
     @Override
     public void rollback() {
+        commitActions.clear();
         ConnectionUtil.rollback(connection);
     }
 
+    @Override
+    public void onCommit(Runnable action) {
+        commitActions.add(action);
+    }
+
     @Override
     public <T> List<T> query(String sql, Object[] args, RowMapper<T> rowMapper) {
-        return sqlExecutor.query(connection, sql, args, rowMapper);
+        return sqlExecutor.query(connection, sql, args, LobUtil.scoped(rowMapper, autoCloseable));
     }
 
     @Override
     public <T> CompletableFuture<List<T>> queryAsync(String sql, Object[] args, RowMapper<T> rowMapper) {
-        return sqlExecutor.queryAsync(connection, sql, args, rowMapper);
+        return sqlExecutor.queryAsync(connection, sql, args, LobUtil.scoped(rowMapper, autoCloseable));
     }
 
     @Override
     public <T> Stream<T> stream(String sql, Object[] args, RowMapper<T> rowMapper) {
-        return autoCloseable.add(sqlExecutor.stream(connection, sql, args, rowMapper, new CompositeAutoCloseable()));
+        return autoCloseable.add(sqlExecutor.stream(connection, sql, args, LobUtil.scoped(rowMapper, autoCloseable), new CompositeAutoCloseable()));
+    }
+
+    @Override
+    public List<List<?>> queryMultiple(String sql, Object[] args, List<RowMapper<?>> rowMappers) {
+        return sqlExecutor.queryMultiple(connection, sql, args, rowMappers.stream()
+            .<RowMapper<?>>map(rowMapper -> LobUtil.scoped(rowMapper, autoCloseable))
+            .collect(toList()));
+    }
+
+    @Override
+    public <T> T withConnection(Function<Connection,T> work) {
+        return work.apply(connection);
+    }
+
+    @Override
+    public JdbcTransaction withTimeout(Duration timeout) {
+        return new JdbcTransaction(this, sqlExecutor.withTimeout(timeout));
     }
 
     @Override
@@ -79,6 +134,11 @@ public class JdbcTransaction implements Transaction {
         return sqlExecutor.update(connection, sql, args);
     }
 
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> args) {
+        return sqlExecutor.batchUpdate(connection, sql, args);
+    }
+
     @Override
     public boolean execute(String sql, Object[] args) {
         return sqlExecutor.execute(connection, sql, args);
@@ -26,6 +26,7 @@ import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.Projection;
 import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.catalog.Column;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -50,6 +51,14 @@ public class AliasColumns<R> implements Projection {
             .collect(joining(", "));
     }
 
+    @Override
+    public void render(Scope scope, SqlWriter writer) {
+        if (distinct) {
+            writer.append("distinct ");
+        }
+        writer.join(alias.table().columns(), ", ", c -> c.renderWithLabel(alias, Optional.empty(), writer));
+    }
+
     @Override
     public Stream<Object> args(Scope scope) {
         return Stream.empty();
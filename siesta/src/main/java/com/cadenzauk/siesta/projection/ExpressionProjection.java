@@ -24,6 +24,7 @@ package com.cadenzauk.siesta.projection;
 
 import com.cadenzauk.siesta.Projection;
 import com.cadenzauk.siesta.Scope;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 
 import java.util.Optional;
@@ -45,6 +46,14 @@ public class ExpressionProjection<T> implements Projection {
         return (distinct ? "distinct " : "") + expression.sqlWithLabel(scope, label);
     }
 
+    @Override
+    public void render(Scope scope, SqlWriter writer) {
+        if (distinct) {
+            writer.append("distinct ");
+        }
+        expression.renderWithLabel(scope, label, writer);
+    }
+
     @Override
     public Stream<Object> args(Scope scope) {
         return expression.args(scope);
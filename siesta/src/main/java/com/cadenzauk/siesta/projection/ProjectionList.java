@@ -24,6 +24,7 @@ package com.cadenzauk.siesta.projection;
 
 import com.cadenzauk.siesta.Projection;
 import com.cadenzauk.siesta.Scope;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 
 import java.util.Arrays;
 import java.util.stream.Stream;
@@ -46,6 +47,14 @@ public class ProjectionList implements Projection {
             .collect(joining(", "));
     }
 
+    @Override
+    public void render(Scope scope, SqlWriter writer) {
+        if (distinct) {
+            writer.append("distinct ");
+        }
+        writer.join(Arrays.stream(p), ", ", x -> x.render(scope, writer));
+    }
+
     @Override
     public Stream<Object> args(Scope scope) {
         return Arrays.stream(p).flatMap(x -> x.args(scope));
@@ -25,7 +25,11 @@ package com.cadenzauk.siesta.type;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -41,6 +45,8 @@ public class DbTypeId<T> {
 
     public static final DbTypeId<byte[]> BINARY = new DbTypeId<>("binary", Types.BINARY, byte[].class);
     public static final DbTypeId<byte[]> VARBINARY = new DbTypeId<>("varbinary", Types.VARBINARY, byte[].class);
+    public static final DbTypeId<Blob> BLOB = new DbTypeId<>("blob", Types.BLOB, Blob.class);
+    public static final DbTypeId<InputStream> BINARY_STREAM = new DbTypeId<>("binary stream", Types.BLOB, InputStream.class);
 
     public static final DbTypeId<Double> DOUBLE = new DbTypeId<>("double precision", Types.DOUBLE, Double.class);
     public static final DbTypeId<Float> REAL = new DbTypeId<>("real", Types.FLOAT, Float.class);
@@ -54,6 +60,8 @@ public class DbTypeId<T> {
 
     public static final DbTypeId<String> CHAR = new DbTypeId<>("char", Types.CHAR, String.class);
     public static final DbTypeId<String> VARCHAR = new DbTypeId<>("varchar", Types.VARCHAR, String.class);
+    public static final DbTypeId<Clob> CLOB = new DbTypeId<>("clob", Types.CLOB, Clob.class);
+    public static final DbTypeId<Reader> CHARACTER_STREAM = new DbTypeId<>("character stream", Types.CLOB, Reader.class);
 
     private final String name;
     private final int typeCode;
@@ -35,6 +35,8 @@ public class DbTypeRegistry {
             .register(DbTypeId.TINYINT, new DefaultTinyint())
             .register(DbTypeId.BINARY, new DefaultVarbinary("binary"))
             .register(DbTypeId.VARBINARY, new DefaultVarbinary())
+            .register(DbTypeId.BLOB, new DefaultBlob())
+            .register(DbTypeId.BINARY_STREAM, new DefaultBinaryStream())
             .register(DbTypeId.DOUBLE, new DefaultDouble())
             .register(DbTypeId.REAL, new DefaultReal())
             .register(DbTypeId.INTEGER, new DefaultInteger())
@@ -45,6 +47,8 @@ public class DbTypeRegistry {
             .register(DbTypeId.SMALLINT, new DefaultSmallint())
             .register(DbTypeId.CHAR, new DefaultVarchar("char"))
             .register(DbTypeId.VARCHAR, new DefaultVarchar())
+            .register(DbTypeId.CLOB, new DefaultClob())
+            .register(DbTypeId.CHARACTER_STREAM, new DefaultCharacterStream())
             .register(DbTypeId.UUID, new DefaultUuid())
             .register(DbTypeId.UTC_TIMESTAMP, new DefaultUtcTimestamp())
         ;
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.type;
+
+import com.cadenzauk.core.sql.LobUtil;
+import com.cadenzauk.siesta.Database;
+
+import java.io.Reader;
+import java.sql.ResultSet;
+
+public class DefaultCharacterStream extends DefaultDbType<Reader> {
+    public DefaultCharacterStream() {
+        this("clob");
+    }
+
+    public DefaultCharacterStream(String sqlType) {
+        super(sqlType, (rs, col) -> LobUtil.characterStream(rs.getClob(col)), (rs, col) -> LobUtil.characterStream(rs.getClob(col)));
+    }
+
+    public DefaultCharacterStream(String sqlType, SqlBiFunction<ResultSet,String,Reader> byLabel, SqlBiFunction<ResultSet,Integer,Reader> byColNo) {
+        super(sqlType, byLabel, byColNo);
+    }
+
+    @Override
+    public String literal(Database database, Reader value) {
+        throw new UnsupportedOperationException(String.format("%s does not support literal values.", getClass().getName()));
+    }
+
+    // For drivers whose result set streams stay readable after the cursor moves on, such as PostgreSQL
+    public static DefaultCharacterStream fromResultSet(String sqlType) {
+        return new DefaultCharacterStream(sqlType, (rs, col) -> LobUtil.register(rs.getCharacterStream(col)), (rs, col) -> LobUtil.register(rs.getCharacterStream(col)));
+    }
+}
@@ -31,6 +31,7 @@ import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static org.apache.commons.lang3.ArrayUtils.toArray;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 class CompositeAutoCloseableTest {
@@ -58,6 +59,19 @@ class CompositeAutoCloseableTest {
         verify(closeable3).close();
     }
 
+    @Test
+    void removedCloseableIsNotClosed() {
+        CompositeAutoCloseable sut = new CompositeAutoCloseable();
+        UncheckedAutoCloseable closeable1 = sut.add(mock(UncheckedAutoCloseable.class));
+        UncheckedAutoCloseable closeable2 = sut.add(mock(UncheckedAutoCloseable.class));
+
+        sut.remove(closeable1);
+        sut.close();
+
+        verify(closeable1, never()).close();
+        verify(closeable2).close();
+    }
+
     @Test
     void doubleCloseClosesAllOnlyOnce() {
         CompositeAutoCloseable sut = new CompositeAutoCloseable();
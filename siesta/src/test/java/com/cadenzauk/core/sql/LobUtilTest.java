@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.core.sql;
+
+import com.cadenzauk.core.lang.CompositeAutoCloseable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static com.cadenzauk.core.testutil.IsUtilityClass.isUtilityClass;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LobUtilTest {
+    @Mock
+    private ResultSet rs;
+
+    @Mock
+    private Blob blob;
+
+    @Mock
+    private Clob clob;
+
+    @Mock
+    private InputStream inputStream;
+
+    @Mock
+    private Reader reader;
+
+    @Test
+    void utilityClass() {
+        assertThat(LobUtil.class, isUtilityClass());
+    }
+
+    @Test
+    void blobIsReturnedWithoutBeingRead() {
+        CompositeAutoCloseable scope = new CompositeAutoCloseable();
+
+        Blob result = LobUtil.scoped(r -> LobUtil.register(blob), scope).mapRow(rs);
+
+        assertThat(result, sameInstance(blob));
+        verifyZeroInteractions(blob);
+    }
+
+    @Test
+    void blobIsFreedWhenScopeCloses() throws SQLException {
+        CompositeAutoCloseable scope = new CompositeAutoCloseable();
+        LobUtil.scoped(r -> LobUtil.register(blob), scope).mapRow(rs);
+
+        scope.close();
+
+        verify(blob).free();
+    }
+
+    @Test
+    void clobIsFreedWhenScopeCloses() throws SQLException {
+        CompositeAutoCloseable scope = new CompositeAutoCloseable();
+        Clob result = LobUtil.scoped(r -> LobUtil.register(clob), scope).mapRow(rs);
+        verifyZeroInteractions(clob);
+
+        scope.close();
+
+        assertThat(result, sameInstance(clob));
+        verify(clob).free();
+    }
+
+    @Test
+    void binaryStreamAndItsBlobAreReleasedWhenScopeCloses() throws Exception {
+        when(blob.getBinaryStream()).thenReturn(inputStream);
+        CompositeAutoCloseable scope = new CompositeAutoCloseable();
+        InputStream result = LobUtil.scoped(r -> {
+            try {
+                return LobUtil.binaryStream(blob);
+            } catch (SQLException e) {
+                throw new RuntimeSqlException(e);
+            }
+        }, scope).mapRow(rs);
+        verifyZeroInteractions(inputStream);
+
+        scope.close();
+
+        assertThat(result, sameInstance(inputStream));
+        verify(inputStream).close();
+        verify(blob).free();
+    }
+
+    @Test
+    void characterStreamAndItsClobAreReleasedWhenScopeCloses() throws Exception {
+        when(clob.getCharacterStream()).thenReturn(reader);
+        CompositeAutoCloseable scope = new CompositeAutoCloseable();
+        LobUtil.scoped(r -> {
+            try {
+                return LobUtil.characterStream(clob);
+            } catch (SQLException e) {
+                throw new RuntimeSqlException(e);
+            }
+        }, scope).mapRow(rs);
+
+        scope.close();
+
+        verify(reader).close();
+        verify(clob).free();
+    }
+
+    @Test
+    void unsupportedFreeIsIgnored() throws SQLException {
+        doThrow(new SQLFeatureNotSupportedException()).when(blob).free();
+        CompositeAutoCloseable scope = new CompositeAutoCloseable();
+        LobUtil.scoped(r -> LobUtil.register(blob), scope).mapRow(rs);
+
+        scope.close();
+
+        verify(blob).free();
+    }
+
+    @Test
+    void innerScopeTakesPrecedence() throws SQLException {
+        CompositeAutoCloseable outer = new CompositeAutoCloseable();
+        CompositeAutoCloseable inner = new CompositeAutoCloseable();
+        LobUtil.scoped(LobUtil.scoped(r -> LobUtil.register(blob), inner), outer).mapRow(rs);
+
+        outer.close();
+        verifyZeroInteractions(blob);
+        inner.close();
+
+        verify(blob).free();
+    }
+
+    @Test
+    void registeringOutsideScopeThrows() {
+        calling(() -> LobUtil.register(blob))
+            .shouldThrow(IllegalStateException.class);
+        calling(() -> LobUtil.register(inputStream))
+            .shouldThrow(IllegalStateException.class);
+    }
+
+    @Test
+    void scopeEndsWithRow() {
+        LobUtil.scoped(r -> LobUtil.register(blob), new CompositeAutoCloseable()).mapRow(rs);
+
+        calling(() -> LobUtil.register(clob))
+            .shouldThrow(IllegalStateException.class);
+    }
+
+    @Test
+    void nullIsNullWithoutScope() throws SQLException {
+        assertThat(LobUtil.register((Blob) null), nullValue());
+        assertThat(LobUtil.register((Clob) null), nullValue());
+        assertThat(LobUtil.register((InputStream) null), nullValue());
+        assertThat(LobUtil.register((Reader) null), nullValue());
+        assertThat(LobUtil.binaryStream(null), nullValue());
+        assertThat(LobUtil.characterStream(null), nullValue());
+    }
+}
@@ -77,6 +77,27 @@ class PreparedStatementUtilTest {
         verifyNoMoreInteractions(preparedStatement);
     }
 
+    @Test
+    void setQueryTimeout() throws SQLException {
+        PreparedStatementUtil.setQueryTimeout(preparedStatement, 30);
+
+        verify(preparedStatement).setQueryTimeout(30);
+        verifyNoMoreInteractions(preparedStatement);
+    }
+
+    @Test
+    void setQueryTimeoutThatThrows() throws SQLException {
+        doThrow(new SQLException("Not supported")).when(preparedStatement).setQueryTimeout(anyInt());
+
+        calling(() -> PreparedStatementUtil.setQueryTimeout(preparedStatement, 30))
+            .shouldThrow(RuntimeSqlException.class)
+            .withCause(SQLException.class)
+            .withMessage(is("Not supported"));
+
+        verify(preparedStatement).setQueryTimeout(30);
+        verifyNoMoreInteractions(preparedStatement);
+    }
+
     @Test
     void executeUpdate() throws SQLException {
         when(preparedStatement.executeUpdate()).thenReturn(121);
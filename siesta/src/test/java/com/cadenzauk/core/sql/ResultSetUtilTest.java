@@ -76,6 +76,19 @@ class ResultSetUtilTest {
         verifyNoMoreInteractions(resultSet);
     }
 
+    @Test
+    void getStringByIndex() throws SQLException {
+        int column = RandomUtils.nextInt(1, 20);
+        String expectedValue = RandomStringUtils.random(40);
+        when(resultSet.getString(column)).thenReturn(expectedValue);
+
+        String result = ResultSetUtil.getString(resultSet, column);
+
+        assertThat(result, is(expectedValue));
+        verify(resultSet, times(1)).getString(column);
+        verifyNoMoreInteractions(resultSet);
+    }
+
     @Test
     void close() throws SQLException {
         ResultSetUtil.close(resultSet);
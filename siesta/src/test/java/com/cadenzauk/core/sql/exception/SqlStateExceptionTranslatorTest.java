@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.core.sql.exception;
+
+import com.cadenzauk.core.sql.RuntimeSqlException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class SqlStateExceptionTranslatorTest {
+    @Test
+    void unmappedExceptionIsGeneric() {
+        SqlStateExceptionTranslator sut = new SqlStateExceptionTranslator()
+            .register("23505", DuplicateKeyException::new);
+        SQLException cause = new SQLException("Oops", "99999", 1);
+
+        RuntimeSqlException result = sut.translate("select", cause);
+
+        assertThat(result.getClass(), is(equalTo(RuntimeSqlException.class)));
+        assertThat(result.getCause(), sameInstance(cause));
+    }
+
+    @Test
+    void exactSqlStateMatches() {
+        SqlStateExceptionTranslator sut = new SqlStateExceptionTranslator()
+            .register("23505", DuplicateKeyException::new);
+
+        RuntimeSqlException result = sut.translate("insert", new SQLException("Duplicate", "23505"));
+
+        assertThat(result, instanceOf(DuplicateKeyException.class));
+    }
+
+    @Test
+    void patternSqlStateMatchesWholeState() {
+        SqlStateExceptionTranslator sut = new SqlStateExceptionTranslator()
+            .register("42[67]..", SqlSyntaxException::new);
+
+        assertThat(sut.translate("select", new SQLException("Syntax", "42601")), instanceOf(SqlSyntaxException.class));
+        assertThat(sut.translate("select", new SQLException("Syntax", "426011")).getClass(), is(equalTo(RuntimeSqlException.class)));
+        assertThat(sut.translate("select", new SQLException("Syntax", "43601")).getClass(), is(equalTo(RuntimeSqlException.class)));
+    }
+
+    @Test
+    void sqlStateAndErrorCodeBeatsErrorCodeBeatsSqlState() {
+        SqlStateExceptionTranslator sut = new SqlStateExceptionTranslator()
+            .register("40001", InvalidValueException::new)
+            .register(1205, DuplicateKeyException::new)
+            .register("40001", 1205, LockingException::new);
+
+        assertThat(sut.translate("update", new SQLException("Deadlock", "40001", 1205)), instanceOf(LockingException.class));
+        assertThat(sut.translate("update", new SQLException("Deadlock", "S0001", 1205)), instanceOf(DuplicateKeyException.class));
+        assertThat(sut.translate("update", new SQLException("Deadlock", "40001", 1)), instanceOf(InvalidValueException.class));
+    }
+
+    @Test
+    void exactSqlStateBeatsPattern() {
+        SqlStateExceptionTranslator sut = new SqlStateExceptionTranslator()
+            .register("23...", ReferentialIntegrityException::new)
+            .register("23505", DuplicateKeyException::new);
+
+        assertThat(sut.translate("insert", new SQLException("Duplicate", "23505")), instanceOf(DuplicateKeyException.class));
+        assertThat(sut.translate("insert", new SQLException("Reference", "23503")), instanceOf(ReferentialIntegrityException.class));
+    }
+
+    @Test
+    void laterRegistrationWins() {
+        SqlStateExceptionTranslator sut = new SqlStateExceptionTranslator()
+            .register("23505", DuplicateKeyException::new);
+        sut.translate("insert", new SQLException("Duplicate", "23505"));
+
+        sut.register("23505", InvalidValueException::new);
+
+        assertThat(sut.translate("insert", new SQLException("Duplicate", "23505")), instanceOf(InvalidValueException.class));
+    }
+
+    @Test
+    void nullSqlStateMatchesErrorCode() {
+        SqlStateExceptionTranslator sut = new SqlStateExceptionTranslator()
+            .register("23...", ReferentialIntegrityException::new)
+            .register(1222, LockingException::new);
+
+        assertThat(sut.translate("update", new SQLException("Timeout", null, 1222)), instanceOf(LockingException.class));
+        assertThat(sut.translate("update", new SQLException("Timeout", null, 1)).getClass(), is(equalTo(RuntimeSqlException.class)));
+    }
+
+    @Test
+    void constructorLookupIsCached() {
+        AtomicInteger constructed = new AtomicInteger();
+        SqlStateExceptionTranslator sut = new SqlStateExceptionTranslator()
+            .register("4000.", (sql, cause) -> {
+                constructed.incrementAndGet();
+                return new LockingException(sql, cause);
+            });
+
+        RuntimeSqlException first = sut.translate("update", new SQLException("Deadlock", "40001"));
+        RuntimeSqlException second = sut.translate("update", new SQLException("Deadlock", "40001"));
+
+        assertThat(first, instanceOf(LockingException.class));
+        assertThat(second, instanceOf(LockingException.class));
+        assertThat(constructed.get(), is(2));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static com.cadenzauk.core.testutil.IsUtilityClass.isUtilityClass;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class FutureUtilTest {
+    @Test
+    void isUtility() {
+        assertThat(FutureUtil.class, isUtilityClass());
+    }
+
+    @Test
+    void cancellingDependentCancelsSource() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<Integer> dependent = FutureUtil.cancelling(source.thenApply(String::length), source);
+
+        dependent.cancel(true);
+
+        assertThat(source.isCancelled(), is(true));
+    }
+
+    @Test
+    void completingDependentDoesNotCancelSource() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<Integer> dependent = FutureUtil.cancelling(source.thenApply(String::length), source);
+
+        source.complete("Fred");
+
+        assertThat(dependent.join(), is(4));
+        assertThat(source.isCancelled(), is(false));
+    }
+
+    @Test
+    void failingSourceFailsDependent() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<Integer> dependent = FutureUtil.cancelling(source.thenApply(String::length), source);
+        IllegalStateException exception = new IllegalStateException("Failed");
+
+        source.completeExceptionally(exception);
+
+        calling(dependent::join)
+            .shouldThrow(CompletionException.class)
+            .withCause(IllegalStateException.class);
+    }
+
+    @Test
+    void exceptionallyAppliesFunctionToFailure() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> dependent = FutureUtil.exceptionally(source, Throwable::getMessage);
+
+        source.completeExceptionally(new IllegalStateException("Failed"));
+
+        assertThat(dependent.join(), is("Failed"));
+    }
+
+    @Test
+    void cancellingExceptionallyCancelsSource() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> dependent = FutureUtil.exceptionally(source, Throwable::getMessage);
+
+        dependent.cancel(true);
+
+        assertThat(source.isCancelled(), is(true));
+    }
+}
@@ -22,8 +22,12 @@
 
 package com.cadenzauk.siesta;
 
+import com.cadenzauk.core.sql.RuntimeSqlException;
 import com.cadenzauk.siesta.dialect.AnsiDialect;
 import com.cadenzauk.siesta.dialect.H2Dialect;
+import com.cadenzauk.siesta.dialect.OracleDialect;
+import com.cadenzauk.siesta.dialect.PostgresDialect;
+import com.cadenzauk.siesta.dialect.SqlServerDialect;
 import com.cadenzauk.siesta.grammar.dml.ExpectingWhere;
 import com.cadenzauk.siesta.grammar.dml.InWhereExpectingAnd;
 import com.cadenzauk.siesta.model.SalespersonRow;
@@ -32,22 +36,42 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.Column;
+import javax.persistence.Id;
 import javax.persistence.Table;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static com.cadenzauk.siesta.grammar.expression.Aggregates.max;
 import static com.cadenzauk.siesta.grammar.expression.TupleBuilder.tuple;
 import static com.cadenzauk.siesta.grammar.expression.TypedExpression.literal;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
@@ -66,6 +90,9 @@ class DatabaseTest {
     @Captor
     private ArgumentCaptor<Object[]> argCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchArgCaptor;
+
     @SuppressWarnings("unused")
     @Table(name = "CUSTOMER")
     public static class Person {
@@ -92,6 +119,32 @@ class DatabaseTest {
         }
     }
 
+    @SuppressWarnings("unused")
+    @Table(name = "ORDER_LINE", schema = "SIESTA")
+    public static class OrderLine {
+        @Id
+        private final long orderId;
+        @Id
+        private final int lineNo;
+
+        private OrderLine() {
+            this(0L, 0);
+        }
+
+        OrderLine(long orderId, int lineNo) {
+            this.orderId = orderId;
+            this.lineNo = lineNo;
+        }
+
+        public long orderId() {
+            return orderId;
+        }
+
+        public int lineNo() {
+            return lineNo;
+        }
+    }
+
     @Test
     void fromAlias() {
         Database database = database();
@@ -318,6 +371,7 @@ class DatabaseTest {
         database.insert(transaction, salespersons);
 
         verify(transaction).update(sqlCaptor.capture(), argCaptor.capture());
+        verify(transaction).onCommit(any());
         verifyNoMoreInteractions(sqlExecutor);
         verifyNoMoreInteractions(transaction);
         assertThat(sqlCaptor.getValue(), is("insert into SIESTA.SALESPERSON " +
@@ -482,6 +536,121 @@ class DatabaseTest {
             "where sp.SALESPERSON_ID = 2"));
     }
 
+    @Test
+    void deleteByIds() {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .build();
+        when(sqlExecutor.batchUpdate(sqlCaptor.capture(), batchArgCaptor.capture())).thenReturn(new int[]{2});
+
+        int result = database.deleteByIds(SalespersonRow.class, Arrays.asList(1L, 2L, 3L));
+
+        assertThat(result, is(2));
+        assertThat(sqlCaptor.getValue(), is("delete from SIESTA.SALESPERSON " +
+            "where SIESTA.SALESPERSON.SALESPERSON_ID in (?, ?, ?, ?)"));
+        assertThat(batchArgCaptor.getValue(), contains(arrayContaining(1L, 2L, 3L, 3L)));
+    }
+
+    @Test
+    void deleteByIdsGroupsChunksOfTheSameSizeIntoOneBatch() {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .build();
+        when(sqlExecutor.batchUpdate(sqlCaptor.capture(), batchArgCaptor.capture())).thenReturn(new int[]{500}, new int[]{1000, 1000});
+
+        int result = database.deleteByIds(SalespersonRow.class, LongStream.range(0, 2500).boxed().collect(Collectors.toList()));
+
+        assertThat(result, is(2500));
+        verify(sqlExecutor, times(2)).batchUpdate(any(), any());
+        assertThat(batchArgCaptor.getAllValues().get(0), hasSize(1));
+        assertThat(batchArgCaptor.getAllValues().get(0).get(0).length, is(512));
+        assertThat(batchArgCaptor.getAllValues().get(1), hasSize(2));
+        assertThat(batchArgCaptor.getAllValues().get(1).get(0).length, is(1000));
+    }
+
+    @Test
+    void deleteByIdsReturnsNoInfoWhenDriverReportsNoInfo() {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .build();
+        when(sqlExecutor.batchUpdate(sqlCaptor.capture(), batchArgCaptor.capture())).thenReturn(new int[]{Statement.SUCCESS_NO_INFO});
+
+        int result = database.deleteByIds(SalespersonRow.class, Arrays.asList(1L, 2L, 2L));
+
+        assertThat(result, is(Statement.SUCCESS_NO_INFO));
+    }
+
+    @Test
+    void deleteByIdsReturnsNoInfoWhenAnyBatchReportsNoInfo() {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .dialect(new AnsiDialect())
+            .build();
+        when(sqlExecutor.batchUpdate(sqlCaptor.capture(), batchArgCaptor.capture()))
+            .thenReturn(new int[]{512})
+            .thenReturn(new int[]{1000, Statement.SUCCESS_NO_INFO});
+
+        int result = database.deleteByIds(SalespersonRow.class, LongStream.range(0, 2500).boxed().collect(Collectors.toList()));
+
+        assertThat(result, is(Statement.SUCCESS_NO_INFO));
+    }
+
+    @Test
+    void deleteByIdsWithEmptyCollectionDoesNothing() {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .dialect(new AnsiDialect())
+            .build();
+
+        int result = database.deleteByIds(SalespersonRow.class, Collections.emptyList());
+
+        assertThat(result, is(0));
+        verifyZeroInteractions(sqlExecutor);
+    }
+
+    @Test
+    void deleteByIdsWithCompositeKeyThrows() {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .build();
+
+        calling(() -> database.deleteByIds(OrderLine.class, Arrays.asList(1L, 2L)))
+            .shouldThrow(IllegalStateException.class);
+    }
+
+    @Test
+    void deleteAllWithCompositeKeyUsesRowValues() {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .dialect(new PostgresDialect())
+            .build();
+        when(sqlExecutor.batchUpdate(sqlCaptor.capture(), batchArgCaptor.capture())).thenReturn(new int[]{2});
+
+        int result = database.deleteAll(OrderLine.class, Arrays.asList(new OrderLine(1L, 1), new OrderLine(1L, 2)));
+
+        assertThat(result, is(2));
+        assertThat(sqlCaptor.getValue(), is("delete from SIESTA.ORDER_LINE " +
+            "where (SIESTA.ORDER_LINE.ORDER_ID, SIESTA.ORDER_LINE.LINE_NO) in ((?, ?), (?, ?))"));
+        assertThat(batchArgCaptor.getValue(), contains(arrayContaining(1L, 1, 1L, 2)));
+    }
+
+    @Test
+    void deleteAllWithCompositeKeyWithoutMultipleValueIn() {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .dialect(new SqlServerDialect())
+            .build();
+        when(sqlExecutor.batchUpdate(sqlCaptor.capture(), batchArgCaptor.capture())).thenReturn(new int[]{2});
+
+        int result = database.deleteAll(OrderLine.class, Arrays.asList(new OrderLine(1L, 1), new OrderLine(1L, 2)));
+
+        assertThat(result, is(2));
+        assertThat(sqlCaptor.getValue(), is("delete from SIESTA.ORDER_LINE " +
+            "where (SIESTA.ORDER_LINE.ORDER_ID = ? and SIESTA.ORDER_LINE.LINE_NO = ?) " +
+            "or (SIESTA.ORDER_LINE.ORDER_ID = ? and SIESTA.ORDER_LINE.LINE_NO = ?)"));
+        assertThat(batchArgCaptor.getValue(), contains(arrayContaining(1L, 1, 1L, 2)));
+    }
+
     @Test
     void delete() {
         Database database = Database.newBuilder()
@@ -573,6 +742,40 @@ class DatabaseTest {
             "from SIESTA.SALESPERSON i)"));
     }
 
+    private static Stream<Arguments> parametersForSerializationFailureIsRetried() {
+        return Stream.of(
+            arguments(new PostgresDialect(), new SQLException("could not serialize access due to concurrent update", "40001")),
+            arguments(new OracleDialect(), new SQLException("ORA-08177: can't serialize access for this transaction", "72000", 8177))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parametersForSerializationFailureIsRetried")
+    void serializationFailureIsRetried(Dialect dialect, SQLException serializationFailure) {
+        Database database = Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .dialect(dialect)
+            .build();
+        when(sqlExecutor.beginTransaction()).thenReturn(transaction);
+        RetryPolicy retryPolicy = RetryPolicy.newBuilder()
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(2))
+            .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = database.inTransaction(t -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new RuntimeSqlException(serializationFailure);
+            }
+            return "Fred";
+        }, retryPolicy);
+
+        assertThat(result, is("Fred"));
+        assertThat(calls.get(), is(2));
+        assertThat(retryPolicy.stats().retries(), is(1L));
+        verify(transaction).commit();
+    }
+
     @NotNull
     private Database database() {
         return Database.newBuilder()
@@ -26,15 +26,20 @@ import com.cadenzauk.siesta.dialect.AnsiDialect;
 import com.cadenzauk.siesta.dialect.Db2Dialect;
 import com.cadenzauk.siesta.dialect.FirebirdDialect;
 import com.cadenzauk.siesta.dialect.H2Dialect;
+import com.cadenzauk.siesta.dialect.HSqlDialect;
 import com.cadenzauk.siesta.dialect.OracleDialect;
 import com.cadenzauk.siesta.dialect.PostgresDialect;
 import com.cadenzauk.siesta.dialect.SqlServerDialect;
+import com.cadenzauk.siesta.grammar.select.Select;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.stream.Stream;
 
+import static com.cadenzauk.core.function.FunctionUtil.supplier;
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static com.cadenzauk.siesta.grammar.expression.TypedExpression.literal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -104,6 +109,154 @@ class DialectTest {
         assertThat(sql, is(expectSql));
     }
 
+    @SuppressWarnings("unused")
+    private static Stream<Arguments> parametersForHints() {
+        return Stream.of(
+            testCase(new AnsiDialect(), "select i.ID as i_ID from AP.INVOICE i where i.ID = ?"),
+            testCase(new Db2Dialect(), "select i.ID as i_ID from AP.INVOICE i where i.ID = ?"),
+            testCase(new FirebirdDialect(), "select i.ID as i_ID from INVOICE i where i.ID = cast(? as integer)"),
+            testCase(new H2Dialect(), "select i.ID as i_ID from AP.INVOICE i use index (IX_INVOICE) where i.ID = ?"),
+            testCase(new OracleDialect(), "select /*+ index(i IX_INVOICE) */ i.ID as i_ID from AP.INVOICE i where i.ID = ?"),
+            testCase(new PostgresDialect(), "/*+ IndexScan(i IX_INVOICE) */ select i.ID as i_ID from AP.INVOICE i where i.ID = ?"),
+            testCase(new SqlServerDialect(), "select i.ID as i_ID from AP.INVOICE i with (index(IX_INVOICE)) where i.ID = ? option (recompile)")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parametersForHints")
+    void hints(Dialect dialect, String expectSql) {
+        Database database = Database.newBuilder()
+            .defaultSchema("AP")
+            .dialect(dialect)
+            .build();
+        Alias<Invoice> invoice = database.table(Invoice.class).as("i");
+
+        String sql = database.from(invoice)
+            .where(Invoice::id).isEqualTo(4)
+            .hint(Hint.index(invoice, "IX_INVOICE"))
+            .hint(Hint.recompile())
+            .sql();
+
+        assertThat(sql, is(expectSql));
+    }
+
+    @SuppressWarnings("unused")
+    private static Stream<Arguments> parametersForMaxRecursionHint() {
+        return Stream.of(
+            testCase(new AnsiDialect(), "select i.ID as i_ID from AP.INVOICE i"),
+            testCase(new OracleDialect(), "select i.ID as i_ID from AP.INVOICE i"),
+            testCase(new PostgresDialect(), "select i.ID as i_ID from AP.INVOICE i"),
+            testCase(new SqlServerDialect(), "select i.ID as i_ID from AP.INVOICE i option (maxrecursion 10)")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parametersForMaxRecursionHint")
+    void maxRecursionHint(Dialect dialect, String expectSql) {
+        Database database = Database.newBuilder()
+            .defaultSchema("AP")
+            .dialect(dialect)
+            .build();
+
+        String sql = database.from(Invoice.class, "i")
+            .hint(Hint.maxRecursion(10))
+            .sql();
+
+        assertThat(sql, is(expectSql));
+    }
+
+    @SuppressWarnings("unused")
+    private static Stream<Arguments> parametersForSkipLocked() {
+        return Stream.of(
+            testCase(new Db2Dialect(), "select i.ID as i_ID from AP.INVOICE i where i.ID = ? for read only with rs use and keep UPDATE locks skip locked data"),
+            testCase(new OracleDialect(), "select i.ID as i_ID from AP.INVOICE i where i.ID = ? for update skip locked"),
+            testCase(new PostgresDialect(), "select i.ID as i_ID from AP.INVOICE i where i.ID = ? for update skip locked"),
+            testCase(new SqlServerDialect(), "select i.ID as i_ID from AP.INVOICE i with (updlock, readpast) where i.ID = ?")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parametersForSkipLocked")
+    void skipLocked(Dialect dialect, String expectSql) {
+        Database database = Database.newBuilder()
+            .defaultSchema("AP")
+            .dialect(dialect)
+            .build();
+
+        String sql = database.from(Invoice.class, "i")
+            .where(Invoice::id).isEqualTo(4)
+            .forUpdate()
+            .skipLocked()
+            .sql();
+
+        assertThat(sql, is(expectSql));
+    }
+
+    @Test
+    void skipLockedIsCombinedWithIndexHintOnSqlServer() {
+        Database database = Database.newBuilder()
+            .defaultSchema("AP")
+            .dialect(new SqlServerDialect())
+            .build();
+        Alias<Invoice> invoice = database.table(Invoice.class).as("i");
+
+        String sql = database.from(invoice)
+            .hint(Hint.index(invoice, "IX_INVOICE"))
+            .skipLocked()
+            .sql();
+
+        assertThat(sql, is("select i.ID as i_ID from AP.INVOICE i with (index(IX_INVOICE), updlock, readpast)"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("parametersForSkipLockedUnsupported")
+    void skipLockedUnsupported(Dialect dialect) {
+        Database database = Database.newBuilder()
+            .defaultSchema("AP")
+            .dialect(dialect)
+            .build();
+        Select<Invoice> select = database.from(Invoice.class, "i").skipLocked();
+
+        calling(supplier(select::sql))
+            .shouldThrow(UnsupportedOperationException.class)
+            .withMessage(is(dialect.getClass().getName() + " does not support skipping locked rows."));
+    }
+
+    @SuppressWarnings("unused")
+    private static Stream<Arguments> parametersForSkipLockedUnsupported() {
+        return Stream.of(
+            arguments(new AnsiDialect()),
+            arguments(new FirebirdDialect()),
+            arguments(new H2Dialect()),
+            arguments(new HSqlDialect())
+        );
+    }
+
+    @SuppressWarnings("unused")
+    private static Stream<Arguments> parametersForNextValuesFromSequence() {
+        return Stream.of(
+            testCase(new AnsiDialect(), "with recursive x_seq(i) as (select 1 from DUAL union all select i + 1 from x_seq where i < ?) select AP.INVOICE_SEQ.NEXTVAL as NEXT_VAL from x_seq"),
+            testCase(new Db2Dialect(), "with x_seq(i) as (select 1 from SYSIBM.SYSDUMMY1 union all select i + 1 from x_seq where i < ?) select AP.INVOICE_SEQ.NEXTVAL as NEXT_VAL from x_seq"),
+            testCase(new H2Dialect(), "select AP.INVOICE_SEQ.NEXTVAL as NEXT_VAL from system_range(1, ?)"),
+            testCase(new HSqlDialect(), "select next value for AP.INVOICE_SEQ as NEXT_VAL from unnest(sequence_array(1, ?, 1))"),
+            testCase(new OracleDialect(), "select AP.INVOICE_SEQ.NEXTVAL as NEXT_VAL from dual connect by level <= ?"),
+            testCase(new PostgresDialect(), "select nextval('INVOICE_SEQ') as NEXT_VAL from generate_series(1, ?)"),
+            testCase(new SqlServerDialect(), "set nocount on; " +
+                "declare @n bigint = ?, @first sql_variant, @increment sql_variant; " +
+                "exec sys.sp_sequence_get_range @sequence_name = N'AP.INVOICE_SEQ', @range_size = @n, @range_first_value = @first output, @sequence_increment = @increment output; " +
+                "select cast(@first as bigint) + (r.i - 1) * cast(@increment as bigint) as NEXT_VAL " +
+                "from (select top (@n) row_number() over (order by (select null)) as i from sys.all_objects a cross join sys.all_objects b) r")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parametersForNextValuesFromSequence")
+    void nextValuesFromSequence(Dialect dialect, String expectedSql) {
+        String result = dialect.nextValuesFromSequence("", "AP", "INVOICE_SEQ");
+
+        assertThat(result, is(expectedSql));
+    }
+
     private static Arguments isolationLevelTest(Dialect dialect, IsolationLevel level, String expectSql) {
         return arguments(dialect, level, expectSql);
     }
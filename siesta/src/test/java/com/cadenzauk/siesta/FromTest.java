@@ -23,6 +23,7 @@
 package com.cadenzauk.siesta;
 
 import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.dialect.H2Dialect;
 import com.cadenzauk.siesta.grammar.InvalidJoinException;
 import com.cadenzauk.siesta.model.ManufacturerRow;
 import com.cadenzauk.siesta.model.WidgetRow;
@@ -31,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static com.cadenzauk.siesta.model.TestDatabase.testDatabase;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
 
@@ -73,4 +75,28 @@ class FromTest {
 
         assertThat(sql, startsWith("select m1.MANUFACTURER_ID as m1_MANUFACTURER_ID"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void hintIsRenderedAgainstJoinedTable() {
+        Database database = testDatabase(new H2Dialect());
+        Alias<ManufacturerRow> m = database.table(ManufacturerRow.class).as("m");
+
+        String sql = database.from(WidgetRow.class, "w")
+            .join(m)
+            .on(ManufacturerRow::manufacturerId).isEqualTo(WidgetRow::manufacturerId)
+            .hint(Hint.index(m, "IX_MANUFACTURER"))
+            .sql();
+
+        assertThat(sql, endsWith(" from SIESTA.WIDGET w join SIESTA.MANUFACTURER m use index (IX_MANUFACTURER) on m.MANUFACTURER_ID = w.MANUFACTURER_ID"));
+    }
+
+    @Test
+    void hintForTableNotInFromClauseThrows() {
+        Database database = testDatabase(new H2Dialect());
+        Alias<ManufacturerRow> m = database.table(ManufacturerRow.class).as("m");
+
+        calling(() -> database.from(WidgetRow.class, "w").hint(Hint.index(m, "IX_MANUFACTURER")))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Hint INDEX(m IX_MANUFACTURER) does not refer to a table in the from clause."));
+    }
+}
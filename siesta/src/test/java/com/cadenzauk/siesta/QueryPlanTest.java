@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+class QueryPlanTest {
+    @Test
+    void namesAreUnqualifiedUnquotedAndUpperCase() {
+        QueryPlan sut = QueryPlan.of("plan", ImmutableList.of("SIESTA.\"ix_surname\"", "[dbo].[PK_SALE]"), ImmutableList.of("siesta.salesperson"));
+
+        assertThat(sut.indexes(), contains("IX_SURNAME", "PK_SALE"));
+        assertThat(sut.scannedTables(), contains("SALESPERSON"));
+    }
+
+    @Test
+    void usesIndexIgnoresCaseAndQualifier() {
+        QueryPlan sut = QueryPlan.of("plan", ImmutableList.of("SIESTA.IX_SURNAME"), ImmutableList.of());
+
+        assertThat(sut.usesIndex("ix_surname"), is(true));
+        assertThat(sut.usesIndex("OTHER.IX_SURNAME"), is(true));
+        assertThat(sut.usesIndex("IX_FIRST_NAME"), is(false));
+    }
+
+    @Test
+    void scansTableIgnoresCaseAndQualifier() {
+        QueryPlan sut = QueryPlan.of("plan", ImmutableList.of(), ImmutableList.of("SALESPERSON"));
+
+        assertThat(sut.scansTable("siesta.salesperson"), is(true));
+        assertThat(sut.scansTable("SALE"), is(false));
+        assertThat(sut.hasTableScan(), is(true));
+    }
+
+    @Test
+    void blankNamesAreIgnored() {
+        QueryPlan sut = QueryPlan.of("plan", ImmutableList.of(""), ImmutableList.of(" "));
+
+        assertThat(sut.indexes().isEmpty(), is(true));
+        assertThat(sut.hasTableScan(), is(false));
+    }
+
+    @Test
+    void toStringIsPlanText() {
+        QueryPlan sut = QueryPlan.of("SELECT 1", ImmutableList.of(), ImmutableList.of());
+
+        assertThat(sut.toString(), is("SELECT 1"));
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.model.SaleRow;
+import com.cadenzauk.siesta.model.SalespersonRow;
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.cadenzauk.siesta.grammar.expression.ExistsExpression.exists;
+import static com.cadenzauk.siesta.grammar.expression.TypedExpression.literal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryResultCacheTest {
+    @Mock
+    private SqlExecutor sqlExecutor;
+
+    @Mock
+    private Transaction transaction;
+
+    @Captor
+    private ArgumentCaptor<Runnable> commitActionCaptor;
+
+    @Test
+    void cachedSelectOnlyQueriesOnce() {
+        Database database = testDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+
+        List<SalespersonRow> first = selectBySurname(database, "Smith");
+        List<SalespersonRow> second = selectBySurname(database, "Smith");
+
+        verify(sqlExecutor, times(1)).query(any(), any(), any());
+        assertThat(first, contains(salesperson));
+        assertThat(second, contains(salesperson));
+        assertThat(database.queryResultCache().stats().hitCount(), is(1L));
+    }
+
+    @Test
+    void differentArgsQueryAgain() {
+        Database database = testDatabase();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.emptyList());
+
+        selectBySurname(database, "Smith");
+        selectBySurname(database, "Jones");
+
+        verify(sqlExecutor, times(2)).query(any(), any(), any());
+    }
+
+    @Test
+    void uncachedSelectAlwaysQueries() {
+        Database database = testDatabase();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.emptyList());
+
+        database.from(SalespersonRow.class).list();
+        database.from(SalespersonRow.class).list();
+
+        verify(sqlExecutor, times(2)).query(any(), any(), any());
+    }
+
+    @Test
+    void updateOfReferencedTableInvalidates() {
+        Database database = testDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+        selectBySurname(database, "Smith");
+
+        database.update(salesperson);
+        selectBySurname(database, "Smith");
+
+        verify(sqlExecutor, times(2)).query(any(), any(), any());
+    }
+
+    @Test
+    void updateStatementOnJoinedTableInvalidates() {
+        Database database = testDatabase();
+        when(sqlExecutor.query(any(), any(), any())).thenReturn(Collections.emptyList());
+        selectJoined(database);
+
+        database.update(SaleRow.class)
+            .set(SaleRow::quantity).to(1L)
+            .execute();
+        selectJoined(database);
+
+        verify(sqlExecutor, times(2)).query(any(), any(), any());
+    }
+
+    @Test
+    void updateOfUnreferencedTableDoesNotInvalidate() {
+        Database database = testDatabase();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.emptyList());
+        selectBySurname(database, "Smith");
+
+        database.update(SaleRow.class)
+            .set(SaleRow::quantity).to(1L)
+            .execute();
+        selectBySurname(database, "Smith");
+
+        verify(sqlExecutor, times(1)).query(any(), any(), any());
+    }
+
+    @Test
+    void updateStatementOnTableInSubqueryInvalidates() {
+        Database database = testDatabase();
+        when(sqlExecutor.query(any(), any(), any())).thenReturn(Collections.emptyList());
+        selectWithSubquery(database);
+
+        database.update(SaleRow.class)
+            .set(SaleRow::quantity).to(1L)
+            .execute();
+        selectWithSubquery(database);
+
+        verify(sqlExecutor, times(2)).query(any(), any(), any());
+    }
+
+    @Test
+    void updateInTransactionInvalidatesAgainOnCommit() {
+        Database database = testDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+        database.update(transaction, salesperson);
+        verify(transaction).onCommit(commitActionCaptor.capture());
+        selectBySurname(database, "Smith");
+
+        commitActionCaptor.getValue().run();
+        selectBySurname(database, "Smith");
+
+        verify(sqlExecutor, times(2)).query(any(), any(), any());
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        QueryResultCache sut = new QueryResultCache();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> sut.get(Duration.ofMinutes(1), 10, TypeToken.of(String.class), "select 1", new Object[0], Stream.empty(), () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return Collections.singletonList("One");
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(() -> sut.get(Duration.ofMinutes(1), 10, TypeToken.of(String.class), "select 1", new Object[0], Stream.empty(), () -> {
+            loads.incrementAndGet();
+            return Collections.singletonList("Two");
+        }));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS), contains("One"));
+        assertThat(second.get(5, TimeUnit.SECONDS), contains("One"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void resultsBeyondRowBudgetAreEvicted() {
+        QueryResultCache sut = new QueryResultCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        load(sut, 10, 100, "select 1", 60, loads);
+        load(sut, 10, 100, "select 2", 60, loads);
+        load(sut, 10, 100, "select 1", 60, loads);
+
+        assertThat(loads.get(), is(3));
+    }
+
+    @Test
+    void resultsWithinRowBudgetAreRetained() {
+        QueryResultCache sut = new QueryResultCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        load(sut, 10, 100, "select 1", 40, loads);
+        load(sut, 10, 100, "select 2", 40, loads);
+        load(sut, 10, 100, "select 1", 40, loads);
+
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void rowBudgetStillLimitsEntries() {
+        QueryResultCache sut = new QueryResultCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        load(sut, 2, 1000, "select 1", 1, loads);
+        load(sut, 2, 1000, "select 2", 1, loads);
+        load(sut, 2, 1000, "select 3", 1, loads);
+        load(sut, 2, 1000, "select 1", 1, loads);
+
+        assertThat(loads.get(), is(4));
+    }
+
+    private static void load(QueryResultCache sut, long maxEntries, long maxRows, String sql, int rows, AtomicInteger loads) {
+        sut.get(Duration.ofMinutes(1), maxEntries, maxRows, TypeToken.of(String.class), sql, new Object[0], Stream.empty(), () -> {
+            loads.incrementAndGet();
+            return Collections.nCopies(rows, sql);
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<SalespersonRow> selectBySurname(Database database, String surname) {
+        return database.from(SalespersonRow.class)
+            .where(SalespersonRow::surname).isEqualTo(surname)
+            .cached(Duration.ofMinutes(5), 100)
+            .list();
+    }
+
+    private void selectJoined(Database database) {
+        database.from(SalespersonRow.class, "p")
+            .join(SaleRow.class, "s").on(SaleRow::salespersonId).isEqualTo(SalespersonRow::salespersonId)
+            .cached(Duration.ofMinutes(5), 100)
+            .list();
+    }
+
+    private void selectWithSubquery(Database database) {
+        database.from(SalespersonRow.class, "p")
+            .where(exists(database.from(SaleRow.class, "s")
+                .select(literal(1))
+                .where(SaleRow::salespersonId).isEqualTo(SalespersonRow::salespersonId)))
+            .cached(Duration.ofMinutes(5), 100)
+            .list();
+    }
+
+    private Database testDatabase() {
+        return Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .dialect(new AnsiDialect())
+            .build();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.model.SalespersonRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaPoolTest {
+    @Mock
+    private SqlExecutor primary;
+
+    @Mock
+    private SqlExecutor replica1;
+
+    @Mock
+    private SqlExecutor replica2;
+
+    @Test
+    void emptyPoolIsRejected() {
+        calling(() -> new ReplicaPool(Collections.emptyList(), ReplicaBalancing.ROUND_ROBIN))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("A replica pool requires at least one SQL executor."));
+    }
+
+    @Test
+    void roundRobinCyclesThroughReplicas() {
+        ReplicaPool sut = new ReplicaPool(Arrays.asList(replica1, replica2), ReplicaBalancing.ROUND_ROBIN);
+
+        SqlExecutor first = sut.query(e -> e);
+        SqlExecutor second = sut.query(e -> e);
+        SqlExecutor third = sut.query(e -> e);
+
+        assertThat(first, sameInstance(replica1));
+        assertThat(second, sameInstance(replica2));
+        assertThat(third, sameInstance(replica1));
+    }
+
+    @Test
+    void leastOutstandingAvoidsBusyReplica() {
+        ReplicaPool sut = new ReplicaPool(Arrays.asList(replica1, replica2), ReplicaBalancing.LEAST_OUTSTANDING_REQUESTS);
+        Stream<Object> open = sut.stream(e -> Stream.of(e));
+
+        SqlExecutor first = sut.query(e -> e);
+        SqlExecutor second = sut.query(e -> e);
+
+        assertThat(open.findFirst().orElse(null), sameInstance(replica1));
+        assertThat(first, sameInstance(replica2));
+        assertThat(second, sameInstance(replica2));
+    }
+
+    @Test
+    void closingStreamReleasesReplica() {
+        ReplicaPool sut = new ReplicaPool(Collections.singletonList(replica1), ReplicaBalancing.LEAST_OUTSTANDING_REQUESTS);
+
+        Stream<Object> stream = sut.stream(e -> Stream.of(e));
+        int whileOpen = sut.outstanding(replica1);
+        stream.close();
+
+        assertThat(whileOpen, is(1));
+        assertThat(sut.outstanding(replica1), is(0));
+    }
+
+    @Test
+    void selectGoesToReplica() {
+        Database database = replicatedDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(replica1.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+
+        Object result = database.from(SalespersonRow.class).list();
+
+        assertThat(result, is(Collections.singletonList(salesperson)));
+        verifyZeroInteractions(primary);
+    }
+
+    @Test
+    void keepLocksStaysOnPrimary() {
+        Database database = replicatedDatabase();
+        when(primary.query(any(), any(), any())).thenReturn(Collections.emptyList());
+
+        database.from(SalespersonRow.class).keepLocks(LockLevel.UPDATE).list();
+
+        verify(primary, times(1)).query(any(), any(), any());
+        verifyZeroInteractions(replica1);
+    }
+
+    @Test
+    void withIsolationStaysOnPrimary() {
+        Database database = replicatedDatabase();
+        when(primary.query(any(), any(), any())).thenReturn(Collections.emptyList());
+
+        database.from(SalespersonRow.class).withIsolation(IsolationLevel.SERIALIZABLE).list();
+
+        verify(primary, times(1)).query(any(), any(), any());
+        verifyZeroInteractions(replica1);
+    }
+
+    @Test
+    void readOnlyWithIsolationGoesToReplica() {
+        Database database = replicatedDatabase();
+        when(replica1.query(any(), any(), any())).thenReturn(Collections.emptyList());
+
+        database.from(SalespersonRow.class).withIsolation(IsolationLevel.UNCOMMITTED_READ).readOnly().list();
+
+        verify(replica1, times(1)).query(any(), any(), any());
+        verifyZeroInteractions(primary);
+    }
+
+    @Test
+    void writesStayOnPrimary() {
+        Database database = replicatedDatabase();
+
+        database.update(IntegrationTest.aRandomSalesperson());
+
+        verify(primary, times(1)).update(any(), any());
+        verifyZeroInteractions(replica1);
+    }
+
+    @Test
+    void streamIsRoutedToReplica() {
+        Database database = replicatedDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(replica1.<SalespersonRow>stream(any(), any(), any())).thenReturn(Stream.of(salesperson));
+
+        try (Stream<SalespersonRow> stream = database.from(SalespersonRow.class).stream()) {
+            assertThat(stream.collect(toList()), contains(salesperson));
+        }
+        assertThat(database.replicas().map(r -> r.outstanding(replica1)).orElse(-1), is(0));
+        verifyZeroInteractions(primary);
+    }
+
+    private Database replicatedDatabase() {
+        return Database.newBuilder()
+            .defaultSqlExecutor(primary)
+            .readReplica(replica1)
+            .dialect(new AnsiDialect())
+            .build();
+    }
+}
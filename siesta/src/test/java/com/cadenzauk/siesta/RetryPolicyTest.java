@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import com.cadenzauk.core.sql.exception.DuplicateKeyException;
+import com.cadenzauk.core.sql.exception.LockingException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class RetryPolicyTest {
+    @Test
+    void successIsNotRetried() {
+        RetryPolicy sut = fastPolicy().build();
+
+        String result = sut.execute(() -> "Fred");
+
+        assertThat(result, is("Fred"));
+        assertThat(sut.stats().attempts(), is(1L));
+        assertThat(sut.stats().retries(), is(0L));
+    }
+
+    @Test
+    void lockingFailureIsRetried() {
+        RetryPolicy sut = fastPolicy().build();
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = sut.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw lockingException();
+            }
+            return "Barney";
+        });
+
+        assertThat(result, is("Barney"));
+        assertThat(calls.get(), is(3));
+        assertThat(sut.stats().attempts(), is(3L));
+        assertThat(sut.stats().retries(), is(2L));
+        assertThat(sut.stats().exhausted(), is(0L));
+    }
+
+    @Test
+    void nonRetryableFailureIsThrownImmediately() {
+        RetryPolicy sut = fastPolicy().build();
+        AtomicInteger calls = new AtomicInteger();
+
+        calling(() -> sut.execute(() -> {
+            calls.incrementAndGet();
+            throw new DuplicateKeyException("insert", new SQLException("Duplicate", "23505"));
+        }))
+            .shouldThrow(DuplicateKeyException.class);
+
+        assertThat(calls.get(), is(1));
+        assertThat(sut.stats().retries(), is(0L));
+    }
+
+    @Test
+    void additionalExceptionsCanBeRetried() {
+        RetryPolicy sut = fastPolicy()
+            .retryOn(DuplicateKeyException.class)
+            .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = sut.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new DuplicateKeyException("insert", new SQLException("Duplicate", "23505"));
+            }
+            return "Wilma";
+        });
+
+        assertThat(result, is("Wilma"));
+        assertThat(sut.stats().retries(), is(1L));
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        RetryPolicy sut = fastPolicy()
+            .maxAttempts(2)
+            .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        calling(() -> sut.execute(() -> {
+            calls.incrementAndGet();
+            throw lockingException();
+        }))
+            .shouldThrow(LockingException.class);
+
+        assertThat(calls.get(), is(2));
+        assertThat(sut.stats().retries(), is(1L));
+        assertThat(sut.stats().exhausted(), is(1L));
+    }
+
+    @Test
+    void retriesStopWhenBudgetIsSpent() {
+        RetryPolicy sut = fastPolicy()
+            .maxAttempts(10)
+            .retryBudget(2)
+            .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        calling(() -> sut.execute(() -> {
+            calls.incrementAndGet();
+            throw lockingException();
+        }))
+            .shouldThrow(LockingException.class);
+
+        assertThat(calls.get(), is(3));
+        assertThat(sut.stats().retries(), is(2L));
+        assertThat(sut.stats().budgetExhausted(), is(1L));
+    }
+
+    @Test
+    void successRefillsBudget() {
+        RetryPolicy sut = fastPolicy()
+            .retryBudget(1)
+            .budgetRefill(1)
+            .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            sut.execute(() -> {
+                if (calls.incrementAndGet() % 2 == 1) {
+                    throw lockingException();
+                }
+                return "Betty";
+            });
+        }
+
+        assertThat(sut.stats().retries(), is(3L));
+        assertThat(sut.stats().budgetExhausted(), is(0L));
+    }
+
+    @Test
+    void backoffIsJitteredBelowExponentialCeiling() {
+        RetryPolicy sut = RetryPolicy.newBuilder()
+            .initialBackoff(Duration.ofMillis(10))
+            .maxBackoff(Duration.ofMillis(50))
+            .build();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(sut.backoffMillis(1), lessThanOrEqualTo(10L));
+            assertThat(sut.backoffMillis(2), lessThanOrEqualTo(20L));
+            assertThat(sut.backoffMillis(10), lessThanOrEqualTo(50L));
+            assertThat(sut.backoffMillis(10), greaterThanOrEqualTo(0L));
+        }
+    }
+
+    @Test
+    void maxAttemptsMustBePositive() {
+        calling(() -> RetryPolicy.newBuilder().maxAttempts(0))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("At least one attempt is required."));
+    }
+
+    private static RetryPolicy.Builder fastPolicy() {
+        return RetryPolicy.newBuilder()
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(2));
+    }
+
+    private static LockingException lockingException() {
+        return new LockingException("update", new SQLException("Deadlock", "40001"));
+    }
+}
@@ -22,6 +22,8 @@
 
 package com.cadenzauk.siesta;
 
+import com.cadenzauk.core.junit.TestCase;
+import com.cadenzauk.core.junit.TestCaseArgumentsProvider;
 import com.cadenzauk.core.sql.RowMapper;
 import com.cadenzauk.siesta.grammar.expression.SequenceExpression;
 import com.cadenzauk.siesta.grammar.select.InProjectionExpectingComma1;
@@ -31,17 +33,30 @@ import com.google.common.reflect.TypeToken;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
 
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,9 +73,15 @@ class SequenceTest {
     @Mock
     private InProjectionExpectingComma1<Integer> select;
 
+    @Mock
+    private Transaction transaction;
+
     @Mock
     private ResultSet resultSet;
 
+    @Captor
+    private ArgumentCaptor<Object[]> argsCaptor;
+
     @Test
     void nextVal() {
         when(database.dialect()).thenReturn(dialect);
@@ -84,6 +105,48 @@ class SequenceTest {
         assertThat(single, is(501));
     }
 
+    @Test
+    void nextFetchesAllValuesInOneQuery() {
+        when(database.dialect()).thenReturn(dialect);
+        when(database.getDefaultSqlExecutor()).thenReturn(sqlExecutor);
+        when(database.execute(any(), any(), any())).thenAnswer(i -> i.<Supplier<?>>getArgument(2).get());
+        when(dialect.nextValuesFromSequence("TOM", "MYSCHEMA", "TEST_SEQ")).thenReturn("select next values from TEST_SEQ");
+        when(sqlExecutor.query(eq("select next values from TEST_SEQ"), argsCaptor.capture(), any())).thenReturn(Arrays.asList(7, 8, 9));
+        Sequence<Integer> sut = createSut();
+
+        List<Integer> result = sut.next(3);
+
+        assertThat(result, contains(7, 8, 9));
+        assertThat(argsCaptor.getValue(), arrayContaining(3));
+    }
+
+    @Test
+    void nextBuildsSqlOnce() {
+        when(database.dialect()).thenReturn(dialect);
+        when(database.execute(any(), any(), any())).thenAnswer(i -> i.<Supplier<?>>getArgument(2).get());
+        when(dialect.nextValuesFromSequence("TOM", "MYSCHEMA", "TEST_SEQ")).thenReturn("select next values from TEST_SEQ");
+        when(transaction.query(eq("select next values from TEST_SEQ"), any(), any())).thenReturn(Arrays.asList(1, 2));
+        Sequence<Integer> sut = createSut();
+
+        sut.next(transaction, 2);
+        sut.next(transaction, 2);
+
+        verify(dialect, times(1)).nextValuesFromSequence("TOM", "MYSCHEMA", "TEST_SEQ");
+        verify(transaction, times(2)).query(eq("select next values from TEST_SEQ"), any(), any());
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(TestCaseArgumentsProvider.class)
+    @TestCase({"0"})
+    @TestCase({"-5"})
+    void nextRequiresPositiveCount(int n) {
+        Sequence<Integer> sut = createSut();
+
+        calling(() -> sut.next(sqlExecutor, n))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Number of values must be positive but was " + n));
+    }
+
     @Test
     void type() {
         Sequence<Integer> sut = createSut();
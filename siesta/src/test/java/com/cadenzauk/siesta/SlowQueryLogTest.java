@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta;
+
+import com.cadenzauk.core.junit.TestCase;
+import com.cadenzauk.core.junit.TestCaseArgumentsProvider;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class SlowQueryLogTest {
+    @ParameterizedTest
+    @ArgumentsSource(TestCaseArgumentsProvider.class)
+    @TestCase({"select * from T", "SELECT"})
+    @TestCase({"  with x as (select 1 from T) select * from x", "SELECT"})
+    @TestCase({"/*+ IndexScan(t ix) */ select * from T t", "SELECT"})
+    @TestCase({"(select 1 from T) union (select 2 from T)", "SELECT"})
+    @TestCase({"INSERT into T values (?)", "INSERT"})
+    @TestCase({"update T set A = ?", "UPDATE"})
+    @TestCase({"delete from T", "DELETE"})
+    @TestCase({"merge into T using S on 1=1", "MERGE"})
+    @TestCase({"set lock_timeout 100", "OTHER"})
+    @TestCase({"", "OTHER"})
+    void statementTypeOf(String sql, StatementType expected) {
+        assertThat(StatementType.of(sql), is(expected));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(TestCaseArgumentsProvider.class)
+    @TestCase({"select *   from T\n where A = ?", "select * from T where A = ?"})
+    @TestCase({"select * from T where A in (?, ?,?)", "select * from T where A in (?, ...)"})
+    @TestCase({"select * from T where A = 'it''s' and B = 12.5", "select * from T where A = ? and B = ?"})
+    @TestCase({"select T1.A from T1 fetch first 10 rows only", "select T1.A from T1 fetch first ? rows only"})
+    void fingerprint(String sql, String expected) {
+        assertThat(SlowQueryLog.fingerprint(sql), is(expected));
+    }
+
+    @Test
+    void statementsFasterThanThresholdAreNotRecorded() {
+        SlowQueryLog sut = SlowQueryLog.newBuilder().threshold(Duration.ofMillis(100)).build();
+
+        sut.record("select * from T", new Object[0], TimeUnit.MILLISECONDS.toNanos(99));
+
+        assertThat(sut.slowest(), empty());
+        assertThat(sut.logged(), is(0L));
+    }
+
+    @Test
+    void thresholdCanBeSetPerStatementType() {
+        SlowQueryLog sut = SlowQueryLog.newBuilder()
+            .threshold(Duration.ofMillis(100))
+            .threshold(StatementType.INSERT, Duration.ofMillis(10))
+            .build();
+
+        sut.record("select * from T", new Object[0], TimeUnit.MILLISECONDS.toNanos(50));
+        sut.record("insert into T values (?)", new Object[]{1}, TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertThat(sut.threshold(StatementType.SELECT), is(Duration.ofMillis(100)));
+        assertThat(sut.threshold(StatementType.INSERT), is(Duration.ofMillis(10)));
+        assertThat(sut.slowest(), hasSize(1));
+        assertThat(sut.slowest().get(0).statementType(), is(StatementType.INSERT));
+    }
+
+    @Test
+    void slowestIsOrderedByMaxTimeAndLimitedToTopN() {
+        SlowQueryLog sut = SlowQueryLog.newBuilder().threshold(Duration.ZERO).topN(2).build();
+
+        sut.record("select * from A where X = 1", new Object[0], 300);
+        sut.record("select * from B", new Object[0], 100);
+        sut.record("select * from A where X = 2", new Object[0], 500);
+        sut.record("select * from C", new Object[0], 400);
+
+        List<SlowQuery> result = sut.slowest();
+
+        assertThat(result, hasSize(2));
+        assertThat(result.get(0).fingerprint(), is("select * from A where X = ?"));
+        assertThat(result.get(0).count(), is(2L));
+        assertThat(result.get(0).totalTime(), is(Duration.ofNanos(800)));
+        assertThat(result.get(0).maxTime(), is(Duration.ofNanos(500)));
+        assertThat(result.get(0).meanTime(), is(Duration.ofNanos(400)));
+        assertThat(result.get(1).fingerprint(), is("select * from C"));
+    }
+
+    @Test
+    void fastestFingerprintIsEvictedWhenFull() {
+        SlowQueryLog sut = SlowQueryLog.newBuilder().threshold(Duration.ZERO).maxFingerprints(2).build();
+
+        sut.record("select * from A", new Object[0], 300);
+        sut.record("select * from B", new Object[0], 100);
+        sut.record("select * from C", new Object[0], 200);
+
+        assertThat(sut.slowest(5).stream().map(SlowQuery::fingerprint).toArray(), is(new Object[]{"select * from A", "select * from C"}));
+    }
+
+    @Test
+    void samplingRateOfZeroSuppressesLogging() {
+        SlowQueryLog sut = SlowQueryLog.newBuilder().threshold(Duration.ZERO).samplingRate(0).build();
+
+        sut.record("select * from T", new Object[0], 100);
+
+        assertThat(sut.logged(), is(0L));
+        assertThat(sut.suppressed(), is(1L));
+        assertThat(sut.slowest(), hasSize(1));
+    }
+
+    @Test
+    void logsAreRateLimited() {
+        SlowQueryLog sut = SlowQueryLog.newBuilder().threshold(Duration.ZERO).maxLogsPerSecond(2).build();
+
+        for (int i = 0; i < 5; i++) {
+            sut.record("select * from T", new Object[0], 100);
+        }
+
+        assertThat(sut.logged(), is(2L));
+        assertThat(sut.suppressed(), is(3L));
+    }
+
+    @Test
+    void messageIncludesTruncatedBindValues() {
+        SlowQueryLog sut = SlowQueryLog.newBuilder().maxBindLength(8).build();
+
+        String result = sut.message("update T set A = ?, B = ?, C = ?, D = ? where E = ?",
+            new Object[]{"abcdefghijkl", 12, null, new byte[3], "x"},
+            TimeUnit.MILLISECONDS.toNanos(1500),
+            Duration.ofSeconds(1));
+
+        assertThat(result, is("Slow UPDATE took 1500 ms (threshold 1000 ms): update T set A = ?, B = ?, C = ?, D = ? where E = ? " +
+            "['abcde...', 12, null, <3 bytes>, 'x']"));
+    }
+
+    @Test
+    void messageRedactsBindValuesOfMatchingStatements() {
+        SlowQueryLog sut = SlowQueryLog.newBuilder().redactBindValues(sql -> sql.contains("PASSWORD")).build();
+
+        String redacted = sut.message("update USERS set PASSWORD = ? where ID = ?", new Object[]{"secret", 1}, 0, Duration.ZERO);
+        String visible = sut.message("update USERS set NAME = ? where ID = ?", new Object[]{"Fred", 1}, 0, Duration.ZERO);
+
+        assertThat(redacted, is("Slow UPDATE took 0 ms (threshold 0 ms): update USERS set PASSWORD = ? where ID = ? [?, ?]"));
+        assertThat(visible, is("Slow UPDATE took 0 ms (threshold 0 ms): update USERS set NAME = ? where ID = ? ['Fred', 1]"));
+    }
+
+    @Test
+    void databaseExecuteIsTimed() {
+        Database database = Database.newBuilder()
+            .slowQueryLog(SlowQueryLog.newBuilder().threshold(Duration.ZERO).samplingRate(0).build())
+            .build();
+
+        String result = database.execute("select A from T where B = ?", new Object[]{1}, () -> "Fred");
+
+        assertThat(result, is("Fred"));
+        assertThat(database.slowQueryLog().map(SlowQueryLog::slowest).map(l -> l.get(0).fingerprint()).orElse(""),
+            is("select A from T where B = ?"));
+    }
+
+    @Test
+    void databaseExecuteAsyncIsTimedUntilCompletion() {
+        Database database = Database.newBuilder()
+            .slowQueryLog(SlowQueryLog.newBuilder().threshold(Duration.ofMillis(50)).samplingRate(0).build())
+            .build();
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        CompletableFuture<String> result = database.executeAsync("select A from T where B = ?", new Object[]{1}, () -> future);
+        List<SlowQuery> beforeCompletion = database.slowQueryLog().map(SlowQueryLog::slowest).orElse(ImmutableList.of());
+        Uninterruptibles.sleepUninterruptibly(60, TimeUnit.MILLISECONDS);
+        future.complete("Fred");
+
+        assertThat(result.join(), is("Fred"));
+        assertThat(beforeCompletion, empty());
+        assertThat(database.slowQueryLog().map(SlowQueryLog::slowest).map(l -> l.get(0).fingerprint()).orElse(""),
+            is("select A from T where B = ?"));
+    }
+
+    @Test
+    void databaseExecuteAsyncTimesFailedStatements() {
+        Database database = Database.newBuilder()
+            .slowQueryLog(SlowQueryLog.newBuilder().threshold(Duration.ZERO).samplingRate(0).build())
+            .build();
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        database.executeAsync("select A from T", new Object[0], () -> future);
+        future.completeExceptionally(new IllegalStateException());
+
+        assertThat(database.slowQueryLog().map(SlowQueryLog::slowest).map(List::size).orElse(0), is(1));
+    }
+
+    @Test
+    void invalidSamplingRate() {
+        calling(() -> SlowQueryLog.newBuilder().samplingRate(1.5))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Sampling rate must be between 0 and 1 but was 1.5"));
+    }
+
+    @Test
+    void invalidMaxBindLength() {
+        calling(() -> SlowQueryLog.newBuilder().maxBindLength(3))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Maximum bind length must be at least 4 but was 3"));
+    }
+
+    @Test
+    void invalidTopN() {
+        calling(() -> SlowQueryLog.newBuilder().topN(0))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Top N must be positive but was 0"));
+    }
+}
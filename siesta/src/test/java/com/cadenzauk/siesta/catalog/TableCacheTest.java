@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.catalog;
+
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.IntegrationTest;
+import com.cadenzauk.siesta.SqlExecutor;
+import com.cadenzauk.siesta.Transaction;
+import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.model.SalespersonRow;
+import com.google.common.cache.CacheStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TableCacheTest {
+    @Mock
+    private SqlExecutor sqlExecutor;
+
+    @Mock
+    private Transaction transaction;
+
+    @Captor
+    private ArgumentCaptor<Runnable> commitActionCaptor;
+
+    @Captor
+    private ArgumentCaptor<String> sqlCaptor;
+
+    @Captor
+    private ArgumentCaptor<Object[]> argsCaptor;
+
+    @Test
+    void getRecordsHitsAndMisses() {
+        TableCache<String> sut = TableCache.newBuilder().build();
+        sut.put(Collections.singletonList(1L), "One");
+
+        Optional<String> hit = sut.get(Collections.singletonList(1L));
+        Optional<String> miss = sut.get(Collections.singletonList(2L));
+
+        CacheStats stats = sut.stats();
+        assertThat(hit, is(Optional.of("One")));
+        assertThat(miss, is(Optional.empty()));
+        assertThat(stats.hitCount(), is(1L));
+        assertThat(stats.missCount(), is(1L));
+    }
+
+    @Test
+    void maximumSizeEvicts() {
+        TableCache<String> sut = TableCache.newBuilder()
+            .maximumSize(1)
+            .build();
+
+        sut.put(Collections.singletonList(1L), "One");
+        sut.put(Collections.singletonList(2L), "Two");
+
+        assertThat(sut.size(), is(1L));
+    }
+
+    @Test
+    void expireAfterWriteEvicts() throws InterruptedException {
+        TableCache<String> sut = TableCache.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(1))
+            .build();
+
+        sut.put(Collections.singletonList(1L), "One");
+        Thread.sleep(5);
+
+        assertThat(sut.get(Collections.singletonList(1L)), is(Optional.empty()));
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        TableCache<String> sut = TableCache.newBuilder().build();
+        sut.put(Collections.singletonList(1L), "One");
+
+        sut.invalidate(Collections.singletonList(1L));
+
+        assertThat(sut.get(Collections.singletonList(1L)), is(Optional.empty()));
+    }
+
+    @Test
+    void findByIdOnlyQueriesOnce() {
+        Database database = cachedDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(sqlCaptor.capture(), argsCaptor.capture(), any())).thenReturn(Collections.singletonList(salesperson));
+
+        Optional<SalespersonRow> first = database.findById(SalespersonRow.class, salesperson.salespersonId());
+        Optional<SalespersonRow> second = database.findById(SalespersonRow.class, salesperson.salespersonId());
+
+        verify(sqlExecutor, times(1)).query(any(), any(), any());
+        assertThat(first, is(Optional.of(salesperson)));
+        assertThat(second, is(Optional.of(salesperson)));
+        assertThat(sqlCaptor.getValue(), is("select SALESPERSON.SALESPERSON_ID as SALESPERSON_SALESPERSON_ID, " +
+            "SALESPERSON.FIRST_NAME as SALESPERSON_FIRST_NAME, " +
+            "SALESPERSON.MIDDLE_NAMES as SALESPERSON_MIDDLE_NAMES, " +
+            "SALESPERSON.SURNAME as SALESPERSON_SURNAME, " +
+            "SALESPERSON.NUMBER_OF_SALES as SALESPERSON_NUMBER_OF_SALES, " +
+            "SALESPERSON.COMMISSION as SALESPERSON_COMMISSION " +
+            "from SIESTA.SALESPERSON SALESPERSON " +
+            "where SALESPERSON.SALESPERSON_ID in (?)"));
+        assertThat(database.table(SalespersonRow.class).cache().map(c -> c.stats().hitCount()), is(Optional.of(1L)));
+    }
+
+    @Test
+    void findByIdsOnlyQueriesMisses() {
+        Database database = cachedDatabase();
+        SalespersonRow salesperson1 = IntegrationTest.aRandomSalesperson();
+        SalespersonRow salesperson2 = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(sqlCaptor.capture(), argsCaptor.capture(), any()))
+            .thenReturn(Collections.singletonList(salesperson1), Collections.singletonList(salesperson2));
+        database.findById(SalespersonRow.class, salesperson1.salespersonId());
+
+        List<SalespersonRow> result = database.findByIds(SalespersonRow.class, Arrays.asList(salesperson1.salespersonId(), salesperson2.salespersonId()));
+
+        assertThat(result, contains(salesperson1, salesperson2));
+        assertThat(argsCaptor.getAllValues().get(1), arrayContaining(salesperson2.salespersonId()));
+    }
+
+    @Test
+    void updateInvalidatesCachedRow() {
+        Database database = cachedDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+        database.findById(SalespersonRow.class, salesperson.salespersonId());
+
+        database.update(salesperson);
+        database.findById(SalespersonRow.class, salesperson.salespersonId());
+
+        verify(sqlExecutor, times(2)).query(any(), any(), any());
+    }
+
+    @Test
+    void updateInvalidatesRowCachedWhileStatementRuns() {
+        Database database = cachedDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+        when(sqlExecutor.update(any(), any())).thenAnswer(invocation -> {
+            database.findById(SalespersonRow.class, salesperson.salespersonId());
+            return 1;
+        });
+
+        database.update(salesperson);
+
+        assertThat(database.table(SalespersonRow.class).cache().map(TableCache::size), is(Optional.of(0L)));
+    }
+
+    @Test
+    void updateInTransactionInvalidatesAgainOnCommit() {
+        Database database = cachedDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+        database.update(transaction, salesperson);
+        verify(transaction).onCommit(commitActionCaptor.capture());
+        database.findById(SalespersonRow.class, salesperson.salespersonId());
+
+        commitActionCaptor.getValue().run();
+
+        assertThat(database.table(SalespersonRow.class).cache().map(TableCache::size), is(Optional.of(0L)));
+    }
+
+    @Test
+    void findByIdInTransactionDoesNotUseCache() {
+        Database database = cachedDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(transaction.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+
+        Optional<SalespersonRow> first = database.findById(transaction, SalespersonRow.class, salesperson.salespersonId());
+        Optional<SalespersonRow> second = database.findById(transaction, SalespersonRow.class, salesperson.salespersonId());
+
+        verify(transaction, times(2)).query(any(), any(), any());
+        assertThat(first, is(Optional.of(salesperson)));
+        assertThat(second, is(Optional.of(salesperson)));
+        assertThat(database.table(SalespersonRow.class).cache().map(TableCache::size), is(Optional.of(0L)));
+    }
+
+    @Test
+    void deleteStatementInvalidatesWholeCache() {
+        Database database = cachedDatabase();
+        SalespersonRow salesperson = IntegrationTest.aRandomSalesperson();
+        when(sqlExecutor.<SalespersonRow>query(any(), any(), any())).thenReturn(Collections.singletonList(salesperson));
+        database.findById(SalespersonRow.class, salesperson.salespersonId());
+
+        database.delete(SalespersonRow.class)
+            .where(SalespersonRow::surname).isEqualTo("Smith")
+            .execute();
+
+        assertThat(database.table(SalespersonRow.class).cache().map(TableCache::size), is(Optional.of(0L)));
+    }
+
+    private Database cachedDatabase() {
+        return Database.newBuilder()
+            .defaultSqlExecutor(sqlExecutor)
+            .dialect(new AnsiDialect())
+            .table(SalespersonRow.class, t -> t.cache(c -> c.maximumSize(100).expireAfterWrite(Duration.ofMinutes(5))))
+            .build();
+    }
+}
@@ -33,7 +33,9 @@ import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
 import javax.sql.DataSource;
 
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static com.cadenzauk.siesta.IntegrationTest.aRandomSalesperson;
+import static org.hamcrest.Matchers.is;
 
 class SchemaGeneratorTest {
     @Test
@@ -49,10 +51,34 @@ class SchemaGeneratorTest {
         database.insert(salespersonRow);
     }
 
+    @Test
+    void generateInParallel() {
+        Database database = TestDatabase.testDatabaseBuilder()
+            .defaultSqlExecutor(JdbcSqlExecutor.of(dataSource("SIESTADB_PARALLEL")))
+            .dialect(new H2Dialect())
+            .build();
+        SchemaGenerator schemaGenerator = new SchemaGenerator(true, 4);
+        schemaGenerator.generate(database, TestSchema::schemaDefinition);
+        schemaGenerator.generate(database, TestSchema::schemaDefinition);
+        SalespersonRow salespersonRow = aRandomSalesperson();
+        database.insert(salespersonRow);
+    }
+
+    @Test
+    void parallelismMustBePositive() {
+        calling(() -> new SchemaGenerator(false, 0))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Parallelism must be at least 1."));
+    }
+
     private DataSource dataSource() {
+        return dataSource("SIESTADB");
+    }
+
+    private DataSource dataSource(String name) {
         EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder();
         return builder
-            .setName("SIESTADB;LOCK_TIMEOUT=100")
+            .setName(name + ";LOCK_TIMEOUT=100")
             .setType(EmbeddedDatabaseType.H2)
             .addScript("classpath:/create-test-schema.ddl")
             .build();
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.ddl.action;
+
+import com.cadenzauk.siesta.Database;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+@ExtendWith(MockitoExtension.class)
+class ActionPipelineTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final List<String> completed = new CopyOnWriteArrayList<>();
+
+    @Mock
+    private Database database;
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sequentialProcessingKeepsOrder() {
+        ActionPipeline sut = pipeline();
+
+        List<Action> result = sut.process(database, Stream.of(new TestAction("a"), new TestAction("b"))).collect(toList());
+
+        assertThat(result.stream().map(Object::toString).collect(toList()), contains("a", "b"));
+        assertThat(completed, contains("a", "b"));
+    }
+
+    @Test
+    void dependentActionWaitsForProvider() throws InterruptedException {
+        ActionPipeline sut = pipeline();
+        CountDownLatch tableStarted = new CountDownLatch(1);
+        CountDownLatch releaseTable = new CountDownLatch(1);
+        TestAction table = new TestAction("table").provides("T").signal(tableStarted).waitFor(releaseTable);
+        TestAction index = new TestAction("index").requires("T");
+
+        CompletableFuture<List<Action>> result = CompletableFuture.supplyAsync(() -> sut.process(database, ImmutableList.of(table, index), executor).collect(toList()));
+        assertThat(tableStarted.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(completed.isEmpty(), is(true));
+        releaseTable.countDown();
+
+        assertThat(result.join(), contains(table, index));
+        assertThat(completed, contains("table", "index"));
+    }
+
+    @Test
+    void independentActionsRunConcurrently() {
+        ActionPipeline sut = pipeline();
+        CountDownLatch latch = new CountDownLatch(2);
+        TestAction first = new TestAction("first").await(latch);
+        TestAction second = new TestAction("second").await(latch);
+
+        List<Action> result = sut.process(database, ImmutableList.of(first, second), executor).collect(toList());
+
+        assertThat(result, contains(first, second));
+        assertThat(latch.getCount(), is(0L));
+    }
+
+    @Test
+    void failureIsRethrown() {
+        ActionPipeline sut = pipeline();
+        TestAction failing = new TestAction("failing").provides("T").failing();
+        TestAction dependent = new TestAction("dependent").requires("T");
+
+        calling(() -> sut.process(database, ImmutableList.of(failing, dependent), executor))
+            .shouldThrow(IllegalStateException.class)
+            .withMessage(is("failing failed"));
+        assertThat(completed.isEmpty(), is(true));
+    }
+
+    @Test
+    void failureWaitsForRunningActions() {
+        ActionPipeline sut = pipeline();
+        CountDownLatch runningStarted = new CountDownLatch(1);
+        CountDownLatch failingStarted = new CountDownLatch(1);
+        TestAction running = new TestAction("running").signal(runningStarted).waitFor(failingStarted);
+        TestAction failing = new TestAction("failing").signal(failingStarted).waitFor(runningStarted).failing();
+
+        calling(() -> sut.process(database, ImmutableList.of(running, failing), executor))
+            .shouldThrow(IllegalStateException.class)
+            .withMessage(is("failing failed"));
+        assertThat(completed, contains("running"));
+    }
+
+    @Test
+    void failureCancelsPendingActions() {
+        ActionPipeline sut = pipeline();
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            TestAction failing = new TestAction("failing").failing();
+            TestAction pending = new TestAction("pending");
+
+            calling(() -> sut.process(database, ImmutableList.of(failing, pending), singleThread))
+                .shouldThrow(IllegalStateException.class)
+                .withMessage(is("failing failed"));
+            assertThat(completed.isEmpty(), is(true));
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    private ActionPipeline pipeline() {
+        ActionPipeline pipeline = new ActionPipeline();
+        pipeline.addInterceptor(new TestInterceptor());
+        return pipeline;
+    }
+
+    private class TestInterceptor extends ActionInterceptor<TestAction> {
+        @Override
+        public int priority() {
+            return Priority.EXECUTION;
+        }
+
+        @Override
+        public TypeToken<TestAction> supportedType() {
+            return TypeToken.of(TestAction.class);
+        }
+
+        @Override
+        public Stream<Action> intercept(Database database, TestAction action) {
+            action.run();
+            completed.add(action.name);
+            return Stream.of(action);
+        }
+    }
+
+    private static class TestAction extends Action {
+        private final String name;
+        private List<String> provides = ImmutableList.of();
+        private List<String> requires = ImmutableList.of();
+        private CountDownLatch signal;
+        private CountDownLatch waitFor;
+        private CountDownLatch latch;
+        private boolean failing;
+
+        private TestAction(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Stream<String> provides(Database database) {
+            return provides.stream();
+        }
+
+        @Override
+        public Stream<String> requires(Database database) {
+            return requires.stream();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+        private TestAction provides(String key) {
+            provides = ImmutableList.of(key);
+            return this;
+        }
+
+        private TestAction requires(String key) {
+            requires = ImmutableList.of(key);
+            return this;
+        }
+
+        private TestAction signal(CountDownLatch val) {
+            signal = val;
+            return this;
+        }
+
+        private TestAction waitFor(CountDownLatch val) {
+            waitFor = val;
+            return this;
+        }
+
+        private TestAction await(CountDownLatch val) {
+            latch = val;
+            return this;
+        }
+
+        private TestAction failing() {
+            failing = true;
+            return this;
+        }
+
+        private void run() {
+            try {
+                if (signal != null) {
+                    signal.countDown();
+                }
+                if (waitFor != null && !waitFor.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException(name + " timed out waiting for a signal");
+                }
+                if (latch != null) {
+                    latch.countDown();
+                    if (!latch.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException(name + " timed out waiting for a concurrent action");
+                    }
+                }
+                if (failing) {
+                    throw new IllegalStateException(name + " failed");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class CsvRowReaderTest {
+    @Test
+    void emptyInputReadsNothing() throws IOException {
+        CsvRowReader sut = new CsvRowReader(ImmutableList.<Object[]>of().iterator(), Arrays::toString);
+
+        assertThat(sut.read(new char[10], 0, 10), is(-1));
+    }
+
+    @Test
+    void nullIsUnquotedEmptyField() throws IOException {
+        String result = csvOf(new Object[]{null, 1, null});
+
+        assertThat(result, is(",1,\n"));
+    }
+
+    @Test
+    void stringsAreAlwaysQuoted() throws IOException {
+        String result = csvOf(new Object[]{"", "abc", "say \"hi\""});
+
+        assertThat(result, is("\"\",\"abc\",\"say \"\"hi\"\"\"\n"));
+    }
+
+    @Test
+    void bigDecimalIsPlain() throws IOException {
+        String result = csvOf(new Object[]{new BigDecimal("1E+3"), LocalDate.of(2017, 3, 4)});
+
+        assertThat(result, is("1000,2017-03-04\n"));
+    }
+
+    @Test
+    void binaryUsesFormatter() throws IOException {
+        String result = csvOf(new Object[]{new byte[]{1, 2}});
+
+        assertThat(result, is("[1, 2]\n"));
+    }
+
+    @Test
+    void streamsAndLobsAreReadIntoFields() throws IOException, SQLException {
+        String result = csvOf(new Object[]{
+            new ByteArrayInputStream(new byte[]{3}),
+            new SerialBlob(new byte[]{4, 5}),
+            new StringReader("a,b"),
+            new SerialClob("c\"d".toCharArray())});
+
+        assertThat(result, is("[3],[4, 5],\"a,b\",\"c\"\"d\"\n"));
+    }
+
+    @Test
+    void localDateTimeUsesSpaceSeparator() throws IOException {
+        String result = csvOf(new Object[]{LocalDateTime.of(2017, 3, 4, 10, 15, 30)});
+
+        assertThat(result, is("2017-03-04 10:15:30\n"));
+    }
+
+    @Test
+    void unsupportedTypeThrows() {
+        CsvRowReader sut = new CsvRowReader(ImmutableList.<Object[]>of(new Object[]{new Object()}).iterator(), Arrays::toString);
+
+        calling(() -> sut.read(new char[10], 0, 10))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Values of type java.lang.Object cannot be written to a CSV bulk load."));
+    }
+
+    @Test
+    void rowsAreReadAcrossSmallBuffers() throws IOException {
+        CsvRowReader sut = new CsvRowReader(ImmutableList.of(new Object[]{1, "a"}, new Object[]{2, "b"}).iterator(), Arrays::toString);
+        char[] buffer = new char[3];
+        StringBuilder result = new StringBuilder();
+
+        int read;
+        while ((read = sut.read(buffer, 0, buffer.length)) != -1) {
+            result.append(buffer, 0, read);
+        }
+
+        assertThat(result.toString(), is("1,\"a\"\n2,\"b\"\n"));
+    }
+
+    private static String csvOf(Object[] row) throws IOException {
+        return CharStreams.toString(new CsvRowReader(ImmutableList.<Object[]>of(row).iterator(), Arrays::toString));
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class H2CsvBulkLoaderTest {
+    private static Stream<Arguments> parametersForIsEmbedded() {
+        return Stream.of(
+            arguments("jdbc:h2:mem:test", true),
+            arguments("jdbc:h2:~/test", true),
+            arguments("jdbc:h2:file:/data/test;AUTO_SERVER=TRUE", true),
+            arguments("jdbc:h2:tcp://localhost/~/test", false),
+            arguments("JDBC:H2:TCP://localhost/~/test", false),
+            arguments("jdbc:h2:ssl://localhost/~/test", false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parametersForIsEmbedded")
+    void isEmbedded(String url, boolean expected) {
+        assertThat(H2CsvBulkLoader.isEmbedded(url), is(expected));
+    }
+}
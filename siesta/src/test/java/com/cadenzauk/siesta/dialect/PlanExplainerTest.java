@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.dialect;
+
+import com.cadenzauk.siesta.QueryPlan;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+class PlanExplainerTest {
+    @Test
+    void h2IndexLookupAndTableScan() {
+        QueryPlan result = H2PlanExplainer.parse(String.join("\n",
+            "SELECT",
+            "    \"S\".\"SURNAME\"",
+            "FROM \"SIESTA\".\"SALE\" \"X\"",
+            "    /* SIESTA.SALE.tableScan */",
+            "INNER JOIN \"SIESTA\".\"SALESPERSON\" \"S\"",
+            "    /* SIESTA.PRIMARY_KEY_3: SALESPERSON_ID = X.SALESPERSON_ID */",
+            "    ON 1=1",
+            "WHERE (\"S\".\"FIRST_NAME\" = ?1)"));
+
+        assertThat(result.indexes(), contains("PRIMARY_KEY_3"));
+        assertThat(result.scannedTables(), contains("SALE"));
+    }
+
+    @Test
+    void h2OtherCommentsAreIgnored() {
+        QueryPlan result = H2PlanExplainer.parse("SELECT\n    1\nFROM SYSTEM_RANGE(1, 1)\n    /* range index */");
+
+        assertThat(result.indexes(), empty());
+        assertThat(result.hasTableScan(), is(false));
+    }
+
+    @Test
+    void hsqlFullScanAndIndexAccess() {
+        QueryPlan result = HSqlPlanExplainer.parse(String.join("\n",
+            "isDistinctSelect=[false]",
+            "[range variable 1",
+            "  join type=INNER",
+            "  table=SALESPERSON",
+            "  alias=S",
+            "  cardinality=0",
+            "  access=FULL SCAN",
+            "  join condition = [index=SYS_IDX_SYS_PK_10093_10094",
+            "  ]",
+            "  ][range variable 2",
+            "  join type=INNER",
+            "  table=SALE",
+            "  alias=X",
+            "  cardinality=0",
+            "  access=INDEX PRED",
+            "  join condition = [index=IX_SALE_SALESPERSON",
+            "  ]",
+            "  ]]"));
+
+        assertThat(result.scannedTables(), contains("SALESPERSON"));
+        assertThat(result.indexes(), contains("IX_SALE_SALESPERSON"));
+    }
+
+    @Test
+    void postgresIndexScanAndSeqScan() {
+        QueryPlan result = PostgresPlanExplainer.parse(String.join("\n",
+            "[",
+            "  {",
+            "    \"Plan\": {",
+            "      \"Node Type\": \"Nested Loop\",",
+            "      \"Plans\": [",
+            "        {",
+            "          \"Node Type\": \"Seq Scan\",",
+            "          \"Parent Relationship\": \"Outer\",",
+            "          \"Relation Name\": \"sale\",",
+            "          \"Alias\": \"x\"",
+            "        },",
+            "        {",
+            "          \"Node Type\": \"Index Scan\",",
+            "          \"Scan Direction\": \"Forward\",",
+            "          \"Index Name\": \"salesperson_pkey\",",
+            "          \"Relation Name\": \"salesperson\",",
+            "          \"Alias\": \"s\"",
+            "        }",
+            "      ]",
+            "    }",
+            "  }",
+            "]"));
+
+        assertThat(result.indexes(), contains("SALESPERSON_PKEY"));
+        assertThat(result.scannedTables(), contains("SALE"));
+    }
+
+    @Test
+    void oracleIndexAndFullTableAccess() {
+        QueryPlan result = OraclePlanExplainer.parse(String.join("\n",
+            "Plan hash value: 1234567890",
+            "",
+            "--------------------------------------------------------------------------------------------",
+            "| Id  | Operation                    | Name        | Rows  | Bytes | Cost (%CPU)| Time     |",
+            "--------------------------------------------------------------------------------------------",
+            "|   0 | SELECT STATEMENT             |             |     1 |    52 |     3   (0)| 00:00:01 |",
+            "|   1 |  NESTED LOOPS                |             |     1 |    52 |     3   (0)| 00:00:01 |",
+            "|*  2 |   TABLE ACCESS FULL          | SALE        |     1 |    26 |     2   (0)| 00:00:01 |",
+            "|   3 |   TABLE ACCESS BY INDEX ROWID| SALESPERSON |     1 |    26 |     1   (0)| 00:00:01 |",
+            "|*  4 |    INDEX UNIQUE SCAN         | SYS_C007146 |     1 |       |     0   (0)| 00:00:01 |",
+            "--------------------------------------------------------------------------------------------"));
+
+        assertThat(result.indexes(), contains("SYS_C007146"));
+        assertThat(result.scannedTables(), contains("SALE"));
+    }
+
+    @Test
+    void sqlServerSeekAndScan() {
+        QueryPlan result = SqlServerPlanExplainer.parse(String.join("\n",
+            "<ShowPlanXML><BatchSequence><Batch><Statements><StmtSimple><QueryPlan>",
+            "<RelOp NodeId=\"0\" PhysicalOp=\"Nested Loops\" LogicalOp=\"Inner Join\">",
+            "<OutputList><ColumnReference Database=\"[siesta]\" Schema=\"[dbo]\" Table=\"[SALESPERSON]\" Column=\"SURNAME\" /></OutputList>",
+            "<NestedLoops>",
+            "<RelOp NodeId=\"1\" PhysicalOp=\"Table Scan\" LogicalOp=\"Table Scan\">",
+            "<OutputList><ColumnReference Table=\"[SALE]\" Column=\"SALESPERSON_ID\" /></OutputList>",
+            "<TableScan><Object Database=\"[siesta]\" Schema=\"[dbo]\" Table=\"[SALE]\" IndexKind=\"Heap\" /></TableScan>",
+            "</RelOp>",
+            "<RelOp NodeId=\"2\" PhysicalOp=\"Clustered Index Seek\" LogicalOp=\"Clustered Index Seek\">",
+            "<IndexScan><Object Database=\"[siesta]\" Schema=\"[dbo]\" Table=\"[SALESPERSON]\" Index=\"[PK_SALESPERSON]\" IndexKind=\"Clustered\" /></IndexScan>",
+            "</RelOp>",
+            "</NestedLoops>",
+            "</RelOp>",
+            "</QueryPlan></StmtSimple></Statements></Batch></BatchSequence></ShowPlanXML>"));
+
+        assertThat(result.indexes(), contains("PK_SALESPERSON"));
+        assertThat(result.scannedTables(), contains("SALE"));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportFormatTest {
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    @Test
+    void emptyResultWritesNothing() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ExportFormat.CSV.exporter(Channels.newChannel(output)).finish();
+
+        assertThat(output.size(), is(0));
+    }
+
+    @Test
+    void csvWritesHeaderAndRows() throws SQLException {
+        givenColumns();
+        when(resultSet.getLong(1)).thenReturn(12L).thenReturn(0L);
+        when(resultSet.wasNull()).thenReturn(false).thenReturn(true);
+        when(resultSet.getString(2)).thenReturn("say \"hi\", Fred").thenReturn(null);
+        when(resultSet.getBigDecimal(3)).thenReturn(new BigDecimal("1E+2")).thenReturn(null);
+        when(resultSet.getBytes(4)).thenReturn(new byte[]{1, (byte) 0xab}).thenReturn(null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ResultSetExporter sut = ExportFormat.CSV.exporter(Channels.newChannel(output));
+        sut.mapRow(resultSet);
+        sut.mapRow(resultSet);
+        sut.finish();
+
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8), is(
+            "\"ID\",\"NAME\",\"PRICE\",\"DATA\"\n" +
+                "12,\"say \"\"hi\"\", Fred\",100,01ab\n" +
+                ",,,\n"));
+    }
+
+    @Test
+    void columnarWritesRowGroupsByColumn() throws SQLException {
+        givenColumns();
+        when(resultSet.getLong(1)).thenReturn(12L);
+        when(resultSet.wasNull()).thenReturn(false);
+        when(resultSet.getString(2)).thenReturn(null);
+        when(resultSet.getBigDecimal(3)).thenReturn(new BigDecimal("1.5"));
+        when(resultSet.getBytes(4)).thenReturn(new byte[]{7});
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ResultSetExporter sut = ExportFormat.COLUMNAR.exporter(Channels.newChannel(output));
+        sut.mapRow(resultSet);
+        sut.finish();
+
+        ByteBuffer result = ByteBuffer.wrap(output.toByteArray());
+        byte[] magic = new byte[4];
+        result.get(magic);
+        assertThat(new String(magic, StandardCharsets.US_ASCII), is("SCOL"));
+        assertThat(result.get(), is((byte) 1));
+        assertThat(result.getInt(), is(4));
+        assertThat(label(result), is("ID"));
+        assertThat(result.get(), is(ColumnKind.INTEGRAL.code()));
+        assertThat(label(result), is("NAME"));
+        assertThat(result.get(), is(ColumnKind.TEXT.code()));
+        assertThat(label(result), is("PRICE"));
+        assertThat(result.get(), is(ColumnKind.DECIMAL.code()));
+        assertThat(label(result), is("DATA"));
+        assertThat(result.get(), is(ColumnKind.BINARY.code()));
+        assertThat(result.getInt(), is(1));
+        assertThat(result.getInt(), is(9));
+        assertThat(result.get(), is((byte) 0));
+        assertThat(result.getLong(), is(12L));
+        assertThat(result.getInt(), is(1));
+        assertThat(result.get(), is((byte) 1));
+        assertThat(result.getInt(), is(8));
+        assertThat(result.get(), is((byte) 0));
+        assertThat(label(result), is("1.5"));
+        assertThat(result.getInt(), is(6));
+        assertThat(result.get(), is((byte) 0));
+        assertThat(result.getInt(), is(1));
+        assertThat(result.get(), is((byte) 7));
+        assertThat(result.getInt(), is(0));
+        assertThat(result.hasRemaining(), is(false));
+    }
+
+    private void givenColumns() throws SQLException {
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(4);
+        doReturn(Types.BIGINT).when(metaData).getColumnType(1);
+        doReturn(Types.VARCHAR).when(metaData).getColumnType(2);
+        doReturn(Types.DECIMAL).when(metaData).getColumnType(3);
+        doReturn(Types.VARBINARY).when(metaData).getColumnType(4);
+        doReturn("ID").when(metaData).getColumnLabel(1);
+        doReturn("NAME").when(metaData).getColumnLabel(2);
+        doReturn("PRICE").when(metaData).getColumnLabel(3);
+        doReturn("DATA").when(metaData).getColumnLabel(4);
+    }
+
+    private static String label(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.ArrayUtils.toArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.is;
+
+class SqlWriterTest {
+    @Test
+    void appendsSqlAndArgsInOrder() {
+        SqlWriter sut = new SqlWriter();
+
+        sut.append("select ").append('*').append(" from T where A = ?").arg(1L).append(" and B = ?").arg("X");
+
+        assertThat(sut.sql(), is("select * from T where A = ? and B = ?"));
+        assertThat(sut.args(), is(toArray(1L, "X")));
+    }
+
+    @Test
+    void argsGrowBeyondInitialCapacity() {
+        SqlWriter sut = new SqlWriter(8);
+
+        IntStream.range(0, 100).forEach(sut::arg);
+
+        assertThat(sut.args(), arrayWithSize(100));
+        assertThat(sut.args()[99], is(99));
+    }
+
+    @Test
+    void joinSeparatesItems() {
+        SqlWriter sut = new SqlWriter();
+
+        sut.join(Stream.of("A", "B", "C"), ", ", sut::append);
+
+        assertThat(sut.sql(), is("A, B, C"));
+    }
+
+    @Test
+    void joinOfNothingAppendsNothing() {
+        SqlWriter sut = new SqlWriter();
+
+        sut.join(Stream.<String>empty(), ", ", sut::append);
+
+        assertThat(sut.sql(), is(""));
+    }
+
+    @Test
+    void replaceFromRewritesTail() {
+        SqlWriter sut = new SqlWriter();
+        sut.append("with X as (");
+        int start = sut.length();
+        sut.append("select 1");
+
+        sut.replaceFrom(start, sut.substring(start) + " for update").append(")");
+
+        assertThat(sut.sql(), is("with X as (select 1 for update)"));
+    }
+}
@@ -32,10 +32,13 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static com.cadenzauk.siesta.grammar.expression.ParameterExpression.parameter;
 import static com.cadenzauk.siesta.grammar.expression.TypedExpression.column;
 import static org.apache.commons.lang3.ArrayUtils.toArray;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -70,4 +73,39 @@ class DeleteTest {
             ")"));
         assertThat(args.getValue(), is(toArray(2L, "C")));
     }
+
+    @Test
+    void compiledDeleteCanBeExecutedRepeatedly() {
+        Database database = Database.newBuilder()
+            .defaultSchema("SIESTA")
+            .build();
+        CompiledStatement sut = database.delete(WidgetRow.class)
+            .where(WidgetRow::widgetId).isEqualTo(2L)
+            .compile();
+
+        sut.execute(transaction);
+        sut.execute(transaction);
+
+        verify(transaction, times(2)).update(sql.capture(), args.capture());
+        assertThat(sut.sql(), is("delete from SIESTA.WIDGET where SIESTA.WIDGET.WIDGET_ID = ?"));
+        assertThat(sql.getAllValues(), contains(sut.sql(), sut.sql()));
+        assertThat(args.getValue(), is(toArray(2L)));
+    }
+
+    @Test
+    void compiledDeleteBindsParametersPerExecution() {
+        Database database = Database.newBuilder()
+            .defaultSchema("SIESTA")
+            .build();
+        CompiledStatement sut = database.delete(WidgetRow.class)
+            .where(WidgetRow::widgetId).isEqualTo(parameter(Long.class))
+            .compile();
+
+        sut.bind(2L).execute(transaction);
+        sut.bind(3L).execute(transaction);
+
+        verify(transaction, times(2)).update(sql.capture(), args.capture());
+        assertThat(sql.getAllValues(), contains(sut.sql(), sut.sql()));
+        assertThat(args.getAllValues(), contains(toArray(2L), toArray(3L)));
+    }
 }
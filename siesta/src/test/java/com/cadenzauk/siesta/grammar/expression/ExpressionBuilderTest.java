@@ -42,6 +42,8 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
@@ -205,6 +207,8 @@ class ExpressionBuilderTest {
             testCase((e, s) -> e.isNotIn("D", "E"), "not in (?, ?)", "D", "E"),
             testCase((e, s) -> e.isIn(literal("A"), value("B"), literal("C")), "in ('A', ?, 'C')", "B"),
             testCase((e, s) -> e.isNotIn(value("D"), literal("E")), "not in (?, 'E')", "D"),
+            testCase((e, s) -> e.isIn(Arrays.asList("A", "B", "C")), "in (?, ?, ?, ?)", "A", "B", "C", "C"),
+            testCase((e, s) -> e.isNotIn(Collections.singletonList("D")), "not in (?)", "D"),
 
             testCase((e, s) -> e.isNull(), "is null"),
             testCase((e, s) -> e.isNotNull(), "is not null"),
@@ -286,4 +290,14 @@ class ExpressionBuilderTest {
         calling(() -> select.isNotIn(new String[0]))
             .shouldThrow(IllegalArgumentException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void isInWithEmptyCollectionShouldThrow() {
+        Database database = testDatabase(new AnsiDialect());
+        ExpressionBuilder<String,InWhereExpectingAnd<SalespersonRow>> select = database.from(SalespersonRow.class)
+            .where(SalespersonRow::firstName);
+
+        calling(() -> select.isIn(Collections.emptyList()))
+            .shouldThrow(IllegalArgumentException.class);
+    }
+}
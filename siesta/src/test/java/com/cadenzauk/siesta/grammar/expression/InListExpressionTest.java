@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.expression;
+
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.Dialect;
+import com.cadenzauk.siesta.Scope;
+import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.dialect.H2Dialect;
+import com.cadenzauk.siesta.dialect.PostgresDialect;
+import com.cadenzauk.siesta.dialect.SqlServerDialect;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static com.cadenzauk.siesta.model.TestDatabase.testDatabase;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InListExpressionTest {
+    @Mock
+    private TypedExpression<Integer> lhs;
+
+    @Mock
+    private TypedExpression<String> stringLhs;
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1000, 1",
+        "2, 1000, 2",
+        "3, 1000, 4",
+        "5, 1000, 8",
+        "64, 1000, 64",
+        "65, 1000, 128",
+        "513, 1000, 1000",
+        "1000, 1000, 1000",
+        "1500, 1500, 1500"
+    })
+    void bucketSize(int size, int maxSize, int expected) {
+        assertThat(InListExpression.bucketSize(size, maxSize), is(expected));
+    }
+
+    @Test
+    void paddedChunksSplitsAndPadsEachChunkToItsBucket() {
+        List<List<Integer>> chunks = InListExpression.paddedChunks(values(11), 8).collect(Collectors.toList());
+
+        assertThat(chunks, contains(
+            contains(0, 1, 2, 3, 4, 5, 6, 7),
+            contains(8, 9, 10, 10)));
+    }
+
+    @Test
+    void smallListIsPaddedWithLastValue() {
+        Scope scope = scope(new AnsiDialect());
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "in", Arrays.asList(1, 2, 3, 4, 5));
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("x in (?, ?, ?, ?, ?, ?, ?, ?)"));
+        assertThat(args, arrayContaining(1, 2, 3, 4, 5, 5, 5, 5));
+    }
+
+    @Test
+    void largeListIsChunkedWhenArraysNotSupported() {
+        Scope scope = scope(new AnsiDialect());
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "in", values(2100));
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("(x in (" + params(1000) + ") or x in (" + params(1000) + ") or x in (" + params(128) + "))"));
+        assertThat(args.length, is(2128));
+        assertThat(args[2099], is(2099));
+        assertThat(args[2127], is(2099));
+    }
+
+    @Test
+    void largeNotInListIsChunkedWithAnd() {
+        Scope scope = scope(new AnsiDialect());
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "not in", values(1001));
+
+        String sql = sut.sql(scope);
+
+        assertThat(sql, is("(x not in (" + params(1000) + ") and x not in (?))"));
+    }
+
+    @Test
+    void largeListUsesUnnestOnH2() {
+        Scope scope = scope(new H2Dialect());
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "in", values(1001));
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("x in (unnest(?))"));
+        assertThat(args.length, is(1));
+        assertThat(args[0], is(values(1001).toArray(new Integer[0])));
+    }
+
+    @Test
+    void nullValueIsRenderedAsLiteral() {
+        Scope scope = scope(new AnsiDialect());
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "in", Arrays.asList(null, 1));
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("x in (null, ?)"));
+        assertThat(args, arrayContaining(1));
+    }
+
+    @Test
+    void largeListContainingNullIsChunkedOnH2() {
+        Scope scope = scope(new H2Dialect());
+        List<Integer> values = new ArrayList<>();
+        values.add(null);
+        values.addAll(values(1000));
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "in", values);
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("(x in (null, " + params(999) + ") or x in (?))"));
+        assertThat(args, is(values(1000).toArray()));
+    }
+
+    @Test
+    void largeListUsesAnyOnPostgres() {
+        Scope scope = scope(new PostgresDialect());
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "in", values(1001));
+
+        String sql = sut.sql(scope);
+
+        assertThat(sql, is("x = any(?)"));
+    }
+
+    @Test
+    void largeNotInListUsesAllOnPostgres() {
+        Scope scope = scope(new PostgresDialect());
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "not in", values(1001));
+
+        String sql = sut.sql(scope);
+
+        assertThat(sql, is("x <> all(?)"));
+    }
+
+    @Test
+    void largeListIsOneJsonParameterOnSqlServer() {
+        Scope scope = scope(new SqlServerDialect());
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "in", values(50000));
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("x in (select value from openjson(?))"));
+        assertThat(args.length, is(1));
+        assertThat(args[0], is(values(50000).stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"))));
+    }
+
+    @Test
+    void largeNotInListContainingNullIsOneJsonParameterOnSqlServer() {
+        Scope scope = scope(new SqlServerDialect());
+        List<Integer> values = new ArrayList<>(values(2100));
+        values.add(null);
+        InListExpression<Integer> sut = new InListExpression<>(lhs, "not in", values);
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("x not in (select value from openjson(?))"));
+        assertThat(args.length, is(1));
+        assertThat((String) args[0], endsWith(",2099,null]"));
+    }
+
+    @Test
+    void largeStringListIsEscapedInJsonParameterOnSqlServer() {
+        Scope scope = new Scope(testDatabase(new SqlServerDialect()));
+        List<String> values = IntStream.range(0, 2001).mapToObj(i -> "a\"b" + i).collect(Collectors.toList());
+        InListExpression<String> sut = new InListExpression<>(stringLhs, "in", values);
+        when(stringLhs.args(any())).thenAnswer(i -> Stream.empty());
+
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat((String) args[0], startsWith("[\"a\\\"b0\",\"a\\\"b1\","));
+    }
+
+    @Test
+    void emptyListShouldThrow() {
+        calling(() -> new InListExpression<>(lhs, "in", Arrays.asList()))
+            .shouldThrow(IllegalArgumentException.class);
+    }
+
+    private Scope scope(Dialect dialect) {
+        Database database = testDatabase(dialect);
+        when(lhs.sql(any())).thenReturn("x");
+        when(lhs.precedence()).thenReturn(Precedence.COLUMN);
+        lenient().when(lhs.args(any())).thenAnswer(i -> Stream.empty());
+        return new Scope(database);
+    }
+
+    private static List<Integer> values(int n) {
+        return IntStream.range(0, n).boxed().collect(Collectors.toList());
+    }
+
+    private static String params(int n) {
+        return IntStream.range(0, n).mapToObj(i -> "?").collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.expression;
+
+import com.cadenzauk.siesta.Alias;
+import com.cadenzauk.siesta.Scope;
+import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.dialect.SqlServerDialect;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static com.cadenzauk.siesta.model.TestDatabase.testDatabase;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KeyInListExpressionTest {
+    @Mock
+    private Alias<?> alias;
+
+    @Test
+    void singleColumnKeysUseInList() {
+        Scope scope = new Scope(testDatabase(new AnsiDialect()));
+        when(alias.inSelectClauseSql(anyString())).thenAnswer(i -> "c." + i.getArgument(0));
+        KeyInListExpression sut = new KeyInListExpression(alias, Collections.singletonList("PARENT_ID"), Arrays.asList(
+            Collections.singletonList(1L),
+            Collections.singletonList(2L)));
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("c.PARENT_ID in (?, ?)"));
+        assertThat(args, arrayContaining(1L, 2L));
+        assertThat(sut.precedence(), is(Precedence.COMPARISON));
+    }
+
+    @Test
+    void multiColumnKeysUseRowValueInListWhenSupported() {
+        Scope scope = new Scope(testDatabase(new AnsiDialect()));
+        when(alias.inSelectClauseSql(anyString())).thenAnswer(i -> "c." + i.getArgument(0));
+        KeyInListExpression sut = new KeyInListExpression(alias, Arrays.asList("A", "B"), Arrays.asList(
+            Arrays.asList(1L, "x"),
+            Arrays.asList(2L, "y")));
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("(c.A, c.B) in ((?, ?), (?, ?))"));
+        assertThat(args, arrayContaining(1L, "x", 2L, "y"));
+        assertThat(sut.precedence(), is(Precedence.OR));
+    }
+
+    @Test
+    void multiColumnKeysUseDisjunctionWhenRowValueInListNotSupported() {
+        Scope scope = new Scope(testDatabase(new SqlServerDialect()));
+        when(alias.inSelectClauseSql(anyString())).thenAnswer(i -> "c." + i.getArgument(0));
+        KeyInListExpression sut = new KeyInListExpression(alias, Arrays.asList("A", "B"), Arrays.asList(
+            Arrays.asList(1L, "x"),
+            Arrays.asList(2L, "y")));
+
+        String sql = sut.sql(scope);
+        Object[] args = sut.args(scope).toArray();
+
+        assertThat(sql, is("(c.A = ? and c.B = ?) or (c.A = ? and c.B = ?)"));
+        assertThat(args, arrayContaining(1L, "x", 2L, "y"));
+        assertThat(sut.precedence(), is(Precedence.OR));
+    }
+
+    @Test
+    void singleMultiColumnKeyIsAComparison() {
+        Scope scope = new Scope(testDatabase(new SqlServerDialect()));
+        when(alias.inSelectClauseSql(anyString())).thenAnswer(i -> "c." + i.getArgument(0));
+        KeyInListExpression sut = new KeyInListExpression(alias, Arrays.asList("A", "B"), Collections.singletonList(
+            Arrays.asList(1L, "x")));
+
+        String sql = sut.sql(scope);
+
+        assertThat(sql, is("(c.A = ? and c.B = ?)"));
+        assertThat(sut.precedence(), is(Precedence.COMPARISON));
+    }
+
+    @Test
+    void emptyKeysShouldThrow() {
+        calling(() -> new KeyInListExpression(alias, Collections.singletonList("A"), Collections.emptyList()))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("At least one key is required for a key list expression."));
+    }
+
+    @Test
+    void keyOfWrongSizeShouldThrow() {
+        calling(() -> new KeyInListExpression(alias, Arrays.asList("A", "B"), Collections.singletonList(Collections.singletonList(1L))))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Every key must have exactly 2 values."));
+    }
+}
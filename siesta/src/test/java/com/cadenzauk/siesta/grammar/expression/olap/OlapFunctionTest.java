@@ -32,6 +32,7 @@ import com.cadenzauk.siesta.Transaction;
 import com.cadenzauk.siesta.dialect.AnsiDialect;
 import com.cadenzauk.siesta.grammar.expression.Precedence;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
+import com.cadenzauk.siesta.grammar.select.Ordering;
 import com.cadenzauk.siesta.model.SalespersonRow;
 import com.cadenzauk.siesta.type.DbTypeId;
 import com.cadenzauk.siesta.type.DefaultInteger;
@@ -51,8 +52,14 @@ import java.sql.SQLException;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static com.cadenzauk.siesta.Order.DESC;
 import static com.cadenzauk.siesta.grammar.expression.StringFunctions.substr;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.currentRow;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.following;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.preceding;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.unboundedFollowing;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.unboundedPreceding;
 import static com.cadenzauk.siesta.grammar.expression.StringFunctions.upper;
 import static com.cadenzauk.siesta.model.TestDatabase.testDatabase;
 import static org.apache.commons.lang3.ArrayUtils.toArray;
@@ -167,6 +174,27 @@ class OlapFunctionTest {
             "from SIESTA.SALESPERSON s"));
         assertThat(args.getValue(), is(expectedArgs));}
 
+    @Test
+    void frameOmittedWhenOrderByNotSupported() {
+        when(arg1.sql(scope)).thenReturn("arg1");
+        when(scope.dialect()).thenReturn(dialect);
+        when(dialect.supportsOrderByInOlap()).thenReturn(false);
+        OlapFunction<Integer> sut = new OlapFunction<>("bar", TypeToken.of(Integer.class), arg1);
+        sut.addOrderBy(new Ordering<>(arg1, DESC));
+        sut.setFrame("rows", FrameBound.preceding(1), FrameBound.currentRow());
+
+        String result = sut.sql(scope);
+
+        assertThat(result, is("bar(arg1) over ()"));
+    }
+
+    @Test
+    void frameOffsetMustNotBeNegative() {
+        calling(() -> FrameBound.following(-2))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Frame offset must not be negative but was -2"));
+    }
+
     private static Arguments testCase(BiFunction<InOlapExpectingPartitionBy<Integer>,Alias<SalespersonRow>,TypedExpression<Integer>> f, String expectedSql, Object... expectedArgs) {
         return arguments(f, expectedSql, expectedArgs);
     }
@@ -221,7 +249,14 @@ class OlapFunctionTest {
             testCase((r, s) -> r.orderBy(SalespersonRow::salespersonId).then(s, SalespersonRow::firstName, DESC), "order by s.SALESPERSON_ID asc, s.FIRST_NAME desc"),
             testCase((r, s) -> r.orderBy(SalespersonRow::salespersonId).then(s, SalespersonRow::middleNames, DESC), "order by s.SALESPERSON_ID asc, s.MIDDLE_NAMES desc"),
 
-            testCase((r, a) -> r.partitionBy(substr(SalespersonRow::middleNames, 1)), "partition by substr(s.MIDDLE_NAMES, ?)", 1)
+            testCase((r, a) -> r.partitionBy(substr(SalespersonRow::middleNames, 1)), "partition by substr(s.MIDDLE_NAMES, ?)", 1),
+
+            testCase((r, s) -> r.orderBy(SalespersonRow::salespersonId).rows(unboundedPreceding()), "order by s.SALESPERSON_ID asc rows unbounded preceding"),
+            testCase((r, s) -> r.orderBy(SalespersonRow::salespersonId).rows(preceding(3)), "order by s.SALESPERSON_ID asc rows 3 preceding"),
+            testCase((r, s) -> r.orderBy(SalespersonRow::salespersonId).rowsBetween(preceding(2), following(1)), "order by s.SALESPERSON_ID asc rows between 2 preceding and 1 following"),
+            testCase((r, s) -> r.orderBy(SalespersonRow::salespersonId).rowsBetween(currentRow(), unboundedFollowing()), "order by s.SALESPERSON_ID asc rows between current row and unbounded following"),
+            testCase((r, s) -> r.partitionBy(SalespersonRow::surname).orderBy(SalespersonRow::salespersonId).range(currentRow()), "partition by s.SURNAME order by s.SALESPERSON_ID asc range current row"),
+            testCase((r, s) -> r.partitionBy(SalespersonRow::surname).orderBy(SalespersonRow::salespersonId).rangeBetween(unboundedPreceding(), currentRow()), "partition by s.SURNAME order by s.SALESPERSON_ID asc range between unbounded preceding and current row")
         );
     }
 }
\ No newline at end of file
@@ -36,6 +36,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static com.cadenzauk.core.testutil.IsUtilityClass.isUtilityClass;
 import static com.cadenzauk.siesta.grammar.expression.StringFunctions.length;
 import static com.cadenzauk.siesta.model.TestDatabase.testDatabase;
@@ -71,10 +72,48 @@ class OlapTest {
             testCase(s -> Olap.sum("s", SalespersonRow::numberOfSales), "sum(s.NUMBER_OF_SALES) over ()"),
             testCase(s -> Olap.sum("s", SalespersonRow::commission), "sum(s.COMMISSION) over ()"),
             testCase(s -> Olap.sum(s, SalespersonRow::numberOfSales), "sum(s.NUMBER_OF_SALES) over ()"),
-            testCase(s -> Olap.sum(s, SalespersonRow::commission), "sum(s.COMMISSION) over ()")
+            testCase(s -> Olap.sum(s, SalespersonRow::commission), "sum(s.COMMISSION) over ()"),
+            testCase(s -> Olap.rank(), "rank() over ()"),
+            testCase(s -> Olap.denseRank(), "dense_rank() over ()"),
+            testCase(s -> Olap.ntile(4), "ntile(4) over ()"),
+            testCase(s -> Olap.count(), "count(*) over ()"),
+            testCase(s -> Olap.count(length(SalespersonRow::surname)), "count(length(s.SURNAME)) over ()"),
+            testCase(s -> Olap.count(SalespersonRow::middleNames), "count(s.MIDDLE_NAMES) over ()"),
+            testCase(s -> Olap.count("s", SalespersonRow::surname), "count(s.SURNAME) over ()"),
+            testCase(s -> Olap.count(s, SalespersonRow::middleNames), "count(s.MIDDLE_NAMES) over ()"),
+            testCase(s -> Olap.avg(SalespersonRow::numberOfSales), "avg(s.NUMBER_OF_SALES) over ()"),
+            testCase(s -> Olap.avg("s", SalespersonRow::commission), "avg(s.COMMISSION) over ()"),
+            testCase(s -> Olap.min(SalespersonRow::commission), "min(s.COMMISSION) over ()"),
+            testCase(s -> Olap.min(s, SalespersonRow::numberOfSales), "min(s.NUMBER_OF_SALES) over ()"),
+            testCase(s -> Olap.max(length(SalespersonRow::surname)), "max(length(s.SURNAME)) over ()"),
+            testCase(s -> Olap.max("s", SalespersonRow::numberOfSales), "max(s.NUMBER_OF_SALES) over ()"),
+            testCase(s -> Olap.firstValue(SalespersonRow::surname), "first_value(s.SURNAME) over ()"),
+            testCase(s -> Olap.firstValue(s, SalespersonRow::middleNames), "first_value(s.MIDDLE_NAMES) over ()"),
+            testCase(s -> Olap.lastValue("s", SalespersonRow::surname), "last_value(s.SURNAME) over ()"),
+            testCase(s -> Olap.lastValue(SalespersonRow::middleNames), "last_value(s.MIDDLE_NAMES) over ()"),
+            testCase(s -> Olap.lag(SalespersonRow::numberOfSales), "lag(s.NUMBER_OF_SALES) over ()"),
+            testCase(s -> Olap.lag(SalespersonRow::numberOfSales, 2), "lag(s.NUMBER_OF_SALES, 2) over ()"),
+            testCase(s -> Olap.lag(s, SalespersonRow::middleNames, 3), "lag(s.MIDDLE_NAMES, 3) over ()"),
+            testCase(s -> Olap.lead("s", SalespersonRow::commission), "lead(s.COMMISSION) over ()"),
+            testCase(s -> Olap.lead(length(SalespersonRow::surname), 1), "lead(length(s.SURNAME), 1) over ()"),
+            testCase(s -> Olap.lead("s", SalespersonRow::middleNames, 0), "lead(s.MIDDLE_NAMES, 0) over ()")
         );
     }
 
+    @Test
+    void ntileRequiresPositiveBuckets() {
+        calling(() -> Olap.ntile(0))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Number of buckets must be positive but was 0"));
+    }
+
+    @Test
+    void lagRequiresNonNegativeOffset() {
+        calling(() -> Olap.lag(SalespersonRow::numberOfSales, -1))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Offset must not be negative but was -1"));
+    }
+
     private static Arguments testCase(Function<Alias<SalespersonRow>,InOlapExpectingPartitionBy<?>> f, String expectedSql) {
         return arguments(f, expectedSql);
     }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.select;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ColumnBatchTest {
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    @Test
+    void emptyBatchHasNoRowsOrColumns() {
+        ColumnBatch sut = new ColumnBatch.Builder().build();
+
+        assertThat(sut.rowCount(), is(0));
+        assertThat(sut.columnCount(), is(0));
+    }
+
+    @Test
+    void readsColumnsIntoPrimitiveArrays() throws SQLException {
+        givenColumns(Types.BIGINT, Types.DOUBLE);
+        when(resultSet.getLong(1)).thenReturn(1L).thenReturn(2L);
+        when(resultSet.getDouble(2)).thenReturn(1.5).thenReturn(0.0);
+        when(resultSet.wasNull()).thenReturn(false, false, false, true);
+        ColumnBatch.Builder builder = new ColumnBatch.Builder();
+
+        builder.mapRow(resultSet);
+        builder.mapRow(resultSet);
+        ColumnBatch sut = builder.build();
+
+        assertThat(sut.rowCount(), is(2));
+        assertThat(sut.columnCount(), is(2));
+        assertThat(sut.label(0), is("COL1"));
+        assertThat(sut.label(1), is("COL2"));
+        assertThat(sut.isIntegral(0), is(true));
+        assertThat(sut.isIntegral(1), is(false));
+        assertThat(sut.longs(0), is(new long[]{1L, 2L}));
+        assertThat(sut.doubles(1), is(new double[]{1.5, 0.0}));
+        assertThat(sut.hasNulls(0), is(false));
+        assertThat(sut.hasNulls(1), is(true));
+        assertThat(sut.isNull(1, 0), is(false));
+        assertThat(sut.isNull(1, 1), is(true));
+    }
+
+    @Test
+    void decimalWithZeroScaleIsReadAsLong() throws SQLException {
+        givenColumns(Types.NUMERIC, Types.DECIMAL);
+        doReturn(0).when(metaData).getScale(1);
+        doReturn(2).when(metaData).getScale(2);
+        doReturn(10).when(metaData).getPrecision(2);
+        when(resultSet.getLong(1)).thenReturn(9007199254740993L);
+        when(resultSet.getDouble(2)).thenReturn(1.25);
+        ColumnBatch.Builder builder = new ColumnBatch.Builder();
+
+        builder.mapRow(resultSet);
+        ColumnBatch sut = builder.build();
+
+        assertThat(sut.isIntegral(0), is(true));
+        assertThat(sut.isIntegral(1), is(false));
+        assertThat(sut.longs(0), is(new long[]{9007199254740993L}));
+        assertThat(sut.doubles(1), is(new double[]{1.25}));
+    }
+
+    @Test
+    void decimalWithUnknownScaleStaysIntegralUntilAFractionIsRead() throws SQLException {
+        givenColumns(Types.DECIMAL, Types.DECIMAL);
+        doReturn(Integer.MAX_VALUE).when(metaData).getScale(1);
+        doReturn(Integer.MAX_VALUE).when(metaData).getScale(2);
+        doReturn(Integer.MAX_VALUE).when(metaData).getPrecision(1);
+        doReturn(Integer.MAX_VALUE).when(metaData).getPrecision(2);
+        doReturn(new BigDecimal("9007199254740993"), (Object) null).when(resultSet).getBigDecimal(1);
+        doReturn(new BigDecimal("3"), new BigDecimal("1.5")).when(resultSet).getBigDecimal(2);
+        when(resultSet.wasNull()).thenReturn(false, false, true, false);
+        ColumnBatch.Builder builder = new ColumnBatch.Builder();
+
+        builder.mapRow(resultSet);
+        builder.mapRow(resultSet);
+        ColumnBatch sut = builder.build();
+
+        assertThat(sut.isIntegral(0), is(true));
+        assertThat(sut.longs(0), is(new long[]{9007199254740993L, 0L}));
+        assertThat(sut.isNull(0, 1), is(true));
+        assertThat(sut.isIntegral(1), is(false));
+        assertThat(sut.doubles(1), is(new double[]{3.0, 1.5}));
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() throws SQLException {
+        givenColumns(Types.INTEGER);
+        AtomicLong next = new AtomicLong();
+        when(resultSet.getLong(1)).thenAnswer(i -> next.incrementAndGet());
+        ColumnBatch.Builder builder = new ColumnBatch.Builder();
+
+        IntStream.range(0, 3000).forEach(i -> builder.mapRow(resultSet));
+        ColumnBatch sut = builder.build();
+
+        assertThat(sut.rowCount(), is(3000));
+        assertThat(sut.longs(0).length, is(3000));
+        assertThat(sut.longs(0)[2999], is(3000L));
+    }
+
+    @Test
+    void wrongAccessorThrows() throws SQLException {
+        givenColumns(Types.BIGINT);
+        when(resultSet.getLong(1)).thenReturn(1L);
+        ColumnBatch.Builder builder = new ColumnBatch.Builder();
+        builder.mapRow(resultSet);
+        ColumnBatch sut = builder.build();
+
+        calling(() -> sut.doubles(0))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Column 0 (COL1) is not a floating point column."));
+        calling(() -> sut.longs(1))
+            .shouldThrow(IndexOutOfBoundsException.class)
+            .withMessage(is("Column 1 is out of range for a batch of 1 columns."));
+    }
+
+    @Test
+    void nonNumericColumnThrows() throws SQLException {
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("NAME");
+        when(metaData.getColumnType(1)).thenReturn(Types.VARCHAR);
+        when(metaData.getColumnTypeName(1)).thenReturn("VARCHAR");
+        ColumnBatch.Builder sut = new ColumnBatch.Builder();
+
+        calling(() -> sut.mapRow(resultSet))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Column 0 (NAME) of type VARCHAR is not numeric."));
+    }
+
+    private void givenColumns(int... types) throws SQLException {
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(types.length);
+        for (int i = 0; i < types.length; i++) {
+            doReturn("COL" + (i + 1)).when(metaData).getColumnLabel(i + 1);
+            doReturn(types[i]).when(metaData).getColumnType(i + 1);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.select;
+
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.SqlExecutor;
+import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.grammar.expression.ParameterExpression;
+import com.cadenzauk.siesta.model.WidgetRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static com.cadenzauk.siesta.grammar.expression.ParameterExpression.parameter;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.ArrayUtils.toArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompiledSelectTest {
+    @Mock
+    private SqlExecutor sqlExecutor;
+
+    @Captor
+    private ArgumentCaptor<String> sql;
+
+    @Captor
+    private ArgumentCaptor<Object[]> args;
+
+    @Test
+    void compiledSqlIsFixed() {
+        CompiledSelect<String> sut = compiledSelect();
+
+        assertThat(sut.sql(), is("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?"));
+        assertThat(sut.args(), is(toArray(3L)));
+    }
+
+    @Test
+    void argsCannotBeModified() {
+        CompiledSelect<String> sut = compiledSelect();
+
+        sut.args()[0] = 4L;
+
+        assertThat(sut.args(), is(toArray(3L)));
+    }
+
+    @Test
+    void compiledSelectCanBeSharedAcrossThreads() {
+        CompiledSelect<String> sut = compiledSelect();
+        when(sqlExecutor.<String>query(sql.capture(), args.capture(), any())).thenReturn(Collections.singletonList("Fred"));
+
+        List<CompletableFuture<List<String>>> futures = IntStream.range(0, 20)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> sut.list(sqlExecutor)))
+            .collect(toList());
+        List<String> results = futures.stream()
+            .map(CompletableFuture::join)
+            .flatMap(List::stream)
+            .collect(toList());
+
+        verify(sqlExecutor, times(20)).query(any(), any(), any());
+        assertThat(results, everyItem(is("Fred")));
+        assertThat(sql.getAllValues(), everyItem(is(sut.sql())));
+    }
+
+    @Test
+    void parametersAreBoundPerExecution() {
+        CompiledSelect<String> sut = parameterisedSelect();
+        when(sqlExecutor.<String>query(sql.capture(), args.capture(), any())).thenReturn(Collections.singletonList("Fred"));
+
+        sut.bind(3L, "Fred").list(sqlExecutor);
+        sut.bind(4L, "Bob").list(sqlExecutor);
+
+        assertThat(sql.getAllValues(), everyItem(is("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ? and WIDGET.NAME = ?")));
+        assertThat(args.getAllValues(), contains(toArray(3L, "Fred"), toArray(4L, "Bob")));
+    }
+
+    @Test
+    void parameterUsedTwiceTakesOneValue() {
+        ParameterExpression<Long> id = parameter(Long.class);
+        CompiledSelect<String> sut = testDatabase().from(WidgetRow.class)
+            .select(WidgetRow::name)
+            .where(WidgetRow::widgetId).isEqualTo(id)
+            .or(WidgetRow::manufacturerId).isEqualTo(id)
+            .compile();
+
+        assertThat(sut.bind(5L).args(), is(toArray(5L, 5L)));
+    }
+
+    @Test
+    void unboundParametersCannotBeExecuted() {
+        CompiledSelect<String> sut = parameterisedSelect();
+
+        calling(() -> sut.list(sqlExecutor))
+            .shouldThrow(IllegalStateException.class)
+            .withMessage(containsString("must be bound"));
+        verifyZeroInteractions(sqlExecutor);
+    }
+
+    @Test
+    void bindRequiresAValueForEachParameter() {
+        CompiledSelect<String> sut = parameterisedSelect();
+
+        calling(() -> sut.bind(3L))
+            .shouldThrow(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bindRejectsValuesOfTheWrongType() {
+        CompiledSelect<String> sut = parameterisedSelect();
+
+        calling(() -> sut.bind("Fred", 3L))
+            .shouldThrow(IllegalArgumentException.class);
+    }
+
+    private CompiledSelect<String> parameterisedSelect() {
+        return testDatabase().from(WidgetRow.class)
+            .select(WidgetRow::name)
+            .where(WidgetRow::widgetId).isEqualTo(parameter(Long.class))
+            .and(WidgetRow::name).isEqualTo(parameter(String.class))
+            .compile();
+    }
+
+    private Database testDatabase() {
+        return Database.newBuilder()
+            .defaultSchema("SIESTA")
+            .dialect(new AnsiDialect())
+            .build();
+    }
+
+    private CompiledSelect<String> compiledSelect() {
+        Database database = Database.newBuilder()
+            .defaultSchema("SIESTA")
+            .dialect(new AnsiDialect())
+            .build();
+        return database.from(WidgetRow.class)
+            .select(WidgetRow::name)
+            .where(WidgetRow::widgetId).isEqualTo(3L)
+            .compile();
+    }
+}
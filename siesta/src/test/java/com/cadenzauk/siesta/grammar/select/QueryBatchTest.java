@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.select;
+
+import com.cadenzauk.core.tuple.Tuple2;
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.Dialect;
+import com.cadenzauk.siesta.SlowQueryLog;
+import com.cadenzauk.siesta.SqlExecutor;
+import com.cadenzauk.siesta.Transaction;
+import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.dialect.PostgresDialect;
+import com.cadenzauk.siesta.model.WidgetRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static com.cadenzauk.siesta.grammar.expression.TypedExpression.value;
+import static org.apache.commons.lang3.ArrayUtils.toArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryBatchTest {
+    @Mock
+    private SqlExecutor sqlExecutor;
+
+    @Mock
+    private SqlExecutor replica;
+
+    @Mock
+    private Transaction transaction;
+
+    @Test
+    void multipleResultSetsUsedWhenSupported() {
+        Database database = database(new PostgresDialect());
+        when(sqlExecutor.queryMultiple(anyString(), any(), any())).thenReturn(Arrays.asList(
+            Collections.singletonList("Sprocket"),
+            Collections.singletonList(5L)));
+
+        Tuple2<List<String>,List<Long>> result = database.batchQueries(sqlExecutor, names(database), counts(database));
+
+        verify(sqlExecutor).queryMultiple(
+            eq("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?;\n" +
+                "select WIDGET.MANUFACTURER_ID as WIDGET_MANUFACTURER_ID from SIESTA.WIDGET WIDGET where WIDGET.NAME = ?"),
+            eq(toArray(3L, "Sprocket")),
+            any());
+        assertThat(result.item1(), contains("Sprocket"));
+        assertThat(result.item2(), contains(5L));
+    }
+
+    @Test
+    void concurrentQueriesUsedWhenMultipleResultSetsNotSupported() {
+        Database database = database(new AnsiDialect());
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList("Sprocket")))
+            .when(sqlExecutor).queryAsync(eq("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?"), any(), any());
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList(5L)))
+            .when(sqlExecutor).queryAsync(eq("select WIDGET.MANUFACTURER_ID as WIDGET_MANUFACTURER_ID from SIESTA.WIDGET WIDGET where WIDGET.NAME = ?"), any(), any());
+
+        Tuple2<List<String>,List<Long>> result = database.batchQueries(sqlExecutor, names(database), counts(database));
+
+        verify(sqlExecutor, never()).queryMultiple(any(), any(), any());
+        assertThat(result.item1(), contains("Sprocket"));
+        assertThat(result.item2(), contains(5L));
+    }
+
+    @Test
+    void failedConcurrentQueryRethrowsCause() {
+        Database database = database(new AnsiDialect());
+        CompletableFuture<List<Object>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("Query failed"));
+        when(sqlExecutor.queryAsync(anyString(), any(), any())).thenReturn(failed);
+
+        calling(() -> database.batchQueries(sqlExecutor, names(database), counts(database)))
+            .shouldThrow(IllegalStateException.class)
+            .withMessage(is("Query failed"));
+    }
+
+    @Test
+    void transactionQueriesRunSequentiallyWhenMultipleResultSetsNotSupported() {
+        Database database = database(new AnsiDialect());
+        doReturn(Collections.singletonList("Sprocket"))
+            .when(transaction).query(eq("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?"), any(), any());
+        doReturn(Collections.singletonList(5L))
+            .when(transaction).query(eq("select WIDGET.MANUFACTURER_ID as WIDGET_MANUFACTURER_ID from SIESTA.WIDGET WIDGET where WIDGET.NAME = ?"), any(), any());
+
+        Tuple2<List<String>,List<Long>> result = database.batchQueries(transaction, names(database), counts(database));
+
+        verify(transaction, never()).queryMultiple(any(), any(), any());
+        assertThat(result.item1(), contains("Sprocket"));
+        assertThat(result.item2(), contains(5L));
+    }
+
+    @Test
+    void transactionUsesMultipleResultSetsWhenSupported() {
+        Database database = database(new PostgresDialect());
+        when(transaction.queryMultiple(anyString(), any(), any())).thenReturn(Arrays.asList(
+            Collections.singletonList("Sprocket"),
+            Collections.singletonList(5L)));
+
+        Tuple2<List<String>,List<Long>> result = database.batchQueries(transaction, names(database), counts(database));
+
+        assertThat(result.item1(), contains("Sprocket"));
+        assertThat(result.item2(), contains(5L));
+    }
+
+    @Test
+    void cachedSelectIsServedFromResultCache() {
+        Database database = database(new PostgresDialect());
+        doReturn(Collections.singletonList("Sprocket"))
+            .when(sqlExecutor).query(eq("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?"), any(), any());
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList(5L)))
+            .when(sqlExecutor).queryAsync(eq("select WIDGET.MANUFACTURER_ID as WIDGET_MANUFACTURER_ID from SIESTA.WIDGET WIDGET where WIDGET.NAME = ?"), any(), any());
+
+        database.batchQueries(sqlExecutor, names(database).cached(Duration.ofMinutes(1), 10), counts(database));
+        Tuple2<List<String>,List<Long>> result = database.batchQueries(sqlExecutor, names(database).cached(Duration.ofMinutes(1), 10), counts(database));
+
+        verify(sqlExecutor, times(1)).query(anyString(), any(), any());
+        verify(sqlExecutor, times(2)).queryAsync(anyString(), any(), any());
+        verify(sqlExecutor, never()).queryMultiple(any(), any(), any());
+        assertThat(result.item1(), contains("Sprocket"));
+        assertThat(result.item2(), contains(5L));
+    }
+
+    @Test
+    void defaultExecutorRoutesToReadReplica() {
+        Database database = Database.newBuilder()
+            .defaultSchema("SIESTA")
+            .dialect(new AnsiDialect())
+            .defaultSqlExecutor(sqlExecutor)
+            .readReplica(replica)
+            .build();
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList("Sprocket")))
+            .when(replica).queryAsync(eq("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?"), any(), any());
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList(5L)))
+            .when(replica).queryAsync(eq("select WIDGET.MANUFACTURER_ID as WIDGET_MANUFACTURER_ID from SIESTA.WIDGET WIDGET where WIDGET.NAME = ?"), any(), any());
+
+        Tuple2<List<String>,List<Long>> result = database.batchQueries(names(database), counts(database));
+
+        verifyZeroInteractions(sqlExecutor);
+        assertThat(result.item1(), contains("Sprocket"));
+        assertThat(result.item2(), contains(5L));
+    }
+
+    @Test
+    void concurrentQueriesAreTimedFromSubmissionWithArgs() {
+        SlowQueryLog slowQueryLog = spy(SlowQueryLog.newBuilder().build());
+        Database database = database(new AnsiDialect(), slowQueryLog);
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList("Sprocket")))
+            .when(sqlExecutor).queryAsync(eq("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?"), any(), any());
+        doReturn(CompletableFuture.completedFuture(Collections.singletonList(5L)))
+            .when(sqlExecutor).queryAsync(eq("select WIDGET.MANUFACTURER_ID as WIDGET_MANUFACTURER_ID from SIESTA.WIDGET WIDGET where WIDGET.NAME = ?"), any(), any());
+
+        database.batchQueries(sqlExecutor, names(database), counts(database));
+
+        verify(slowQueryLog).timeAsync(eq("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?"), eq(toArray(3L)), any());
+        verify(slowQueryLog).timeAsync(eq("select WIDGET.MANUFACTURER_ID as WIDGET_MANUFACTURER_ID from SIESTA.WIDGET WIDGET where WIDGET.NAME = ?"), eq(toArray("Sprocket")), any());
+        verify(slowQueryLog, never()).time(any(), any(), any());
+    }
+
+    @Test
+    void multipleResultSetsAreTimedWithArgs() {
+        SlowQueryLog slowQueryLog = spy(SlowQueryLog.newBuilder().build());
+        Database database = database(new PostgresDialect(), slowQueryLog);
+        when(sqlExecutor.queryMultiple(anyString(), any(), any())).thenReturn(Arrays.asList(
+            Collections.singletonList("Sprocket"),
+            Collections.singletonList(5L)));
+
+        database.batchQueries(sqlExecutor, names(database), counts(database));
+
+        verify(slowQueryLog).time(
+            eq("select WIDGET.NAME as WIDGET_NAME from SIESTA.WIDGET WIDGET where WIDGET.WIDGET_ID = ?;\n" +
+                "select WIDGET.MANUFACTURER_ID as WIDGET_MANUFACTURER_ID from SIESTA.WIDGET WIDGET where WIDGET.NAME = ?"),
+            eq(toArray(3L, "Sprocket")),
+            any());
+    }
+
+    @Test
+    void emptyBatchShouldThrow() {
+        Database database = database(new AnsiDialect());
+
+        calling(() -> QueryBatch.of(database))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("A query batch requires at least one select."));
+    }
+
+    private static Database database(Dialect dialect) {
+        return Database.newBuilder()
+            .defaultSchema("SIESTA")
+            .dialect(dialect)
+            .build();
+    }
+
+    private static Database database(Dialect dialect, SlowQueryLog slowQueryLog) {
+        return Database.newBuilder()
+            .defaultSchema("SIESTA")
+            .dialect(dialect)
+            .slowQueryLog(slowQueryLog)
+            .build();
+    }
+
+    private static Select<String> names(Database database) {
+        return database.from(WidgetRow.class)
+            .select(WidgetRow::name)
+            .where(WidgetRow::widgetId).isEqualTo(3L);
+    }
+
+    private static Select<Long> counts(Database database) {
+        return database.from(WidgetRow.class)
+            .select(WidgetRow::manufacturerId)
+            .where(WidgetRow::name).isEqualTo(value("Sprocket"));
+    }
+}
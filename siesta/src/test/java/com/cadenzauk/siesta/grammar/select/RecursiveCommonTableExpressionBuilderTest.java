@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.grammar.select;
+
+import com.cadenzauk.siesta.Alias;
+import com.cadenzauk.siesta.Database;
+import com.cadenzauk.siesta.Dialect;
+import com.cadenzauk.siesta.dialect.AnsiDialect;
+import com.cadenzauk.siesta.dialect.Db2Dialect;
+import com.cadenzauk.siesta.dialect.OracleDialect;
+import com.cadenzauk.siesta.dialect.SqlServerDialect;
+import com.cadenzauk.siesta.model.SalespersonRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static com.cadenzauk.siesta.grammar.expression.TypedExpression.column;
+import static com.cadenzauk.siesta.model.TestDatabase.testDatabase;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class RecursiveCommonTableExpressionBuilderTest {
+    @Test
+    void unionAllUsesRecursiveKeywordWhenRequired() {
+        Database database = testDatabase(new AnsiDialect());
+
+        Select<Long> result = database.from(chain(database).unionAll(self -> successorOf(database, self)))
+            .select(SalespersonRow::salespersonId);
+
+        assertThat(result.sql(), is("with recursive chain(SALESPERSON_ID, FIRST_NAME, MIDDLE_NAMES, SURNAME, NUMBER_OF_SALES, COMMISSION) as (" +
+            "select a.SALESPERSON_ID as a_SALESPERSON_ID, a.FIRST_NAME as a_FIRST_NAME, a.MIDDLE_NAMES as a_MIDDLE_NAMES, a.SURNAME as a_SURNAME, a.NUMBER_OF_SALES as a_NUMBER_OF_SALES, a.COMMISSION as a_COMMISSION " +
+            "from SIESTA.SALESPERSON a where a.SALESPERSON_ID = ? " +
+            "union all " +
+            "select s.SALESPERSON_ID as s_SALESPERSON_ID, s.FIRST_NAME as s_FIRST_NAME, s.MIDDLE_NAMES as s_MIDDLE_NAMES, s.SURNAME as s_SURNAME, s.NUMBER_OF_SALES as s_NUMBER_OF_SALES, s.COMMISSION as s_COMMISSION " +
+            "from SIESTA.SALESPERSON s join chain chain on s.SALESPERSON_ID = chain.SALESPERSON_ID + ?) " +
+            "select chain.SALESPERSON_ID as chain_SALESPERSON_ID from chain"));
+    }
+
+    @Test
+    void unionAllOmitsRecursiveKeywordWhenNotRequired() {
+        Database database = testDatabase(new Db2Dialect());
+
+        Select<Long> result = database.from(chain(database).unionAll(self -> successorOf(database, self)))
+            .select(SalespersonRow::salespersonId);
+
+        assertThat(result.sql(), startsWith("with chain(SALESPERSON_ID, FIRST_NAME, MIDDLE_NAMES, SURNAME, NUMBER_OF_SALES, COMMISSION) as ("));
+        assertThat(result.sql(), containsString(" from SIESTA.SALESPERSON a where a.SALESPERSON_ID = ? union all select "));
+    }
+
+    @Test
+    void unionDeduplicatesWhereSupported() {
+        Database database = testDatabase(new AnsiDialect());
+
+        Select<Long> result = database.from(chain(database).union(self -> successorOf(database, self)))
+            .select(SalespersonRow::salespersonId);
+
+        assertThat(result.sql(), containsString(" from SIESTA.SALESPERSON a where a.SALESPERSON_ID = ? union select "));
+    }
+
+    @ParameterizedTest
+    @MethodSource("parametersForUnionIsRejectedWhereNotSupported")
+    void unionIsRejectedWhereNotSupported(Dialect dialect) {
+        Database database = testDatabase(dialect);
+
+        calling(() -> chain(database).union(self -> successorOf(database, self)))
+            .shouldThrow(UnsupportedOperationException.class)
+            .withMessage(is(dialect.getClass().getName() + " does not support union in recursive common table expressions, use unionAll with maxDepth instead."));
+    }
+
+    @Test
+    void anchorIsNotModified() {
+        Database database = testDatabase(new AnsiDialect());
+        Select<SalespersonRow> anchor = database.from(SalespersonRow.class, "a").where(SalespersonRow::salespersonId).isEqualTo(1L);
+        String before = anchor.sql();
+
+        database.withRecursive("chain").as(anchor).unionAll(self -> successorOf(database, self));
+
+        assertThat(anchor.sql(), is(before));
+    }
+
+    @Test
+    void maxDepthLimitsRecursiveMember() {
+        Database database = testDatabase(new AnsiDialect());
+
+        Select<Long> result = database.from(chain(database)
+            .maxDepth(SalespersonRow::numberOfSales, 6)
+            .unionAll(self -> successorOf(database, self)))
+            .select(SalespersonRow::salespersonId);
+
+        assertThat(result.sql(), containsString(" join chain chain on s.SALESPERSON_ID = chain.SALESPERSON_ID + ? where chain.NUMBER_OF_SALES < ?) "));
+    }
+
+    @Test
+    void maxDepthIsAndedWithExistingWhereClause() {
+        Database database = testDatabase(new AnsiDialect());
+
+        Select<Long> result = database.from(chain(database)
+            .maxDepth(SalespersonRow::numberOfSales, 6)
+            .unionAll(self -> successorOf(database, self).where("s", SalespersonRow::surname).isNotNull()))
+            .select(SalespersonRow::salespersonId);
+
+        assertThat(result.sql(), containsString(" where s.SURNAME is not null and chain.NUMBER_OF_SALES < ?) "));
+    }
+
+    @Test
+    void maxDepthLimitsRecursionOnSqlServer() {
+        Database database = testDatabase(new SqlServerDialect());
+
+        Select<Long> result = database.from(chain(database)
+            .maxDepth(SalespersonRow::numberOfSales, 6)
+            .unionAll(self -> successorOf(database, self)))
+            .select(SalespersonRow::salespersonId);
+
+        assertThat(result.sql(), endsWith(" from chain option (maxrecursion 6)"));
+    }
+
+    @Test
+    void maxDepthMustBePositive() {
+        Database database = testDatabase(new AnsiDialect());
+
+        calling(() -> chain(database).maxDepth(SalespersonRow::numberOfSales, 0))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Maximum depth must be positive but was 0"));
+    }
+
+    private static Stream<Arguments> parametersForUnionIsRejectedWhereNotSupported() {
+        return Stream.of(
+            arguments(new Db2Dialect()),
+            arguments(new OracleDialect()),
+            arguments(new SqlServerDialect())
+        );
+    }
+
+    private static InRecursiveExpectingUnion<SalespersonRow> chain(Database database) {
+        return database.withRecursive("chain")
+            .as(database.from(SalespersonRow.class, "a").where(SalespersonRow::salespersonId).isEqualTo(1L));
+    }
+
+    private static ExpectingWhere<SalespersonRow> successorOf(Database database, Alias<SalespersonRow> self) {
+        Alias<SalespersonRow> s = database.table(SalespersonRow.class).as("s");
+        return database.from(s)
+            .join(self)
+            .on(s, SalespersonRow::salespersonId).isEqualTo(column(self, SalespersonRow::salespersonId).plus(1L))
+            .select(s);
+    }
+}
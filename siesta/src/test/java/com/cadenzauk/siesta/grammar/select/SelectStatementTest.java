@@ -36,6 +36,7 @@ import com.cadenzauk.siesta.Scope;
 import com.cadenzauk.siesta.SqlExecutor;
 import com.cadenzauk.siesta.Transaction;
 import com.cadenzauk.siesta.dialect.Db2Dialect;
+import com.cadenzauk.siesta.grammar.SqlWriter;
 import com.cadenzauk.siesta.grammar.expression.BooleanExpression;
 import com.cadenzauk.siesta.grammar.expression.Precedence;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
@@ -46,11 +47,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.mockito.Answers;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
 
@@ -65,28 +69,30 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class SelectStatementTest {
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private From from;
 
     @Mock
     private RowMapper<Integer> rowMapper;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private Projection projection;
 
     @Mock
     private CommonTableExpression<?> cte;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private TypedExpression<?> typedExpression1;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private TypedExpression<?> typedExpression2;
 
     @Mock
@@ -98,10 +104,10 @@ class SelectStatementTest {
     @Mock
     private Transaction transaction;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private BooleanExpression booleanExpression1;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private BooleanExpression booleanExpression2;
 
     @Mock
@@ -132,7 +138,7 @@ class SelectStatementTest {
         SelectStatement<Integer> sut = new SelectStatement<>(createScope(), TypeToken.of(Integer.class), from, rowMapper, projection);
         when(projection.sql(any())).thenReturn("*");
         when(from.sql(any())).thenReturn(" from foo");
-        when(cte.sql(any())).thenReturn("(cte query)");
+        doAnswer(i -> i.<SqlWriter>getArgument(1).append("(cte query)")).when(cte).render(any(), any());
 
         sut.addCommonTableExpression(cte);
 
@@ -149,7 +155,7 @@ class SelectStatementTest {
         SelectStatement<Integer> sut = new SelectStatement<>(createScope(), TypeToken.of(Integer.class), from, rowMapper, projection);
         when(projection.sql(any())).thenReturn("*");
         when(from.sql(any())).thenReturn(" from foo");
-        when(union.sqlImpl(any())).thenReturn("select * from bar");
+        doAnswer(i -> i.<SqlWriter>getArgument(1).append("select * from bar")).when(union).render(any(), any());
 
         sut.addUnion(union, unionType);
 
@@ -292,6 +298,42 @@ class SelectStatementTest {
         assertThat(list, contains(1, 2, 3));
     }
 
+    @Test
+    void listAsyncSqlExecutorKeepsTransactionOpenUntilComplete() {
+        SelectStatement<Integer> sut = new SelectStatement<>(createScope(), TypeToken.of(Integer.class), from, rowMapper, projection);
+        CompletableFuture<List<Integer>> query = new CompletableFuture<>();
+        when(projection.sql(any())).thenReturn("columnlist");
+        when(from.sql(any())).thenReturn(" from table");
+        when(sqlExecutor.beginTransaction()).thenReturn(transaction);
+        when(transaction.queryAsync(eq("select columnlist from table"), any(), eq(rowMapper))).thenReturn(query);
+
+        CompletableFuture<List<Integer>> result = sut.listAsync(sqlExecutor);
+        verify(transaction, never()).close();
+        query.complete(ImmutableList.of(4, 5));
+
+        assertThat(result.join(), contains(4, 5));
+        InOrder inOrder = inOrder(transaction);
+        inOrder.verify(transaction).commit();
+        inOrder.verify(transaction).close();
+    }
+
+    @Test
+    void cancellingListAsyncSqlExecutorCancelsQueryAndClosesTransaction() {
+        SelectStatement<Integer> sut = new SelectStatement<>(createScope(), TypeToken.of(Integer.class), from, rowMapper, projection);
+        CompletableFuture<List<Integer>> query = new CompletableFuture<>();
+        when(projection.sql(any())).thenReturn("columnlist");
+        when(from.sql(any())).thenReturn(" from table");
+        when(sqlExecutor.beginTransaction()).thenReturn(transaction);
+        when(transaction.queryAsync(eq("select columnlist from table"), any(), eq(rowMapper))).thenReturn(query);
+
+        CompletableFuture<List<Integer>> result = sut.listAsync(sqlExecutor);
+        result.cancel(true);
+
+        assertThat(query.isCancelled(), is(true));
+        verify(transaction, never()).commit();
+        verify(transaction).close();
+    }
+
     @ParameterizedTest
     @ArgumentsSource(TestCaseArgumentsProvider.class)
     @TestCase({""})
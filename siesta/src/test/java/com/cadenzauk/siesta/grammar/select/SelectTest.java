@@ -39,6 +39,7 @@ import com.cadenzauk.siesta.SqlExecutor;
 import com.cadenzauk.siesta.Transaction;
 import com.cadenzauk.siesta.dialect.AnsiDialect;
 import com.cadenzauk.siesta.dialect.Db2Dialect;
+import com.cadenzauk.siesta.dialect.SqlServerDialect;
 import com.cadenzauk.siesta.grammar.expression.Precedence;
 import com.cadenzauk.siesta.model.SalesAreaRow;
 import com.cadenzauk.siesta.model.SalespersonRow;
@@ -61,6 +62,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -76,6 +79,7 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.apache.commons.lang3.RandomUtils.nextLong;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
@@ -176,6 +180,42 @@ class SelectTest {
         verify(database).translateException(any(), eq(exception));
     }
 
+    @Test
+    void listWithTimeoutUsesTimedSqlExecutor() {
+        SqlExecutor timedSqlExecutor = mock(SqlExecutor.class);
+        Select<Long> sut = database().from(SalespersonRow.class, "q").select(SalespersonRow::salespersonId).timeout(Duration.ofSeconds(5));
+        when(sqlExecutor.withTimeout(Duration.ofSeconds(5))).thenReturn(timedSqlExecutor);
+
+        sut.list(sqlExecutor);
+
+        verify(timedSqlExecutor).query(sqlCaptor.capture(), argsCaptor.capture(), rowMapperCaptor.capture());
+        assertThat(sqlCaptor.getValue(), is("select q.SALESPERSON_ID as q_SALESPERSON_ID from SIESTA.SALESPERSON q"));
+    }
+
+    @Test
+    void listWithTimeoutUsesTimedTransaction() {
+        Transaction timedTransaction = mock(Transaction.class);
+        Select<Long> sut = database().from(SalespersonRow.class, "q").select(SalespersonRow::salespersonId).timeout(Duration.ofMillis(250));
+        when(transaction.withTimeout(Duration.ofMillis(250))).thenReturn(timedTransaction);
+
+        sut.list(transaction);
+
+        verify(timedTransaction).query(sqlCaptor.capture(), argsCaptor.capture(), rowMapperCaptor.capture());
+        assertThat(sqlCaptor.getValue(), is("select q.SALESPERSON_ID as q_SALESPERSON_ID from SIESTA.SALESPERSON q"));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(TestCaseArgumentsProvider.class)
+    @TestCase({"PT0S"})
+    @TestCase({"PT-1S"})
+    void timeoutMustBePositive(String timeout) {
+        Select<SalespersonRow> sut = database().from(SalespersonRow.class);
+
+        calling(() -> sut.timeout(Duration.parse(timeout)))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Timeout must be positive but was " + timeout));
+    }
+
     @Test
     void listWithTransactionUsesThatRatherThanDefaultSqlExecutor() {
         Select<Long> sut = database().from(SalespersonRow.class, "r").select(SalespersonRow::salespersonId).where(SalespersonRow::middleNames).isEqualTo("Tiberius");
@@ -1228,6 +1268,85 @@ class SelectTest {
         assertThat(sut.sql(), is("select p.SALESPERSON_ID as p_SALESPERSON_ID from SIESTA.SALESPERSON p" + lockSql));
     }
 
+    @Test
+    void claimBatchLocksSkipsLockedRowsAndLimitsTheBatch() {
+        Select<Long> sut = db2Database().from(SalespersonRow.class, "p").select(SalespersonRow::salespersonId);
+        when(transaction.stream(any(), any(), anyRowMapper())).thenReturn(Stream.of(1L, 2L, 3L));
+
+        List<Long> result = sut.claimBatch(transaction, 2);
+
+        verify(transaction).stream(sqlCaptor.capture(), argsCaptor.capture(), rowMapperCaptor.capture());
+        assertThat(sqlCaptor.getValue(), is("select p.SALESPERSON_ID as p_SALESPERSON_ID from SIESTA.SALESPERSON p fetch first 2 rows only for read only with rs use and keep UPDATE locks skip locked data"));
+        assertThat(result, contains(1L, 2L));
+    }
+
+    @Test
+    void claimBatchDoesNotModifySelect() {
+        Select<Long> sut = db2Database().from(SalespersonRow.class, "p").select(SalespersonRow::salespersonId);
+        when(transaction.stream(any(), any(), anyRowMapper())).thenReturn(Stream.of(1L));
+
+        sut.claimBatch(transaction, 2);
+
+        assertThat(sut.sql(), is("select p.SALESPERSON_ID as p_SALESPERSON_ID from SIESTA.SALESPERSON p"));
+    }
+
+    @Test
+    void claimBatchDoesNotAddTableHintsToSelect() {
+        Select<Long> sut = TestDatabase.testDatabaseBuilder()
+            .dialect(new SqlServerDialect())
+            .build()
+            .from(SalespersonRow.class, "p")
+            .select(SalespersonRow::salespersonId);
+        when(transaction.stream(any(), any(), anyRowMapper())).thenReturn(Stream.of(1L));
+
+        sut.claimBatch(transaction, 2);
+
+        verify(transaction).stream(sqlCaptor.capture(), argsCaptor.capture(), rowMapperCaptor.capture());
+        assertThat(sqlCaptor.getValue(), is("select top 2 p.SALESPERSON_ID as p_SALESPERSON_ID from SIESTA.SALESPERSON p with (updlock, readpast)"));
+        assertThat(sut.sql(), is("select p.SALESPERSON_ID as p_SALESPERSON_ID from SIESTA.SALESPERSON p"));
+    }
+
+    @Test
+    void claimBatchWithWorkCommitsTheClaimedBatch() {
+        Select<Long> sut = db2Database().from(SalespersonRow.class, "p").select(SalespersonRow::salespersonId);
+        when(sqlExecutor.beginTransaction()).thenReturn(transaction);
+        when(transaction.stream(any(), any(), anyRowMapper())).thenReturn(Stream.of(4L, 5L));
+        List<Long> claimed = new ArrayList<>();
+
+        int result = sut.claimBatch(sqlExecutor, 10, (t, batch) -> claimed.addAll(batch));
+
+        assertThat(result, is(2));
+        assertThat(claimed, contains(4L, 5L));
+        verify(transaction).commit();
+        verify(transaction).close();
+    }
+
+    @Test
+    void claimBatchWithWorkSkipsWorkWhenNothingClaimed() {
+        Select<Long> sut = db2Database().from(SalespersonRow.class, "p").select(SalespersonRow::salespersonId);
+        when(sqlExecutor.beginTransaction()).thenReturn(transaction);
+        when(transaction.stream(any(), any(), anyRowMapper())).thenReturn(Stream.empty());
+        List<Long> claimed = new ArrayList<>();
+
+        int result = sut.claimBatch(sqlExecutor, 10, (t, batch) -> claimed.addAll(batch));
+
+        assertThat(result, is(0));
+        assertThat(claimed.isEmpty(), is(true));
+        verify(transaction).commit();
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(TestCaseArgumentsProvider.class)
+    @TestCase({"0"})
+    @TestCase({"-1"})
+    void claimBatchSizeMustBePositive(long n) {
+        Select<Long> sut = db2Database().from(SalespersonRow.class, "p").select(SalespersonRow::salespersonId);
+
+        calling(() -> sut.claimBatch(transaction, n))
+            .shouldThrow(IllegalArgumentException.class)
+            .withMessage(is("Batch size must be positive but was " + n));
+    }
+
     @Test
     void typeReturnsTypeOfFColumnForSingleColumnSelect() {
         Select<Long> sut = database().from(SalespersonRow.class, "p").select(SalespersonRow::salespersonId);
@@ -24,8 +24,10 @@ package com.cadenzauk.siesta.h2;
 
 import com.cadenzauk.core.tuple.Tuple2;
 import com.cadenzauk.core.tuple.Tuple5;
+import com.cadenzauk.siesta.Alias;
 import com.cadenzauk.siesta.Database;
 import com.cadenzauk.siesta.DatabaseIntegrationTest;
+import com.cadenzauk.siesta.jdbc.JdbcSqlExecutor;
 import com.cadenzauk.siesta.model.ManufacturerRow;
 import com.cadenzauk.siesta.model.MoneyAmount;
 import com.cadenzauk.siesta.model.PartRow;
@@ -34,6 +36,11 @@ import com.cadenzauk.siesta.model.WidgetRow;
 import org.junit.jupiter.api.Test;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static com.cadenzauk.core.RandomValues.randomBigDecimal;
@@ -41,6 +48,7 @@ import static com.cadenzauk.core.RandomValues.randomOf;
 import static com.cadenzauk.siesta.grammar.expression.Aggregates.count;
 import static com.cadenzauk.siesta.grammar.expression.TypedExpression.column;
 import static com.cadenzauk.siesta.model.TestDatabase.testDatabase;
+import static com.cadenzauk.siesta.model.TestDatabase.testDatabaseBuilder;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
@@ -183,6 +191,45 @@ class DatabaseIntegrationTestH2 extends DatabaseIntegrationTest {
         assertThat(count, is(0));
     }
 
+    @Test
+    void cancellingListAsyncStopsRunningQuery() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Database database = testDatabaseBuilder()
+                .defaultSqlExecutor(JdbcSqlExecutor.of(dataSource, 0, command -> executor.execute(() -> {
+                    started.countDown();
+                    command.run();
+                })))
+                .build();
+            Tuple2<Long,Long> inserted = insertSalespeople(database, 100);
+            Alias<SalespersonRow> a = database.table(SalespersonRow.class).as("a");
+            Alias<SalespersonRow> b = database.table(SalespersonRow.class).as("b");
+            Alias<SalespersonRow> c = database.table(SalespersonRow.class).as("c");
+            Alias<SalespersonRow> d = database.table(SalespersonRow.class).as("d");
+
+            CompletableFuture<Integer> crossJoin = database.from(a)
+                .join(b).on(b, SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+                .join(c).on(c, SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+                .join(d).on(d, SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+                .select(count())
+                .where(a, SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+                .singleAsync();
+            assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+            crossJoin.cancel(true);
+            Integer next = database.from(SalespersonRow.class)
+                .select(count())
+                .where(SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+                .singleAsync()
+                .get(10, TimeUnit.SECONDS);
+
+            assertThat(crossJoin.isCancelled(), is(true));
+            assertThat(next, is(100));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private Integer countOf(Database database, SalespersonRow salespersonRow) {
         return database.from(SalespersonRow.class)
             .select(count())
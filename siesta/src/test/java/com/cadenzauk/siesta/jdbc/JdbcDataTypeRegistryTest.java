@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcDataTypeRegistryTest {
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Blob blob;
+
+    @Mock
+    private Clob clob;
+
+    @Test
+    void inputStreamBoundAsBinaryStream() throws SQLException {
+        JdbcDataTypeRegistry sut = new JdbcDataTypeRegistry();
+        InputStream value = new ByteArrayInputStream(new byte[] {1, 2, 3});
+
+        sut.setParameter(preparedStatement, 1, value);
+
+        verify(preparedStatement).setBinaryStream(1, value);
+    }
+
+    @Test
+    void readerBoundAsCharacterStream() throws SQLException {
+        JdbcDataTypeRegistry sut = new JdbcDataTypeRegistry();
+        Reader value = new StringReader("abc");
+
+        sut.setParameter(preparedStatement, 2, value);
+
+        verify(preparedStatement).setCharacterStream(2, value);
+    }
+
+    @Test
+    void blobBoundAsBlob() throws SQLException {
+        JdbcDataTypeRegistry sut = new JdbcDataTypeRegistry();
+
+        sut.setParameter(preparedStatement, 3, blob);
+
+        verify(preparedStatement).setBlob(3, blob);
+    }
+
+    @Test
+    void clobBoundAsClob() throws SQLException {
+        JdbcDataTypeRegistry sut = new JdbcDataTypeRegistry();
+
+        sut.setParameter(preparedStatement, 4, clob);
+
+        verify(preparedStatement).setClob(4, clob);
+    }
+
+    @Test
+    void otherValuesBoundAsObject() throws SQLException {
+        JdbcDataTypeRegistry sut = new JdbcDataTypeRegistry();
+
+        sut.setParameter(preparedStatement, 5, "abc");
+
+        verify(preparedStatement).setObject(5, "abc");
+    }
+}
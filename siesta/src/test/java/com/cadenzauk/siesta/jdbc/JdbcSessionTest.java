@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.jdbc;
+
+import com.cadenzauk.core.sql.ConnectionUtil;
+import com.cadenzauk.core.sql.RowMapper;
+import com.cadenzauk.siesta.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.ArrayUtils.toArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcSessionTest {
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private RowMapper<String> rowMapper;
+
+    @BeforeEach
+    void wireUpMocks() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void sessionReusesOneConnection() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true).thenReturn(false).thenReturn(true).thenReturn(false);
+        when(rowMapper.mapRow(resultSet)).thenReturn("Fred").thenReturn("Barney");
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+
+        List<String> result = sut.withSession(s -> {
+            List<String> first = s.query("select name from foo where bar = ?", toArray(1L), rowMapper);
+            s.update("update foo set bar = ?", toArray(2L));
+            List<String> second = s.query("select name from foo where bar = ?", toArray(2L), rowMapper);
+            first.addAll(second);
+            return first;
+        });
+
+        verify(dataSource).getConnection();
+        verify(connection, never()).setAutoCommit(false);
+        verify(connection, times(3)).prepareStatement(anyString());
+        verify(connection).close();
+        assertThat(result, contains("Fred", "Barney"));
+    }
+
+    @Test
+    void sessionSwitchesToAutoCommit() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(false);
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+
+        sut.withSession(s -> null);
+
+        verify(connection).setAutoCommit(true);
+        verify(connection).close();
+    }
+
+    @Test
+    void beginTransactionUsesSessionConnection() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+
+        sut.withSession(s -> {
+            try (Transaction transaction = s.beginTransaction()) {
+                transaction.commit();
+            }
+            return null;
+        });
+
+        InOrder inOrder = inOrder(connection);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(connection).commit();
+        inOrder.verify(connection).rollback();
+        inOrder.verify(connection).setAutoCommit(true);
+        inOrder.verify(connection).close();
+        verify(dataSource).getConnection();
+    }
+
+    @Test
+    void asyncQueriesRunOnOneSessionThread() throws SQLException {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenAnswer(i -> {
+            threads.add(Thread.currentThread());
+            return resultSet;
+        });
+        when(resultSet.next()).thenReturn(false);
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+
+        sut.withSession(s -> {
+            List<CompletableFuture<List<String>>> futures = IntStream.range(0, 4)
+                .mapToObj(i -> s.queryAsync("select name from foo", toArray(), rowMapper))
+                .collect(toList());
+            futures.forEach(CompletableFuture::join);
+            return null;
+        });
+
+        assertThat(threads, hasSize(1));
+        assertThat(threads, not(hasItem(Thread.currentThread())));
+    }
+
+    @Test
+    void closedStreamIsReleasedBySession() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+
+        sut.withSession(s -> {
+            s.stream("select name from foo", toArray(), rowMapper).close();
+            s.withConnection(ConnectionUtil::getMetaData);
+            return null;
+        });
+
+        InOrder inOrder = inOrder(resultSet, preparedStatement, connection);
+        inOrder.verify(resultSet).close();
+        inOrder.verify(preparedStatement).close();
+        inOrder.verify(connection).getMetaData();
+        inOrder.verify(connection).close();
+    }
+
+    @Test
+    void connectionClosedWhenWorkThrows() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+
+        calling(() -> sut.withSession(s -> {
+            throw new IllegalStateException("Failed");
+        }))
+            .shouldThrow(IllegalStateException.class)
+            .withMessage(is("Failed"));
+
+        verify(connection).close();
+    }
+}
@@ -38,7 +38,14 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -48,7 +55,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -104,6 +114,56 @@ class JdbcSqlExecutorTest {
         assertThat(result, contains("Fred", "Barney"));
     }
 
+    @Test
+    void queryMultiple() throws SQLException {
+        ResultSet secondResultSet = Mockito.mock(ResultSet.class);
+        when(preparedStatement.execute()).thenReturn(true);
+        when(preparedStatement.getResultSet()).thenReturn(resultSet).thenReturn(secondResultSet);
+        when(preparedStatement.getMoreResults()).thenReturn(true).thenReturn(false);
+        when(resultSet.next()).thenReturn(true).thenReturn(false);
+        when(secondResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(rowMapper.mapRow(any())).thenReturn("Fred").thenReturn("Wilma").thenReturn("Betty");
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+        String sql = "select name from foo where bar = ?;\nselect name from baz where qux = ?";
+
+        List<List<?>> result = sut.queryMultiple(connection, sql, toArray(2L, "Bob"), Arrays.asList(rowMapper, rowMapper));
+
+        verify(connection).prepareStatement(sql);
+        verify(preparedStatement).execute();
+        verify(preparedStatement).setObject(1, 2L);
+        verify(preparedStatement).setObject(2, "Bob");
+        verify(preparedStatement, times(2)).getResultSet();
+        verify(preparedStatement, times(2)).getMoreResults();
+        verify(preparedStatement).close();
+        verify(resultSet, times(2)).next();
+        verify(resultSet).close();
+        verify(secondResultSet, times(3)).next();
+        verify(secondResultSet).close();
+        verify(rowMapper).mapRow(resultSet);
+        verify(rowMapper, times(2)).mapRow(secondResultSet);
+        verifyNoMoreInteractions(connection, preparedStatement, resultSet, secondResultSet, rowMapper);
+        assertThat(result.get(0), contains("Fred"));
+        assertThat(result.get(1), contains("Wilma", "Betty"));
+    }
+
+    @Test
+    void queryMultipleWithTooFewResultSets() throws SQLException {
+        when(preparedStatement.execute()).thenReturn(true);
+        when(preparedStatement.getResultSet()).thenReturn(resultSet);
+        when(preparedStatement.getMoreResults()).thenReturn(false);
+        when(preparedStatement.getUpdateCount()).thenReturn(-1);
+        when(resultSet.next()).thenReturn(false);
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+        String sql = "select name from foo;\nselect name from baz";
+
+        calling(() -> sut.queryMultiple(connection, sql, toArray(), Arrays.asList(rowMapper, rowMapper)))
+            .shouldThrow(IllegalStateException.class)
+            .withMessage(is("Expected 2 result sets but only received 1."));
+
+        verify(preparedStatement).close();
+        verify(resultSet).close();
+    }
+
     @Test
     void stream() throws SQLException {
         CompositeAutoCloseable closeable = new CompositeAutoCloseable();
@@ -253,6 +313,72 @@ class JdbcSqlExecutorTest {
         assertThat(result, is(5));
     }
 
+    @Test
+    void updateWithTimeout() throws SQLException {
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource).withTimeout(Duration.ofMillis(1500));
+        String sql = "update foo set num = ?";
+
+        int result = sut.update(connection, sql, toArray(3));
+
+        verify(connection).prepareStatement(sql);
+        verify(preparedStatement).setQueryTimeout(2);
+        verify(preparedStatement).executeUpdate();
+        verify(preparedStatement).setObject(1, 3);
+        verify(preparedStatement).close();
+        verifyNoMoreInteractions(connection, preparedStatement, resultSet, rowMapper);
+        assertThat(result, is(1));
+    }
+
+    @Test
+    void cancellingQueryAsyncCancelsStatement() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(preparedStatement.executeQuery()).thenAnswer(invocation -> {
+            started.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            throw new SQLException("Statement cancelled.");
+        });
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(preparedStatement).cancel();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource, executor);
+
+            CompletableFuture<List<String>> result = sut.queryAsync(connection, "select name from foo", toArray(), rowMapper);
+            assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+            result.cancel(true);
+
+            assertThat(cancelled.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(result.isCancelled(), is(true));
+        } finally {
+            executor.shutdown();
+        }
+        verify(preparedStatement, timeout(5000)).close();
+    }
+
+    @Test
+    void batchUpdate() throws SQLException {
+        when(preparedStatement.executeBatch()).thenReturn(new int[]{1, 2});
+        JdbcSqlExecutor sut = JdbcSqlExecutor.of(dataSource);
+        String sql = "delete from foo where num in (?, ?)";
+
+        int[] result = sut.batchUpdate(connection, sql, Arrays.asList(toArray(3, 4), toArray(5, 6)));
+
+        verify(connection).prepareStatement(sql);
+        verify(preparedStatement).setObject(1, 3);
+        verify(preparedStatement).setObject(2, 4);
+        verify(preparedStatement).setObject(1, 5);
+        verify(preparedStatement).setObject(2, 6);
+        verify(preparedStatement, times(2)).addBatch();
+        verify(preparedStatement).executeBatch();
+        verify(preparedStatement).close();
+        verifyNoMoreInteractions(connection, preparedStatement, resultSet, rowMapper);
+        assertThat(result, is(new int[]{1, 2}));
+    }
+
     @Test
     void updateWhenExecuteThrows() throws SQLException {
         when(preparedStatement.executeUpdate()).thenThrow(new SQLException("Update failed."));
@@ -34,12 +34,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -92,6 +95,32 @@ class JdbcTransactionTest {
         verifyNoMoreInteractions(sqlExecutor, connection);
     }
 
+    @Test
+    void commitRunsCommitActions() {
+        when(sqlExecutor.connect()).thenReturn(connection);
+        JdbcTransaction sut = new JdbcTransaction(sqlExecutor);
+        AtomicInteger calls = new AtomicInteger();
+        sut.onCommit(calls::incrementAndGet);
+
+        sut.commit();
+        sut.commit();
+
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    void rollbackDiscardsCommitActions() {
+        when(sqlExecutor.connect()).thenReturn(connection);
+        JdbcTransaction sut = new JdbcTransaction(sqlExecutor);
+        AtomicInteger calls = new AtomicInteger();
+        sut.onCommit(calls::incrementAndGet);
+
+        sut.rollback();
+        sut.commit();
+
+        assertThat(calls.get(), is(0));
+    }
+
     @Test
     void query() throws SQLException {
         when(sqlExecutor.connect()).thenReturn(connection);
@@ -100,13 +129,13 @@ class JdbcTransactionTest {
         Object[] args = new Object[0];
         RowMapper<String> rowMapper = s -> "Hello";
         List<String> list = ImmutableList.of("A", "B");
-        when(sqlExecutor.query(connection, sql, args, rowMapper)).thenReturn(list);
+        when(sqlExecutor.query(eq(connection), eq(sql), eq(args), scoped(rowMapper))).thenReturn(list);
 
         List<String> result = sut.query(sql, args, rowMapper);
 
         assertThat(result, sameInstance(list));
         verify(connection).setAutoCommit(false);
-        verify(sqlExecutor).query(connection, sql, args, rowMapper);
+        verify(sqlExecutor).query(eq(connection), eq(sql), eq(args), scoped(rowMapper));
         verifyNoMoreInteractions(sqlExecutor, connection);
     }
 
@@ -117,13 +146,13 @@ class JdbcTransactionTest {
         String sql = RandomStringUtils.randomAlphabetic(20, 30);
         Object[] args = new Object[0];
         RowMapper<String> rowMapper = s -> "Hello";
-        when(sqlExecutor.stream(eq(connection), eq(sql), eq(args), eq(rowMapper), any())).thenReturn(stream);
+        when(sqlExecutor.stream(eq(connection), eq(sql), eq(args), scoped(rowMapper), any())).thenReturn(stream);
 
         Stream<String> result = sut.stream(sql, args, rowMapper);
 
         assertThat(result, sameInstance(stream));
         verify(connection).setAutoCommit(false);
-        verify(sqlExecutor).stream(eq(connection), eq(sql), eq(args), eq(rowMapper), any());
+        verify(sqlExecutor).stream(eq(connection), eq(sql), eq(args), scoped(rowMapper), any());
         verifyNoMoreInteractions(sqlExecutor, connection);
     }
 
@@ -134,7 +163,7 @@ class JdbcTransactionTest {
         String sql = RandomStringUtils.randomAlphabetic(20, 30);
         Object[] args = new Object[0];
         RowMapper<String> rowMapper = s -> "Hello";
-        when(sqlExecutor.stream(eq(connection), eq(sql), eq(args), eq(rowMapper), any())).thenReturn(stream);
+        when(sqlExecutor.stream(eq(connection), eq(sql), eq(args), scoped(rowMapper), any())).thenReturn(stream);
 
         Stream<String> result = sut.stream(sql, args, rowMapper);
         sut.close();
@@ -143,7 +172,7 @@ class JdbcTransactionTest {
         verify(connection).setAutoCommit(false);
         verify(connection).rollback();
         verify(connection).close();
-        verify(sqlExecutor).stream(eq(connection), eq(sql), eq(args), eq(rowMapper), any());
+        verify(sqlExecutor).stream(eq(connection), eq(sql), eq(args), scoped(rowMapper), any());
         verify(stream).close();
         verifyNoMoreInteractions(sqlExecutor, connection);
     }
@@ -177,4 +206,8 @@ class JdbcTransactionTest {
         verify(connection).close();
         verifyNoMoreInteractions(sqlExecutor, connection);
     }
+
+    private static <T> RowMapper<T> scoped(RowMapper<T> rowMapper) {
+        return argThat(m -> Objects.equals(m.mapRow(null), rowMapper.mapRow(null)));
+    }
 }
\ No newline at end of file
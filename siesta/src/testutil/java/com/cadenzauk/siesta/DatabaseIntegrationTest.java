@@ -25,7 +25,9 @@ package com.cadenzauk.siesta;
 import com.cadenzauk.core.RandomValues;
 import com.cadenzauk.core.junit.TestCase;
 import com.cadenzauk.core.junit.TestCaseArgumentsProvider;
+import com.cadenzauk.core.lang.CompositeAutoCloseable;
 import com.cadenzauk.core.lang.UncheckedAutoCloseable;
+import com.cadenzauk.core.sql.RuntimeSqlException;
 import com.cadenzauk.core.testutil.TemporalTestUtil;
 import com.cadenzauk.core.tuple.Tuple;
 import com.cadenzauk.core.tuple.Tuple2;
@@ -34,14 +36,20 @@ import com.cadenzauk.core.tuple.Tuple5;
 import com.cadenzauk.core.tuple.Tuple6;
 import com.cadenzauk.core.tuple.Tuple7;
 import com.cadenzauk.siesta.dialect.H2Dialect;
+import com.cadenzauk.siesta.export.ExportFormat;
 import com.cadenzauk.siesta.grammar.expression.DateFunctions;
 import com.cadenzauk.siesta.grammar.expression.LiteralExpression;
 import com.cadenzauk.siesta.grammar.expression.TypedExpression;
 import com.cadenzauk.siesta.grammar.expression.ValueExpression;
 import com.cadenzauk.siesta.grammar.expression.olap.Olap;
+import com.cadenzauk.siesta.grammar.select.ColumnBatch;
 import com.cadenzauk.siesta.grammar.select.CommonTableExpression;
+import com.cadenzauk.siesta.grammar.select.CompiledSelect;
+import com.cadenzauk.siesta.grammar.select.Select;
 import com.cadenzauk.siesta.jdbc.JdbcSqlExecutor;
+import com.cadenzauk.siesta.model.LobTestRow;
 import com.cadenzauk.siesta.model.ManufacturerRow;
+import com.cadenzauk.siesta.model.PartRow;
 import com.cadenzauk.siesta.model.PartType;
 import com.cadenzauk.siesta.model.PartWithTypeRow;
 import com.cadenzauk.siesta.model.SaleRow;
@@ -50,28 +58,53 @@ import com.cadenzauk.siesta.model.SalespersonRow;
 import com.cadenzauk.siesta.model.TestRow;
 import com.cadenzauk.siesta.model.WidgetRow;
 import com.cadenzauk.siesta.model.WidgetViewRow;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static com.cadenzauk.core.RandomValues.randomLocalDateTime;
 import static com.cadenzauk.core.RandomValues.randomLocalTime;
 import static com.cadenzauk.core.RandomValues.randomZonedDateTime;
+import static com.cadenzauk.core.testutil.FluentAssert.calling;
 import static com.cadenzauk.core.testutil.TemporalTestUtil.withTimeZone;
 import static com.cadenzauk.siesta.Order.ASC;
 import static com.cadenzauk.siesta.Order.DESC;
@@ -81,6 +114,7 @@ import static com.cadenzauk.siesta.grammar.expression.Aggregates.countBigDistinc
 import static com.cadenzauk.siesta.grammar.expression.Aggregates.countDistinct;
 import static com.cadenzauk.siesta.grammar.expression.Aggregates.max;
 import static com.cadenzauk.siesta.grammar.expression.Aggregates.min;
+import static com.cadenzauk.siesta.grammar.expression.Aggregates.sum;
 import static com.cadenzauk.siesta.grammar.expression.Case.when;
 import static com.cadenzauk.siesta.grammar.expression.CoalesceFunction.coalesce;
 import static com.cadenzauk.siesta.grammar.expression.DateFunctions.currentDate;
@@ -98,6 +132,7 @@ import static com.cadenzauk.siesta.grammar.expression.DateFunctions.secondDiff;
 import static com.cadenzauk.siesta.grammar.expression.DateFunctions.year;
 import static com.cadenzauk.siesta.grammar.expression.ExistsExpression.exists;
 import static com.cadenzauk.siesta.grammar.expression.ExistsExpression.notExists;
+import static com.cadenzauk.siesta.grammar.expression.ParameterExpression.parameter;
 import static com.cadenzauk.siesta.grammar.expression.StringFunctions.instr;
 import static com.cadenzauk.siesta.grammar.expression.StringFunctions.lower;
 import static com.cadenzauk.siesta.grammar.expression.StringFunctions.upper;
@@ -106,15 +141,21 @@ import static com.cadenzauk.siesta.grammar.expression.TypedExpression.cast;
 import static com.cadenzauk.siesta.grammar.expression.TypedExpression.column;
 import static com.cadenzauk.siesta.grammar.expression.TypedExpression.literal;
 import static com.cadenzauk.siesta.grammar.expression.TypedExpression.value;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.currentRow;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.preceding;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.unboundedFollowing;
+import static com.cadenzauk.siesta.grammar.expression.olap.FrameBound.unboundedPreceding;
 import static com.cadenzauk.siesta.model.TestDatabase.testDatabase;
 import static com.cadenzauk.siesta.model.TestDatabase.testDatabaseBuilder;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -634,6 +675,22 @@ public abstract class DatabaseIntegrationTest extends IntegrationTest {
         assertThat(result.get(3), is("Doofer"));
     }
 
+    @Test
+    void compiledSelectBindsParametersPerExecution() {
+        Database database = testDatabase(dataSource, dialect);
+        Tuple2<Long,Long> inserted = insertSalespeople(database, 5);
+        CompiledSelect<Long> sut = database.from(SalespersonRow.class)
+            .select(SalespersonRow::salespersonId)
+            .where(SalespersonRow::salespersonId).isEqualTo(parameter(Long.class))
+            .compile();
+
+        Long first = sut.bind(inserted.item1()).single();
+        Long last = sut.bind(inserted.item2()).single();
+
+        assertThat(first, is(inserted.item1()));
+        assertThat(last, is(inserted.item2()));
+    }
+
     @Test
     void olapWithPartitionAndOrder() {
         assumeTrue(dialect.supportsPartitionByInOlap() && dialect.supportsOrderByInOlap(), dialect.getClass().getSimpleName() + " does not support PARTITION BY/ORDER BY in OLAP functions.");
@@ -700,6 +757,143 @@ public abstract class DatabaseIntegrationTest extends IntegrationTest {
         assertThat(result.get(4), is(Tuple.of(inserted.item2(), 1, LongStream.range(inserted.item1(), inserted.item2() + 1).reduce(Long::sum).orElse(0))));
     }
 
+    @Test
+    void olapAnalyticFunctions() {
+        assumeTrue(dialect.supportsOrderByInOlap(), dialect.getClass().getSimpleName() + " does not support ORDER BY in OLAP functions.");
+        Database database = testDatabase(dataSource, dialect);
+        Tuple2<Long,Long> inserted = insertSalespeople(database, 5);
+
+        List<Tuple5<Long,Integer,Long,Long,Integer>> result = database.from(SalespersonRow.class)
+            .select(SalespersonRow::salespersonId)
+            .comma(Olap.denseRank().orderBy(SalespersonRow::salespersonId, DESC))
+            .comma(Olap.lag(SalespersonRow::salespersonId).orderBy(SalespersonRow::salespersonId, ASC))
+            .comma(Olap.sum(SalespersonRow::salespersonId).orderBy(SalespersonRow::salespersonId, ASC).rowsBetween(preceding(1), currentRow()))
+            .comma(Olap.count().orderBy(SalespersonRow::salespersonId, ASC).rowsBetween(unboundedPreceding(), unboundedFollowing()))
+            .where(SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+            .orderBy(SalespersonRow::salespersonId)
+            .list();
+
+        assertThat(result, hasSize(5));
+        assertThat(result.get(0), is(Tuple.of(inserted.item1(), 5, null, inserted.item1(), 5)));
+        assertThat(result.get(4), is(Tuple.of(inserted.item2(), 1, inserted.item2() - 1, 2 * inserted.item2() - 1, 5)));
+    }
+
+    @Test
+    void withRecursive() {
+        Database database = testDatabase(dataSource, dialect);
+        SalespersonRow[] chain = IntStream.range(0, 6)
+            .mapToObj(i -> aRandomSalesperson(b -> b.numberOfSales(i)))
+            .toArray(SalespersonRow[]::new);
+        database.insert(chain);
+
+        CommonTableExpression<SalespersonRow> tree = database.withRecursive("tree")
+            .as(database.from(SalespersonRow.class, "a").where(SalespersonRow::salespersonId).isEqualTo(chain[0].salespersonId()))
+            .maxDepth(SalespersonRow::numberOfSales, 4)
+            .union(t -> {
+                Alias<SalespersonRow> s = database.table(SalespersonRow.class).as("s");
+                return database.from(s)
+                    .join(t).on(s, SalespersonRow::numberOfSales).isEqualTo(column(t, SalespersonRow::numberOfSales).plus(1))
+                    .select(s)
+                    .where(s, SalespersonRow::salespersonId).isBetween(chain[0].salespersonId()).and(chain[5].salespersonId());
+            });
+        List<Tuple2<Long,Integer>> result = database.from(tree)
+            .select(SalespersonRow::salespersonId)
+            .comma(SalespersonRow::numberOfSales)
+            .orderBy(SalespersonRow::numberOfSales)
+            .list();
+
+        assertThat(result, contains(
+            Tuple.of(chain[0].salespersonId(), 0),
+            Tuple.of(chain[1].salespersonId(), 1),
+            Tuple.of(chain[2].salespersonId(), 2),
+            Tuple.of(chain[3].salespersonId(), 3),
+            Tuple.of(chain[4].salespersonId(), 4)));
+    }
+
+    @Test
+    void explainIndexLookup() {
+        assumeTrue(dialect.planExplainer().isPresent(), dialect.getClass().getSimpleName() + " does not support explaining query plans.");
+        Database database = testDatabase(dataSource, dialect);
+
+        QueryPlan plan = database.from(PartRow.class)
+            .where(PartRow::widgetId).isEqualTo(newId())
+            .explain();
+
+        assertUsesIndex(plan, "FK_PART_WIDGET_ID");
+        assertNoTableScan(plan, "PART");
+    }
+
+    @Test
+    void explainTableScan() {
+        assumeTrue(dialect.planExplainer().isPresent(), dialect.getClass().getSimpleName() + " does not support explaining query plans.");
+        Database database = testDatabase(dataSource, dialect);
+
+        QueryPlan plan = database.from(PartRow.class)
+            .where(PartRow::description).isEqualTo("Part " + newId())
+            .explain();
+
+        assertTableScan(plan, "SIESTA.PART");
+    }
+
+    @Test
+    void selectAndUpdateWithTimeout() {
+        Database database = testDatabase(dataSource, dialect);
+        Tuple2<Long,Long> inserted = insertSalespeople(database, 3);
+
+        int updated = database.update(SalespersonRow.class)
+            .set(SalespersonRow::numberOfSales).to(7)
+            .where(SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+            .timeout(Duration.ofSeconds(5))
+            .execute();
+        List<Integer> result = database.from(SalespersonRow.class)
+            .select(SalespersonRow::numberOfSales)
+            .where(SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+            .timeout(Duration.ofSeconds(5))
+            .list();
+
+        assertThat(updated, is(3));
+        assertThat(result, contains(7, 7, 7));
+    }
+
+    @Test
+    void claimBatchDrainsQueue() {
+        Database database = testDatabase(dataSource, dialect);
+        Tuple2<Long,Long> inserted = insertSalespeople(database, 5);
+        Select<SalespersonRow> queue = database.from(SalespersonRow.class)
+            .where(SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+            .orderBy(SalespersonRow::salespersonId);
+
+        int first = queue.claimBatch(3, (transaction, batch) -> database.deleteAll(transaction, SalespersonRow.class, batch));
+        int second = queue.claimBatch(3, (transaction, batch) -> database.deleteAll(transaction, SalespersonRow.class, batch));
+        int third = queue.claimBatch(3, (transaction, batch) -> database.deleteAll(transaction, SalespersonRow.class, batch));
+
+        assertThat(first, is(3));
+        assertThat(second, is(2));
+        assertThat(third, is(0));
+    }
+
+    @Test
+    void concurrentClaimSkipsLockedRows() {
+        assumeTrue(dialect.supportsSkipLocked(), dialect.getClass().getSimpleName() + " does not support skipping locked rows.");
+        Database database = testDatabase(dataSource, dialect);
+        Tuple2<Long,Long> inserted = insertSalespeople(database, 5);
+        Select<Long> queue = database.from(SalespersonRow.class)
+            .select(SalespersonRow::salespersonId)
+            .where(SalespersonRow::salespersonId).isBetween(inserted.item1()).and(inserted.item2())
+            .orderBy(SalespersonRow::salespersonId);
+        List<Long> firstClaim = new ArrayList<>();
+        List<Long> secondClaim = new ArrayList<>();
+
+        queue.claimBatch(3, (transaction, batch) -> {
+            firstClaim.addAll(batch);
+            queue.claimBatch(3, (t, b) -> secondClaim.addAll(b));
+        });
+
+        assertThat(firstClaim, contains(inserted.item1(), inserted.item1() + 1, inserted.item1() + 2));
+        assertThat(secondClaim, contains(inserted.item1() + 3, inserted.item1() + 4));
+        assertThat(queue.list(), hasSize(5));
+    }
+
     @Test
     void olapWithoutPartitionOrOrder() {
         assumeFalse(dialect.requiresOrderByInRowNumber(), dialect.getClass().getSimpleName() + " does not support row_number() without ORDER BY.");
@@ -1124,6 +1318,161 @@ public abstract class DatabaseIntegrationTest extends IntegrationTest {
         assertThat(seq2, greaterThan(seq1));
     }
 
+    @Test
+    void sequenceNext() {
+        Database database = testDatabase(dataSource, dialect);
+        Sequence<Long> widgetSeq = database.sequence(Long.class, "widget_seq");
+        long before = widgetSeq.single();
+
+        List<Long> result = widgetSeq.next(5);
+
+        assertThat(result, hasSize(5));
+        assertThat(result.stream().distinct().count(), is(5L));
+        assertThat(result.stream().allMatch(v -> v > before), is(true));
+    }
+
+    @Test
+    void blobRoundTrip() throws SQLException {
+        Database database = testDatabase(dataSource, dialect);
+        byte[] bytes = RandomUtils.nextBytes(5000);
+        long id = newId();
+        database.insert(new LobTestRow(id, Optional.of(new SerialBlob(bytes)), Optional.empty(), Optional.empty(), Optional.empty()));
+
+        try (Transaction transaction = database.beginTransaction()) {
+            LobTestRow result = database.from(LobTestRow.class)
+                .where(LobTestRow::id).isEqualTo(id)
+                .single(transaction);
+
+            Blob blob = result.blobValue().orElseThrow(AssertionError::new);
+            assertThat(blob, not(instanceOf(SerialBlob.class)));
+            assertThat(blob.getBytes(1, (int) blob.length()), is(bytes));
+        }
+    }
+
+    @Test
+    void clobRoundTrip() throws SQLException {
+        Database database = testDatabase(dataSource, dialect);
+        String text = RandomStringUtils.randomAlphanumeric(5000);
+        long id = newId();
+        database.insert(new LobTestRow(id, Optional.empty(), Optional.of(new SerialClob(text.toCharArray())), Optional.empty(), Optional.empty()));
+
+        try (Transaction transaction = database.beginTransaction()) {
+            LobTestRow result = database.from(LobTestRow.class)
+                .where(LobTestRow::id).isEqualTo(id)
+                .single(transaction);
+
+            Clob clob = result.clobValue().orElseThrow(AssertionError::new);
+            assertThat(clob, not(instanceOf(SerialClob.class)));
+            assertThat(clob.getSubString(1, (int) clob.length()), is(text));
+        }
+    }
+
+    @Test
+    void binaryStreamRoundTrip() throws IOException {
+        Database database = testDatabase(dataSource, dialect);
+        byte[] bytes = RandomUtils.nextBytes(5000);
+        long id = newId();
+        database.insert(new LobTestRow(id, Optional.empty(), Optional.empty(), Optional.of(new ByteArrayInputStream(bytes)), Optional.empty()));
+
+        try (CompositeAutoCloseable scope = new CompositeAutoCloseable()) {
+            LobTestRow result = database.from(LobTestRow.class)
+                .where(LobTestRow::id).isEqualTo(id)
+                .stream(scope)
+                .collect(Collectors.toList())
+                .get(0);
+
+            InputStream inputStream = result.binaryStream().orElseThrow(AssertionError::new);
+            assertThat(ByteStreams.toByteArray(inputStream), is(bytes));
+        }
+    }
+
+    @Test
+    void characterStreamRoundTrip() throws IOException {
+        Database database = testDatabase(dataSource, dialect);
+        String text = RandomStringUtils.randomAlphanumeric(5000);
+        long id = newId();
+        database.insert(new LobTestRow(id, Optional.empty(), Optional.empty(), Optional.empty(), Optional.of(new StringReader(text))));
+
+        try (Transaction transaction = database.beginTransaction()) {
+            LobTestRow result = database.from(LobTestRow.class)
+                .where(LobTestRow::id).isEqualTo(id)
+                .single(transaction);
+
+            Reader reader = result.characterStream().orElseThrow(AssertionError::new);
+            assertThat(CharStreams.toString(reader), is(text));
+        }
+    }
+
+    @Test
+    void lobsAreFreedWhenScopeCloses() throws SQLException {
+        Database database = testDatabase(dataSource, dialect);
+        byte[] bytes = RandomUtils.nextBytes(5000);
+        long id = newId();
+        database.insert(new LobTestRow(id, Optional.of(new SerialBlob(bytes)), Optional.empty(), Optional.empty(), Optional.empty()));
+        CompositeAutoCloseable scope = new CompositeAutoCloseable();
+        Blob blob = database.from(LobTestRow.class)
+            .where(LobTestRow::id).isEqualTo(id)
+            .stream(scope)
+            .collect(Collectors.toList())
+            .get(0)
+            .blobValue()
+            .orElseThrow(AssertionError::new);
+        assertThat(blob.length(), is(5000L));
+
+        scope.close();
+
+        calling(() -> length(blob))
+            .shouldThrow(RuntimeSqlException.class);
+    }
+
+    @Test
+    void lobsAreFreedWhenTransactionCloses() throws SQLException {
+        Database database = testDatabase(dataSource, dialect);
+        String text = RandomStringUtils.randomAlphanumeric(5000);
+        long id = newId();
+        database.insert(new LobTestRow(id, Optional.empty(), Optional.of(new SerialClob(text.toCharArray())), Optional.empty(), Optional.empty()));
+        Clob clob;
+        try (Transaction transaction = database.beginTransaction()) {
+            clob = database.from(LobTestRow.class)
+                .where(LobTestRow::id).isEqualTo(id)
+                .single(transaction)
+                .clobValue()
+                .orElseThrow(AssertionError::new);
+            assertThat(clob.length(), is(5000L));
+        }
+
+        calling(() -> length(clob))
+            .shouldThrow(RuntimeSqlException.class);
+    }
+
+    @Test
+    void lobsCannotBeListedOutsideTransaction() {
+        Database database = testDatabase(dataSource, dialect);
+        long id = newId();
+        database.insert(new LobTestRow(id, Optional.empty(), Optional.empty(), Optional.empty(), Optional.of(new StringReader("Hello"))));
+
+        calling(() -> database.from(LobTestRow.class)
+            .where(LobTestRow::id).isEqualTo(id)
+            .list())
+            .shouldThrow(IllegalStateException.class);
+    }
+
+    private static long length(Blob blob) {
+        try {
+            return blob.length();
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    private static long length(Clob clob) {
+        try {
+            return clob.length();
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
     @Test
     void dateAdd() {
         Database database = testDatabase(dataSource, dialect);
@@ -1355,4 +1704,394 @@ public abstract class DatabaseIntegrationTest extends IntegrationTest {
         assertThat(resultDistinct, hasSize(2));
         assertThat(resultOrdinary, hasSize(3));
     }
-}
\ No newline at end of file
+
+    @Test
+    void selectWhereInLargeCollection() {
+        Database database = testDatabase(dataSource, dialect);
+        SalespersonRow salespersonRow1 = aRandomSalesperson();
+        SalespersonRow salespersonRow2 = aRandomSalesperson();
+        SalespersonRow salespersonRow3 = aRandomSalesperson();
+        database.insert(salespersonRow1, salespersonRow2, salespersonRow3);
+        List<Long> ids = LongStream.range(0, 1497)
+            .mapToObj(i -> newId())
+            .collect(Collectors.toList());
+        ids.add(salespersonRow1.salespersonId());
+        ids.add(salespersonRow2.salespersonId());
+        ids.add(salespersonRow3.salespersonId());
+
+        List<SalespersonRow> resultIn = database.from(SalespersonRow.class, "s")
+            .where(SalespersonRow::salespersonId).isIn(ids)
+            .list();
+        List<SalespersonRow> resultNotIn = database.from(SalespersonRow.class, "s")
+            .where(SalespersonRow::salespersonId).isIn(salespersonRow1.salespersonId(), salespersonRow2.salespersonId(), salespersonRow3.salespersonId())
+            .and(SalespersonRow::salespersonId).isNotIn(ids.subList(0, 1498))
+            .list();
+
+        assertThat(resultIn, containsInAnyOrder(salespersonRow1, salespersonRow2, salespersonRow3));
+        assertThat(resultNotIn, containsInAnyOrder(salespersonRow2, salespersonRow3));
+    }
+
+    @Test
+    void selectWhereInArrayInList() {
+        assumeTrue(dialect.supportsArrayInList(), dialect.getClass().getSimpleName() + " does not support array IN lists");
+        Database database = testDatabase(dataSource, dialect);
+        SalespersonRow salespersonRow1 = aRandomSalesperson();
+        SalespersonRow salespersonRow2 = aRandomSalesperson();
+        database.insert(salespersonRow1, salespersonRow2);
+        List<Long> ids = LongStream.range(0, dialect.maxInListSize())
+            .mapToObj(i -> newId())
+            .collect(Collectors.toList());
+        ids.add(salespersonRow1.salespersonId());
+        List<Long> idsWithNull = new ArrayList<>(ids);
+        idsWithNull.add(0, null);
+
+        Select<SalespersonRow> select = database.from(SalespersonRow.class, "s")
+            .where(SalespersonRow::salespersonId).isIn(ids);
+        List<SalespersonRow> result = select.list();
+        List<SalespersonRow> resultWithNull = database.from(SalespersonRow.class, "s")
+            .where(SalespersonRow::salespersonId).isIn(idsWithNull)
+            .list();
+
+        assertThat(select.sql(), containsString(dialect.arrayInList("in")));
+        assertThat(result, contains(salespersonRow1));
+        assertThat(resultWithNull, contains(salespersonRow1));
+    }
+
+    @Test
+    void deleteByIds() {
+        Database database = testDatabase(dataSource, dialect);
+        SalespersonRow salespersonRow1 = aRandomSalesperson();
+        SalespersonRow salespersonRow2 = aRandomSalesperson();
+        SalespersonRow salespersonRow3 = aRandomSalesperson();
+        database.insert(salespersonRow1, salespersonRow2, salespersonRow3);
+
+        int deleted = database.deleteByIds(SalespersonRow.class, Arrays.asList(salespersonRow1.salespersonId(), salespersonRow2.salespersonId(), newId()));
+
+        List<SalespersonRow> remaining = database.from(SalespersonRow.class)
+            .where(SalespersonRow::salespersonId).isIn(salespersonRow1.salespersonId(), salespersonRow2.salespersonId(), salespersonRow3.salespersonId())
+            .list();
+        assertThat(deleted, is(2));
+        assertThat(remaining, contains(salespersonRow3));
+    }
+
+    @Test
+    void deleteAllInMoreThanOneChunk() {
+        Database database = testDatabase(dataSource, dialect);
+        List<SalespersonRow> salespeople = LongStream.range(0, 1200)
+            .mapToObj(i -> aRandomSalesperson())
+            .collect(Collectors.toList());
+        SalespersonRow survivor = aRandomSalesperson();
+        database.insert(salespeople.toArray(new SalespersonRow[0]));
+        database.insert(survivor);
+
+        int deleted = database.deleteAll(SalespersonRow.class, salespeople);
+
+        int remaining = database.from(SalespersonRow.class)
+            .select(count())
+            .where(SalespersonRow::salespersonId).isIn(Stream.concat(salespeople.stream(), Stream.of(survivor)).map(SalespersonRow::salespersonId).collect(Collectors.toList()))
+            .single();
+        assertThat(deleted, is(1200));
+        assertThat(remaining, is(1));
+    }
+
+    @Test
+    void findByIds() {
+        Database database = testDatabase(dataSource, dialect);
+        SalespersonRow salespersonRow1 = aRandomSalesperson();
+        SalespersonRow salespersonRow2 = aRandomSalesperson();
+        database.insert(salespersonRow1, salespersonRow2);
+
+        List<SalespersonRow> result = database.findByIds(SalespersonRow.class, Arrays.asList(salespersonRow2.salespersonId(), newId(), salespersonRow1.salespersonId()));
+        Optional<SalespersonRow> missing = database.findById(SalespersonRow.class, newId());
+
+        assertThat(result, contains(salespersonRow2, salespersonRow1));
+        assertThat(missing, is(Optional.empty()));
+    }
+
+    @Test
+    void fetchChildrenAndParents() {
+        Database database = testDatabaseBuilder(dialect)
+            .defaultSqlExecutor(JdbcSqlExecutor.of(dataSource, 0))
+            .table(WidgetRow.class, t -> t.foreignKey(ManufacturerRow.class, fk -> fk.column(WidgetRow::manufacturerId).references(ManufacturerRow::manufacturerId)))
+            .build();
+        ManufacturerRow manufacturer1 = aManufacturer();
+        ManufacturerRow manufacturer2 = aManufacturer();
+        ManufacturerRow manufacturer3 = aManufacturer();
+        database.insert(manufacturer1, manufacturer2, manufacturer3);
+        WidgetRow widget1 = aWidget(manufacturer1);
+        WidgetRow widget2 = aWidget(manufacturer1);
+        WidgetRow widget3 = aWidget(manufacturer2);
+        database.insert(widget1, widget2, widget3);
+
+        Map<ManufacturerRow,List<WidgetRow>> children = database.fetchChildren(Arrays.asList(manufacturer1, manufacturer2, manufacturer3), WidgetRow.class);
+        Map<WidgetRow,ManufacturerRow> parents = database.fetchParents(Arrays.asList(widget3, widget1, widget2), ManufacturerRow.class);
+
+        assertThat(children.keySet(), contains(manufacturer1, manufacturer2, manufacturer3));
+        assertThat(children.get(manufacturer1), containsInAnyOrder(widget1, widget2));
+        assertThat(children.get(manufacturer2), contains(widget3));
+        assertThat(children.get(manufacturer3), hasSize(0));
+        assertThat(parents.keySet(), contains(widget3, widget1, widget2));
+        assertThat(parents.get(widget1).manufacturerId(), is(manufacturer1.manufacturerId()));
+        assertThat(parents.get(widget2).manufacturerId(), is(manufacturer1.manufacturerId()));
+        assertThat(parents.get(widget3).manufacturerId(), is(manufacturer2.manufacturerId()));
+    }
+
+    @Test
+    void batchQueries() {
+        Database database = testDatabase(dataSource, dialect);
+        ManufacturerRow manufacturer = aManufacturer();
+        database.insert(manufacturer);
+        WidgetRow widget1 = aWidget(manufacturer);
+        WidgetRow widget2 = aWidget(manufacturer);
+        database.insert(widget1, widget2);
+
+        Tuple2<List<WidgetRow>,List<Integer>> result = database.batchQueries(
+            database.from(WidgetRow.class)
+                .where(WidgetRow::widgetId).isEqualTo(widget1.widgetId()),
+            database.from(WidgetRow.class)
+                .select(countDistinct(WidgetRow::widgetId))
+                .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId()));
+        Tuple2<List<WidgetRow>,List<Integer>> inTransaction;
+        try (Transaction transaction = database.beginTransaction()) {
+            inTransaction = database.batchQueries(transaction,
+                database.from(WidgetRow.class)
+                    .where(WidgetRow::widgetId).isEqualTo(widget2.widgetId()),
+                database.from(WidgetRow.class)
+                    .select(countDistinct(WidgetRow::widgetId))
+                    .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId()));
+        }
+
+        assertThat(result.item1(), contains(widget1));
+        assertThat(result.item2(), contains(2));
+        assertThat(inTransaction.item1(), contains(widget2));
+        assertThat(inTransaction.item2(), contains(2));
+    }
+
+    @Test
+    void withSession() {
+        Database database = testDatabase(dataSource, dialect);
+        ManufacturerRow manufacturer = aManufacturer();
+        WidgetRow widget = aWidget(manufacturer);
+
+        Optional<WidgetRow> result = database.withSession(s -> {
+            database.insert(s, manufacturer);
+            database.insert(s, widget);
+            return database.from(WidgetRow.class)
+                .where(WidgetRow::widgetId).isEqualTo(widget.widgetId())
+                .optional(s);
+        });
+        Optional<WidgetRow> afterSession = database.from(WidgetRow.class)
+            .where(WidgetRow::widgetId).isEqualTo(widget.widgetId())
+            .optional();
+
+        assertThat(result, is(Optional.of(widget)));
+        assertThat(afterSession, is(Optional.of(widget)));
+    }
+
+    @Test
+    void withSessionBatchQueriesAndTransaction() {
+        Database database = testDatabase(dataSource, dialect);
+        ManufacturerRow manufacturer = aManufacturer();
+        WidgetRow widget1 = aWidget(manufacturer);
+        WidgetRow widget2 = aWidget(manufacturer);
+        database.insert(manufacturer);
+        database.insert(widget1);
+
+        Tuple2<List<WidgetRow>,List<Integer>> result = database.withSession(s -> {
+            try (Transaction transaction = s.beginTransaction()) {
+                database.insert(transaction, widget2);
+            }
+            return database.batchQueries(s,
+                database.from(WidgetRow.class)
+                    .where(WidgetRow::widgetId).isEqualTo(widget1.widgetId()),
+                database.from(WidgetRow.class)
+                    .select(countDistinct(WidgetRow::widgetId))
+                    .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId()));
+        });
+
+        assertThat(result.item1(), contains(widget1));
+        assertThat(result.item2(), contains(1));
+    }
+
+    @Test
+    void bulkLoad() {
+        Database database = testDatabase(dataSource, dialect);
+        ManufacturerRow manufacturer = aManufacturer();
+        WidgetRow widget1 = aWidget(manufacturer);
+        WidgetRow widget2 = WidgetRow.newBuilder()
+            .widgetId(newId())
+            .manufacturerId(manufacturer.manufacturerId())
+            .name("Comma, \"quote\"")
+            .description(Optional.of(""))
+            .build();
+
+        long manufacturers = database.bulkLoad(ManufacturerRow.class, Stream.of(manufacturer));
+        long widgets = database.bulkLoad(WidgetRow.class, Stream.of(widget1, widget2));
+        List<WidgetRow> result = database.from(WidgetRow.class)
+            .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+            .orderBy(WidgetRow::widgetId)
+            .list();
+
+        assertThat(manufacturers, is(1L));
+        assertThat(widgets, is(2L));
+        assertThat(result, contains(widget1, widget2));
+    }
+
+    @Test
+    void bulkLoadLobsAndClosesRows() throws SQLException, IOException {
+        Database database = testDatabase(dataSource, dialect);
+        byte[] bytes = RandomUtils.nextBytes(100);
+        String text = RandomStringUtils.randomAlphanumeric(100);
+        long id = newId();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<LobTestRow> rows = Stream.of(new LobTestRow(id,
+            Optional.of(new SerialBlob(bytes)),
+            Optional.of(new SerialClob(text.toCharArray())),
+            Optional.of(new ByteArrayInputStream(bytes)),
+            Optional.of(new StringReader(text))))
+            .onClose(() -> closed.set(true));
+
+        long loaded = database.bulkLoad(LobTestRow.class, rows);
+
+        assertThat(loaded, is(1L));
+        assertThat(closed.get(), is(true));
+        try (Transaction transaction = database.beginTransaction()) {
+            LobTestRow result = database.from(LobTestRow.class)
+                .where(LobTestRow::id).isEqualTo(id)
+                .single(transaction);
+            Blob blob = result.blobValue().orElseThrow(AssertionError::new);
+            Clob clob = result.clobValue().orElseThrow(AssertionError::new);
+            assertThat(blob.getBytes(1, (int) blob.length()), is(bytes));
+            assertThat(clob.getSubString(1, (int) clob.length()), is(text));
+            assertThat(ByteStreams.toByteArray(result.binaryStream().orElseThrow(AssertionError::new)), is(bytes));
+            assertThat(CharStreams.toString(result.characterStream().orElseThrow(AssertionError::new)), is(text));
+        }
+    }
+
+    @Test
+    void exportTo() {
+        Database database = testDatabase(dataSource, dialect);
+        ManufacturerRow manufacturer = aManufacturer();
+        database.insert(manufacturer);
+        WidgetRow widget1 = aWidget(manufacturer);
+        WidgetRow widget2 = aWidget(manufacturer);
+        database.insert(widget1, widget2);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = database.from(WidgetRow.class)
+            .select(WidgetRow::widgetId, "ID")
+            .comma(WidgetRow::name, "NAME")
+            .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+            .orderBy(WidgetRow::widgetId)
+            .exportTo(Channels.newChannel(output), ExportFormat.CSV);
+
+        assertThat(rows, is(2L));
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8), is(String.format("\"ID\",\"NAME\"\n%d,\"%s\"\n%d,\"%s\"\n",
+            widget1.widgetId(), widget1.name(), widget2.widgetId(), widget2.name())));
+    }
+
+    @Test
+    void primitiveTerminals() {
+        Database database = testDatabase(dataSource, dialect);
+        ManufacturerRow manufacturer = aManufacturer();
+        database.insert(manufacturer);
+        WidgetRow widget1 = aWidget(manufacturer);
+        WidgetRow widget2 = aWidget(manufacturer);
+        database.insert(widget1, widget2);
+        LongStream.Builder forEach = LongStream.builder();
+
+        long[] longs = database.from(WidgetRow.class)
+            .select(WidgetRow::widgetId)
+            .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+            .orderBy(WidgetRow::widgetId)
+            .toLongArray();
+        double[] doubles = database.from(WidgetRow.class)
+            .select(WidgetRow::widgetId)
+            .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+            .orderBy(WidgetRow::widgetId)
+            .toDoubleArray();
+        database.from(WidgetRow.class)
+            .select(WidgetRow::widgetId)
+            .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+            .orderBy(WidgetRow::widgetId)
+            .forEachLong(forEach);
+        ColumnBatch batch = database.from(WidgetRow.class)
+            .select(WidgetRow::widgetId)
+            .comma(WidgetRow::manufacturerId)
+            .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+            .orderBy(WidgetRow::widgetId)
+            .toColumnBatch();
+
+        assertThat(longs, is(new long[]{widget1.widgetId(), widget2.widgetId()}));
+        assertThat(doubles, is(new double[]{widget1.widgetId(), widget2.widgetId()}));
+        assertThat(forEach.build().toArray(), is(longs));
+        assertThat(batch.rowCount(), is(2));
+        assertThat(batch.longs(0), is(longs));
+        assertThat(batch.longs(1), is(new long[]{manufacturer.manufacturerId(), manufacturer.manufacturerId()}));
+        assertThat(batch.hasNulls(1), is(false));
+    }
+
+    @Test
+    void toColumnBatchReadsSumOfBigintExactly() {
+        Database database = testDatabase(dataSource, dialect);
+        ManufacturerRow manufacturer = aManufacturer();
+        database.insert(manufacturer);
+        WidgetRow widget1 = aWidget(manufacturer);
+        WidgetRow widget2 = aWidget(manufacturer);
+        database.insert(widget1, widget2);
+
+        ColumnBatch batch = database.from(WidgetRow.class)
+            .select(sum(WidgetRow::widgetId))
+            .where(WidgetRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+            .toColumnBatch();
+
+        assertThat(batch.isIntegral(0), is(true));
+        assertThat(batch.longs(0), is(new long[]{widget1.widgetId() + widget2.widgetId()}));
+    }
+
+    @Test
+    void inTransactionRetriesTransientFailures() {
+        Database database = testDatabase(dataSource, dialect);
+        ManufacturerRow manufacturer = aManufacturer();
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy retryPolicy = RetryPolicy.newBuilder()
+            .initialBackoff(Duration.ofMillis(1))
+            .build();
+
+        String result = database.inTransaction(transaction -> {
+            database.insert(transaction, manufacturer);
+            if (attempts.incrementAndGet() == 1) {
+                throw new RuntimeSqlException(new SQLException("Serialization failure", "40001"));
+            }
+            return database.from(ManufacturerRow.class)
+                .select(ManufacturerRow::name)
+                .where(ManufacturerRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+                .single(transaction);
+        }, retryPolicy);
+        int count = database.from(ManufacturerRow.class)
+            .select(countDistinct(ManufacturerRow::manufacturerId))
+            .where(ManufacturerRow::manufacturerId).isEqualTo(manufacturer.manufacturerId())
+            .single();
+
+        assertThat(result, is(manufacturer.name().orElse(null)));
+        assertThat(count, is(1));
+        assertThat(attempts.get(), is(2));
+        assertThat(retryPolicy.stats().retries(), is(1L));
+    }
+
+    private static ManufacturerRow aManufacturer() {
+        return ManufacturerRow.newBuilder()
+            .manufacturerId(newId())
+            .name(Optional.of(RandomStringUtils.randomAlphabetic(10)))
+            .build();
+    }
+
+    private static WidgetRow aWidget(ManufacturerRow manufacturer) {
+        return WidgetRow.newBuilder()
+            .widgetId(newId())
+            .manufacturerId(manufacturer.manufacturerId())
+            .name(RandomStringUtils.randomAlphabetic(10))
+            .description(Optional.empty())
+            .build();
+    }
+}
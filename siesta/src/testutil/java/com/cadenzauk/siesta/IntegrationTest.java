@@ -47,6 +47,9 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
 @ContextConfiguration
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
 @ExtendWith(SpringExtension.class)
@@ -103,6 +106,21 @@ public abstract class IntegrationTest {
         return ids.incrementAndGet();
     }
 
+    protected static void assertUsesIndex(QueryPlan plan, String indexName) {
+        assertThat(String.format("Expected plan to use index %s but it used %s:%n%s", indexName, plan.indexes(), plan.text()),
+            plan.usesIndex(indexName), is(true));
+    }
+
+    protected static void assertNoTableScan(QueryPlan plan, String tableName) {
+        assertThat(String.format("Expected plan not to scan table %s:%n%s", tableName, plan.text()),
+            plan.scansTable(tableName), is(false));
+    }
+
+    protected static void assertTableScan(QueryPlan plan, String tableName) {
+        assertThat(String.format("Expected plan to scan table %s:%n%s", tableName, plan.text()),
+            plan.scansTable(tableName), is(true));
+    }
+
     @Configuration
     public static class Config {
         @Bean
@@ -26,8 +26,10 @@ import static com.cadenzauk.siesta.ddl.definition.action.Column.Constraints.fore
 import static com.cadenzauk.siesta.ddl.definition.action.Column.Constraints.notNull;
 import static com.cadenzauk.siesta.ddl.definition.action.Column.Constraints.primaryKey;
 import static com.cadenzauk.siesta.ddl.definition.action.ColumnDataType.bigint;
+import static com.cadenzauk.siesta.ddl.definition.action.ColumnDataType.blob;
 import static com.cadenzauk.siesta.ddl.definition.action.ColumnDataType.binary;
 import static com.cadenzauk.siesta.ddl.definition.action.ColumnDataType.character;
+import static com.cadenzauk.siesta.ddl.definition.action.ColumnDataType.clob;
 import static com.cadenzauk.siesta.ddl.definition.action.ColumnDataType.date;
 import static com.cadenzauk.siesta.ddl.definition.action.ColumnDataType.decimal;
 import static com.cadenzauk.siesta.ddl.definition.action.ColumnDataType.integer;
@@ -133,6 +135,17 @@ public class TestSchema {
                 .column("REVISION", integer(), notNull())
                 .column("UPDATED_BY", varchar(80), notNull())
             )
+            .createTable(t -> t
+                .id("create LOB_TEST table")
+                .author("mark")
+                .schemaName("SIESTA")
+                .tableName("LOB_TEST")
+                .column("ID", bigint(), notNull(), primaryKey())
+                .column("BLOB_VALUE", blob())
+                .column("CLOB_VALUE", clob())
+                .column("BINARY_STREAM", blob())
+                .column("CHARACTER_STREAM", clob())
+            )
             .createTable(t -> t
                 .id("create sales_area table")
                 .author("mark")
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017 Cadenza United Kingdom Limited
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.cadenzauk.siesta.model;
+
+import javax.persistence.Table;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.Optional;
+
+@Table(name = "LOB_TEST")
+public class LobTestRow {
+    private final long id;
+    private final Optional<Blob> blobValue;
+    private final Optional<Clob> clobValue;
+    private final Optional<InputStream> binaryStream;
+    private final Optional<Reader> characterStream;
+
+    public LobTestRow(long id, Optional<Blob> blobValue, Optional<Clob> clobValue, Optional<InputStream> binaryStream, Optional<Reader> characterStream) {
+        this.id = id;
+        this.blobValue = blobValue;
+        this.clobValue = clobValue;
+        this.binaryStream = binaryStream;
+        this.characterStream = characterStream;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public Optional<Blob> blobValue() {
+        return blobValue;
+    }
+
+    public Optional<Clob> clobValue() {
+        return clobValue;
+    }
+
+    public Optional<InputStream> binaryStream() {
+        return binaryStream;
+    }
+
+    public Optional<Reader> characterStream() {
+        return characterStream;
+    }
+}